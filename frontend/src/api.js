@@ -35,6 +35,39 @@ export const apiClient = {
     return response.json();
   },
 
+  /**
+   * Fetches every page of a list endpoint, following the X-Next-Cursor header
+   * until the last page. `query` holds extra parameters sent with every page.
+   */
+  async getAllPages(url, query = {}, options = {}) {
+    const items = [];
+    let cursor = null;
+    do {
+      const params = new URLSearchParams({ ...query, limit: 1000 });
+      if (cursor) params.set("cursor", cursor);
+      const response = await fetch(`${url}?${params}`, {
+        ...options,
+        method: "GET",
+        credentials: "same-origin",
+        headers: {
+          "Content-Type": "application/json",
+          ...options.headers,
+        },
+      });
+
+      if (!response.ok) {
+        const error = await response
+          .json()
+          .catch(() => ({ message: "Request failed" }));
+        throw new Error(error.message || "Request failed");
+      }
+
+      items.push(...(await response.json()));
+      cursor = response.headers.get("X-Next-Cursor");
+    } while (cursor);
+    return items;
+  },
+
   async post(url, data, options = {}) {
     const response = await fetch(url, {
       ...options,
@@ -102,7 +135,7 @@ export const authAPI = {
 
 // Products API
 export const productsAPI = {
-  getAll: () => apiClient.get(API_ENDPOINTS.PRODUCTS),
+  getAll: () => apiClient.getAllPages(API_ENDPOINTS.PRODUCTS),
   getById: id => apiClient.get(`${API_ENDPOINTS.PRODUCTS}/${id}`),
   getBestSelling: () => apiClient.get(`${API_ENDPOINTS.PRODUCTS}/best-selling`),
   getBestReviewed: () =>
@@ -124,6 +157,8 @@ export const productsAPI = {
     const queryParams = new URLSearchParams();
 
     if (params.page !== undefined) queryParams.set("page", params.page);
+    if (params.pagination) queryParams.set("pagination", params.pagination);
+    if (params.cursor) queryParams.set("cursor", params.cursor);
     if (params.size !== undefined) queryParams.set("size", params.size);
     if (params.search) queryParams.set("search", params.search);
     if (params.categoryId) queryParams.set("categoryId", params.categoryId);
@@ -142,13 +177,13 @@ export const productsAPI = {
 
 // Categories API
 export const categoriesAPI = {
-  getAll: () => apiClient.get(API_ENDPOINTS.CATEGORIES),
+  getAll: () => apiClient.getAllPages(API_ENDPOINTS.CATEGORIES),
   getById: id => apiClient.get(`${API_ENDPOINTS.CATEGORIES}/${id}`),
 };
 
 // Brands API
 export const brandsAPI = {
-  getAll: () => apiClient.get(API_ENDPOINTS.BRANDS),
+  getAll: () => apiClient.getAllPages(API_ENDPOINTS.BRANDS),
   getById: id => apiClient.get(`${API_ENDPOINTS.BRANDS}/${id}`),
 };
 
@@ -161,7 +196,7 @@ export const reviewsAPI = {
 // Orders API
 export const ordersAPI = {
   getByUser: userId =>
-    apiClient.get(`${API_ENDPOINTS.ORDERS}/by-user?userId=${userId}`),
+    apiClient.getAllPages(`${API_ENDPOINTS.ORDERS}/by-user`, { userId }),
 };
 
 // Coupons API
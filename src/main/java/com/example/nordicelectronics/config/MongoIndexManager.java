@@ -0,0 +1,300 @@
+package com.example.nordicelectronics.config;
+
+import com.example.nordicelectronics.entity.mongodb.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Declares the indexes behind every MongoDB repository query, creates them,
+ * and checks with {@code explain} that each query is answered by an index
+ * scan rather than a collection scan.
+ *
+ * Embedded paths such as {@code brand.brandId} or {@code categories.name}
+ * cannot carry {@code @Indexed} on the document classes, and fields inside
+ * arrays need multikey indexes, so they are declared here next to the queries
+ * they serve. A new repository method should add its query to {@link #QUERIES}
+ * and, if nothing covers it yet, an index to {@link #INDEXES}; a unit test
+ * fails while any repository finder has no entry.
+ *
+ * Indexes are created in the background after startup. With
+ * {@code mongodb.indexes.fail-on-missing=true} they are created before the
+ * application reports ready, and startup fails if a query is left without an
+ * index.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.data.mongodb.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class MongoIndexManager implements ApplicationRunner {
+
+    private static final UUID SAMPLE_ID = UUID.fromString("00000000-0000-0000-0000-000000000000");
+    private static final String SAMPLE_TEXT = "sample";
+
+    /**
+     * An index on one collection; several keys make a compound index, and a
+     * key inside an array makes it multikey.
+     */
+    public record RequiredIndex(Class<?> documentType, Map<String, Sort.Direction> keys, boolean unique) {
+    }
+
+    /**
+     * A repository query method and a filter of the shape it sends.
+     */
+    public record IndexedQuery(String method, Class<?> documentType, Document filter) {
+    }
+
+    private static final List<RequiredIndex> INDEXES = List.of(
+            unique(AddressDocument.class, "address_id"),
+            // Analytics summaries, read in ranking order
+            index(BestSellingProductDocument.class, "total_units_sold"),
+            compound(BestReviewedProductDocument.class, "average_rating", Sort.Direction.DESC,
+                    "number_of_reviews", Sort.Direction.DESC),
+            index(AddressDocument.class, "user_id"),
+            unique(BrandDocument.class, "brand_id"),
+            index(BrandDocument.class, "name"),
+            unique(CategoryDocument.class, "category_id"),
+            index(CategoryDocument.class, "name"),
+            index(CouponDocument.class, "is_active"),
+            // Orders of a customer, newest first
+            compound(OrderDocument.class, "customer.userId", Sort.Direction.ASC, "order_date", Sort.Direction.DESC),
+            index(OrderDocument.class, "customer.email"),
+            index(OrderDocument.class, "shipping_address.city"),
+            index(OrderDocument.class, "order_products.productId"),
+            index(PaymentDocument.class, "status"),
+            index(ProductDocument.class, "brand.brandId"),
+            index(ProductDocument.class, "brand.name"),
+            index(ProductDocument.class, "categories.categoryId"),
+            index(ProductDocument.class, "categories.name"),
+            unique(ReviewDocument.class, "review_id"),
+            // Reviews of a product, newest first, for refilling its embedded reviews
+            compound(ReviewDocument.class, "product_id", Sort.Direction.ASC, "createdAt", Sort.Direction.DESC),
+            index(ReviewDocument.class, "user_id"),
+            index(ReviewDocument.class, "is_verified_purchase"),
+            index(UserDocument.class, "addresses.city"),
+            index(UserDocument.class, "addresses.zip"),
+            index(WarehouseDocument.class, "name"),
+            index(WarehouseDocument.class, "address.city"),
+            // Buckets of a warehouse, and the one with room for another product
+            compound(WarehouseInventoryBucketDocument.class, "warehouse_id", Sort.Direction.ASC,
+                    "count", Sort.Direction.ASC),
+            // Serves both the product lookup and the in-stock $elemMatch
+            compound(WarehouseInventoryBucketDocument.class, "products.productId", Sort.Direction.ASC,
+                    "products.stockQuantity", Sort.Direction.ASC),
+            unique(WarrantyDocument.class, "warranty_id"),
+            index(WarrantyDocument.class, "product_id"));
+
+    private static final List<IndexedQuery> QUERIES = List.of(
+            query("AddressMongoRepository.findByAddressId", AddressDocument.class, "address_id", SAMPLE_ID),
+            query("AddressMongoRepository.findByUserId", AddressDocument.class, "user_id", SAMPLE_ID),
+            query("BrandMongoRepository.findByBrandId", BrandDocument.class, "brand_id", SAMPLE_ID),
+            query("BrandMongoRepository.findByName", BrandDocument.class, "name", SAMPLE_TEXT),
+            query("CategoryMongoRepository.findByCategoryId", CategoryDocument.class, "category_id", SAMPLE_ID),
+            query("CategoryMongoRepository.findByName", CategoryDocument.class, "name", SAMPLE_TEXT),
+            query("CouponMongoRepository.findByCouponId", CouponDocument.class, "coupon_id", SAMPLE_ID),
+            query("CouponMongoRepository.findByCode", CouponDocument.class, "code", SAMPLE_TEXT),
+            query("CouponMongoRepository.findByIsActive", CouponDocument.class, "is_active", true),
+            query("OrderMongoRepository.findByOrderId", OrderDocument.class, "order_id", SAMPLE_ID),
+            query("OrderMongoRepository.findByCustomerUserId", OrderDocument.class, "customer.userId", SAMPLE_ID),
+            query("OrderMongoRepository.findByCustomerEmail", OrderDocument.class, "customer.email", SAMPLE_TEXT),
+            query("OrderMongoRepository.findByOrderStatus", OrderDocument.class, "status", SAMPLE_TEXT),
+            query("OrderMongoRepository.findByShippingCity", OrderDocument.class, "shipping_address.city", SAMPLE_TEXT),
+            query("OrderMongoRepository.findByProductId", OrderDocument.class, "order_products.productId", SAMPLE_ID),
+            query("PaymentMongoRepository.findByPaymentId", PaymentDocument.class, "payment_id", SAMPLE_ID),
+            query("PaymentMongoRepository.findByOrderId", PaymentDocument.class, "order_id", SAMPLE_ID),
+            query("PaymentMongoRepository.findByPaymentStatus", PaymentDocument.class, "status", SAMPLE_TEXT),
+            query("ProductMongoRepository.findByProductId", ProductDocument.class, "product_id", SAMPLE_ID),
+            query("ProductMongoRepository.findBySku", ProductDocument.class, "sku", SAMPLE_TEXT),
+            query("ProductMongoRepository.findByBrandId", ProductDocument.class, "brand.brandId", SAMPLE_ID),
+            query("ProductMongoRepository.findByBrandName", ProductDocument.class, "brand.name", SAMPLE_TEXT),
+            query("ProductMongoRepository.findByCategoryId", ProductDocument.class, "categories.categoryId", SAMPLE_ID),
+            query("ProductMongoRepository.findByCategoryName", ProductDocument.class, "categories.name", SAMPLE_TEXT),
+            query("ReviewMongoRepository.findByReviewId", ReviewDocument.class, "review_id", SAMPLE_ID),
+            query("ReviewMongoRepository.findByProductId", ReviewDocument.class, "product_id", SAMPLE_ID),
+            query("ReviewMongoRepository.findByUserId", ReviewDocument.class, "user_id", SAMPLE_ID),
+            query("ReviewMongoRepository.findByIsVerifiedPurchase", ReviewDocument.class, "is_verified_purchase", true),
+            query("UserMongoRepository.findByUserId", UserDocument.class, "user_id", SAMPLE_ID),
+            query("UserMongoRepository.findByEmail", UserDocument.class, "email", SAMPLE_TEXT),
+            query("UserMongoRepository.findByAddressCity", UserDocument.class, "addresses.city", SAMPLE_TEXT),
+            query("UserMongoRepository.findByAddressZip", UserDocument.class, "addresses.zip", SAMPLE_TEXT),
+            query("WarehouseMongoRepository.findByWarehouseId", WarehouseDocument.class, "warehouse_id", SAMPLE_ID),
+            new IndexedQuery("WarehouseMongoRepository.findByWarehouseIdIn", WarehouseDocument.class,
+                    new Document("warehouse_id", new Document("$in", List.of(SAMPLE_ID)))),
+            query("WarehouseMongoRepository.findByName", WarehouseDocument.class, "name", SAMPLE_TEXT),
+            query("WarehouseMongoRepository.findByAddressCity", WarehouseDocument.class, "address.city", SAMPLE_TEXT),
+            query("WarehouseInventoryMongoRepository.findByWarehouseId", WarehouseInventoryBucketDocument.class,
+                    "warehouse_id", SAMPLE_ID),
+            query("WarehouseInventoryMongoRepository.findByProductId", WarehouseInventoryBucketDocument.class,
+                    "products.productId", SAMPLE_ID),
+            new IndexedQuery("WarehouseInventoryMongoRepository.findWithStockForProduct",
+                    WarehouseInventoryBucketDocument.class,
+                    new Document("products", new Document("$elemMatch", new Document("productId", SAMPLE_ID)
+                            .append("stockQuantity", new Document("$gt", 0))))),
+            query("WarrantyMongoRepository.findByWarrantyId", WarrantyDocument.class, "warranty_id", SAMPLE_ID),
+            query("WarrantyMongoRepository.findByProductId", WarrantyDocument.class, "product_id", SAMPLE_ID));
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${mongodb.indexes.create-on-startup:true}")
+    private boolean createOnStartup;
+
+    @Value("${mongodb.indexes.fail-on-missing:false}")
+    private boolean failOnMissing;
+
+    public static List<IndexedQuery> queries() {
+        return QUERIES;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (failOnMissing) {
+            createIndexes();
+            List<String> unsupported = unsupportedQueries();
+            if (!unsupported.isEmpty()) {
+                throw new IllegalStateException("MongoDB queries without a supporting index: " + unsupported);
+            }
+        } else if (createOnStartup) {
+            ExecutorService background = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("mongo-indexes-"));
+            background.execute(() -> {
+                try {
+                    createIndexes();
+                    List<String> unsupported = unsupportedQueries();
+                    if (!unsupported.isEmpty()) {
+                        log.warn("MongoDB queries without a supporting index: {}", unsupported);
+                    }
+                } catch (RuntimeException e) {
+                    log.error("MongoDB index provisioning failed: {}", e.getMessage(), e);
+                }
+            });
+            background.shutdown();
+        }
+    }
+
+    /**
+     * Creates every declared index that does not exist yet. An index that
+     * cannot be built, e.g. a unique index over duplicate values, is reported
+     * and skipped.
+     *
+     * @return index keys per collection, with the outcome of each
+     */
+    public Map<String, Object> createIndexes() {
+        long startTime = System.currentTimeMillis();
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (RequiredIndex required : INDEXES) {
+            Index index = new Index();
+            required.keys().forEach(index::on);
+            if (required.unique()) {
+                index.unique();
+            }
+            String key = mongoTemplate.getCollectionName(required.documentType()) + " " + required.keys().keySet();
+            try {
+                results.put(key, mongoTemplate.indexOps(required.documentType()).createIndex(index));
+            } catch (RuntimeException e) {
+                log.error("Could not create MongoDB index {}: {}", key, e.getMessage());
+                results.put(key, "FAILED: " + e.getMessage());
+            }
+        }
+        log.info("MongoDB indexes ensured in {} ms", System.currentTimeMillis() - startTime);
+        return results;
+    }
+
+    /**
+     * The plan MongoDB picks for each declared query, and whether it avoids a
+     * collection scan.
+     */
+    public Map<String, Object> report() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        for (IndexedQuery query : QUERIES) {
+            Document plan = winningPlan(query);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("collection", mongoTemplate.getCollectionName(query.documentType()));
+            entry.put("filter", query.filter().keySet());
+            entry.put("indexes", indexNames(plan));
+            entry.put("supported", isIndexScan(plan));
+            report.put(query.method(), entry);
+        }
+        return report;
+    }
+
+    public List<String> unsupportedQueries() {
+        return QUERIES.stream()
+                .filter(query -> !isIndexScan(winningPlan(query)))
+                .map(IndexedQuery::method)
+                .toList();
+    }
+
+    public Document winningPlan(IndexedQuery query) {
+        Document explain = mongoTemplate.getCollection(mongoTemplate.getCollectionName(query.documentType()))
+                .find(query.filter())
+                .explain();
+        return explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+    }
+
+    /**
+     * True when the plan reads through an index and never scans the whole
+     * collection. Looks through nested stages, which covers both the classic
+     * and the slot-based plan layouts.
+     */
+    public static boolean isIndexScan(Document plan) {
+        List<String> stages = new ArrayList<>();
+        collectStages(plan, stages, new ArrayList<>());
+        return stages.contains("IXSCAN") && !stages.contains("COLLSCAN");
+    }
+
+    private static List<String> indexNames(Document plan) {
+        List<String> names = new ArrayList<>();
+        collectStages(plan, new ArrayList<>(), names);
+        return names;
+    }
+
+    private static void collectStages(Object node, List<String> stages, List<String> indexNames) {
+        if (node instanceof Document document) {
+            if (document.get("stage") instanceof String stage) {
+                stages.add(stage);
+                if ("IXSCAN".equals(stage) && document.get("indexName") instanceof String indexName) {
+                    indexNames.add(indexName);
+                }
+            }
+            document.values().forEach(value -> collectStages(value, stages, indexNames));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectStages(value, stages, indexNames));
+        }
+    }
+
+    private static RequiredIndex index(Class<?> documentType, String field) {
+        return new RequiredIndex(documentType, Map.of(field, Sort.Direction.ASC), false);
+    }
+
+    private static RequiredIndex unique(Class<?> documentType, String field) {
+        return new RequiredIndex(documentType, Map.of(field, Sort.Direction.ASC), true);
+    }
+
+    private static RequiredIndex compound(Class<?> documentType, String first, Sort.Direction firstDirection,
+                                          String second, Sort.Direction secondDirection) {
+        Map<String, Sort.Direction> keys = new LinkedHashMap<>();
+        keys.put(first, firstDirection);
+        keys.put(second, secondDirection);
+        return new RequiredIndex(documentType, keys, false);
+    }
+
+    private static IndexedQuery query(String method, Class<?> documentType, String field, Object sample) {
+        return new IndexedQuery(method, documentType, new Document(field, sample));
+    }
+}
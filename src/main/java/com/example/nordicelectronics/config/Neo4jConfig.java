@@ -1,9 +1,11 @@
 package com.example.nordicelectronics.config;
 
+import com.example.nordicelectronics.service.migration.Neo4jGraphWriter;
 import org.neo4j.driver.Driver;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.neo4j.core.DatabaseSelectionProvider;
+import org.springframework.data.neo4j.core.Neo4jClient;
 import org.springframework.data.neo4j.core.transaction.Neo4jTransactionManager;
 import org.springframework.data.neo4j.repository.config.EnableNeo4jRepositories;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -19,5 +21,13 @@ public class Neo4jConfig {
     public PlatformTransactionManager neo4jTransactionManager(Driver driver, DatabaseSelectionProvider databaseSelectionProvider) {
         return new Neo4jTransactionManager(driver, databaseSelectionProvider);
     }
-}
 
+    /**
+     * Creates the constraints and indexes behind the repository queries at
+     * startup and checks that the queries use them; see {@link Neo4jSchemaManager}.
+     */
+    @Bean
+    public Neo4jSchemaManager neo4jSchemaManager(Neo4jClient neo4jClient, Neo4jGraphWriter graphWriter) {
+        return new Neo4jSchemaManager(neo4jClient, graphWriter);
+    }
+}
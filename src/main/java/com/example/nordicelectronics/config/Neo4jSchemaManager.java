@@ -0,0 +1,330 @@
+package com.example.nordicelectronics.config;
+
+import com.example.nordicelectronics.repositories.neo4j.ProductNeo4jRepository;
+import com.example.nordicelectronics.service.migration.Neo4jGraphWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.neo4j.driver.summary.Plan;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.data.neo4j.core.schema.Node;
+import org.springframework.data.neo4j.core.schema.Property;
+import org.springframework.data.neo4j.repository.Neo4jRepository;
+import org.springframework.data.neo4j.repository.query.Query;
+import org.springframework.data.repository.core.support.AbstractRepositoryMetadata;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Creates the uniqueness constraints and range indexes behind every Neo4j
+ * repository query, waits for them to come online, and checks with
+ * {@code EXPLAIN} that each query starts from an index seek rather than a
+ * label scan.
+ *
+ * Business ids ({@code productId}, {@code orderId}, ...) and the other values
+ * unique in PostgreSQL get uniqueness constraints, named like the ones the
+ * graph migration creates; the remaining looked-up properties get range
+ * indexes. The queries checked are read from the repository interfaces: the
+ * {@code @Query} of annotated methods, and for derived finders the Cypher
+ * their method name describes. A new repository method whose lookup nothing
+ * covers yet needs an entry in {@link #SCHEMA}.
+ *
+ * Registered by {@link Neo4jConfig}. The schema is created in the background
+ * after startup; with {@code neo4j.schema.fail-on-missing=true} it is created
+ * before the application reports ready, and startup fails if a query is left
+ * without an index.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class Neo4jSchemaManager implements ApplicationRunner {
+
+    /**
+     * A property to index on a label, either as a uniqueness constraint or as
+     * a range index.
+     */
+    public record SchemaIndex(String label, String property, boolean unique) {
+
+        public String name() {
+            return label.toLowerCase() + "_" + property + (unique ? "_unique" : "_range");
+        }
+    }
+
+    /**
+     * A repository query method and the Cypher it runs.
+     */
+    public record IndexedQuery(String method, String cypher) {
+    }
+
+    private static final Pattern PARAMETER = Pattern.compile("\\$(\\w+)");
+
+    private static final List<SchemaIndex> SCHEMA = List.of(
+            unique("Address", "addressId"),
+            range("Address", "userId"),
+            unique("Brand", "brandId"),
+            range("Brand", "name"),
+            unique("Category", "categoryId"),
+            range("Category", "name"),
+            unique("Coupon", "couponId"),
+            unique("Coupon", "code"),
+            range("Coupon", "isActive"),
+            unique("Order", "orderId"),
+            range("Order", "userId"),
+            range("Order", "orderStatus"),
+            unique("Payment", "paymentId"),
+            range("Payment", "orderId"),
+            range("Payment", "paymentStatus"),
+            unique("Product", "productId"),
+            unique("Product", "sku"),
+            range("Product", "brandId"),
+            unique("Review", "reviewId"),
+            range("Review", "productId"),
+            range("Review", "userId"),
+            range("Review", "isVerifiedPurchase"),
+            unique("User", "userId"),
+            unique("User", "email"),
+            unique("Warehouse", "warehouseId"),
+            range("Warehouse", "name"),
+            unique("Warranty", "warrantyId"),
+            range("Warranty", "productId"));
+
+    private static final List<IndexedQuery> QUERIES =
+            repositoryQueries(ProductNeo4jRepository.class.getPackageName());
+
+    private final Neo4jClient neo4jClient;
+    private final Neo4jGraphWriter graphWriter;
+
+    @Value("${neo4j.schema.create-on-startup:true}")
+    private boolean createOnStartup;
+
+    @Value("${neo4j.schema.fail-on-missing:false}")
+    private boolean failOnMissing;
+
+    @Value("${neo4j.schema.await-timeout-seconds:300}")
+    private int awaitTimeoutSeconds;
+
+    public static List<IndexedQuery> queries() {
+        return QUERIES;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (failOnMissing) {
+            createSchema();
+            List<String> unsupported = unsupportedQueries();
+            if (!unsupported.isEmpty()) {
+                throw new IllegalStateException("Neo4j queries without a supporting index: " + unsupported);
+            }
+        } else if (createOnStartup) {
+            ExecutorService background = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("neo4j-schema-"));
+            background.execute(() -> {
+                try {
+                    createSchema();
+                    List<String> unsupported = unsupportedQueries();
+                    if (!unsupported.isEmpty()) {
+                        log.warn("Neo4j queries without a supporting index: {}", unsupported);
+                    }
+                } catch (RuntimeException e) {
+                    log.error("Neo4j schema provisioning failed: {}", e.getMessage(), e);
+                }
+            });
+            background.shutdown();
+        }
+    }
+
+    /**
+     * Creates every declared constraint and index that does not exist yet and
+     * waits until all of them are online. A constraint that cannot be created,
+     * e.g. over duplicate values, is reported and skipped.
+     *
+     * @return the outcome per constraint or index name
+     */
+    public Map<String, Object> createSchema() {
+        long startTime = System.currentTimeMillis();
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (SchemaIndex index : SCHEMA) {
+            try {
+                if (index.unique()) {
+                    graphWriter.ensureKeyConstraint(index.label(), index.property());
+                } else {
+                    neo4jClient.query("CREATE INDEX " + index.name() + " IF NOT EXISTS "
+                                    + "FOR (n:" + index.label() + ") ON (n." + index.property() + ")")
+                            .run();
+                }
+                results.put(index.name(), "OK");
+            } catch (RuntimeException e) {
+                log.error("Could not create Neo4j schema {}: {}", index.name(), e.getMessage());
+                results.put(index.name(), "FAILED: " + e.getMessage());
+            }
+        }
+        neo4jClient.query("CALL db.awaitIndexes($timeout)")
+                .bind(awaitTimeoutSeconds).to("timeout")
+                .run();
+        log.info("Neo4j constraints and indexes online in {} ms", System.currentTimeMillis() - startTime);
+        return results;
+    }
+
+    /**
+     * The operators each declared query starts from, and whether it seeks an
+     * index rather than scanning a label.
+     */
+    public Map<String, Object> report() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        for (IndexedQuery query : QUERIES) {
+            List<String> operators = operators(query);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("cypher", query.cypher());
+            entry.put("operators", operators);
+            entry.put("supported", isIndexSeek(operators));
+            report.put(query.method(), entry);
+        }
+        return report;
+    }
+
+    public List<String> unsupportedQueries() {
+        return QUERIES.stream()
+                .filter(query -> !isIndexSeek(operators(query)))
+                .map(IndexedQuery::method)
+                .toList();
+    }
+
+    /**
+     * Operator types in the {@code EXPLAIN} plan of a query, without the
+     * runtime suffix (e.g. {@code NodeUniqueIndexSeek}).
+     */
+    public List<String> operators(IndexedQuery query) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        Matcher matcher = PARAMETER.matcher(query.cypher());
+        while (matcher.find()) {
+            parameters.put(matcher.group(1), "sample");
+        }
+        Plan plan = neo4jClient.query("EXPLAIN " + query.cypher())
+                .bindAll(parameters)
+                .run()
+                .plan();
+        List<String> operators = new ArrayList<>();
+        collectOperators(plan, operators);
+        return operators;
+    }
+
+    /**
+     * True when the plan reads through an index seek and never scans a whole
+     * label or the whole graph.
+     */
+    public static boolean isIndexSeek(List<String> operators) {
+        return operators.stream().anyMatch(operator -> operator.contains("IndexSeek"))
+                && operators.stream().noneMatch(operator -> operator.contains("LabelScan")
+                        || operator.contains("AllNodesScan"));
+    }
+
+    private static void collectOperators(Plan plan, List<String> operators) {
+        String operator = plan.operatorType();
+        int runtime = operator.indexOf('@');
+        operators.add(runtime < 0 ? operator : operator.substring(0, runtime));
+        plan.children().forEach(child -> collectOperators(child, operators));
+    }
+
+    private static SchemaIndex unique(String label, String property) {
+        return new SchemaIndex(label, property, true);
+    }
+
+    private static SchemaIndex range(String label, String property) {
+        return new SchemaIndex(label, property, false);
+    }
+
+    /**
+     * The Cypher of every query method declared on the Neo4j repository
+     * interfaces in {@code basePackage}, keyed {@code Repository.method}.
+     */
+    static List<IndexedQuery> repositoryQueries(String basePackage) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                return beanDefinition.getMetadata().isInterface();
+            }
+        };
+        scanner.addIncludeFilter(new AssignableTypeFilter(Neo4jRepository.class));
+
+        List<IndexedQuery> queries = new ArrayList<>();
+        scanner.findCandidateComponents(basePackage).stream()
+                .map(BeanDefinition::getBeanClassName)
+                .sorted()
+                .forEach(className -> {
+                    Class<?> repository = ClassUtils.resolveClassName(className, Neo4jSchemaManager.class.getClassLoader());
+                    Class<?> domainType = AbstractRepositoryMetadata.getMetadata(repository).getDomainType();
+                    Arrays.stream(repository.getDeclaredMethods())
+                            .filter(method -> !method.isDefault() && !Modifier.isStatic(method.getModifiers()))
+                            .sorted(Comparator.comparing(Method::getName))
+                            .forEach(method -> queries.add(new IndexedQuery(
+                                    repository.getSimpleName() + "." + method.getName(),
+                                    cypher(method, domainType))));
+                });
+        return List.copyOf(queries);
+    }
+
+    /**
+     * The {@code @Query} of a repository method or, for a derived query, a
+     * {@code MATCH} on the node label with the equality lookups its name
+     * describes. That is the part of the generated Cypher that decides whether
+     * the planner seeks an index; projections and deletes do not change it.
+     */
+    static String cypher(Method method, Class<?> domainType) {
+        Query query = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+        if (query != null && !query.value().isBlank()) {
+            return query.value();
+        }
+        PartTree tree = new PartTree(method.getName(), domainType);
+        List<String> conditions = new ArrayList<>();
+        for (PartTree.OrPart or : tree) {
+            if (!conditions.isEmpty()) {
+                throw new IllegalStateException("Cannot derive Cypher for " + method + " with Or; give it a @Query");
+            }
+            for (Part part : or) {
+                if (part.getType() != Part.Type.SIMPLE_PROPERTY || part.getProperty().hasNext()) {
+                    throw new IllegalStateException(
+                            "Cannot derive Cypher for " + method + " from " + part + "; give it a @Query");
+                }
+                String property = propertyName(domainType, part.getProperty().getSegment());
+                conditions.add("n." + property + " = $" + part.getProperty().getSegment());
+            }
+        }
+        return "MATCH (n:" + label(domainType) + ") WHERE " + String.join(" AND ", conditions) + " RETURN n";
+    }
+
+    private static String label(Class<?> domainType) {
+        Node node = AnnotatedElementUtils.findMergedAnnotation(domainType, Node.class);
+        if (node == null || node.labels().length == 0) {
+            return domainType.getSimpleName();
+        }
+        return node.labels()[0];
+    }
+
+    private static String propertyName(Class<?> domainType, String field) {
+        Field declared = ReflectionUtils.findField(domainType, field);
+        Property property = declared != null ? AnnotatedElementUtils.findMergedAnnotation(declared, Property.class) : null;
+        return property != null && !property.name().isBlank() ? property.name() : field;
+    }
+}
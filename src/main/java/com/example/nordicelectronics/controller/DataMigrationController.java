@@ -1,7 +1,13 @@
 package com.example.nordicelectronics.controller;
 
+import com.example.nordicelectronics.config.MongoIndexManager;
+import com.example.nordicelectronics.config.Neo4jSchemaManager;
+import com.example.nordicelectronics.service.ConsistencyCheckService;
 import com.example.nordicelectronics.service.DataMigrationService;
+import com.example.nordicelectronics.service.IncrementalSyncService;
+import com.example.nordicelectronics.service.MigrationJobService;
 import com.example.nordicelectronics.service.Neo4jMigrationService;
+import com.example.nordicelectronics.service.OutboxRelayService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -9,7 +15,9 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @Tag(name = "Data Migration Controller", description = "Handles data migration from PostgreSQL to MongoDB and Neo4j")
 @RestController
@@ -20,45 +28,159 @@ public class DataMigrationController {
 
     private final DataMigrationService dataMigrationService;
     private final Neo4jMigrationService neo4jMigrationService;
+    private final IncrementalSyncService incrementalSyncService;
+    private final OutboxRelayService outboxRelayService;
+    private final MigrationJobService migrationJobService;
+    private final ConsistencyCheckService consistencyCheckService;
+    private final MongoIndexManager mongoIndexManager;
+    private final Neo4jSchemaManager neo4jSchemaManager;
 
     @Operation(
         summary = "Migrate all data from PostgreSQL to MongoDB",
-        description = "Migration of all data from PostgreSQL to MongoDB"
+        description = "Submits a migration job of all data from PostgreSQL to MongoDB and returns it at once; "
+                + "poll /api/migration/jobs/{jobId} for progress. Independent phases run concurrently; "
+                + "pass parallelism=1 to compare against a sequential run"
     )
     @PostMapping("/postgresql-to-mongodb")
-    public ResponseEntity<Map<String, Object>> migratePostgreSQLToMongoDB() {
-        try {
-            Map<String, Object> results = dataMigrationService.migrateAllData();
-            return new ResponseEntity<>(results, HttpStatus.OK);
-        } catch (Exception e) {
-            return new ResponseEntity<>(
-                Map.of(
-                    "status", "FAILED",
-                    "error", e.getMessage()
-                ),
-                HttpStatus.INTERNAL_SERVER_ERROR
-            );
-        }
+    public ResponseEntity<Map<String, Object>> migratePostgreSQLToMongoDB(
+            @RequestParam(required = false) Integer parallelism) {
+        return new ResponseEntity<>(migrationJobService.submit(dataMigrationService.targetName(), parallelism),
+                HttpStatus.ACCEPTED);
     }
 
     @Operation(
         summary = "Migrate all data from PostgreSQL to Neo4j",
-        description = "Migration of all data from PostgreSQL to Neo4j graph database"
+        description = "Submits a migration job of all data from PostgreSQL to the Neo4j graph database and "
+                + "returns it at once; poll /api/migration/jobs/{jobId} for progress. Independent phases run "
+                + "concurrently; pass parallelism=1 to compare against a sequential run"
     )
     @PostMapping("/postgresql-to-neo4j")
-    public ResponseEntity<Map<String, Object>> migratePostgreSQLToNeo4j() {
+    public ResponseEntity<Map<String, Object>> migratePostgreSQLToNeo4j(
+            @RequestParam(required = false) Integer parallelism) {
+        return new ResponseEntity<>(migrationJobService.submit(neo4jMigrationService.targetName(), parallelism),
+                HttpStatus.ACCEPTED);
+    }
+
+    @Operation(
+        summary = "Get a migration job",
+        description = "Status, rows processed per phase, rate of the current run and estimated time left"
+    )
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<Map<String, Object>> getMigrationJob(@PathVariable UUID jobId) {
+        return new ResponseEntity<>(migrationJobService.getJob(jobId), HttpStatus.OK);
+    }
+
+    @Operation(
+        summary = "Cancel a running migration job",
+        description = "Phases stop after the chunk they are writing; the job can be resumed later"
+    )
+    @PostMapping("/jobs/{jobId}/cancel")
+    public ResponseEntity<Map<String, Object>> cancelMigrationJob(@PathVariable UUID jobId) {
+        return new ResponseEntity<>(migrationJobService.cancel(jobId), HttpStatus.ACCEPTED);
+    }
+
+    @Operation(
+        summary = "Resume a stopped migration job",
+        description = "Runs a failed, cancelled or interrupted job again, skipping completed phases and "
+                + "continuing the others after their last written chunk"
+    )
+    @PostMapping("/jobs/{jobId}/resume")
+    public ResponseEntity<Map<String, Object>> resumeMigrationJob(@PathVariable UUID jobId) {
+        return new ResponseEntity<>(migrationJobService.resume(jobId), HttpStatus.ACCEPTED);
+    }
+
+    @Operation(
+        summary = "Sync rows changed since the last run to MongoDB and Neo4j",
+        description = "Re-projects rows changed since each store's high-water mark, including the documents "
+                + "that embed them, and removes soft-deleted rows. Requires a full migration first"
+    )
+    @PostMapping("/sync")
+    public ResponseEntity<Map<String, Object>> syncChanges() {
         try {
-            Map<String, Object> results = neo4jMigrationService.migrateAllDataToNeo4j();
-            return new ResponseEntity<>(results, HttpStatus.OK);
-        } catch (Exception e) {
+            return new ResponseEntity<>(incrementalSyncService.syncAll(), HttpStatus.OK);
+        } catch (IllegalStateException e) {
             return new ResponseEntity<>(
                 Map.of(
-                    "status", "FAILED",
+                    "status", "RUNNING",
                     "error", e.getMessage()
                 ),
-                HttpStatus.INTERNAL_SERVER_ERROR
+                HttpStatus.CONFLICT
             );
         }
     }
-}
 
+    @Operation(
+        summary = "Get the incremental sync status",
+        description = "Whether a sync is running, and the changed rows, lag and duration of the last run per store"
+    )
+    @GetMapping("/sync/status")
+    public ResponseEntity<Map<String, Object>> getSyncStatus() {
+        return new ResponseEntity<>(incrementalSyncService.status(), HttpStatus.OK);
+    }
+
+    @Operation(
+        summary = "Get the outbox relay status",
+        description = "Per store: events waiting and how long the oldest has waited, events relayed per second "
+                + "over the last minute, and the size, lag and duration of the last batch"
+    )
+    @GetMapping("/outbox/status")
+    public ResponseEntity<Map<String, Object>> getOutboxStatus() {
+        return new ResponseEntity<>(outboxRelayService.status(), HttpStatus.OK);
+    }
+
+    @Operation(
+        summary = "Check MongoDB and Neo4j against PostgreSQL",
+        description = "Compares Merkle digests of products, orders or users per UUID range and lists the ids "
+                + "missing from, only present in, or different in each store"
+    )
+    @GetMapping("/consistency/{entity}")
+    public ResponseEntity<Map<String, Object>> checkConsistency(@PathVariable String entity) {
+        return new ResponseEntity<>(consistencyCheckService.check(entity), HttpStatus.OK);
+    }
+
+    @Operation(
+        summary = "Check the MongoDB indexes behind the repository queries",
+        description = "Explains each MongoDB repository query and reports the index it uses, or that it scans "
+                + "the whole collection"
+    )
+    @GetMapping("/mongodb/indexes")
+    public ResponseEntity<Map<String, Object>> getMongoIndexReport() {
+        return new ResponseEntity<>(mongoIndexManager.report(), HttpStatus.OK);
+    }
+
+    @Operation(
+        summary = "Create the MongoDB indexes",
+        description = "Creates any declared MongoDB index that is missing, then reports the index used by each "
+                + "repository query"
+    )
+    @PostMapping("/mongodb/indexes")
+    public ResponseEntity<Map<String, Object>> createMongoIndexes() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("indexes", mongoIndexManager.createIndexes());
+        result.put("queries", mongoIndexManager.report());
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    @Operation(
+        summary = "Check the Neo4j indexes behind the repository queries",
+        description = "Explains each Neo4j repository query and reports whether it starts from an index seek "
+                + "or scans a whole label"
+    )
+    @GetMapping("/neo4j/schema")
+    public ResponseEntity<Map<String, Object>> getNeo4jSchemaReport() {
+        return new ResponseEntity<>(neo4jSchemaManager.report(), HttpStatus.OK);
+    }
+
+    @Operation(
+        summary = "Create the Neo4j constraints and indexes",
+        description = "Creates any declared Neo4j constraint or index that is missing, waits for them to come "
+                + "online, then reports the plan of each repository query"
+    )
+    @PostMapping("/neo4j/schema")
+    public ResponseEntity<Map<String, Object>> createNeo4jSchema() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("schema", neo4jSchemaManager.createSchema());
+        result.put("queries", neo4jSchemaManager.report());
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+}
@@ -3,14 +3,19 @@ package com.example.nordicelectronics.controller.mongodb;
 import com.example.nordicelectronics.entity.enums.OrderStatus;
 import com.example.nordicelectronics.entity.mongodb.OrderDocument;
 import com.example.nordicelectronics.service.mongodb.OrderMongoService;
+import com.example.nordicelectronics.service.pagination.ListResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -22,11 +27,19 @@ import java.util.UUID;
 public class OrderMongoController {
 
     private final OrderMongoService orderMongoService;
+    private final ListResponses listResponses;
 
-    @Operation(summary = "Get all MongoDB orders", description = "Fetches a list of all orders.")
+    @Operation(summary = "Get all MongoDB orders", description = "Fetches a page of orders in ID order. The X-Next-Cursor response header holds the cursor of the next page; limit is capped at pagination.max-limit.")
     @GetMapping("")
-    public ResponseEntity<List<OrderDocument>> getAll() {
-        return new ResponseEntity<>(orderMongoService.getAll(), HttpStatus.OK);
+    public ResponseEntity<List<OrderDocument>> getAll(@RequestParam(required = false) Integer limit,
+                                                      @RequestParam(required = false) String cursor) {
+        return listResponses.page(orderMongoService.getPage(limit, cursor));
+    }
+
+    @Operation(summary = "Stream all MongoDB orders", description = "Streams every order as newline-delimited JSON, for exports.")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAll(HttpServletResponse response) throws IOException {
+        listResponses.ndjson(response, orderMongoService::streamAll);
     }
 
     @Operation(summary = "Get MongoDB order by ID", description = "Fetches an order by its unique ID.")
@@ -41,6 +54,12 @@ public class OrderMongoController {
         return new ResponseEntity<>(orderMongoService.getByUserId(userId), HttpStatus.OK);
     }
 
+    @Operation(summary = "Stream MongoDB orders by user ID", description = "Streams the order history of a user, newest first, as newline-delimited JSON. Documents are sent as they are read from MongoDB and only as fast as the client reads them.")
+    @GetMapping(value = "/user/{userId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<OrderDocument> streamByUserId(@PathVariable UUID userId) {
+        return orderMongoService.streamByUserId(userId);
+    }
+
     @Operation(summary = "Get MongoDB orders by status", description = "Fetches all orders with a specific status.")
     @GetMapping("/status/{status}")
     public ResponseEntity<List<OrderDocument>> getByStatus(@PathVariable OrderStatus status) {
@@ -3,14 +3,18 @@ package com.example.nordicelectronics.controller.mongodb;
 import com.example.nordicelectronics.entity.enums.PaymentStatus;
 import com.example.nordicelectronics.entity.mongodb.PaymentDocument;
 import com.example.nordicelectronics.service.mongodb.PaymentMongoService;
+import com.example.nordicelectronics.service.pagination.ListResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -22,11 +26,19 @@ import java.util.UUID;
 public class PaymentMongoController {
 
     private final PaymentMongoService paymentMongoService;
+    private final ListResponses listResponses;
 
-    @Operation(summary = "Get all MongoDB payments", description = "Fetches a list of all payments.")
+    @Operation(summary = "Get all MongoDB payments", description = "Fetches a page of payments in ID order. The X-Next-Cursor response header holds the cursor of the next page; limit is capped at pagination.max-limit.")
     @GetMapping("")
-    public ResponseEntity<List<PaymentDocument>> getAll() {
-        return new ResponseEntity<>(paymentMongoService.getAll(), HttpStatus.OK);
+    public ResponseEntity<List<PaymentDocument>> getAll(@RequestParam(required = false) Integer limit,
+                                                        @RequestParam(required = false) String cursor) {
+        return listResponses.page(paymentMongoService.getPage(limit, cursor));
+    }
+
+    @Operation(summary = "Stream all MongoDB payments", description = "Streams every payment as newline-delimited JSON, for exports.")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAll(HttpServletResponse response) throws IOException {
+        listResponses.ndjson(response, paymentMongoService::streamAll);
     }
 
     @Operation(summary = "Get MongoDB payment by ID", description = "Fetches a payment by its unique ID.")
@@ -1,15 +1,24 @@
 package com.example.nordicelectronics.controller.mongodb;
 
+import com.example.nordicelectronics.entity.mongodb.BestReviewedProductDocument;
+import com.example.nordicelectronics.entity.mongodb.BestSellingProductDocument;
 import com.example.nordicelectronics.entity.mongodb.ProductDocument;
+import com.example.nordicelectronics.entity.mongodb.projection.ProductView;
+import com.example.nordicelectronics.service.mongodb.ProductAnalyticsMongoService;
 import com.example.nordicelectronics.service.mongodb.ProductMongoService;
+import com.example.nordicelectronics.service.pagination.ListResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,17 +30,36 @@ import java.util.UUID;
 public class ProductMongoController {
 
     private final ProductMongoService productMongoService;
+    private final ProductAnalyticsMongoService productAnalyticsMongoService;
+    private final ListResponses listResponses;
 
-    @Operation(summary = "Get all MongoDB products", description = "Fetches a list of all products.")
+    @Operation(summary = "Get all MongoDB products", description = "Fetches a page of products in ID order. The X-Next-Cursor response header holds the cursor of the next page; limit is capped at pagination.max-limit. Pass view=listing, card or detail to read only that shape; without it the full document, including its embedded reviews and warehouse stock, is returned.")
     @GetMapping("")
-    public ResponseEntity<List<ProductDocument>> getAll() {
-        return new ResponseEntity<>(productMongoService.getAll(), HttpStatus.OK);
+    public ResponseEntity<? extends List<?>> getAll(@RequestParam(required = false) Integer limit,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(required = false) String view) {
+        ProductView productView = ProductView.fromParam(view);
+        if (productView == null) {
+            return listResponses.page(productMongoService.getPage(limit, cursor));
+        }
+        return listResponses.page(productMongoService.getPage(limit, cursor, productView));
     }
 
-    @Operation(summary = "Get MongoDB product by ID", description = "Fetches a product by its unique ID.")
+    @Operation(summary = "Stream all MongoDB products", description = "Streams every product as newline-delimited JSON, for exports.")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAll(HttpServletResponse response) throws IOException {
+        listResponses.ndjson(response, productMongoService::streamAll);
+    }
+
+    @Operation(summary = "Get MongoDB product by ID", description = "Fetches a product by its unique ID. Pass view=listing, card or detail to read only that shape; without it the full document, including its embedded reviews and warehouse stock, is returned.")
     @GetMapping("/{productId}")
-    public ResponseEntity<ProductDocument> getByProductId(@PathVariable UUID productId) {
-        return new ResponseEntity<>(productMongoService.getByProductId(productId), HttpStatus.OK);
+    public ResponseEntity<?> getByProductId(@PathVariable UUID productId,
+                                            @RequestParam(required = false) String view) {
+        ProductView productView = ProductView.fromParam(view);
+        if (productView == null) {
+            return new ResponseEntity<>(productMongoService.getByProductId(productId), HttpStatus.OK);
+        }
+        return new ResponseEntity<>(productMongoService.getByProductId(productId, productView), HttpStatus.OK);
     }
 
     @Operation(summary = "Get MongoDB product by SKU", description = "Fetches a product by its SKU.")
@@ -40,16 +68,38 @@ public class ProductMongoController {
         return new ResponseEntity<>(productMongoService.getBySku(sku), HttpStatus.OK);
     }
 
-    @Operation(summary = "Get MongoDB products by brand ID", description = "Fetches all products for a specific brand.")
+    @Operation(summary = "Get MongoDB products by brand ID", description = "Fetches all products for a specific brand. Pass view=listing, card or detail to read only that shape; without it the full document, including its embedded reviews and warehouse stock, is returned.")
     @GetMapping("/brand/{brandId}")
-    public ResponseEntity<List<ProductDocument>> getByBrandId(@PathVariable UUID brandId) {
-        return new ResponseEntity<>(productMongoService.getByBrandId(brandId), HttpStatus.OK);
+    public ResponseEntity<? extends List<?>> getByBrandId(@PathVariable UUID brandId,
+                                                          @RequestParam(required = false) String view) {
+        ProductView productView = ProductView.fromParam(view);
+        if (productView == null) {
+            return new ResponseEntity<>(productMongoService.getByBrandId(brandId), HttpStatus.OK);
+        }
+        return new ResponseEntity<>(productMongoService.getByBrandId(brandId, productView), HttpStatus.OK);
     }
 
-    @Operation(summary = "Get MongoDB products by category ID", description = "Fetches all products in a specific category.")
+    @Operation(summary = "Get MongoDB products by category ID", description = "Fetches all products in a specific category. Pass view=listing, card or detail to read only that shape; without it the full document, including its embedded reviews and warehouse stock, is returned.")
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<List<ProductDocument>> getByCategoryId(@PathVariable UUID categoryId) {
-        return new ResponseEntity<>(productMongoService.getByCategoryId(categoryId), HttpStatus.OK);
+    public ResponseEntity<? extends List<?>> getByCategoryId(@PathVariable UUID categoryId,
+                                                             @RequestParam(required = false) String view) {
+        ProductView productView = ProductView.fromParam(view);
+        if (productView == null) {
+            return new ResponseEntity<>(productMongoService.getByCategoryId(categoryId), HttpStatus.OK);
+        }
+        return new ResponseEntity<>(productMongoService.getByCategoryId(categoryId, productView), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Stream MongoDB products by brand ID", description = "Streams the products of a brand as newline-delimited JSON. Documents are sent as they are read from MongoDB and only as fast as the client reads them. Pass view=listing, card or detail to read only that shape.")
+    @GetMapping(value = "/brand/{brandId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<?> streamByBrandId(@PathVariable UUID brandId, @RequestParam(required = false) String view) {
+        return productMongoService.streamByBrandId(brandId, ProductView.fromParam(view));
+    }
+
+    @Operation(summary = "Stream MongoDB products by category ID", description = "Streams the products in a category as newline-delimited JSON. Documents are sent as they are read from MongoDB and only as fast as the client reads them. Pass view=listing, card or detail to read only that shape.")
+    @GetMapping(value = "/category/{categoryId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<?> streamByCategoryId(@PathVariable UUID categoryId, @RequestParam(required = false) String view) {
+        return productMongoService.streamByCategoryId(categoryId, ProductView.fromParam(view));
     }
 
     @Operation(summary = "Create a new MongoDB product", description = "Creates a new product and returns the created product.")
@@ -64,6 +114,25 @@ public class ProductMongoController {
         return new ResponseEntity<>(productMongoService.update(productId, productDocument), HttpStatus.OK);
     }
 
+    @Operation(summary = "Get best selling MongoDB products", description = "Fetches the best selling products of the last month from the best_selling_products summary collection.")
+    @GetMapping("/best-selling")
+    public ResponseEntity<List<BestSellingProductDocument>> getBestSellingProducts() {
+        return new ResponseEntity<>(productAnalyticsMongoService.getBestSellingProducts(), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Get best reviewed MongoDB products", description = "Fetches the best reviewed products from the best_reviewed_products summary collection.")
+    @GetMapping("/best-reviewed")
+    public ResponseEntity<List<BestReviewedProductDocument>> getBestReviewedProducts() {
+        return new ResponseEntity<>(productAnalyticsMongoService.getBestReviewedProducts(), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Refresh MongoDB analytics summaries", description = "Rebuilds the best selling and best reviewed summary collections from the orders and products collections.")
+    @PostMapping("/refresh-analytics")
+    public ResponseEntity<Void> refreshAnalytics() {
+        productAnalyticsMongoService.refreshAnalytics();
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
     @Operation(summary = "Delete a MongoDB product", description = "Deletes a product by its unique ID.")
     @DeleteMapping("/{productId}")
     public ResponseEntity<Void> delete(@PathVariable UUID productId) {
@@ -2,14 +2,19 @@ package com.example.nordicelectronics.controller.mongodb;
 
 import com.example.nordicelectronics.entity.mongodb.ReviewDocument;
 import com.example.nordicelectronics.service.mongodb.ReviewMongoService;
+import com.example.nordicelectronics.service.pagination.ListResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,11 +26,19 @@ import java.util.UUID;
 public class ReviewMongoController {
 
     private final ReviewMongoService reviewMongoService;
+    private final ListResponses listResponses;
 
-    @Operation(summary = "Get all MongoDB reviews", description = "Fetches a list of all reviews.")
+    @Operation(summary = "Get all MongoDB reviews", description = "Fetches a page of reviews in ID order. The X-Next-Cursor response header holds the cursor of the next page; limit is capped at pagination.max-limit.")
     @GetMapping("")
-    public ResponseEntity<List<ReviewDocument>> getAll() {
-        return new ResponseEntity<>(reviewMongoService.getAll(), HttpStatus.OK);
+    public ResponseEntity<List<ReviewDocument>> getAll(@RequestParam(required = false) Integer limit,
+                                                       @RequestParam(required = false) String cursor) {
+        return listResponses.page(reviewMongoService.getPage(limit, cursor));
+    }
+
+    @Operation(summary = "Stream all MongoDB reviews", description = "Streams every review as newline-delimited JSON, for exports.")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAll(HttpServletResponse response) throws IOException {
+        listResponses.ndjson(response, reviewMongoService::streamAll);
     }
 
     @Operation(summary = "Get MongoDB review by ID", description = "Fetches a review by its unique ID.")
@@ -40,6 +53,12 @@ public class ReviewMongoController {
         return new ResponseEntity<>(reviewMongoService.getByProductId(productId), HttpStatus.OK);
     }
 
+    @Operation(summary = "Stream MongoDB reviews by product ID", description = "Streams every review of a product, newest first, as newline-delimited JSON. Documents are sent as they are read from MongoDB and only as fast as the client reads them.")
+    @GetMapping(value = "/product/{productId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ReviewDocument> streamByProductId(@PathVariable UUID productId) {
+        return reviewMongoService.streamByProductId(productId);
+    }
+
     @Operation(summary = "Get MongoDB reviews by user ID", description = "Fetches all reviews by a specific user.")
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<ReviewDocument>> getByUserId(@PathVariable UUID userId) {
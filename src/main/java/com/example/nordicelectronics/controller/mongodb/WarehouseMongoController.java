@@ -1,15 +1,20 @@
 package com.example.nordicelectronics.controller.mongodb;
 
 import com.example.nordicelectronics.entity.mongodb.WarehouseDocument;
+import com.example.nordicelectronics.entity.mongodb.WarehouseProductEmbedded;
 import com.example.nordicelectronics.service.mongodb.WarehouseMongoService;
+import com.example.nordicelectronics.service.pagination.ListResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,11 +26,19 @@ import java.util.UUID;
 public class WarehouseMongoController {
 
     private final WarehouseMongoService warehouseMongoService;
+    private final ListResponses listResponses;
 
-    @Operation(summary = "Get all MongoDB warehouses", description = "Fetches a list of all warehouses.")
+    @Operation(summary = "Get all MongoDB warehouses", description = "Fetches a page of warehouses in ID order. The X-Next-Cursor response header holds the cursor of the next page; limit is capped at pagination.max-limit.")
     @GetMapping("")
-    public ResponseEntity<List<WarehouseDocument>> getAll() {
-        return new ResponseEntity<>(warehouseMongoService.getAll(), HttpStatus.OK);
+    public ResponseEntity<List<WarehouseDocument>> getAll(@RequestParam(required = false) Integer limit,
+                                                          @RequestParam(required = false) String cursor) {
+        return listResponses.page(warehouseMongoService.getPage(limit, cursor));
+    }
+
+    @Operation(summary = "Stream all MongoDB warehouses", description = "Streams every warehouse as newline-delimited JSON, for exports.")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAll(HttpServletResponse response) throws IOException {
+        listResponses.ndjson(response, warehouseMongoService::streamAll);
     }
 
     @Operation(summary = "Get MongoDB warehouse by ID", description = "Fetches a warehouse by its unique ID.")
@@ -34,6 +47,34 @@ public class WarehouseMongoController {
         return new ResponseEntity<>(warehouseMongoService.getByWarehouseId(warehouseId), HttpStatus.OK);
     }
 
+    @Operation(summary = "Get MongoDB warehouses stocking a product", description = "Fetches the warehouses that hold the product, or only those with stock left when inStock is true.")
+    @GetMapping("/product/{productId}")
+    public ResponseEntity<List<WarehouseDocument>> getByProductId(@PathVariable UUID productId,
+                                                                  @RequestParam(defaultValue = "false") boolean inStock) {
+        return new ResponseEntity<>(warehouseMongoService.getByProductId(productId, inStock), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Get the inventory of a MongoDB warehouse", description = "Fetches every stock line of a warehouse from its inventory buckets.")
+    @GetMapping("/{warehouseId}/inventory")
+    public ResponseEntity<List<WarehouseProductEmbedded>> getInventory(@PathVariable UUID warehouseId) {
+        return new ResponseEntity<>(warehouseMongoService.getInventory(warehouseId), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Set a stock line of a MongoDB warehouse", description = "Adds or replaces the stock line of one product, rewriting only the inventory bucket that holds it.")
+    @PutMapping("/{warehouseId}/inventory/{productId}")
+    public ResponseEntity<Void> putInventory(@PathVariable UUID warehouseId, @PathVariable UUID productId,
+                                             @RequestBody WarehouseProductEmbedded product) {
+        warehouseMongoService.putInventory(warehouseId, productId, product);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    @Operation(summary = "Remove a stock line of a MongoDB warehouse", description = "Removes the stock line of one product from the warehouse inventory.")
+    @DeleteMapping("/{warehouseId}/inventory/{productId}")
+    public ResponseEntity<Void> removeInventory(@PathVariable UUID warehouseId, @PathVariable UUID productId) {
+        warehouseMongoService.removeInventory(warehouseId, productId);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
     @Operation(summary = "Create a new MongoDB warehouse", description = "Creates a new warehouse and returns the created warehouse.")
     @PostMapping("")
     public ResponseEntity<WarehouseDocument> save(@RequestBody WarehouseDocument warehouseDocument) {
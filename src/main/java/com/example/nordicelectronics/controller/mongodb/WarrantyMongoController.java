@@ -2,14 +2,18 @@ package com.example.nordicelectronics.controller.mongodb;
 
 import com.example.nordicelectronics.entity.mongodb.WarrantyDocument;
 import com.example.nordicelectronics.service.mongodb.WarrantyMongoService;
+import com.example.nordicelectronics.service.pagination.ListResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,11 +25,19 @@ import java.util.UUID;
 public class WarrantyMongoController {
 
     private final WarrantyMongoService warrantyMongoService;
+    private final ListResponses listResponses;
 
-    @Operation(summary = "Get all MongoDB warranties", description = "Fetches a list of all warranties.")
+    @Operation(summary = "Get all MongoDB warranties", description = "Fetches a page of warranties in ID order. The X-Next-Cursor response header holds the cursor of the next page; limit is capped at pagination.max-limit.")
     @GetMapping("")
-    public ResponseEntity<List<WarrantyDocument>> getAll() {
-        return new ResponseEntity<>(warrantyMongoService.getAll(), HttpStatus.OK);
+    public ResponseEntity<List<WarrantyDocument>> getAll(@RequestParam(required = false) Integer limit,
+                                                         @RequestParam(required = false) String cursor) {
+        return listResponses.page(warrantyMongoService.getPage(limit, cursor));
+    }
+
+    @Operation(summary = "Stream all MongoDB warranties", description = "Streams every warranty as newline-delimited JSON, for exports.")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAll(HttpServletResponse response) throws IOException {
+        listResponses.ndjson(response, warrantyMongoService::streamAll);
     }
 
     @Operation(summary = "Get MongoDB warranty by ID", description = "Fetches a warranty by its unique ID.")
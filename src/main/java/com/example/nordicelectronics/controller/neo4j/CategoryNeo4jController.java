@@ -2,13 +2,17 @@ package com.example.nordicelectronics.controller.neo4j;
 
 import com.example.nordicelectronics.entity.neo4j.CategoryNode;
 import com.example.nordicelectronics.service.neo4j.CategoryNeo4jService;
+import com.example.nordicelectronics.service.pagination.ListResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,11 +23,19 @@ import java.util.UUID;
 public class CategoryNeo4jController {
 
     private final CategoryNeo4jService categoryNeo4jService;
+    private final ListResponses listResponses;
 
-    @Operation(summary = "Get all Neo4j categories")
+    @Operation(summary = "Get all Neo4j categories", description = "Fetches a page of categories in ID order. The X-Next-Cursor response header holds the cursor of the next page; limit is capped at pagination.max-limit.")
     @GetMapping("")
-    public ResponseEntity<List<CategoryNode>> getAll() {
-        return new ResponseEntity<>(categoryNeo4jService.getAll(), HttpStatus.OK);
+    public ResponseEntity<List<CategoryNode>> getAll(@RequestParam(required = false) Integer limit,
+                                                     @RequestParam(required = false) String cursor) {
+        return listResponses.page(categoryNeo4jService.getPage(limit, cursor));
+    }
+
+    @Operation(summary = "Stream all Neo4j categories", description = "Streams every category as newline-delimited JSON, for exports.")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAll(HttpServletResponse response) throws IOException {
+        listResponses.ndjson(response, categoryNeo4jService::streamAll);
     }
 
     @Operation(summary = "Get Neo4j category by ID")
@@ -3,13 +3,17 @@ package com.example.nordicelectronics.controller.neo4j;
 import com.example.nordicelectronics.entity.enums.OrderStatus;
 import com.example.nordicelectronics.entity.neo4j.OrderNode;
 import com.example.nordicelectronics.service.neo4j.OrderNeo4jService;
+import com.example.nordicelectronics.service.pagination.ListResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,11 +24,19 @@ import java.util.UUID;
 public class OrderNeo4jController {
 
     private final OrderNeo4jService orderNeo4jService;
+    private final ListResponses listResponses;
 
-    @Operation(summary = "Get all Neo4j orders")
+    @Operation(summary = "Get all Neo4j orders", description = "Fetches a page of orders in ID order. The X-Next-Cursor response header holds the cursor of the next page; limit is capped at pagination.max-limit.")
     @GetMapping("")
-    public ResponseEntity<List<OrderNode>> getAll() {
-        return new ResponseEntity<>(orderNeo4jService.getAll(), HttpStatus.OK);
+    public ResponseEntity<List<OrderNode>> getAll(@RequestParam(required = false) Integer limit,
+                                                  @RequestParam(required = false) String cursor) {
+        return listResponses.page(orderNeo4jService.getPage(limit, cursor));
+    }
+
+    @Operation(summary = "Stream all Neo4j orders", description = "Streams every order as newline-delimited JSON, for exports.")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAll(HttpServletResponse response) throws IOException {
+        listResponses.ndjson(response, orderNeo4jService::streamAll);
     }
 
     @Operation(summary = "Get Neo4j order by ID")
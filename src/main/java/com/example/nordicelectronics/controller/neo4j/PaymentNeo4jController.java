@@ -3,13 +3,17 @@ package com.example.nordicelectronics.controller.neo4j;
 import com.example.nordicelectronics.entity.enums.PaymentStatus;
 import com.example.nordicelectronics.entity.neo4j.PaymentNode;
 import com.example.nordicelectronics.service.neo4j.PaymentNeo4jService;
+import com.example.nordicelectronics.service.pagination.ListResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,11 +24,19 @@ import java.util.UUID;
 public class PaymentNeo4jController {
 
     private final PaymentNeo4jService paymentNeo4jService;
+    private final ListResponses listResponses;
 
-    @Operation(summary = "Get all Neo4j payments")
+    @Operation(summary = "Get all Neo4j payments", description = "Fetches a page of payments in ID order. The X-Next-Cursor response header holds the cursor of the next page; limit is capped at pagination.max-limit.")
     @GetMapping("")
-    public ResponseEntity<List<PaymentNode>> getAll() {
-        return new ResponseEntity<>(paymentNeo4jService.getAll(), HttpStatus.OK);
+    public ResponseEntity<List<PaymentNode>> getAll(@RequestParam(required = false) Integer limit,
+                                                    @RequestParam(required = false) String cursor) {
+        return listResponses.page(paymentNeo4jService.getPage(limit, cursor));
+    }
+
+    @Operation(summary = "Stream all Neo4j payments", description = "Streams every payment as newline-delimited JSON, for exports.")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAll(HttpServletResponse response) throws IOException {
+        listResponses.ndjson(response, paymentNeo4jService::streamAll);
     }
 
     @Operation(summary = "Get Neo4j payment by ID")
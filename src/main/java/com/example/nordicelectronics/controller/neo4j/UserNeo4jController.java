@@ -2,13 +2,17 @@ package com.example.nordicelectronics.controller.neo4j;
 
 import com.example.nordicelectronics.entity.neo4j.UserNode;
 import com.example.nordicelectronics.service.neo4j.UserNeo4jService;
+import com.example.nordicelectronics.service.pagination.ListResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,11 +23,19 @@ import java.util.UUID;
 public class UserNeo4jController {
 
     private final UserNeo4jService userNeo4jService;
+    private final ListResponses listResponses;
 
-    @Operation(summary = "Get all Neo4j users")
+    @Operation(summary = "Get all Neo4j users", description = "Fetches a page of users in ID order. The X-Next-Cursor response header holds the cursor of the next page; limit is capped at pagination.max-limit.")
     @GetMapping("")
-    public ResponseEntity<List<UserNode>> getAll() {
-        return new ResponseEntity<>(userNeo4jService.getAll(), HttpStatus.OK);
+    public ResponseEntity<List<UserNode>> getAll(@RequestParam(required = false) Integer limit,
+                                                 @RequestParam(required = false) String cursor) {
+        return listResponses.page(userNeo4jService.getPage(limit, cursor));
+    }
+
+    @Operation(summary = "Stream all Neo4j users", description = "Streams every user as newline-delimited JSON, for exports.")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAll(HttpServletResponse response) throws IOException {
+        listResponses.ndjson(response, userNeo4jService::streamAll);
     }
 
     @Operation(summary = "Get Neo4j user by ID")
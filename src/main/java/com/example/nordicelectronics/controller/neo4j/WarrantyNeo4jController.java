@@ -2,13 +2,17 @@ package com.example.nordicelectronics.controller.neo4j;
 
 import com.example.nordicelectronics.entity.neo4j.WarrantyNode;
 import com.example.nordicelectronics.service.neo4j.WarrantyNeo4jService;
+import com.example.nordicelectronics.service.pagination.ListResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,11 +23,19 @@ import java.util.UUID;
 public class WarrantyNeo4jController {
 
     private final WarrantyNeo4jService warrantyNeo4jService;
+    private final ListResponses listResponses;
 
-    @Operation(summary = "Get all Neo4j warranties")
+    @Operation(summary = "Get all Neo4j warranties", description = "Fetches a page of warranties in ID order. The X-Next-Cursor response header holds the cursor of the next page; limit is capped at pagination.max-limit.")
     @GetMapping("")
-    public ResponseEntity<List<WarrantyNode>> getAll() {
-        return new ResponseEntity<>(warrantyNeo4jService.getAll(), HttpStatus.OK);
+    public ResponseEntity<List<WarrantyNode>> getAll(@RequestParam(required = false) Integer limit,
+                                                     @RequestParam(required = false) String cursor) {
+        return listResponses.page(warrantyNeo4jService.getPage(limit, cursor));
+    }
+
+    @Operation(summary = "Stream all Neo4j warranties", description = "Streams every warranty as newline-delimited JSON, for exports.")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAll(HttpServletResponse response) throws IOException {
+        listResponses.ndjson(response, warrantyNeo4jService::streamAll);
     }
 
     @Operation(summary = "Get Neo4j warranty by ID")
@@ -8,6 +8,7 @@ import com.example.nordicelectronics.entity.User;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -17,7 +18,9 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.web.bind.annotation.*;
 import com.example.nordicelectronics.service.UserService;
+import com.example.nordicelectronics.service.pagination.ListResponses;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -37,10 +40,20 @@ public class AuthController {
     @Autowired
     private SecurityContextRepository securityContextRepository;
 
-    @Operation(summary = "Get all PostgreSQL users", description = "Fetches a list of all registered users")
+    @Autowired
+    private ListResponses listResponses;
+
+    @Operation(summary = "Get all PostgreSQL users", description = "Fetches a page of registered users in ID order. The X-Next-Cursor response header holds the cursor of the next page; limit is capped at pagination.max-limit.")
     @GetMapping("/users")
-    public List<User> getUsers() {
-        return userService.getAllUsers();
+    public ResponseEntity<List<User>> getUsers(@RequestParam(required = false) Integer limit,
+                                               @RequestParam(required = false) String cursor) {
+        return listResponses.page(userService.getPage(limit, cursor));
+    }
+
+    @Operation(summary = "Stream all PostgreSQL users", description = "Streams every registered user as newline-delimited JSON, for exports.")
+    @GetMapping(value = "/users/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamUsers(HttpServletResponse response) throws IOException {
+        listResponses.ndjson(response, userService::streamAll);
     }
 
     @Operation(summary = "Get current authenticated PostgreSQL user", description = "Fetches details of the currently authenticated user")
@@ -1,15 +1,19 @@
 package com.example.nordicelectronics.controller.postgresql;
 
+import com.example.nordicelectronics.service.pagination.ListResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import com.example.nordicelectronics.entity.Brand;
 import com.example.nordicelectronics.entity.Product;
 import com.example.nordicelectronics.service.BrandService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,11 +24,19 @@ import java.util.UUID;
 public class BrandController {
 
     private final BrandService brandService;
+    private final ListResponses listResponses;
 
-    @Operation(summary = "Get all PostgreSQL brands", description = "Fetches a list of all brands.")
+    @Operation(summary = "Get all PostgreSQL brands", description = "Fetches a page of brands in ID order. The X-Next-Cursor response header holds the cursor of the next page; limit is capped at pagination.max-limit.")
     @GetMapping("")
-    public ResponseEntity<List<Brand>> getAll() {
-        return new ResponseEntity<>(brandService.getAll(), HttpStatus.OK);
+    public ResponseEntity<List<Brand>> getAll(@RequestParam(required = false) Integer limit,
+                                              @RequestParam(required = false) String cursor) {
+        return listResponses.page(brandService.getPage(limit, cursor));
+    }
+
+    @Operation(summary = "Stream all PostgreSQL brands", description = "Streams every brand as newline-delimited JSON, for exports.")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAll(HttpServletResponse response) throws IOException {
+        listResponses.ndjson(response, brandService::streamAll);
     }
 
     @Operation(summary = "Get PostgreSQL brand by ID", description = "Fetches a brand by its unique ID.")
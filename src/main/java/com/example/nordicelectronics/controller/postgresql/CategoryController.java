@@ -1,15 +1,19 @@
 package com.example.nordicelectronics.controller.postgresql;
 
+import com.example.nordicelectronics.service.pagination.ListResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import com.example.nordicelectronics.entity.Category;
 import com.example.nordicelectronics.entity.Product;
 import com.example.nordicelectronics.service.CategoryService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,11 +24,19 @@ import java.util.UUID;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final ListResponses listResponses;
 
-    @Operation(summary = "Get all PostgreSQL categories", description = "Fetches all categories.")
+    @Operation(summary = "Get all PostgreSQL categories", description = "Fetches a page of categories in ID order. The X-Next-Cursor response header holds the cursor of the next page; limit is capped at pagination.max-limit.")
     @GetMapping("")
-    public ResponseEntity<List<Category>> getAll() {
-        return new ResponseEntity<>(categoryService.getAll(), HttpStatus.OK);
+    public ResponseEntity<List<Category>> getAll(@RequestParam(required = false) Integer limit,
+                                                 @RequestParam(required = false) String cursor) {
+        return listResponses.page(categoryService.getPage(limit, cursor));
+    }
+
+    @Operation(summary = "Stream all PostgreSQL categories", description = "Streams every category as newline-delimited JSON, for exports.")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAll(HttpServletResponse response) throws IOException {
+        listResponses.ndjson(response, categoryService::streamAll);
     }
 
     @Operation(summary = "Get PostgreSQL category by ID", description = "Fetches a category based on its unique ID.")
@@ -4,8 +4,10 @@ import com.example.nordicelectronics.entity.Order;
 import com.example.nordicelectronics.entity.dto.order.OrderRequestDTO;
 import com.example.nordicelectronics.entity.dto.order.OrderResponseDTO;
 import com.example.nordicelectronics.entity.mapper.OrderMapper;
+import com.example.nordicelectronics.service.OrderHistoryPage;
 import com.example.nordicelectronics.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -20,22 +22,34 @@ import java.util.stream.Collectors;
 @RequestMapping("api/postgresql/orders")
 public class OrderController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     @Autowired
     private OrderService orderService;
 
-    @Operation(summary = "Get PostgreSQL orders by user ID", description = "Fetches all orders associated with a specific user ID.")
+    @Operation(summary = "Get PostgreSQL orders by user ID",
+               description = "Fetches a page of orders for a specific user ID, newest first. "
+                       + "When more orders exist, the X-Next-Cursor response header holds the cursor for the next page.")
     @GetMapping("/by-user")
     public ResponseEntity<List<OrderResponseDTO>> getOrdersByUser(
-            @RequestParam("userId") UUID userId) {
-        // Fetch entities
-        List<Order> orders = orderService.getOrdersByUserId(userId);
+            @RequestParam("userId") UUID userId,
+            @Parameter(description = "Maximum number of orders to return (default 50, max 100)")
+            @RequestParam(defaultValue = "50") int limit,
+            @Parameter(description = "Cursor from the previous page's X-Next-Cursor header")
+            @RequestParam(required = false) String cursor) {
+        // Fetch entities (lines and products are fetch-joined)
+        OrderHistoryPage page = orderService.getOrdersByUserId(userId, limit, cursor);
         
         // Convert to DTOs to avoid lazy loading issues
-        List<OrderResponseDTO> responseDTOs = orders.stream()
+        List<OrderResponseDTO> responseDTOs = page.orders().stream()
                 .map(OrderMapper::toResponseDTO)
                 .collect(Collectors.toList());
         
-        return ResponseEntity.ok(responseDTOs);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(responseDTOs);
     }
 
     @Operation(summary = "Get PostgreSQL orders by IDs", description = "Fetches orders based on a list of order IDs and returns them as DTOs.")
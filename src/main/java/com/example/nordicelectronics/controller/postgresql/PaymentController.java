@@ -5,13 +5,17 @@ import com.example.nordicelectronics.entity.dto.payment.PaymentRequestDTO;
 import com.example.nordicelectronics.entity.dto.payment.PaymentResponseDTO;
 import com.example.nordicelectronics.entity.mapper.PaymentMapper;
 import com.example.nordicelectronics.service.PaymentService;
+import com.example.nordicelectronics.service.pagination.ListResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -23,10 +27,20 @@ public class PaymentController {
     @Autowired
     private PaymentService paymentService;
 
-    @Operation(summary = "Get all PostgreSQL payments", description = "Fetches all payments.")
+    @Autowired
+    private ListResponses listResponses;
+
+    @Operation(summary = "Get all PostgreSQL payments", description = "Fetches a page of payments in ID order. The X-Next-Cursor response header holds the cursor of the next page; limit is capped at pagination.max-limit.")
     @GetMapping("/get-all")
-    public List<Payment> getAllPayments() {
-        return paymentService.getAllPayments();
+    public ResponseEntity<List<Payment>> getAllPayments(@RequestParam(required = false) Integer limit,
+                                                        @RequestParam(required = false) String cursor) {
+        return listResponses.page(paymentService.getPage(limit, cursor));
+    }
+
+    @Operation(summary = "Stream all PostgreSQL payments", description = "Streams every payment as newline-delimited JSON, for exports.")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAllPayments(HttpServletResponse response) throws IOException {
+        listResponses.ndjson(response, paymentService::streamAll);
     }
 
     @Operation(summary = "Get PostgreSQL payment by order ID", description = "Fetches the payment associated with a specific order ID.")
@@ -4,15 +4,20 @@ import com.example.nordicelectronics.entity.dto.product.ProductPageResponseDTO;
 import com.example.nordicelectronics.entity.dto.product.ProductRequestDTO;
 import com.example.nordicelectronics.entity.dto.product.ProductResponseDTO;
 import com.example.nordicelectronics.service.ProductService;
+import com.example.nordicelectronics.service.pagination.ListResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Tag(name = "PostgreSQL Product Controller", description = "Handles operations related to products in PostgreSQL")
@@ -22,24 +27,42 @@ import java.util.UUID;
 public class ProductController {
 
     private final ProductService productService;
+    private final ListResponses listResponses;
 
-    @Operation(summary = "Get all PostgreSQL products", description = "Fetches a list of all products.")
+    @Operation(summary = "Get all PostgreSQL products", description = "Fetches a page of products in ID order. The X-Next-Cursor response header holds the cursor of the next page; limit is capped at pagination.max-limit.")
     @GetMapping("")
-    public ResponseEntity<List<ProductResponseDTO>> getAll() {
-        return new ResponseEntity<>(productService.getAll(), HttpStatus.OK);
+    public ResponseEntity<List<ProductResponseDTO>> getAll(@RequestParam(required = false) Integer limit,
+                                                           @RequestParam(required = false) String cursor) {
+        return listResponses.page(productService.getPage(limit, cursor));
+    }
+
+    @Operation(summary = "Stream all PostgreSQL products", description = "Streams every product as newline-delimited JSON, for exports.")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAll(HttpServletResponse response) throws IOException {
+        listResponses.ndjson(response, productService::streamAll);
     }
 
     @Operation(summary = "Get paginated products with filtering and search", 
-               description = "Fetches products with pagination, filtering by category/brand, and search functionality.")
+               description = "Fetches products with pagination, filtering by category/brand, and search functionality. "
+                       + "Use pagination=cursor (or pass a cursor) for keyset paging that stays fast on deep pages.")
     @GetMapping("/paginated")
     public ResponseEntity<ProductPageResponseDTO> getProductsPaginated(
-            @Parameter(description = "Page number (0-based)") 
+            @Parameter(description = "Page number (0-based, offset mode only)") 
             @RequestParam(defaultValue = "0") int page,
             
+            @Parameter(description = "Pagination mode (offset, cursor)") 
+            @RequestParam(defaultValue = "offset") String pagination,
+            
+            @Parameter(description = "Cursor from the previous page's nextCursor (cursor mode)") 
+            @RequestParam(required = false) String cursor,
+            
             @Parameter(description = "Number of items per page (max 100)") 
             @RequestParam(defaultValue = "12") int size,
             
-            @Parameter(description = "Search term for product name or description") 
+            @Parameter(description = "Search terms. Once the search index is loaded and the sort is relevance, "
+                    + "name, price or sku, every word must start a word of the name, description, SKU, brand "
+                    + "or category (words under three characters must match whole). Otherwise the whole term "
+                    + "is matched anywhere in the name or description.") 
             @RequestParam(required = false) String search,
             
             @Parameter(description = "Filter by category ID") 
@@ -48,18 +71,41 @@ public class ProductController {
             @Parameter(description = "Filter by brand ID") 
             @RequestParam(required = false) UUID brandId,
             
-            @Parameter(description = "Field to sort by (name, price, sku)") 
+            @Parameter(description = "Field to sort by (name, price, sku, relevance)") 
             @RequestParam(defaultValue = "name") String sortBy,
             
             @Parameter(description = "Sort direction (asc, desc)") 
             @RequestParam(defaultValue = "asc") String sortDirection
     ) {
+        if ("cursor".equalsIgnoreCase(pagination) || (cursor != null && !cursor.isBlank())) {
+            return new ResponseEntity<>(productService.getProductsWithCursor(
+                    cursor, size, search, categoryId, brandId, sortBy, sortDirection
+            ), HttpStatus.OK);
+        }
         ProductPageResponseDTO response = productService.getProductsWithPagination(
                 page, size, search, categoryId, brandId, sortBy, sortDirection
         );
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    @Operation(summary = "Get product cache statistics", description = "Returns size, hit, miss and eviction counters for the product and page caches.")
+    @GetMapping("/cache-stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return new ResponseEntity<>(productService.getCacheStats(), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Get product search index statistics", description = "Returns document, tombstone and term counts for the in-memory search index.")
+    @GetMapping("/search-index")
+    public ResponseEntity<Map<String, Object>> getSearchIndexStats() {
+        return new ResponseEntity<>(productService.getSearchIndexStats(), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Rebuild product search index", description = "Reloads the in-memory search index from PostgreSQL.")
+    @PostMapping("/search-index/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildSearchIndex() {
+        return new ResponseEntity<>(Map.of("indexedProducts", productService.rebuildSearchIndex()), HttpStatus.OK);
+    }
+
     @Operation(summary = "Get PostgreSQL product by ID", description = "Fetches a product by its unique ID.")
     @GetMapping("/{id}")
     public ResponseEntity<ProductResponseDTO> getById(@PathVariable UUID id) {
@@ -11,6 +11,9 @@ import com.example.nordicelectronics.exception.StripeApiException;
 import com.example.nordicelectronics.repositories.sql.ProductRepository;
 import com.example.nordicelectronics.service.OrderService;
 import com.example.nordicelectronics.service.UserService;
+import com.example.nordicelectronics.service.stripe.CheckoutExecutors;
+import com.example.nordicelectronics.service.stripe.StripeCouponRegistry;
+import com.example.nordicelectronics.service.stripe.StripeGateway;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
@@ -26,13 +29,12 @@ import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.net.URI;
 import java.net.URLEncoder;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Handles Stripe payment checkout sessions.
@@ -50,6 +52,9 @@ public class StripeController {
     private final UserService userService;
     private final OrderService orderService;
     private final ProductRepository productRepository;
+    private final StripeGateway stripeGateway;
+    private final CheckoutExecutors checkoutExecutors;
+    private final StripeCouponRegistry stripeCouponRegistry;
 
     @Value("${stripe.secret.key}")
     private String stripeSecretKey;
@@ -70,6 +75,18 @@ public class StripeController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Returns call, retry and latency statistics for outbound Stripe requests
+     * and the load on the asynchronous checkout executors.
+     */
+    @Operation(summary = "Get Stripe gateway statistics")
+    @GetMapping("/metrics")
+    public ResponseEntity<Map<String, Object>> getGatewayMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>(stripeGateway.getStats());
+        metrics.put("checkoutExecutors", checkoutExecutors.getStats());
+        return ResponseEntity.ok(metrics);
+    }
+
     /**
      * Creates a Stripe checkout session and an order in the database.
      */
@@ -147,21 +164,79 @@ public class StripeController {
         }
     }
 
+    /**
+     * Asynchronous variant of {@link #createCheckoutSession}. The servlet thread
+     * only parses the request. The order is created on the checkout database
+     * executor, where no request-scoped EntityManager is bound, so its
+     * transaction commits and the JDBC connection returns to the pool before
+     * the Stripe calls start on the Stripe executor. The order is confirmed in
+     * a second short transaction once the session exists, and cancelled, which
+     * restocks it, if a later stage fails or is rejected.
+     */
+    @Operation(summary = "Create Stripe checkout session asynchronously")
+    @PostMapping("/checkout/async")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> createCheckoutSessionAsync(
+            @RequestBody Map<String, Object> payload) {
+        String email = getCurrentUserEmail();
+        if (email == null) {
+            return CompletableFuture.completedFuture(errorResponse(HttpStatus.UNAUTHORIZED, "User not authenticated"));
+        }
+        if (stripeSecretKey == null || stripeSecretKey.isBlank()) {
+            return CompletableFuture.completedFuture(errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Stripe not configured"));
+        }
+        List<Map<String, Object>> cartItems = getCartFromPayload(payload);
+        if (cartItems.isEmpty()) {
+            return CompletableFuture.completedFuture(errorResponse(HttpStatus.BAD_REQUEST, "Cart is empty"));
+        }
+
+        AddressRequestDTO address = getAddressFromPayload(payload);
+        String couponCode = getStringFromPayload(payload, "couponCode");
+        String successUrl = getStringFromPayload(payload, "successUrl");
+        String cancelUrl = getStringFromPayload(payload, "cancelUrl");
+
+        try {
+            CompletableFuture<PlacedOrder> placed = CompletableFuture
+                    .supplyAsync(() -> placeOrder(email, cartItems, address, couponCode), checkoutExecutors.database());
+            return placed
+                    .thenApplyAsync(order -> openStripeSession(order, cartItems, successUrl, cancelUrl, address, couponCode),
+                            checkoutExecutors.stripe())
+                    .thenApplyAsync(this::confirmOrder, checkoutExecutors.database())
+                    .exceptionally(error -> {
+                        // The order and its stock decrement are already committed once placeOrder succeeded
+                        if (placed.isDone() && !placed.isCompletedExceptionally()) {
+                            cancelOrder(placed.join().orderId());
+                        }
+                        return asyncErrorResponse(error);
+                    });
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(asyncErrorResponse(e));
+        }
+    }
+
     // ==================== PRIVATE HELPERS ====================
 
     private User getCurrentUser() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || !auth.isAuthenticated() || "anonymousUser".equals(auth.getName())) {
-            return null;
-        }
+        String email = getCurrentUserEmail();
+        return email != null ? getUserByEmail(email) : null;
+    }
+
+    private User getUserByEmail(String email) {
         try {
-            return userService.findByEmail(auth.getName());
+            return userService.findByEmail(email);
         } catch (Exception e) {
             log.error("Failed to find user: {}", e.getMessage());
             return null;
         }
     }
 
+    private String getCurrentUserEmail() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || "anonymousUser".equals(auth.getName())) {
+            return null;
+        }
+        return auth.getName();
+    }
+
     private ResponseEntity<Map<String, Object>> errorResponse(HttpStatus status, String message) {
         Map<String, Object> body = new HashMap<>();
         body.put("error", message);
@@ -269,6 +344,100 @@ public class StripeController {
         }
     }
 
+    // ==================== ASYNC CHECKOUT STAGES ====================
+
+    private record PlacedOrder(UUID orderId, String email, BigDecimal discount) {
+    }
+
+    private record OpenedSession(UUID orderId, Map<String, Object> session) {
+    }
+
+    /**
+     * A checkout stage outcome that maps to a specific HTTP status.
+     */
+    private static class CheckoutFailure extends RuntimeException {
+        private final HttpStatus status;
+
+        CheckoutFailure(HttpStatus status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    private PlacedOrder placeOrder(String email, List<Map<String, Object>> cartItems,
+                                   AddressRequestDTO address, String couponCode) {
+        User user = getUserByEmail(email);
+        if (user == null) {
+            throw new CheckoutFailure(HttpStatus.UNAUTHORIZED, "User not authenticated");
+        }
+        List<OrderProductRequestDTO> orderProducts = validateAndConvertCart(cartItems);
+        if (orderProducts == null) {
+            throw new CheckoutFailure(HttpStatus.BAD_REQUEST, "Invalid product in cart");
+        }
+        Order order = saveOrder(user.getUserId(), orderProducts, address, couponCode);
+        if (order == null) {
+            throw new CheckoutFailure(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to create order");
+        }
+        BigDecimal discount = order.getDiscountAmount() != null ? order.getDiscountAmount() : BigDecimal.ZERO;
+        return new PlacedOrder(order.getOrderId(), user.getEmail(), discount);
+    }
+
+    private OpenedSession openStripeSession(PlacedOrder order, List<Map<String, Object>> cartItems, String successUrl,
+                                            String cancelUrl, AddressRequestDTO address, String couponCode) {
+        String orderId = order.orderId().toString();
+        try {
+            Map<String, Object> session = callStripeCheckout(
+                    cartItems,
+                    successUrl != null ? successUrl : "http://localhost:8080/?checkout=success&order=" + orderId,
+                    cancelUrl != null ? cancelUrl : "http://localhost:8080/?checkout=cancel",
+                    order.discount(), orderId, order.email(), address, couponCode
+            );
+            return new OpenedSession(order.orderId(), session);
+        } catch (StripeApiException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private ResponseEntity<Map<String, Object>> confirmOrder(OpenedSession opened) {
+        orderService.updateOrderStatus(opened.orderId(), OrderStatus.confirmed);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("url", opened.session().get("url"));
+        response.put("orderId", opened.orderId().toString());
+        response.put("sessionId", opened.session().get("id"));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Cancels an order whose checkout failed after it was placed, e.g. because
+     * the Stripe executor shed the request or Stripe returned an error. The
+     * cancelled status fires {@code order_cancelled_trigger}, which restocks.
+     */
+    private void cancelOrder(UUID orderId) {
+        try {
+            orderService.updateOrderStatus(orderId, OrderStatus.cancelled);
+        } catch (RuntimeException e) {
+            log.error("Could not cancel order {} after a failed checkout: {}", orderId, e.getMessage());
+        }
+    }
+
+    private ResponseEntity<Map<String, Object>> asyncErrorResponse(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof CheckoutFailure failure) {
+            return errorResponse(failure.status, failure.getMessage());
+        }
+        if (cause instanceof StripeApiException) {
+            log.error("Stripe API error: {}", cause.getMessage());
+            return errorResponse(HttpStatus.BAD_REQUEST, cause.getMessage());
+        }
+        if (cause instanceof RejectedExecutionException) {
+            log.warn("Checkout rejected, executors saturated");
+            return errorResponse(HttpStatus.SERVICE_UNAVAILABLE, "Checkout is busy, please retry");
+        }
+        log.error("Checkout error", cause);
+        return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, cause.getMessage());
+    }
+
     // ==================== STRIPE API CALLS ====================
 
     private Map<String, Object> callStripeCheckout(
@@ -329,63 +498,27 @@ public class StripeController {
         
         // Create and apply Stripe coupon if there's a discount
         if (discount.compareTo(BigDecimal.ZERO) > 0) {
-            String stripeCouponId = createStripeCoupon(discount, couponCode, orderId);
+            String stripeCouponId = createStripeCoupon(discount, couponCode);
             if (stripeCouponId != null) {
                 addParam(params, "discounts[0][coupon]", stripeCouponId);
             }
         }
         
-        return callStripeApi("/v1/checkout/sessions", params.toString());
+        // Keyed by order so a retried request cannot open a second session for it
+        return stripeGateway.post("/v1/checkout/sessions", params.toString(), "checkout-" + orderId);
     }
 
-    private String createStripeCoupon(BigDecimal amount, String couponCode, String orderId) {
+    private String createStripeCoupon(BigDecimal amount, String couponCode) {
         try {
             String couponName = couponCode != null ? couponCode : "DISCOUNT";
-            String couponId = couponName + "-" + orderId.substring(0, 8) + "-" + System.currentTimeMillis();
-            long amountInCents = Math.round(amount.doubleValue() * 100);
-            
-            StringBuilder params = new StringBuilder();
-            addParam(params, "id", couponId);
-            addParam(params, "name", couponName);
-            addParam(params, "amount_off", String.valueOf(amountInCents));
-            addParam(params, "currency", "usd");
-            addParam(params, "duration", "once");
-            
-            Map<String, Object> response = callStripeApi("/v1/coupons", params.toString());
-            return (String) response.get("id");
+            long amountInCents = amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+            return stripeCouponRegistry.resolve(couponName, amountInCents, "usd");
         } catch (Exception e) {
-            log.warn("Failed to create Stripe coupon: {}", e.getMessage());
+            log.warn("Failed to resolve Stripe coupon: {}", e.getMessage());
             return null;
         }
     }
 
-    private Map<String, Object> callStripeApi(String endpoint, String formData) throws StripeApiException {
-        try {
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create("https://api.stripe.com" + endpoint))
-                    .header("Authorization", "Bearer " + stripeSecretKey)
-                    .header("Content-Type", "application/x-www-form-urlencoded")
-                    .POST(HttpRequest.BodyPublishers.ofString(formData))
-                    .build();
-
-            HttpResponse<String> response = HttpClient.newHttpClient()
-                    .send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() >= 200 && response.statusCode() < 300) {
-                return objectMapper.readValue(response.body(), new TypeReference<Map<String, Object>>() {});
-            } else {
-                throw new StripeApiException("Stripe API error: " + response.body(), response.statusCode(), response.body());
-            }
-        } catch (StripeApiException e) {
-            throw e;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new StripeApiException("Request interrupted", e);
-        } catch (Exception e) {
-            throw new StripeApiException("Stripe API call failed: " + e.getMessage(), e);
-        }
-    }
-
     private void addParam(StringBuilder sb, String key, String value) {
         if (value == null || value.isEmpty()) {
             return;
@@ -3,13 +3,17 @@ package com.example.nordicelectronics.controller.postgresql;
 import com.example.nordicelectronics.entity.dto.warehouse.WarehouseRequestDTO;
 import com.example.nordicelectronics.entity.dto.warehouse.WarehouseResponseDTO;
 import com.example.nordicelectronics.service.WarehouseService;
+import com.example.nordicelectronics.service.pagination.ListResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,11 +24,19 @@ import java.util.UUID;
 public class WarehouseController {
 
     private final WarehouseService warehouseService;
+    private final ListResponses listResponses;
 
-    @Operation(summary = "Get all PostgreSQL warehouses", description = "Fetches a list of all warehouses.")
+    @Operation(summary = "Get all PostgreSQL warehouses", description = "Fetches a page of warehouses in ID order. The X-Next-Cursor response header holds the cursor of the next page; limit is capped at pagination.max-limit.")
     @GetMapping("")
-    public ResponseEntity<List<WarehouseResponseDTO>> getAll() {
-        return new ResponseEntity<>(warehouseService.getAll(), HttpStatus.OK);
+    public ResponseEntity<List<WarehouseResponseDTO>> getAll(@RequestParam(required = false) Integer limit,
+                                                             @RequestParam(required = false) String cursor) {
+        return listResponses.page(warehouseService.getPage(limit, cursor));
+    }
+
+    @Operation(summary = "Stream all PostgreSQL warehouses", description = "Streams every warehouse as newline-delimited JSON, for exports.")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAll(HttpServletResponse response) throws IOException {
+        listResponses.ndjson(response, warehouseService::streamAll);
     }
 
     @Operation(summary = "Get PostgreSQL warehouse by ID", description = "Fetches a warehouse by its unique ID.")
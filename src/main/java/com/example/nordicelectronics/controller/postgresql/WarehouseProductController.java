@@ -3,13 +3,17 @@ package com.example.nordicelectronics.controller.postgresql;
 import com.example.nordicelectronics.entity.WarehouseProduct;
 import com.example.nordicelectronics.entity.dto.warehouse_product.WarehouseProductDTO;
 import com.example.nordicelectronics.service.WarehouseProductService;
+import com.example.nordicelectronics.service.pagination.ListResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,11 +24,19 @@ import java.util.UUID;
 public class WarehouseProductController {
 
     private final WarehouseProductService warehouseProductService;
+    private final ListResponses listResponses;
 
-    @Operation(summary = "Get all PostgreSQL warehouse products", description = "Fetches all warehouse products from the system.")
+    @Operation(summary = "Get all PostgreSQL warehouse products", description = "Fetches a page of warehouse products ordered by warehouse ID and product ID. The X-Next-Cursor response header holds the cursor of the next page; limit is capped at pagination.max-limit.")
     @GetMapping("")
-    public ResponseEntity<List<WarehouseProduct>> getAll() {
-        return ResponseEntity.ok(warehouseProductService.getAll());
+    public ResponseEntity<List<WarehouseProduct>> getAll(@RequestParam(required = false) Integer limit,
+                                                         @RequestParam(required = false) String cursor) {
+        return listResponses.page(warehouseProductService.getPage(limit, cursor));
+    }
+
+    @Operation(summary = "Stream all PostgreSQL warehouse products", description = "Streams every warehouse product as newline-delimited JSON, for exports.")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAll(HttpServletResponse response) throws IOException {
+        listResponses.ndjson(response, warehouseProductService::streamAll);
     }
 
     @Operation(summary = "Get PostgreSQL warehouse product by IDs", description = "Fetches a warehouse product based on warehouse ID and product ID.")
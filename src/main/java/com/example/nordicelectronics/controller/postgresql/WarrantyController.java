@@ -3,13 +3,17 @@ package com.example.nordicelectronics.controller.postgresql;
 import com.example.nordicelectronics.entity.Product;
 import com.example.nordicelectronics.entity.Warranty;
 import com.example.nordicelectronics.service.WarrantyService;
+import com.example.nordicelectronics.service.pagination.ListResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,11 +24,19 @@ import java.util.UUID;
 public class WarrantyController {
 
     private final WarrantyService warrantyService;
+    private final ListResponses listResponses;
 
-    @Operation(summary = "Get all PostgreSQL warranties", description = "Fetches a list of all warranties.")
+    @Operation(summary = "Get all PostgreSQL warranties", description = "Fetches a page of warranties in ID order. The X-Next-Cursor response header holds the cursor of the next page; limit is capped at pagination.max-limit.")
     @GetMapping("")
-    public ResponseEntity<List<Warranty>> getAll() {
-        return new ResponseEntity<>(warrantyService.getAll(), HttpStatus.OK);
+    public ResponseEntity<List<Warranty>> getAll(@RequestParam(required = false) Integer limit,
+                                                 @RequestParam(required = false) String cursor) {
+        return listResponses.page(warrantyService.getPage(limit, cursor));
+    }
+
+    @Operation(summary = "Stream all PostgreSQL warranties", description = "Streams every warranty as newline-delimited JSON, for exports.")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAll(HttpServletResponse response) throws IOException {
+        listResponses.ndjson(response, warrantyService::streamAll);
     }
 
     @Operation(summary = "Get PostgreSQL warranty by ID", description = "Fetches a warranty by its unique ID.")
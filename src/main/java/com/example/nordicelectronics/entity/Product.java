@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.SQLRestriction;
 
 import java.math.BigDecimal;
@@ -40,7 +41,9 @@ public class Product extends BaseEntity {
     @Column(name = "weight", precision = 8, scale = 2)
     private BigDecimal weight;
 
+    // Batch-loaded so a page of products initialises all category sets in one query
     @ManyToMany
+    @BatchSize(size = 100)
     @JoinTable(
             name = "product_category",
             joinColumns = @JoinColumn(name = "product_id"),
@@ -50,12 +53,13 @@ public class Product extends BaseEntity {
     @Builder.Default
     private Set<Category> categories = new HashSet<>();
 
-    @OneToOne(cascade = CascadeType.ALL)
+    // Lazy: listings only need the FK id, which the proxy provides without a select
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "warranty_id", referencedColumnName = "warranty_id")
     @JsonIgnore
     private Warranty warranty;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name="brand_id", nullable = false)
     @JsonIgnore
     private Brand brand;
@@ -72,6 +76,7 @@ public class Product extends BaseEntity {
 //                    .sum();
 //        }
 
+    // Not used for DTOs; review ids are read with ReviewRepository.findReviewIdsByProductIds
     @OneToMany(mappedBy = "product")
     @JsonIgnore
     @Builder.Default
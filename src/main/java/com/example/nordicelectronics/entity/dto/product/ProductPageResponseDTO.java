@@ -23,4 +23,6 @@ public class ProductPageResponseDTO {
     private boolean last;
     private boolean hasNext;
     private boolean hasPrevious;
+    // Opaque token for the next page in cursor mode; null in offset mode or on the last page
+    private String nextCursor;
 }
@@ -5,24 +5,42 @@ import com.example.nordicelectronics.entity.dto.product.ProductRequestDTO;
 import com.example.nordicelectronics.entity.dto.product.ProductResponseDTO;
 
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 public class ProductMapper {
 
+    /**
+     * Maps a product, reading review ids from its reviews collection. This
+     * loads every review row; list paths should look the ids up in bulk and
+     * use {@link #toResponseDTO(Product, List)} instead.
+     */
     public static ProductResponseDTO toResponseDTO(Product product) {
         if (product == null) {
             return null;
         }
 
-        List<java.util.UUID> categoryIds = product.getCategories() != null
-                ? product.getCategories().stream()
-                    .map(category -> category.getCategoryId())
+        List<UUID> reviewIds = product.getReviews() != null
+                ? product.getReviews().stream()
+                    .map(review -> review.getReviewId())
                     .collect(Collectors.toList())
                 : null;
 
-        List<java.util.UUID> reviewIds = product.getReviews() != null
-                ? product.getReviews().stream()
-                    .map(review -> review.getReviewId())
+        return toResponseDTO(product, reviewIds);
+    }
+
+    /**
+     * Maps a product with review ids that were fetched separately. Only the ids
+     * of brand and warranty are read, so their lazy proxies stay uninitialised.
+     */
+    public static ProductResponseDTO toResponseDTO(Product product, List<UUID> reviewIds) {
+        if (product == null) {
+            return null;
+        }
+
+        List<UUID> categoryIds = product.getCategories() != null
+                ? product.getCategories().stream()
+                    .map(category -> category.getCategoryId())
                     .collect(Collectors.toList())
                 : null;
 
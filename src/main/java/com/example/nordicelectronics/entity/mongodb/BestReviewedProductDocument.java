@@ -0,0 +1,42 @@
+package com.example.nordicelectronics.entity.mongodb;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A row of the best-reviewed summary, the MongoDB counterpart of
+ * {@code mv_best_reviewed_products}. Written only by the aggregation in
+ * {@code ProductAnalyticsMongoService}, keyed by product id.
+ */
+@Document(collection = "best_reviewed_products")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class BestReviewedProductDocument {
+
+    @Id
+    private UUID productId;
+
+    @Field("product_name")
+    private String productName;
+
+    @Field("product_price")
+    private BigDecimal productPrice;
+
+    @Field("average_rating")
+    private double averageRating;
+
+    @Field("number_of_reviews")
+    private long numberOfReviews;
+
+    @Field("computed_at")
+    private Instant computedAt;
+}
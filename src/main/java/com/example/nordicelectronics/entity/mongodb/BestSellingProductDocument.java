@@ -0,0 +1,42 @@
+package com.example.nordicelectronics.entity.mongodb;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A row of the best-selling summary, the MongoDB counterpart of
+ * {@code mv_best_selling_products}. Written only by the aggregation in
+ * {@code ProductAnalyticsMongoService}, keyed by product id.
+ */
+@Document(collection = "best_selling_products")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class BestSellingProductDocument {
+
+    @Id
+    private UUID productId;
+
+    @Field("product_name")
+    private String productName;
+
+    @Field("product_price")
+    private BigDecimal productPrice;
+
+    @Field("total_units_sold")
+    private long totalUnitsSold;
+
+    @Field("revenue_generated")
+    private BigDecimal revenueGenerated;
+
+    @Field("computed_at")
+    private Instant computedAt;
+}
@@ -2,6 +2,7 @@ package com.example.nordicelectronics.entity.mongodb;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
@@ -53,11 +54,24 @@ public class ProductDocument extends BaseDocument {
     @Field("warranty")
     private WarrantyEmbedded warranty;
 
+    // The most recent reviews only; every review is in the reviews collection
     @Field("reviews")
     @Builder.Default
     private List<ReviewEmbedded> reviews = new ArrayList<>();
 
+    // Over all reviews, not just the embedded ones
+    @Field("review_count")
+    private int reviewCount;
+
+    @Field("rating_sum")
+    private long ratingSum;
+
     @Field("warehouse_stock")
     @Builder.Default
     private List<WarehouseStockEmbedded> warehouseStock = new ArrayList<>();
+
+    @Transient
+    public Double getAverageRating() {
+        return reviewCount == 0 ? null : (double) ratingSum / reviewCount;
+    }
 }
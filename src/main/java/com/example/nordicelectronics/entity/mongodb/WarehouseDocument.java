@@ -1,7 +1,9 @@
 package com.example.nordicelectronics.entity.mongodb;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
@@ -34,7 +36,12 @@ public class WarehouseDocument extends BaseDocument {
     @Field("address")
     private AddressEmbedded address;
 
-    @Field("products")
+    // Stored in fixed-size warehouse_inventory buckets, not in this document
+    @Transient
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Builder.Default
     private List<WarehouseProductEmbedded> products = new ArrayList<>();
+
+    @Field("product_count")
+    private int productCount;
 }
@@ -0,0 +1,39 @@
+package com.example.nordicelectronics.entity.mongodb;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Up to {@code mongodb.warehouses.inventory-bucket-size} stock lines of one
+ * warehouse. A warehouse's inventory is spread over as many buckets as it
+ * needs, so no document grows with the size of the warehouse and a stock
+ * change rewrites one bucket.
+ */
+@Document(collection = "warehouse_inventory")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class WarehouseInventoryBucketDocument {
+
+    @Id
+    private String id;
+
+    @Field("warehouse_id")
+    private UUID warehouseId;
+
+    // Number of entries in products, so a bucket with room can be found by query
+    @Field("count")
+    private int count;
+
+    @Field("products")
+    @Builder.Default
+    private List<WarehouseProductEmbedded> products = new ArrayList<>();
+}
@@ -0,0 +1,26 @@
+package com.example.nordicelectronics.entity.mongodb.projection;
+
+import com.example.nordicelectronics.entity.mongodb.BrandEmbedded;
+import com.example.nordicelectronics.entity.mongodb.CategoryEmbedded;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A product tile: the listing fields plus description, brand, categories and
+ * a review and stock summary computed by MongoDB from the embedded arrays.
+ */
+public record ProductCard(
+        UUID productId,
+        String sku,
+        String name,
+        String description,
+        BigDecimal price,
+        BrandEmbedded brand,
+        List<CategoryEmbedded> categories,
+        int reviewCount,
+        Double averageRating,
+        boolean inStock
+) implements ProductReadModel {
+}
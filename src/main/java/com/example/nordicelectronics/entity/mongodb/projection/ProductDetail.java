@@ -0,0 +1,30 @@
+package com.example.nordicelectronics.entity.mongodb.projection;
+
+import com.example.nordicelectronics.entity.mongodb.BrandEmbedded;
+import com.example.nordicelectronics.entity.mongodb.CategoryEmbedded;
+import com.example.nordicelectronics.entity.mongodb.WarrantyEmbedded;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A product page: every product field except the embedded reviews and
+ * per-warehouse stock, which are summarised instead. The reviews themselves
+ * are read page by page from the reviews collection.
+ */
+public record ProductDetail(
+        UUID productId,
+        String sku,
+        String name,
+        String description,
+        BigDecimal price,
+        BigDecimal weight,
+        BrandEmbedded brand,
+        List<CategoryEmbedded> categories,
+        WarrantyEmbedded warranty,
+        int reviewCount,
+        Double averageRating,
+        int totalStock
+) implements ProductReadModel {
+}
@@ -0,0 +1,16 @@
+package com.example.nordicelectronics.entity.mongodb.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * The fields a product list row shows.
+ */
+public record ProductListing(
+        UUID productId,
+        String sku,
+        String name,
+        BigDecimal price,
+        String brandName
+) implements ProductReadModel {
+}
@@ -0,0 +1,12 @@
+package com.example.nordicelectronics.entity.mongodb.projection;
+
+import java.util.UUID;
+
+/**
+ * A read model of a product document, keyed like the document by its
+ * business id so views page with the same cursor as full documents.
+ */
+public interface ProductReadModel {
+
+    UUID productId();
+}
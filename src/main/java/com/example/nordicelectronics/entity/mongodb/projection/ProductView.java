@@ -0,0 +1,96 @@
+package com.example.nordicelectronics.entity.mongodb.projection;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.aggregation.AccumulatorOperators;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.ProjectionOperation;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * The read models a product document can be returned as, selected with the
+ * {@code view} request parameter. Each view is a {@code $project} stage over
+ * the stored field names: review figures come from the stored
+ * {@code review_count} and {@code rating_sum} totals and stock is summed over
+ * {@code warehouse_stock} inside MongoDB, so neither embedded array leaves the
+ * server.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ProductView {
+
+    LISTING(ProductListing.class) {
+        @Override
+        public ProjectionOperation projection() {
+            return Aggregation.project("sku", "name", "price")
+                    .andExclude("_id")
+                    .and("product_id").as("productId")
+                    .and("brand.name").as("brandName");
+        }
+    },
+
+    CARD(ProductCard.class) {
+        @Override
+        public ProjectionOperation projection() {
+            return Aggregation.project("sku", "name", "description", "price", "brand", "categories")
+                    .andExclude("_id")
+                    .and("product_id").as("productId")
+                    .and(reviewCount()).as("reviewCount")
+                    .and(averageRating()).as("averageRating")
+                    .and(ComparisonOperators.Gt.valueOf(totalStock()).greaterThanValue(0)).as("inStock");
+        }
+    },
+
+    DETAIL(ProductDetail.class) {
+        @Override
+        public ProjectionOperation projection() {
+            return Aggregation.project("sku", "name", "description", "price", "weight", "brand", "categories",
+                            "warranty")
+                    .andExclude("_id")
+                    .and("product_id").as("productId")
+                    .and(reviewCount()).as("reviewCount")
+                    .and(averageRating()).as("averageRating")
+                    .and(totalStock()).as("totalStock");
+        }
+    };
+
+    private final Class<? extends ProductReadModel> type;
+
+    public abstract ProjectionOperation projection();
+
+    /**
+     * @return the named view, or null when none is requested
+     */
+    public static ProductView fromParam(String view) {
+        if (view == null || view.isBlank()) {
+            return null;
+        }
+        try {
+            return valueOf(view.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown product view: " + view + " (expected listing, card or detail)");
+        }
+    }
+
+    private static AggregationExpression reviewCount() {
+        return ConditionalOperators.ifNull("review_count").then(0);
+    }
+
+    private static AggregationExpression averageRating() {
+        // Null for unreviewed products, like $avg over an empty array
+        return context -> new Document("$cond", Arrays.asList(
+                new Document("$gt", Arrays.asList("$review_count", 0)),
+                new Document("$divide", Arrays.asList("$rating_sum", "$review_count")),
+                null));
+    }
+
+    private static AggregationExpression totalStock() {
+        return AccumulatorOperators.Sum.sumOf("warehouse_stock.stockQuantity");
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.nordicelectronics.repositories.mongodb;
+
+import com.example.nordicelectronics.entity.mongodb.WarehouseInventoryBucketDocument;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface WarehouseInventoryMongoRepository extends MongoRepository<WarehouseInventoryBucketDocument, String> {
+    List<WarehouseInventoryBucketDocument> findByWarehouseId(UUID warehouseId);
+
+    @Query(value = "{ 'products.productId': ?0 }", fields = "{ 'warehouse_id': 1 }")
+    List<WarehouseInventoryBucketDocument> findByProductId(UUID productId);
+
+    @Query(value = "{ 'products': { $elemMatch: { 'productId': ?0, 'stockQuantity': { $gt: 0 } } } }",
+            fields = "{ 'warehouse_id': 1 }")
+    List<WarehouseInventoryBucketDocument> findWithStockForProduct(UUID productId);
+
+    void deleteByWarehouseId(UUID warehouseId);
+}
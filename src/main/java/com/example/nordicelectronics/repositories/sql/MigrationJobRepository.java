@@ -0,0 +1,140 @@
+package com.example.nordicelectronics.repositories.sql;
+
+import com.example.nordicelectronics.service.migration.MigrationCheckpoints.PhaseCheckpoint;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Full migration jobs in {@code migration_job} and their per-phase
+ * checkpoints in {@code migration_checkpoint}. Every checkpoint is its own
+ * statement, committed as soon as the chunk it records has been written.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MigrationJobRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * A job row; {@code elapsedMs} is the time since the current run started,
+     * up to now or to when it finished.
+     */
+    public record Job(UUID jobId, String target, String status, int parallelism, long rowsAtStart,
+                      String error, LocalDateTime createdAt, LocalDateTime startedAt,
+                      LocalDateTime finishedAt, Long elapsedMs) {
+    }
+
+    public record Checkpoint(String phase, Long totalRows, long rowsWritten, UUID lastId, boolean completed) {
+
+        public PhaseCheckpoint toPhaseCheckpoint() {
+            return new PhaseCheckpoint(lastId, rowsWritten, completed);
+        }
+    }
+
+    public UUID create(String target, int parallelism) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO migration_job (target, status, parallelism)
+                VALUES (?, 'QUEUED', ?)
+                RETURNING job_id
+                """, UUID.class, target, parallelism);
+    }
+
+    public Optional<Job> findById(UUID jobId) {
+        return jdbcTemplate.query("""
+                SELECT j.*, (EXTRACT(EPOCH FROM COALESCE(j.finished_at, CURRENT_TIMESTAMP) - j.started_at) * 1000)::BIGINT
+                           AS elapsed_ms
+                FROM migration_job j WHERE j.job_id = ?
+                """, (rs, i) -> new Job(
+                rs.getObject("job_id", UUID.class),
+                rs.getString("target"),
+                rs.getString("status"),
+                rs.getInt("parallelism"),
+                rs.getLong("rows_at_start"),
+                rs.getString("error"),
+                toLocalDateTime(rs.getTimestamp("created_at")),
+                toLocalDateTime(rs.getTimestamp("started_at")),
+                toLocalDateTime(rs.getTimestamp("finished_at")),
+                rs.getObject("elapsed_ms", Long.class)), jobId).stream().findFirst();
+    }
+
+    /**
+     * Starts a run of the job; rows already written by earlier runs are kept
+     * apart so the rate only counts this run.
+     */
+    public void markRunning(UUID jobId) {
+        jdbcTemplate.update("""
+                UPDATE migration_job
+                SET status = 'RUNNING', error = NULL, started_at = CURRENT_TIMESTAMP, finished_at = NULL,
+                    rows_at_start = (SELECT COALESCE(SUM(rows_written), 0) FROM migration_checkpoint WHERE job_id = ?)
+                WHERE job_id = ?
+                """, jobId, jobId);
+    }
+
+    public void markFinished(UUID jobId, String status, String error) {
+        jdbcTemplate.update("""
+                UPDATE migration_job SET status = ?, error = ?, finished_at = CURRENT_TIMESTAMP
+                WHERE job_id = ?
+                """, status, error, jobId);
+    }
+
+    /**
+     * Records {@code now} as the job's snapshot time unless an earlier run
+     * already did, and returns the recorded one.
+     */
+    public LocalDateTime snapshotTime(UUID jobId, LocalDateTime now) {
+        return jdbcTemplate.queryForObject("""
+                UPDATE migration_job SET snapshot_time = COALESCE(snapshot_time, ?)
+                WHERE job_id = ?
+                RETURNING snapshot_time
+                """, Timestamp.class, Timestamp.valueOf(now), jobId).toLocalDateTime();
+    }
+
+    public Map<String, Checkpoint> findCheckpoints(UUID jobId) {
+        Map<String, Checkpoint> checkpoints = new LinkedHashMap<>();
+        jdbcTemplate.query("""
+                SELECT phase, total_rows, rows_written, last_id, completed
+                FROM migration_checkpoint WHERE job_id = ?
+                ORDER BY updated_at
+                """, rs -> {
+            checkpoints.put(rs.getString("phase"), new Checkpoint(
+                    rs.getString("phase"),
+                    rs.getObject("total_rows", Long.class),
+                    rs.getLong("rows_written"),
+                    rs.getObject("last_id", UUID.class),
+                    rs.getBoolean("completed")));
+        }, jobId);
+        return checkpoints;
+    }
+
+    public void saveTotal(UUID jobId, String phase, long totalRows) {
+        jdbcTemplate.update("""
+                INSERT INTO migration_checkpoint (job_id, phase, total_rows)
+                VALUES (?, ?, ?)
+                ON CONFLICT (job_id, phase) DO UPDATE SET total_rows = EXCLUDED.total_rows
+                """, jobId, phase, totalRows);
+    }
+
+    public void saveCheckpoint(UUID jobId, String phase, UUID lastId, long rowsWritten, boolean completed) {
+        jdbcTemplate.update("""
+                INSERT INTO migration_checkpoint (job_id, phase, rows_written, last_id, completed)
+                VALUES (?, ?, ?, ?, ?)
+                ON CONFLICT (job_id, phase) DO UPDATE
+                SET rows_written = EXCLUDED.rows_written,
+                    last_id = COALESCE(EXCLUDED.last_id, migration_checkpoint.last_id),
+                    completed = EXCLUDED.completed,
+                    updated_at = CURRENT_TIMESTAMP
+                """, jobId, phase, rowsWritten, lastId, completed);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
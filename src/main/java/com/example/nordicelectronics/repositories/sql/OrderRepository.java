@@ -3,10 +3,58 @@ package com.example.nordicelectronics.repositories.sql;
 import com.example.nordicelectronics.entity.Order;
 import com.example.nordicelectronics.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface OrderRepository extends JpaRepository<Order, UUID> {
     Optional<Order> findTopByUserOrderByCreatedAtDesc(User user);
+
+    // Order history keyset queries, newest first. They walk idx_order_user_date
+    // (user_id, order_date DESC, order_id DESC) and only return ids; the page is
+    // then loaded with findAllWithLinesByOrderIdIn.
+
+    @Query(value = "SELECT o.order_id FROM \"order\" o " +
+            "WHERE o.user_id = :userId AND o.deleted_at IS NULL " +
+            "ORDER BY o.order_date DESC NULLS LAST, o.order_id DESC " +
+            "LIMIT :limit", nativeQuery = true)
+    List<UUID> findOrderIdsByUser(@Param("userId") UUID userId, @Param("limit") int limit);
+
+    // Undated orders sort last, so they follow every dated row
+    @Query(value = "SELECT o.order_id FROM \"order\" o " +
+            "WHERE o.user_id = :userId AND o.deleted_at IS NULL " +
+            "AND ((o.order_date, o.order_id) < (:afterDate, :afterId) OR o.order_date IS NULL) " +
+            "ORDER BY o.order_date DESC NULLS LAST, o.order_id DESC " +
+            "LIMIT :limit", nativeQuery = true)
+    List<UUID> findOrderIdsByUserAfter(@Param("userId") UUID userId,
+                                       @Param("afterDate") LocalDateTime afterDate,
+                                       @Param("afterId") UUID afterId,
+                                       @Param("limit") int limit);
+
+    @Query(value = "SELECT o.order_id FROM \"order\" o " +
+            "WHERE o.user_id = :userId AND o.deleted_at IS NULL " +
+            "AND o.order_date IS NULL AND o.order_id < :afterId " +
+            "ORDER BY o.order_id DESC " +
+            "LIMIT :limit", nativeQuery = true)
+    List<UUID> findUndatedOrderIdsByUserAfter(@Param("userId") UUID userId,
+                                              @Param("afterId") UUID afterId,
+                                              @Param("limit") int limit);
+
+    /**
+     * Loads orders with everything OrderMapper reads (user, address, payment,
+     * order lines and their products) in a single select.
+     */
+    @Query("SELECT DISTINCT o FROM Order o " +
+            "LEFT JOIN FETCH o.user " +
+            "LEFT JOIN FETCH o.address " +
+            "LEFT JOIN FETCH o.payment " +
+            "LEFT JOIN FETCH o.orderProducts op " +
+            "LEFT JOIN FETCH op.product " +
+            "WHERE o.orderId IN :orderIds")
+    List<Order> findAllWithLinesByOrderIdIn(@Param("orderIds") Collection<UUID> orderIds);
 }
@@ -0,0 +1,122 @@
+package com.example.nordicelectronics.repositories.sql;
+
+import com.example.nordicelectronics.service.migration.SyncSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Change events in {@code outbox_event}, waiting to be relayed to MongoDB and
+ * Neo4j. Events are appended by the writing transaction and claimed by
+ * deleting them, so a relay that fails puts them back by rolling back.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * A changed row, and how long ago its event was appended.
+     */
+    public record Event(SyncSource source, UUID aggregateId, long ageMs) {
+    }
+
+    public record Backlog(long events, long oldestAgeMs) {
+    }
+
+    /**
+     * Appends one event per target and id, in a single statement.
+     */
+    public void append(Collection<String> targets, SyncSource source, Collection<UUID> ids) {
+        if (targets.isEmpty() || ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement("""
+                    INSERT INTO outbox_event (target, source, aggregate_id)
+                    SELECT target, ?, aggregate_id
+                    FROM unnest(?::varchar[]) AS target CROSS JOIN unnest(?::uuid[]) AS aggregate_id
+                    """);
+            statement.setString(1, source.key());
+            statement.setArray(2, connection.createArrayOf("varchar", targets.toArray()));
+            statement.setArray(3, connection.createArrayOf("uuid", ids.toArray()));
+            return statement;
+        });
+    }
+
+    /**
+     * Appends a {@link SyncSource#STOCK_WAREHOUSE} event per target for every
+     * warehouse stocking one of the products, for writes that change stock
+     * without knowing which warehouse it was taken from.
+     */
+    public void appendWarehousesStocking(Collection<String> targets, Collection<UUID> productIds) {
+        if (targets.isEmpty() || productIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement("""
+                    INSERT INTO outbox_event (target, source, aggregate_id)
+                    SELECT DISTINCT target, ?, wp.warehouse_id
+                    FROM unnest(?::varchar[]) AS target
+                    CROSS JOIN warehouse_product wp
+                    WHERE wp.product_id = ANY(?)
+                    """);
+            statement.setString(1, SyncSource.STOCK_WAREHOUSE.key());
+            statement.setArray(2, connection.createArrayOf("varchar", targets.toArray()));
+            statement.setArray(3, connection.createArrayOf("uuid", productIds.toArray()));
+            return statement;
+        });
+    }
+
+    /**
+     * Takes a transaction-scoped advisory lock on relaying to a target, so
+     * only one relay applies a target's events at a time and an older read
+     * of a row is never written over a newer one.
+     *
+     * @return false if another relay holds it
+     */
+    public boolean tryLockTarget(String target) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(hashtext(?))", Boolean.class, "outbox_event:" + target));
+    }
+
+    /**
+     * Deletes and returns the oldest events of a target. Rows locked by
+     * another transaction are skipped rather than waited for. Must run in the
+     * transaction that applies the events.
+     */
+    public List<Event> claim(String target, int limit) {
+        return jdbcTemplate.query("""
+                        DELETE FROM outbox_event
+                        WHERE event_id IN (
+                            SELECT event_id FROM outbox_event
+                            WHERE target = ?
+                            ORDER BY event_id
+                            LIMIT ?
+                            FOR UPDATE SKIP LOCKED)
+                        RETURNING source, aggregate_id,
+                                  (EXTRACT(EPOCH FROM clock_timestamp()::timestamp - created_at) * 1000)::bigint AS age_ms
+                        """,
+                (rs, i) -> new Event(SyncSource.fromKey(rs.getString("source")),
+                        rs.getObject("aggregate_id", UUID.class), rs.getLong("age_ms")),
+                target, limit);
+    }
+
+    public Backlog backlog(String target) {
+        return jdbcTemplate.queryForObject("""
+                        SELECT count(*) AS events,
+                               COALESCE((EXTRACT(EPOCH FROM clock_timestamp()::timestamp - min(created_at)) * 1000)::bigint, 0)
+                                   AS oldest_age_ms
+                        FROM outbox_event
+                        WHERE target = ?
+                        """,
+                (rs, i) -> new Backlog(rs.getLong("events"), rs.getLong("oldest_age_ms")),
+                target);
+    }
+}
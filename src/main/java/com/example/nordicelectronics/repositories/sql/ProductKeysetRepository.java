@@ -0,0 +1,100 @@
+package com.example.nordicelectronics.repositories.sql;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keyset (seek) pagination over the product table. Pages are fetched with
+ * {@code WHERE (sort_col, product_id) > (?, ?)} against the composite
+ * {@code (sort_col, product_id)} indexes from init.sql, so every page costs
+ * the same regardless of depth and no count query is needed per page.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductKeysetRepository {
+
+    // Only columns with a matching (column, product_id) index in init.sql
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "name", "p.name",
+            "price", "p.price",
+            "sku", "p.sku"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record KeysetRow(UUID productId, Object sortValue) {
+    }
+
+    public static boolean supportsSort(String sortBy) {
+        return SORT_COLUMNS.containsKey(sortBy);
+    }
+
+    /**
+     * Returns up to {@code limit} product ids with their sort value, strictly
+     * after ({@code afterValue}, {@code afterId}) in the requested order. Pass a
+     * null {@code afterId} for the first page.
+     */
+    public List<KeysetRow> findPage(String sortBy, boolean descending, Object afterValue, UUID afterId, int limit,
+                                    String search, UUID categoryId, UUID brandId) {
+        String column = SORT_COLUMNS.get(sortBy);
+        if (column == null) {
+            throw new IllegalArgumentException("Unsupported sort field for cursor pagination: " + sortBy);
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT p.product_id, ")
+                .append(column).append(" AS sort_value FROM product p WHERE p.deleted_at IS NULL");
+        List<Object> args = new ArrayList<>();
+        appendFilters(sql, args, search, categoryId, brandId);
+
+        if (afterId != null) {
+            sql.append(" AND (").append(column).append(", p.product_id) ")
+                    .append(descending ? "<" : ">").append(" (?, ?)");
+            args.add(afterValue);
+            args.add(afterId);
+        }
+
+        String direction = descending ? " DESC" : " ASC";
+        sql.append(" ORDER BY ").append(column).append(direction)
+                .append(", p.product_id").append(direction)
+                .append(" LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(),
+                (rs, rowNum) -> new KeysetRow(rs.getObject("product_id", UUID.class), rs.getObject("sort_value")),
+                args.toArray());
+    }
+
+    public long count(String search, UUID categoryId, UUID brandId) {
+        StringBuilder sql = new StringBuilder("SELECT count(*) FROM product p WHERE p.deleted_at IS NULL");
+        List<Object> args = new ArrayList<>();
+        appendFilters(sql, args, search, categoryId, brandId);
+        Long count = jdbcTemplate.queryForObject(sql.toString(), Long.class, args.toArray());
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Same filter semantics as {@link ProductSpecification#withFilters}.
+     */
+    private static void appendFilters(StringBuilder sql, List<Object> args, String search, UUID categoryId, UUID brandId) {
+        if (search != null && !search.isBlank()) {
+            String pattern = "%" + search.toLowerCase().trim() + "%";
+            sql.append(" AND (lower(p.name) LIKE ? OR lower(p.description) LIKE ?)");
+            args.add(pattern);
+            args.add(pattern);
+        }
+        if (brandId != null) {
+            sql.append(" AND p.brand_id = ?");
+            args.add(brandId);
+        }
+        if (categoryId != null) {
+            sql.append(" AND EXISTS (SELECT 1 FROM product_category pc WHERE pc.product_id = p.product_id AND pc.category_id = ?)");
+            args.add(categoryId);
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package com.example.nordicelectronics.repositories.sql;
 
 import com.example.nordicelectronics.entity.Product;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 import java.util.Optional;
@@ -12,6 +18,34 @@ public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpec
 
     Optional<Product> findBySku(String sku);
 
+    // Detail and by-id paths fetch categories in the same select; brand and
+    // warranty stay lazy since the DTO only needs their ids
+    @Override
+    @EntityGraph(attributePaths = "categories")
+    Optional<Product> findById(UUID id);
+
+    @Override
+    @EntityGraph(attributePaths = "categories")
+    List<Product> findAllById(Iterable<UUID> ids);
+
+    // Products whose search documents embed a brand or category name
+    @EntityGraph(attributePaths = {"brand", "categories"})
+    List<Product> findByBrandBrandId(UUID brandId);
+
+    @EntityGraph(attributePaths = {"brand", "categories"})
+    List<Product> findByCategoriesCategoryId(UUID categoryId);
+
+    /**
+     * Current prices for a cart in one query, without loading the products.
+     */
+    @Query("SELECT p.productId AS productId, p.price AS price FROM Product p WHERE p.productId IN :productIds")
+    List<ProductPrice> findPricesByProductIdIn(@Param("productIds") Collection<UUID> productIds);
+
+    interface ProductPrice {
+        UUID getProductId();
+        BigDecimal getPrice();
+    }
+
     // TODO: Implement method to get stock quantity from the database view
 //    @Query(value = "SELECT total_stock FROM vw_product_stock WHERE product_id = :productId",
 //            nativeQuery = true)
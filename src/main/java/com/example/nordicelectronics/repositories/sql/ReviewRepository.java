@@ -2,7 +2,10 @@ package com.example.nordicelectronics.repositories.sql;
 
 import com.example.nordicelectronics.entity.Review;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,4 +15,17 @@ public interface ReviewRepository extends JpaRepository<Review, UUID> {
     Optional<Review> findByReviewIdAndUser_UserId(UUID reviewId, UUID userId);
 
     List<Review> findByProduct_ProductId(UUID productId);
+
+    /**
+     * Review ids for a batch of products in one query, without loading the
+     * review rows (or their users) into the persistence context.
+     */
+    @Query("SELECT r.product.productId AS productId, r.reviewId AS reviewId FROM Review r " +
+            "WHERE r.product.productId IN :productIds")
+    List<ProductReviewId> findReviewIdsByProductIds(@Param("productIds") Collection<UUID> productIds);
+
+    interface ProductReviewId {
+        UUID getProductId();
+        UUID getReviewId();
+    }
 }
@@ -0,0 +1,40 @@
+package com.example.nordicelectronics.repositories.sql;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Persistent (coupon code, amount off, currency) to Stripe coupon id mapping
+ * in {@code stripe_coupon_mapping}, shared by every application node.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StripeCouponMappingRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<String> findStripeCouponId(String couponCode, long amountOffCents, String currency) {
+        List<String> ids = jdbcTemplate.queryForList("""
+                SELECT stripe_coupon_id FROM stripe_coupon_mapping
+                WHERE coupon_code = ? AND amount_off_cents = ? AND currency = ?
+                """, String.class, couponCode, amountOffCents, currency);
+        return ids.stream().findFirst();
+    }
+
+    /**
+     * Records a mapping unless another node already has, and returns the id
+     * that is stored afterwards.
+     */
+    public String saveIfAbsent(String couponCode, long amountOffCents, String currency, String stripeCouponId) {
+        jdbcTemplate.update("""
+                INSERT INTO stripe_coupon_mapping (coupon_code, amount_off_cents, currency, stripe_coupon_id)
+                VALUES (?, ?, ?, ?)
+                ON CONFLICT (coupon_code, amount_off_cents, currency) DO NOTHING
+                """, couponCode, amountOffCents, currency, stripeCouponId);
+        return findStripeCouponId(couponCode, amountOffCents, currency).orElse(stripeCouponId);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.nordicelectronics.repositories.sql;
+
+import com.example.nordicelectronics.service.migration.SyncSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Change detection for the incremental sync. Plain SQL on purpose: the JPA
+ * entities hide soft-deleted rows, and soft deletes are exactly what the sync
+ * has to see.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SyncChangeRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Change(UUID id, LocalDateTime updatedAt) {
+    }
+
+    /**
+     * Rows of a source whose {@code updated_at} is after {@code since}, or all
+     * rows when {@code since} is null. Deleted rows are included; soft deletes
+     * bump {@code updated_at} like any other update.
+     */
+    public List<Change> findChangedSince(SyncSource source, LocalDateTime since) {
+        String select = "SELECT " + source.idColumn() + " AS id, updated_at FROM " + source.table();
+        if (since == null) {
+            return jdbcTemplate.query(select, (rs, i) ->
+                    new Change(rs.getObject("id", UUID.class), rs.getTimestamp("updated_at").toLocalDateTime()));
+        }
+        return jdbcTemplate.query(select + " WHERE updated_at > ?", (rs, i) ->
+                        new Change(rs.getObject("id", UUID.class), rs.getTimestamp("updated_at").toLocalDateTime()),
+                Timestamp.valueOf(since));
+    }
+
+    /**
+     * Runs a single-column id query whose only parameter is a {@code uuid[]}
+     * (written as {@code = ANY(?)}), e.g. the products of a set of brands.
+     */
+    public Set<UUID> findIds(String sql, Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        Set<UUID> result = new LinkedHashSet<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setArray(1, connection.createArrayOf("uuid", ids.toArray()));
+            return statement;
+        }, rs -> {
+            result.add(rs.getObject(1, UUID.class));
+        });
+        return result;
+    }
+
+    public LocalDateTime databaseTime() {
+        return jdbcTemplate.queryForObject("SELECT LOCALTIMESTAMP", Timestamp.class).toLocalDateTime();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.nordicelectronics.repositories.sql;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * High-water marks of the incremental sync in {@code sync_watermark}: for
+ * each target store and source table, the newest {@code updated_at} that has
+ * been projected.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SyncWatermarkRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Map<String, LocalDateTime> findAll(String target) {
+        Map<String, LocalDateTime> watermarks = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT source, high_water FROM sync_watermark WHERE target = ?",
+                rs -> {
+                    watermarks.put(rs.getString("source"), rs.getTimestamp("high_water").toLocalDateTime());
+                },
+                target);
+        return watermarks;
+    }
+
+    public void save(String target, String source, LocalDateTime highWater) {
+        jdbcTemplate.update("""
+                INSERT INTO sync_watermark (target, source, high_water, last_synced_at)
+                VALUES (?, ?, ?, CURRENT_TIMESTAMP)
+                ON CONFLICT (target, source) DO UPDATE
+                SET high_water = GREATEST(sync_watermark.high_water, EXCLUDED.high_water),
+                    last_synced_at = CURRENT_TIMESTAMP
+                """, target, source, Timestamp.valueOf(highWater));
+    }
+
+    /**
+     * Sets every source of a target to the same mark, e.g. the start of a
+     * full migration, replacing whatever was there.
+     */
+    public void resetAll(String target, Collection<String> sources, LocalDateTime highWater) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO sync_watermark (target, source, high_water, last_synced_at)
+                VALUES (?, ?, ?, CURRENT_TIMESTAMP)
+                ON CONFLICT (target, source) DO UPDATE
+                SET high_water = EXCLUDED.high_water,
+                    last_synced_at = CURRENT_TIMESTAMP
+                """, sources.stream()
+                .map(source -> new Object[]{target, source, Timestamp.valueOf(highWater)})
+                .toList());
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.nordicelectronics.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory side effects of a write, such as cache evictions and search
+ * index updates, until the surrounding transaction commits, so a rolled-back
+ * write leaves them untouched and a concurrent reader cannot observe them
+ * before the database does. Runs the action at once outside a transaction.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {}
+
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
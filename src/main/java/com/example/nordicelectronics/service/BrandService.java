@@ -2,23 +2,44 @@ package com.example.nordicelectronics.service;
 
 import com.example.nordicelectronics.entity.Brand;
 import com.example.nordicelectronics.repositories.sql.BrandRepository;
+import com.example.nordicelectronics.repositories.sql.ProductRepository;
+import com.example.nordicelectronics.service.cache.ProductCatalogCache;
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.JpaListReader;
+import com.example.nordicelectronics.service.search.ProductSearchDocument;
+import com.example.nordicelectronics.service.search.ProductSearchIndex;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class BrandService {
 
     private final BrandRepository brandRepository;
+    private final JpaListReader jpaListReader;
+    private final ProductRepository productRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductCatalogCache productCatalogCache;
 
     public List<Brand> getAll() {
         return brandRepository.findAll();
     }
 
+    public CursorPage<Brand> getPage(Integer limit, String cursor) {
+        return jpaListReader.page(Brand.class, "brandId", Brand::getBrandId, limit, cursor);
+    }
+
+    public void streamAll(Consumer<Brand> writer) {
+        jpaListReader.stream(Brand.class, "brandId", writer);
+    }
+
     public Brand getById(UUID id) {
         return brandRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Brand not found"));
@@ -28,13 +49,23 @@ public class BrandService {
         return brandRepository.save(brand);
     }
 
+    @Transactional
     public Brand update(UUID id, Brand brand) {
         Brand existing = getById(id);
+        boolean renamed = !Objects.equals(existing.getName(), brand.getName());
 
         existing.setName(brand.getName());
         existing.setDescription(brand.getDescription());
 
-        return brandRepository.save(existing);
+        Brand saved = brandRepository.save(existing);
+        // Search documents embed the brand name, so reindex the products that carry it
+        if (renamed) {
+            productRepository.findByBrandBrandId(id)
+                    .forEach(product -> productSearchIndex.upsert(ProductSearchDocument.from(product)));
+            // Cached search pages were ranked against the old name
+            productCatalogCache.evictPages();
+        }
+        return saved;
     }
 
     public void deleteById(UUID id) {
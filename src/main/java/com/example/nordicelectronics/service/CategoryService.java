@@ -2,23 +2,44 @@ package com.example.nordicelectronics.service;
 
 import com.example.nordicelectronics.entity.Category;
 import com.example.nordicelectronics.repositories.sql.CategoryRepository;
+import com.example.nordicelectronics.repositories.sql.ProductRepository;
+import com.example.nordicelectronics.service.cache.ProductCatalogCache;
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.JpaListReader;
+import com.example.nordicelectronics.service.search.ProductSearchDocument;
+import com.example.nordicelectronics.service.search.ProductSearchIndex;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final JpaListReader jpaListReader;
+    private final ProductRepository productRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductCatalogCache productCatalogCache;
 
     public List<Category> getAll() {
         return categoryRepository.findAll();
     }
 
+    public CursorPage<Category> getPage(Integer limit, String cursor) {
+        return jpaListReader.page(Category.class, "categoryId", Category::getCategoryId, limit, cursor);
+    }
+
+    public void streamAll(Consumer<Category> writer) {
+        jpaListReader.stream(Category.class, "categoryId", writer);
+    }
+
     public Category getById(UUID id) {
         return categoryRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Category not found"));
@@ -28,13 +49,23 @@ public class CategoryService {
         return categoryRepository.save(category);
     }
 
+    @Transactional
     public Category update(UUID id, Category category) {
         Category existing = getById(id);
+        boolean renamed = !Objects.equals(existing.getName(), category.getName());
 
         existing.setName(category.getName());
         existing.setDescription(category.getDescription());
 
-        return categoryRepository.save(existing);
+        Category saved = categoryRepository.save(existing);
+        // Search documents embed the category name, so reindex the products that carry it
+        if (renamed) {
+            productRepository.findByCategoriesCategoryId(id)
+                    .forEach(product -> productSearchIndex.upsert(ProductSearchDocument.from(product)));
+            // Cached search pages were ranked against the old name
+            productCatalogCache.evictPages();
+        }
+        return saved;
     }
 
     public void deleteById(UUID id) {
@@ -0,0 +1,344 @@
+package com.example.nordicelectronics.service;
+
+import com.example.nordicelectronics.service.migration.MerkleTree;
+import com.example.nordicelectronics.service.migration.MerkleTree.Digest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Anti-entropy check of the MongoDB and Neo4j projections against
+ * PostgreSQL, for products, orders and users.
+ *
+ * Each store is digested into a {@link MerkleTree} over the canonical fields
+ * of every row, with the 16 top-level UUID ranges scanned in parallel.
+ * PostgreSQL hashes and groups rows itself; MongoDB and Neo4j have no hash
+ * function in their query languages, so they return only the canonical
+ * fields of a range and the rows are hashed here. Only leaves whose digests
+ * differ are drilled into, row by row, to list the exact ids that drifted.
+ */
+@Service
+@ConditionalOnProperty(name = "spring.data.mongodb.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class ConsistencyCheckService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MongoTemplate mongoTemplate;
+    private final Neo4jClient neo4jClient;
+
+    // Range scans and leaf drill-downs running at once across the three stores
+    @Value("${migration.consistency.parallelism:8}")
+    private int parallelism;
+
+    /**
+     * One canonical field as it is called in each store.
+     */
+    private record CheckedField(String column, String mongoPath, String nodeProperty, boolean decimal) {
+    }
+
+    private record CheckedEntity(String table, String idColumn, String collection, String mongoKey,
+                                 String label, String nodeKey, List<CheckedField> fields) {
+    }
+
+    private static final Map<String, CheckedEntity> ENTITIES = Map.of(
+            "products", new CheckedEntity("product", "product_id", "products", "product_id", "Product", "productId",
+                    List.of(new CheckedField("sku", "sku", "sku", false),
+                            new CheckedField("name", "name", "name", false),
+                            new CheckedField("price", "price", "price", true),
+                            new CheckedField("brand_id", "brand.brandId", "brandId", false))),
+            "orders", new CheckedEntity("\"order\"", "order_id", "orders", "order_id", "Order", "orderId",
+                    List.of(new CheckedField("user_id", "customer.userId", "userId", false),
+                            new CheckedField("status", "status", "orderStatus", false),
+                            new CheckedField("total_amount", "total_amount", "totalAmount", true))),
+            "users", new CheckedEntity("\"user\"", "user_id", "users", "user_id", "User", "userId",
+                    List.of(new CheckedField("email", "email", "email", false),
+                            new CheckedField("first_name", "first_name", "firstName", false),
+                            new CheckedField("last_name", "last_name", "lastName", false))));
+
+    /**
+     * Compares one entity type across the three stores.
+     *
+     * @param entity {@code products}, {@code orders} or {@code users}
+     * @return per target store: whether it matches, and the ids missing from
+     *         it, present only in it, or with different fields
+     */
+    public Map<String, Object> check(String entity) {
+        CheckedEntity checked = ENTITIES.get(entity);
+        if (checked == null) {
+            throw new IllegalArgumentException("Unknown entity " + entity + "; expected one of " + ENTITIES.keySet());
+        }
+        long startTime = System.currentTimeMillis();
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism,
+                new CustomizableThreadFactory("consistency-check-"));
+        try {
+            CompletableFuture<MerkleTree> postgres = tree(pool, prefix -> postgresDigest(checked, prefix));
+            CompletableFuture<MerkleTree> mongo = tree(pool, prefix -> mongoDigest(checked, prefix));
+            CompletableFuture<MerkleTree> neo4j = tree(pool, prefix -> neo4jDigest(checked, prefix));
+
+            // Leaves that differ in both targets are read from PostgreSQL once
+            Map<String, CompletableFuture<Map<UUID, Long>>> postgresLeaves = new ConcurrentHashMap<>();
+            Function<String, CompletableFuture<Map<UUID, Long>>> postgresLeafRows = leaf -> postgresLeaves
+                    .computeIfAbsent(leaf, l -> CompletableFuture.supplyAsync(() -> postgresRows(checked, l), pool));
+
+            Map<String, Object> results = new LinkedHashMap<>();
+            results.put("entity", entity);
+            results.put("postgresql", join(postgres).toMap());
+            results.put("mongodb", compare(pool, join(postgres), join(mongo), postgresLeafRows,
+                    leaf -> mongoRows(checked, leaf)));
+            results.put("neo4j", compare(pool, join(postgres), join(neo4j), postgresLeafRows,
+                    leaf -> neo4jRows(checked, leaf)));
+            results.put("duration_ms", System.currentTimeMillis() - startTime);
+            log.info("Consistency check of {} finished in {} ms", entity, results.get("duration_ms"));
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Map<String, Object> compare(ExecutorService pool, MerkleTree postgres, MerkleTree target,
+                                        Function<String, CompletableFuture<Map<UUID, Long>>> postgresRows,
+                                        Function<String, Map<UUID, Long>> targetRows) {
+        List<String> leaves = postgres.differingLeaves(target);
+        List<CompletableFuture<Void>> drillDowns = new ArrayList<>();
+        List<UUID> missing = new ArrayList<>();
+        List<UUID> unexpected = new ArrayList<>();
+        List<UUID> changed = new ArrayList<>();
+        for (String leaf : leaves) {
+            drillDowns.add(postgresRows.apply(leaf)
+                    .thenCombine(CompletableFuture.supplyAsync(() -> targetRows.apply(leaf), pool), (expected, actual) -> {
+                        synchronized (missing) {
+                            expected.forEach((id, hash) -> {
+                                Long actualHash = actual.get(id);
+                                if (actualHash == null) {
+                                    missing.add(id);
+                                } else if (!actualHash.equals(hash)) {
+                                    changed.add(id);
+                                }
+                            });
+                            actual.keySet().stream().filter(id -> !expected.containsKey(id)).forEach(unexpected::add);
+                        }
+                        return null;
+                    }));
+        }
+        join(CompletableFuture.allOf(drillDowns.toArray(CompletableFuture[]::new)));
+
+        Comparator<UUID> byText = Comparator.comparing(UUID::toString);
+        missing.sort(byText);
+        unexpected.sort(byText);
+        changed.sort(byText);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("status", leaves.isEmpty() ? "CONSISTENT" : "DRIFT");
+        result.put("rows", target.root().rows());
+        result.put("root", Long.toHexString(target.root().hash()));
+        result.put("differing_buckets", leaves);
+        result.put("missing", missing);
+        result.put("unexpected", unexpected);
+        result.put("changed", changed);
+        return result;
+    }
+
+    private static CompletableFuture<MerkleTree> tree(ExecutorService pool, Function<String, MerkleTree> rangeDigest) {
+        List<CompletableFuture<MerkleTree>> ranges = MerkleTree.innerPrefixes().stream()
+                .map(prefix -> CompletableFuture.supplyAsync(() -> rangeDigest.apply(prefix), pool))
+                .toList();
+        return CompletableFuture.allOf(ranges.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            MerkleTree tree = new MerkleTree();
+            ranges.forEach(range -> tree.addAll(range.join()));
+            return tree;
+        });
+    }
+
+    // ==================== PostgreSQL ====================
+
+    private MerkleTree postgresDigest(CheckedEntity checked, String prefix) {
+        MerkleTree tree = new MerkleTree();
+        List<Object> bounds = new ArrayList<>();
+        String sql = "SELECT left(" + checked.idColumn() + "::text, " + MerkleTree.LEAF_PREFIX_LENGTH + ") AS leaf, "
+                + "count(*) AS row_count, sum(" + postgresRowHash(checked) + ") AS hash "
+                + "FROM " + checked.table() + " WHERE deleted_at IS NULL AND " + postgresRange(checked, prefix, bounds)
+                + " GROUP BY 1";
+        jdbcTemplate.query(sql, rs -> {
+            // A numeric sum, congruent modulo 2^64 to the sum of the signed row hashes
+            tree.addLeaf(rs.getString("leaf"),
+                    new Digest(rs.getLong("row_count"), rs.getBigDecimal("hash").toBigInteger().longValue()));
+        }, bounds.toArray());
+        return tree;
+    }
+
+    private Map<UUID, Long> postgresRows(CheckedEntity checked, String leaf) {
+        Map<UUID, Long> rows = new HashMap<>();
+        List<Object> bounds = new ArrayList<>();
+        String sql = "SELECT " + checked.idColumn() + " AS id, " + postgresRowHash(checked) + " AS hash "
+                + "FROM " + checked.table() + " WHERE deleted_at IS NULL AND " + postgresRange(checked, leaf, bounds);
+        jdbcTemplate.query(sql, rs -> {
+            rows.put(rs.getObject("id", UUID.class), rs.getLong("hash"));
+        }, bounds.toArray());
+        return rows;
+    }
+
+    /**
+     * {@link MerkleTree#rowHash} in SQL.
+     */
+    private static String postgresRowHash(CheckedEntity checked) {
+        StringBuilder canonical = new StringBuilder(checked.idColumn() + "::text");
+        for (CheckedField field : checked.fields()) {
+            String text = field.decimal() ? "trim_scale(" + field.column() + ")::text" : field.column() + "::text";
+            canonical.append(" || '|' || coalesce(").append(text).append(", '')");
+        }
+        return "('x' || substr(md5(" + canonical + "), 1, 16))::bit(64)::bigint";
+    }
+
+    private static String postgresRange(CheckedEntity checked, String prefix, List<Object> bounds) {
+        UUID upper = MerkleTree.upperBound(prefix);
+        bounds.add(MerkleTree.lowerBound(prefix));
+        if (upper == null) {
+            return checked.idColumn() + " >= ?";
+        }
+        bounds.add(upper);
+        return checked.idColumn() + " >= ? AND " + checked.idColumn() + " < ?";
+    }
+
+    // ==================== MongoDB ====================
+
+    private MerkleTree mongoDigest(CheckedEntity checked, String prefix) {
+        MerkleTree tree = new MerkleTree();
+        try (Stream<Document> documents = mongoTemplate.stream(mongoRange(checked, prefix), Document.class,
+                checked.collection())) {
+            documents.forEach(document -> {
+                UUID id = (UUID) path(document, checked.mongoKey());
+                tree.addRow(id, mongoRowHash(checked, id, document));
+            });
+        }
+        return tree;
+    }
+
+    private Map<UUID, Long> mongoRows(CheckedEntity checked, String leaf) {
+        Map<UUID, Long> rows = new HashMap<>();
+        try (Stream<Document> documents = mongoTemplate.stream(mongoRange(checked, leaf), Document.class,
+                checked.collection())) {
+            documents.forEach(document -> {
+                UUID id = (UUID) path(document, checked.mongoKey());
+                rows.put(id, mongoRowHash(checked, id, document));
+            });
+        }
+        return rows;
+    }
+
+    private static Query mongoRange(CheckedEntity checked, String prefix) {
+        Criteria range = Criteria.where(checked.mongoKey()).gte(MerkleTree.lowerBound(prefix));
+        UUID upper = MerkleTree.upperBound(prefix);
+        if (upper != null) {
+            range = range.lt(upper);
+        }
+        Query query = new Query(range);
+        query.fields().include(checked.mongoKey());
+        checked.fields().forEach(field -> query.fields().include(field.mongoPath()));
+        return query;
+    }
+
+    private static long mongoRowHash(CheckedEntity checked, UUID id, Document document) {
+        Object[] values = new Object[checked.fields().size() + 1];
+        values[0] = id;
+        for (int i = 0; i < checked.fields().size(); i++) {
+            CheckedField field = checked.fields().get(i);
+            Object value = path(document, field.mongoPath());
+            values[i + 1] = field.decimal() ? decimal(value) : value;
+        }
+        return MerkleTree.rowHash(values);
+    }
+
+    private static Object path(Document document, String path) {
+        Object value = document;
+        for (String name : path.split("\\.")) {
+            if (!(value instanceof Document nested)) {
+                return null;
+            }
+            value = nested.get(name);
+        }
+        return value;
+    }
+
+    // ==================== Neo4j ====================
+
+    private MerkleTree neo4jDigest(CheckedEntity checked, String prefix) {
+        MerkleTree tree = new MerkleTree();
+        neo4jRows(checked, prefix).forEach(tree::addRow);
+        return tree;
+    }
+
+    /**
+     * Node keys are stored as text, so a prefix is an index range seek.
+     */
+    private Map<UUID, Long> neo4jRows(CheckedEntity checked, String prefix) {
+        StringBuilder cypher = new StringBuilder("MATCH (n:" + checked.label() + ") WHERE n." + checked.nodeKey()
+                + " STARTS WITH $prefix RETURN n." + checked.nodeKey() + " AS id");
+        for (int i = 0; i < checked.fields().size(); i++) {
+            cypher.append(", n.").append(checked.fields().get(i).nodeProperty()).append(" AS f").append(i);
+        }
+        Map<UUID, Long> rows = new HashMap<>();
+        for (Map<String, Object> record : neo4jClient.query(cypher.toString()).bind(prefix).to("prefix").fetch().all()) {
+            UUID id = UUID.fromString((String) record.get("id"));
+            Object[] values = new Object[checked.fields().size() + 1];
+            values[0] = id;
+            for (int i = 0; i < checked.fields().size(); i++) {
+                Object value = record.get("f" + i);
+                values[i + 1] = checked.fields().get(i).decimal() ? decimal(value) : value;
+            }
+            rows.put(id, MerkleTree.rowHash(values));
+        }
+        return rows;
+    }
+
+    /**
+     * Decimals are stored as strings by default in both stores, or as
+     * Decimal128 in MongoDB when so configured.
+     */
+    private static BigDecimal decimal(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Decimal128 decimal) {
+            return decimal.bigDecimalValue();
+        }
+        return new BigDecimal(value.toString());
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
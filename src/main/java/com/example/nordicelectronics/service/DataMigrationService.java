@@ -4,38 +4,57 @@ import com.example.nordicelectronics.entity.*;
 import com.example.nordicelectronics.entity.mongodb.*;
 import com.example.nordicelectronics.repositories.mongodb.*;
 import com.example.nordicelectronics.repositories.sql.*;
+import com.example.nordicelectronics.service.migration.ChangeSet;
+import com.example.nordicelectronics.service.migration.KeysetChunkReader;
+import com.example.nordicelectronics.service.migration.MigrationCheckpoints;
+import com.example.nordicelectronics.service.migration.MigrationCheckpoints.PhaseCheckpoint;
+import com.example.nordicelectronics.service.migration.MigrationPlan;
+import com.example.nordicelectronics.service.migration.MigrationTarget;
+import com.example.nordicelectronics.service.migration.SyncSource;
+import com.example.nordicelectronics.service.migration.SyncTarget;
+import com.example.nordicelectronics.service.mongodb.ProductReviewSummary;
+import com.example.nordicelectronics.service.mongodb.WarehouseInventoryBuckets;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static com.example.nordicelectronics.service.migration.KeysetChunkReader.convertEach;
+import static com.example.nordicelectronics.service.migration.SyncSource.*;
+
 @Service
 @ConditionalOnProperty(name = "spring.data.mongodb.enabled", havingValue = "true", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
-public class DataMigrationService {
-
-    // PostgreSQL Repositories
-    private final UserRepository userRepository;
-    private final AddressRepository addressRepository;
-    private final BrandRepository brandRepository;
-    private final CategoryRepository categoryRepository;
-    private final WarrantyRepository warrantyRepository;
-    private final ProductRepository productRepository;
-    private final WarehouseRepository warehouseRepository;
-    private final CouponRepository couponRepository;
-    private final OrderRepository orderRepository;
-    private final PaymentRepository paymentRepository;
-    private final ReviewRepository reviewRepository;
-
-    // MongoDB Repositories
+public class DataMigrationService implements SyncTarget, MigrationTarget {
+
+    // PostgreSQL
+    private final KeysetChunkReader chunkReader;
+    private final SyncChangeRepository changeRepository;
+    private final SyncWatermarkRepository watermarkRepository;
+
+    // MongoDB
+    private final MongoTemplate mongoTemplate;
     private final UserMongoRepository userMongoRepository;
     private final AddressMongoRepository addressMongoRepository;
     private final BrandMongoRepository brandMongoRepository;
@@ -43,73 +62,99 @@ public class DataMigrationService {
     private final WarrantyMongoRepository warrantyMongoRepository;
     private final ProductMongoRepository productMongoRepository;
     private final WarehouseMongoRepository warehouseMongoRepository;
+    private final WarehouseInventoryMongoRepository warehouseInventoryMongoRepository;
     private final CouponMongoRepository couponMongoRepository;
     private final OrderMongoRepository orderMongoRepository;
     private final PaymentMongoRepository paymentMongoRepository;
     private final ReviewMongoRepository reviewMongoRepository;
+    private final ProductReviewSummary productReviewSummary;
+    private final WarehouseInventoryBuckets warehouseInventoryBuckets;
 
-    @Transactional(readOnly = true)
-    public Map<String, Object> migrateAllData() {
-        log.info("Starting full database migration from PostgreSQL to MongoDB (with embedded documents)");
-        
-        Map<String, Object> results = new HashMap<>();
-        long startTime = System.currentTimeMillis();
-
-        try {
-            // Clear existing MongoDB data
-            clearMongoDBData();
-            results.put("cleared", "Successfully cleared existing MongoDB data");
-
-            // Phase 1: Migrate standalone reference collections (still needed for some lookups)
-            int brandsCount = migrateBrands();
-            results.put("brands", brandsCount);
-            
-            int categoriesCount = migrateCategories();
-            results.put("categories", categoriesCount);
-            
-            int warrantiesCount = migrateWarranties();
-            results.put("warranties", warrantiesCount);
-
-            int couponsCount = migrateCoupons();
-            results.put("coupons", couponsCount);
+    // Rows read, converted and bulk-inserted per round trip; bounds heap use per phase
+    @Value("${migration.chunk-size:1000}")
+    private int chunkSize;
 
-            // Phase 2: Migrate users with embedded addresses
-            int usersCount = migrateUsersWithEmbeddedAddresses();
-            results.put("users", usersCount);
+    // Phases running at once, each holding one PostgreSQL connection
+    @Value("${migration.parallelism:4}")
+    private int parallelism;
 
-            // Keep addresses collection for backward compatibility (optional)
-            int addressesCount = migrateAddresses();
-            results.put("addresses", addressesCount);
+    public Map<String, Object> migrateAllData() {
+        return migrateAllData(parallelism);
+    }
 
-            // Phase 3: Migrate products with embedded brand, categories, warranty
-            int productsCount = migrateProductsWithEmbeddedData();
-            results.put("products", productsCount);
+    /**
+     * Clears MongoDB and copies every table into it. Documents are
+     * denormalised snapshots read straight from PostgreSQL, so apart from the
+     * review embedding (which updates product documents) the phases do not
+     * depend on each other and run concurrently on {@code parallelism} threads.
+     * Pass 1 to time the plain sequential migration.
+     */
+    public Map<String, Object> migrateAllData(int parallelism) {
+        return migrateAll(parallelism, MigrationCheckpoints.NONE);
+    }
 
-            // Phase 4: Migrate warehouses with embedded address and products
-            int warehousesCount = migrateWarehousesWithEmbeddedData();
-            results.put("warehouses", warehousesCount);
-            
-            // Phase 5: Migrate orders with all embedded data
-            int ordersCount = migrateOrdersWithEmbeddedData();
-            results.put("orders", ordersCount);
+    /**
+     * As {@link #migrateAllData(int)}, recording each written chunk. A resumed
+     * run keeps what earlier runs wrote and continues every phase after its
+     * last checkpoint.
+     */
+    @Override
+    public Map<String, Object> migrateAll(int parallelism, MigrationCheckpoints checkpoints) {
+        log.info("Starting full database migration from PostgreSQL to MongoDB (with embedded documents), "
+                + "chunk size {}, parallelism {}", chunkSize, parallelism);
+        
+        Map<String, Object> results = new LinkedHashMap<>();
+        long startTime = System.currentTimeMillis();
+        LocalDateTime snapshotTime = checkpoints.snapshotTime(changeRepository.databaseTime());
 
-            // Keep payments collection for backward compatibility (optional)
-            int paymentsCount = migratePayments();
-            results.put("payments", paymentsCount);
+        try {
+            if (checkpoints.isResumed()) {
+                results.put("resumed", true);
+            } else {
+                // Clear existing MongoDB data
+                clearMongoDBData();
+                results.put("cleared", "Successfully cleared existing MongoDB data");
+            }
+
+            Map<String, Projection<?, ?>> phases = new LinkedHashMap<>();
+            // Standalone reference collections (still needed for some lookups)
+            phases.put("brands", brands());
+            phases.put("categories", categories());
+            phases.put("warranties", warranties());
+            phases.put("coupons", coupons());
+            // Users with embedded addresses; addresses collection kept for backward compatibility
+            phases.put("users", users());
+            phases.put("addresses", addresses());
+            // Products with embedded brand, categories, warranty, stock and reviews
+            phases.put("products", products());
+            // Warehouses with embedded address, products in inventory buckets
+            phases.put("warehouses", warehouses());
+            // Orders with all embedded data
+            phases.put("orders", orders());
+            // Payments and reviews collections kept for backward compatibility
+            phases.put("payments", payments());
+            phases.put("reviews", reviews());
+
+            MigrationPlan plan = new MigrationPlan("mongodb");
+            phases.forEach((phase, projection) -> {
+                checkpoints.expect(phase, () -> chunkReader.count(projection.entityName()));
+                plan.phase(phase, () -> migrate(phase, projection, checkpoints));
+            });
 
-            // Keep reviews collection for backward compatibility (optional)
-            int reviewsCount = migrateReviews();
-            results.put("reviews", reviewsCount);
+            MigrationPlan.Result run = plan.run(parallelism);
+            run.phases().forEach(phase -> results.put(phase.name(), phase.rows()));
+            results.putAll(run.toMap());
 
-            // Phase 6: Update products with embedded reviews
-            updateProductsWithReviews();
-            results.put("products_with_reviews", "Updated");
+            // Incremental sync carries on from here instead of re-projecting everything
+            watermarkRepository.resetAll(targetName(), SyncSource.keys(), snapshotTime);
 
             long duration = System.currentTimeMillis() - startTime;
+            results.put("chunk_size", chunkSize);
             results.put("duration_ms", duration);
             results.put("status", "SUCCESS");
             
-            log.info("Migration completed successfully in {} ms", duration);
+            log.info("Migration completed successfully in {} ms ({} phases in flight on average)",
+                    duration, results.get("overlap_ratio"));
             return results;
             
         } catch (Exception e) {
@@ -128,6 +173,7 @@ public class DataMigrationService {
         couponMongoRepository.deleteAll();
         addressMongoRepository.deleteAll();
         userMongoRepository.deleteAll();
+        warehouseInventoryMongoRepository.deleteAll();
         warehouseMongoRepository.deleteAll();
         productMongoRepository.deleteAll();
         warrantyMongoRepository.deleteAll();
@@ -136,272 +182,491 @@ public class DataMigrationService {
         log.info("MongoDB data cleared");
     }
 
+    /**
+     * How one collection is projected from one table: the fetch plan and
+     * converter for a chunk of ids, the business key its documents are
+     * upserted and removed by, and what else to write or remove along with a
+     * chunk of its documents.
+     */
+    private record Projection<E, D>(String entityName, String idAttribute, Class<D> documentType,
+                                    String keyField, Function<D, UUID> key,
+                                    Function<List<UUID>, List<E>> fetchPlan,
+                                    Function<List<E>, List<D>> converter,
+                                    Consumer<List<D>> written, Consumer<Set<UUID>> removed) {
+
+        Projection(String entityName, String idAttribute, Class<D> documentType, String keyField,
+                   Function<D, UUID> key, Function<List<UUID>, List<E>> fetchPlan,
+                   Function<List<E>, List<D>> converter) {
+            this(entityName, idAttribute, documentType, keyField, key, fetchPlan, converter,
+                    documents -> { }, ids -> { });
+        }
+    }
+
+    /**
+     * Streams one table into one collection: keyset-ordered chunks are loaded
+     * with the fetch plan, converted while attached, and written with an
+     * unordered bulk insert after the read transaction has ended. Each written
+     * chunk is checkpointed; a resumed phase starts after its checkpoint and
+     * upserts its first chunk, which the stopped run may already have written.
+     */
+    private <E, D> long migrate(String phase, Projection<E, D> projection, MigrationCheckpoints checkpoints) {
+        PhaseCheckpoint checkpoint = checkpoints.find(phase);
+        if (checkpoint.completed()) {
+            log.info("Skipping {}: completed by an earlier run", phase);
+            return checkpoint.rows();
+        }
+        log.info("Migrating {} in chunks of {}...", projection.entityName(), chunkSize);
+        AtomicLong count = new AtomicLong(checkpoint.rows());
+        AtomicBoolean replayed = new AtomicBoolean(checkpoint.lastId() != null);
+        chunkReader.stream(projection.entityName(), projection.idAttribute(), chunkSize, checkpoint.lastId(),
+                projection.fetchPlan(), projection.converter(),
+                (lastId, documents) -> {
+                    if (replayed.getAndSet(false)) {
+                        upsert(projection, documents);
+                    } else {
+                        insertUnordered(projection.documentType(), documents);
+                    }
+                    projection.written().accept(documents);
+                    checkpoints.chunkWritten(phase, lastId, count.addAndGet(documents.size()));
+                });
+        checkpoints.phaseCompleted(phase, count.get());
+        log.info("Migrated {} {} rows", count.get(), projection.entityName());
+        return count.get();
+    }
+
+    /**
+     * Projects the given rows again: documents of rows that still load are
+     * replaced (or inserted) by business key, documents of rows that are gone
+     * or soft-deleted are removed.
+     *
+     * @return documents written plus documents removed
+     */
+    private <E, D> long reproject(Projection<E, D> projection, Set<UUID> ids) {
+        AtomicLong touched = new AtomicLong();
+        chunkReader.forIds(ids, chunkSize, projection.fetchPlan(), projection.converter(), (chunkIds, documents) -> {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, projection.documentType());
+            Set<UUID> missing = new HashSet<>(chunkIds);
+            for (D document : documents) {
+                UUID key = projection.key().apply(document);
+                missing.remove(key);
+                bulk.replaceOne(Query.query(Criteria.where(projection.keyField()).is(key)), document,
+                        FindAndReplaceOptions.options().upsert());
+            }
+            if (!missing.isEmpty()) {
+                bulk.remove(Query.query(Criteria.where(projection.keyField()).in(missing)));
+            }
+            bulk.execute();
+            projection.written().accept(documents);
+            if (!missing.isEmpty()) {
+                projection.removed().accept(missing);
+            }
+            touched.addAndGet(chunkIds.size());
+        });
+        return touched.get();
+    }
+
+    private <E, D> void upsert(Projection<E, D> projection, List<D> documents) {
+        if (documents.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, projection.documentType());
+        for (D document : documents) {
+            bulk.replaceOne(Query.query(Criteria.where(projection.keyField()).is(projection.key().apply(document))),
+                    document, FindAndReplaceOptions.options().upsert());
+        }
+        bulk.execute();
+    }
+
+    private <D> void insertUnordered(Class<D> documentType, List<D> documents) {
+        if (documents.isEmpty()) {
+            return;
+        }
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, documentType)
+                .insert(documents)
+                .execute();
+    }
+
+    /**
+     * Groups {@code (parentId, childId)} rows from a projection query by parent.
+     */
+    private Map<UUID, List<UUID>> childIds(String jpql, List<UUID> parentIds) {
+        return chunkReader.fetch(jpql, Object[].class, parentIds).stream()
+                .collect(Collectors.groupingBy(row -> (UUID) row[0],
+                        Collectors.mapping(row -> (UUID) row[1], Collectors.toList())));
+    }
+
     // ==================== Phase 1: Standalone collections ====================
 
-    private int migrateBrands() {
-        log.info("Migrating brands...");
-        List<Brand> brands = brandRepository.findAll();
-        List<BrandDocument> brandDocuments = brands.stream()
-                .map(this::convertToBrandDocument)
-                .collect(Collectors.toList());
-        brandMongoRepository.saveAll(brandDocuments);
-        log.info("Migrated {} brands", brandDocuments.size());
-        return brandDocuments.size();
-    }
-
-    private int migrateCategories() {
-        log.info("Migrating categories...");
-        List<Category> categories = categoryRepository.findAll();
-        List<CategoryDocument> categoryDocuments = categories.stream()
-                .map(this::convertToCategoryDocument)
-                .collect(Collectors.toList());
-        categoryMongoRepository.saveAll(categoryDocuments);
-        log.info("Migrated {} categories", categoryDocuments.size());
-        return categoryDocuments.size();
-    }
-
-    private int migrateWarranties() {
-        log.info("Migrating warranties...");
-        List<Warranty> warranties = warrantyRepository.findAll();
-        List<WarrantyDocument> warrantyDocuments = warranties.stream()
-                .map(this::convertToWarrantyDocument)
-                .collect(Collectors.toList());
-        warrantyMongoRepository.saveAll(warrantyDocuments);
-        log.info("Migrated {} warranties", warrantyDocuments.size());
-        return warrantyDocuments.size();
-    }
-
-    private int migrateCoupons() {
-        log.info("Migrating coupons...");
-        List<Coupon> coupons = couponRepository.findAll();
-        List<CouponDocument> couponDocuments = coupons.stream()
-                .map(this::convertToCouponDocument)
-                .collect(Collectors.toList());
-        couponMongoRepository.saveAll(couponDocuments);
-        log.info("Migrated {} coupons", couponDocuments.size());
-        return couponDocuments.size();
-    }
-
-    private int migrateAddresses() {
-        log.info("Migrating addresses (standalone collection)...");
-        List<Address> addresses = addressRepository.findAll();
-        List<AddressDocument> addressDocuments = addresses.stream()
-                .map(this::convertToAddressDocument)
-                .collect(Collectors.toList());
-        addressMongoRepository.saveAll(addressDocuments);
-        log.info("Migrated {} addresses", addressDocuments.size());
-        return addressDocuments.size();
-    }
-
-    private int migratePayments() {
-        log.info("Migrating payments (standalone collection)...");
-        List<Payment> payments = paymentRepository.findAll();
-        List<PaymentDocument> paymentDocuments = payments.stream()
-                .map(this::convertToPaymentDocument)
-                .collect(Collectors.toList());
-        paymentMongoRepository.saveAll(paymentDocuments);
-        log.info("Migrated {} payments", paymentDocuments.size());
-        return paymentDocuments.size();
-    }
-
-    private int migrateReviews() {
-        log.info("Migrating reviews (standalone collection)...");
-        List<Review> reviews = reviewRepository.findAll();
-        List<ReviewDocument> reviewDocuments = reviews.stream()
-                .map(this::convertToReviewDocument)
-                .collect(Collectors.toList());
-        reviewMongoRepository.saveAll(reviewDocuments);
-        log.info("Migrated {} reviews", reviewDocuments.size());
-        return reviewDocuments.size();
+    private Projection<Brand, BrandDocument> brands() {
+        return new Projection<>("Brand", "brandId", BrandDocument.class, "brand_id", BrandDocument::getBrandId,
+                ids -> chunkReader.fetch("SELECT b FROM Brand b WHERE b.brandId IN :ids", Brand.class, ids),
+                brands -> {
+                    Map<UUID, List<UUID>> productIds = childIds(
+                            "SELECT p.brand.brandId, p.productId FROM Product p WHERE p.brand.brandId IN :ids",
+                            brands.stream().map(Brand::getBrandId).toList());
+                    return convertEach((Brand brand) -> convertToBrandDocument(brand,
+                            productIds.getOrDefault(brand.getBrandId(), List.of()))).apply(brands);
+                });
+    }
+
+    private Projection<Category, CategoryDocument> categories() {
+        return new Projection<>("Category", "categoryId", CategoryDocument.class, "category_id", CategoryDocument::getCategoryId,
+                ids -> chunkReader.fetch("SELECT c FROM Category c WHERE c.categoryId IN :ids", Category.class, ids),
+                categories -> {
+                    Map<UUID, List<UUID>> productIds = childIds(
+                            "SELECT c.categoryId, p.productId FROM Category c JOIN c.products p WHERE c.categoryId IN :ids",
+                            categories.stream().map(Category::getCategoryId).toList());
+                    return convertEach((Category category) -> convertToCategoryDocument(category,
+                            productIds.getOrDefault(category.getCategoryId(), List.of()))).apply(categories);
+                });
+    }
+
+    private Projection<Warranty, WarrantyDocument> warranties() {
+        return new Projection<>("Warranty", "warrantyId", WarrantyDocument.class, "warranty_id", WarrantyDocument::getWarrantyId,
+                ids -> chunkReader.fetch("""
+                        SELECT w FROM Warranty w LEFT JOIN FETCH w.product
+                        WHERE w.warrantyId IN :ids
+                        """, Warranty.class, ids),
+                convertEach(this::convertToWarrantyDocument));
+    }
+
+    private Projection<Coupon, CouponDocument> coupons() {
+        return new Projection<>("Coupon", "couponId", CouponDocument.class, "coupon_id", CouponDocument::getCouponId,
+                ids -> chunkReader.fetch("SELECT c FROM Coupon c WHERE c.couponId IN :ids", Coupon.class, ids),
+                convertEach(this::convertToCouponDocument));
+    }
+
+    private Projection<Address, AddressDocument> addresses() {
+        // user is a lazy proxy; reading its id does not hit the database
+        return new Projection<>("Address", "addressId", AddressDocument.class, "address_id", AddressDocument::getAddressId,
+                ids -> chunkReader.fetch("SELECT a FROM Address a WHERE a.addressId IN :ids", Address.class, ids),
+                convertEach(this::convertToAddressDocument));
+    }
+
+    private Projection<Payment, PaymentDocument> payments() {
+        return new Projection<>("Payment", "paymentId", PaymentDocument.class, "payment_id", PaymentDocument::getPaymentId,
+                ids -> chunkReader.fetch("SELECT p FROM Payment p WHERE p.paymentId IN :ids", Payment.class, ids),
+                convertEach(this::convertToPaymentDocument));
+    }
+
+    private Projection<Review, ReviewDocument> reviews() {
+        return new Projection<>("Review", "reviewId", ReviewDocument.class, "review_id", ReviewDocument::getReviewId,
+                ids -> chunkReader.fetch("""
+                        SELECT r FROM Review r LEFT JOIN FETCH r.user LEFT JOIN FETCH r.product
+                        WHERE r.reviewId IN :ids
+                        """, Review.class, ids),
+                convertEach(this::convertToReviewDocument));
     }
 
     // ==================== Phase 2: Users with embedded addresses ====================
 
-    private int migrateUsersWithEmbeddedAddresses() {
-        log.info("Migrating users with embedded addresses...");
-        List<User> users = userRepository.findAll();
-        List<UserDocument> userDocuments = new ArrayList<>();
-
-        for (User user : users) {
-            UserDocument doc = UserDocument.builder()
-                    .userId(user.getUserId())
-                    .firstName(user.getFirstName())
-                    .lastName(user.getLastName())
-                    .email(user.getEmail())
-                    .phoneNumber(user.getPhoneNumber())
-                    .dateOfBirth(user.getDateOfBirth())
-                    .password(user.getPassword())
-                    .isAdmin(user.isAdmin())
-                    // EMBEDDED: All addresses for this user
-                    .addresses(user.getAddress().stream()
-                            .map(this::convertToAddressEmbedded)
-                            .collect(Collectors.toList()))
-                    .orderIds(user.getOrders().stream()
-                            .map(Order::getOrderId)
-                            .collect(Collectors.toList()))
-                    .build();
-            doc.setCreatedAt(user.getCreatedAt());
-            doc.setUpdatedAt(user.getUpdatedAt());
-            doc.setDeletedAt(user.getDeletedAt());
-            userDocuments.add(doc);
-        }
+    private Projection<User, UserDocument> users() {
+        return new Projection<>("User", "userId", UserDocument.class, "user_id", UserDocument::getUserId,
+                ids -> chunkReader.fetch("""
+                        SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.address
+                        WHERE u.userId IN :ids
+                        """, User.class, ids),
+                users -> {
+                    Map<UUID, List<UUID>> orderIds = childIds(
+                            "SELECT o.user.userId, o.orderId FROM Order o WHERE o.user.userId IN :ids",
+                            users.stream().map(User::getUserId).toList());
+                    return convertEach((User user) -> convertToUserDocument(user,
+                            orderIds.getOrDefault(user.getUserId(), List.of()))).apply(users);
+                });
+    }
 
-        userMongoRepository.saveAll(userDocuments);
-        log.info("Migrated {} users with embedded addresses", userDocuments.size());
-        return userDocuments.size();
+    private UserDocument convertToUserDocument(User user, List<UUID> orderIds) {
+        UserDocument doc = UserDocument.builder()
+                .userId(user.getUserId())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .email(user.getEmail())
+                .phoneNumber(user.getPhoneNumber())
+                .dateOfBirth(user.getDateOfBirth())
+                .password(user.getPassword())
+                .isAdmin(user.isAdmin())
+                // EMBEDDED: All addresses for this user
+                .addresses(user.getAddress().stream()
+                        .map(this::convertToAddressEmbedded)
+                        .collect(Collectors.toList()))
+                .orderIds(orderIds)
+                .build();
+        doc.setCreatedAt(user.getCreatedAt());
+        doc.setUpdatedAt(user.getUpdatedAt());
+        doc.setDeletedAt(user.getDeletedAt());
+        return doc;
     }
 
     // ==================== Phase 3: Products with embedded data ====================
 
-    private int migrateProductsWithEmbeddedData() {
-        log.info("Migrating products with embedded brand, categories, warranty...");
-        List<Product> products = productRepository.findAll();
-        List<ProductDocument> productDocuments = new ArrayList<>();
-
-        for (Product product : products) {
-            ProductDocument doc = ProductDocument.builder()
-                    .productId(product.getProductId())
-                    .sku(product.getSku())
-                    .name(product.getName())
-                    .description(product.getDescription())
-                    .price(product.getPrice())
-                    .weight(product.getWeight())
-                    // EMBEDDED: Brand info
-                    .brand(product.getBrand() != null ? convertToBrandEmbedded(product.getBrand()) : null)
-                    // EMBEDDED: All categories
-                    .categories(product.getCategories().stream()
-                            .map(this::convertToCategoryEmbedded)
-                            .collect(Collectors.toList()))
-                    // EMBEDDED: Warranty details
-                    .warranty(product.getWarranty() != null ? convertToWarrantyEmbedded(product.getWarranty()) : null)
-                    // EMBEDDED: Warehouse stock info
-                    .warehouseStock(product.getWarehouseProducts().stream()
-                            .map(wp -> WarehouseStockEmbedded.builder()
-                                    .warehouseId(wp.getWarehouse().getWarehouseId())
-                                    .warehouseName(wp.getWarehouse().getName())
-                                    .stockQuantity(wp.getStockQuantity())
-                                    .build())
-                            .collect(Collectors.toList()))
-                    // Reviews will be added in Phase 6
-                    .reviews(new ArrayList<>())
-                    .build();
-            doc.setCreatedAt(product.getCreatedAt());
-            doc.setUpdatedAt(product.getUpdatedAt());
-            doc.setDeletedAt(product.getDeletedAt());
-            productDocuments.add(doc);
+    private Projection<Product, ProductDocument> products() {
+        return new Projection<>("Product", "productId", ProductDocument.class, "product_id", ProductDocument::getProductId,
+                ids -> {
+                    List<Product> products = chunkReader.fetch("""
+                            SELECT DISTINCT p FROM Product p
+                            LEFT JOIN FETCH p.brand
+                            LEFT JOIN FETCH p.warranty
+                            LEFT JOIN FETCH p.categories
+                            WHERE p.productId IN :ids
+                            """, Product.class, ids);
+                    // Second collection in its own query to avoid a categories x stock cartesian product
+                    chunkReader.fetch("""
+                            SELECT DISTINCT p FROM Product p
+                            LEFT JOIN FETCH p.warehouseProducts wp
+                            LEFT JOIN FETCH wp.warehouse w
+                            LEFT JOIN FETCH w.address
+                            WHERE p.productId IN :ids
+                            """, Product.class, ids);
+                    return products;
+                },
+                products -> {
+                    List<ProductDocument> documents = convertEach(this::convertToProductDocument).apply(products);
+                    embedReviews(documents);
+                    return documents;
+                });
+    }
+
+    /**
+     * Fills in the review totals and most recent reviews of a chunk of
+     * products with one indexed query while the chunk's read transaction is
+     * open, so each product document is written once, complete, instead of
+     * being re-read and rewritten per reviewed product after the products
+     * phase.
+     */
+    private void embedReviews(List<ProductDocument> documents) {
+        if (documents.isEmpty()) {
+            return;
         }
+        Map<UUID, List<ReviewEmbedded>> reviews = chunkReader.fetch("""
+                        SELECT r FROM Review r LEFT JOIN FETCH r.user
+                        WHERE r.product.productId IN :ids
+                        """, Review.class, documents.stream().map(ProductDocument::getProductId).toList()).stream()
+                .collect(Collectors.groupingBy(r -> r.getProduct().getProductId(),
+                        Collectors.mapping(this::convertToReviewEmbedded, Collectors.toList())));
+        documents.forEach(document ->
+                productReviewSummary.embed(document, reviews.getOrDefault(document.getProductId(), List.of())));
+    }
 
-        productMongoRepository.saveAll(productDocuments);
-        log.info("Migrated {} products with embedded data", productDocuments.size());
-        return productDocuments.size();
+    private ProductDocument convertToProductDocument(Product product) {
+        ProductDocument doc = ProductDocument.builder()
+                .productId(product.getProductId())
+                .sku(product.getSku())
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .weight(product.getWeight())
+                // EMBEDDED: Brand info
+                .brand(product.getBrand() != null ? convertToBrandEmbedded(product.getBrand()) : null)
+                // EMBEDDED: All categories
+                .categories(product.getCategories().stream()
+                        .map(this::convertToCategoryEmbedded)
+                        .collect(Collectors.toList()))
+                // EMBEDDED: Warranty details
+                .warranty(product.getWarranty() != null ? convertToWarrantyEmbedded(product.getWarranty()) : null)
+                // EMBEDDED: Warehouse stock info
+                .warehouseStock(product.getWarehouseProducts().stream()
+                        .map(wp -> WarehouseStockEmbedded.builder()
+                                .warehouseId(wp.getWarehouse().getWarehouseId())
+                                .warehouseName(wp.getWarehouse().getName())
+                                .stockQuantity(wp.getStockQuantity())
+                                .build())
+                        .collect(Collectors.toList()))
+                // Reviews are filled in per chunk by embedReviews
+                .reviews(new ArrayList<>())
+                .build();
+        doc.setCreatedAt(product.getCreatedAt());
+        doc.setUpdatedAt(product.getUpdatedAt());
+        doc.setDeletedAt(product.getDeletedAt());
+        return doc;
     }
 
     // ==================== Phase 4: Warehouses with embedded data ====================
 
-    private int migrateWarehousesWithEmbeddedData() {
-        log.info("Migrating warehouses with embedded address and products...");
-        List<Warehouse> warehouses = warehouseRepository.findAll();
-        List<WarehouseDocument> warehouseDocuments = new ArrayList<>();
-
-        for (Warehouse warehouse : warehouses) {
-            WarehouseDocument doc = WarehouseDocument.builder()
-                    .warehouseId(warehouse.getWarehouseId())
-                    .name(warehouse.getName())
-                    .phoneNumber(warehouse.getPhoneNumber())
-                    // EMBEDDED: Address
-                    .address(warehouse.getAddress() != null ? convertToAddressEmbedded(warehouse.getAddress()) : null)
-                    // EMBEDDED: Products with stock and product details
-                    .products(warehouse.getWarehouseProducts().stream()
-                            .map(wp -> WarehouseProductEmbedded.builder()
-                                    .productId(wp.getProduct().getProductId())
-                                    .productName(wp.getProduct().getName())
-                                    .productSku(wp.getProduct().getSku())
-                                    .productPrice(wp.getProduct().getPrice())
-                                    .stockQuantity(wp.getStockQuantity())
-                                    .build())
-                            .collect(Collectors.toList()))
-                    .build();
-            doc.setCreatedAt(warehouse.getCreatedAt());
-            doc.setUpdatedAt(warehouse.getUpdatedAt());
-            doc.setDeletedAt(warehouse.getDeletedAt());
-            warehouseDocuments.add(doc);
-        }
+    private Projection<Warehouse, WarehouseDocument> warehouses() {
+        return new Projection<>("Warehouse", "warehouseId", WarehouseDocument.class, "warehouse_id", WarehouseDocument::getWarehouseId,
+                ids -> chunkReader.fetch("""
+                        SELECT DISTINCT w FROM Warehouse w
+                        LEFT JOIN FETCH w.address
+                        LEFT JOIN FETCH w.warehouseProducts wp
+                        LEFT JOIN FETCH wp.product
+                        WHERE w.warehouseId IN :ids
+                        """, Warehouse.class, ids),
+                convertEach(this::convertToWarehouseDocument),
+                // Inventory lines go to buckets next to the warehouse documents
+                warehouseInventoryBuckets::replace, warehouseInventoryBuckets::remove);
+    }
 
-        warehouseMongoRepository.saveAll(warehouseDocuments);
-        log.info("Migrated {} warehouses with embedded data", warehouseDocuments.size());
-        return warehouseDocuments.size();
+    private WarehouseDocument convertToWarehouseDocument(Warehouse warehouse) {
+        WarehouseDocument doc = WarehouseDocument.builder()
+                .warehouseId(warehouse.getWarehouseId())
+                .name(warehouse.getName())
+                .phoneNumber(warehouse.getPhoneNumber())
+                // EMBEDDED: Address
+                .address(warehouse.getAddress() != null ? convertToAddressEmbedded(warehouse.getAddress()) : null)
+                // BUCKETED: Products with stock and product details, written by warehouseInventoryBuckets
+                .products(warehouse.getWarehouseProducts().stream()
+                        .map(wp -> WarehouseProductEmbedded.builder()
+                                .productId(wp.getProduct().getProductId())
+                                .productName(wp.getProduct().getName())
+                                .productSku(wp.getProduct().getSku())
+                                .productPrice(wp.getProduct().getPrice())
+                                .stockQuantity(wp.getStockQuantity())
+                                .build())
+                        .collect(Collectors.toList()))
+                .productCount(warehouse.getWarehouseProducts().size())
+                .build();
+        doc.setCreatedAt(warehouse.getCreatedAt());
+        doc.setUpdatedAt(warehouse.getUpdatedAt());
+        doc.setDeletedAt(warehouse.getDeletedAt());
+        return doc;
     }
 
     // ==================== Phase 5: Orders with all embedded data ====================
 
-    private int migrateOrdersWithEmbeddedData() {
-        log.info("Migrating orders with embedded customer, address, payment, products...");
-        List<Order> orders = orderRepository.findAll();
-        List<OrderDocument> orderDocuments = new ArrayList<>();
-
-        for (Order order : orders) {
-            OrderDocument doc = OrderDocument.builder()
-                    .orderId(order.getOrderId())
-                    // EMBEDDED: Customer snapshot
-                    .customer(order.getUser() != null ? convertToCustomerEmbedded(order.getUser()) : null)
-                    // EMBEDDED: Shipping address
-                    .shippingAddress(order.getAddress() != null ? convertToAddressEmbedded(order.getAddress()) : null)
-                    // EMBEDDED: Payment details
-                    .payment(order.getPayment() != null ? convertToPaymentEmbedded(order.getPayment()) : null)
-                    .orderDate(order.getOrderDate())
-                    .orderStatus(order.getOrderStatus())
-                    .totalAmount(order.getTotalAmount())
-                    .subtotal(order.getSubtotal())
-                    .taxAmount(order.getTaxAmount())
-                    .shippingCost(order.getShippingCost())
-                    .discountAmount(order.getDiscountAmount())
-                    // EMBEDDED: Order products with product snapshots
-                    .orderProducts(order.getOrderProducts().stream()
-                            .map(op -> OrderProductEmbedded.builder()
-                                    .productId(op.getProduct().getProductId())
-                                    .productName(op.getProduct().getName())
-                                    .productSku(op.getProduct().getSku())
-                                    .productDescription(op.getProduct().getDescription())
-                                    .quantity(op.getQuantity())
-                                    .unitPrice(op.getUnitPrice())
-                                    .totalPrice(op.getTotalPrice())
-                                    .build())
-                            .collect(Collectors.toList()))
-                    // EMBEDDED: Coupon snapshot (if used)
-                    .coupon(order.getCoupon() != null ? convertToCouponEmbedded(order.getCoupon()) : null)
-                    .build();
-            doc.setCreatedAt(order.getCreatedAt());
-            doc.setUpdatedAt(order.getUpdatedAt());
-            doc.setDeletedAt(order.getDeletedAt());
-            orderDocuments.add(doc);
-        }
+    private Projection<Order, OrderDocument> orders() {
+        return new Projection<>("Order", "orderId", OrderDocument.class, "order_id", OrderDocument::getOrderId,
+                ids -> chunkReader.fetch("""
+                        SELECT DISTINCT o FROM Order o
+                        LEFT JOIN FETCH o.user
+                        LEFT JOIN FETCH o.address
+                        LEFT JOIN FETCH o.payment
+                        LEFT JOIN FETCH o.coupon
+                        LEFT JOIN FETCH o.orderProducts op
+                        LEFT JOIN FETCH op.product
+                        WHERE o.orderId IN :ids
+                        """, Order.class, ids),
+                convertEach(this::convertToOrderDocument));
+    }
 
-        orderMongoRepository.saveAll(orderDocuments);
-        log.info("Migrated {} orders with embedded data", orderDocuments.size());
-        return orderDocuments.size();
+    private OrderDocument convertToOrderDocument(Order order) {
+        OrderDocument doc = OrderDocument.builder()
+                .orderId(order.getOrderId())
+                // EMBEDDED: Customer snapshot
+                .customer(order.getUser() != null ? convertToCustomerEmbedded(order.getUser()) : null)
+                // EMBEDDED: Shipping address
+                .shippingAddress(order.getAddress() != null ? convertToAddressEmbedded(order.getAddress()) : null)
+                // EMBEDDED: Payment details
+                .payment(order.getPayment() != null ? convertToPaymentEmbedded(order.getPayment()) : null)
+                .orderDate(order.getOrderDate())
+                .orderStatus(order.getOrderStatus())
+                .totalAmount(order.getTotalAmount())
+                .subtotal(order.getSubtotal())
+                .taxAmount(order.getTaxAmount())
+                .shippingCost(order.getShippingCost())
+                .discountAmount(order.getDiscountAmount())
+                // EMBEDDED: Order products with product snapshots
+                .orderProducts(order.getOrderProducts().stream()
+                        .map(op -> OrderProductEmbedded.builder()
+                                .productId(op.getProduct().getProductId())
+                                .productName(op.getProduct().getName())
+                                .productSku(op.getProduct().getSku())
+                                .productDescription(op.getProduct().getDescription())
+                                .quantity(op.getQuantity())
+                                .unitPrice(op.getUnitPrice())
+                                .totalPrice(op.getTotalPrice())
+                                .build())
+                        .collect(Collectors.toList()))
+                // EMBEDDED: Coupon snapshot (if used)
+                .coupon(order.getCoupon() != null ? convertToCouponEmbedded(order.getCoupon()) : null)
+                .build();
+        doc.setCreatedAt(order.getCreatedAt());
+        doc.setUpdatedAt(order.getUpdatedAt());
+        doc.setDeletedAt(order.getDeletedAt());
+        return doc;
     }
 
-    // ==================== Phase 6: Update products with reviews ====================
+    // ==================== Incremental sync ====================
 
-    private void updateProductsWithReviews() {
-        log.info("Updating products with embedded reviews...");
-        List<Review> reviews = reviewRepository.findAll();
-        
-        // Group reviews by product
-        Map<java.util.UUID, List<Review>> reviewsByProduct = reviews.stream()
-                .filter(r -> r.getProduct() != null)
-                .collect(Collectors.groupingBy(r -> r.getProduct().getProductId()));
-
-        for (Map.Entry<java.util.UUID, List<Review>> entry : reviewsByProduct.entrySet()) {
-            productMongoRepository.findByProductId(entry.getKey()).ifPresent(productDoc -> {
-                List<ReviewEmbedded> embeddedReviews = entry.getValue().stream()
-                        .map(this::convertToReviewEmbedded)
-                        .collect(Collectors.toList());
-                productDoc.setReviews(embeddedReviews);
-                productMongoRepository.save(productDoc);
-            });
+    @Override
+    public String targetName() {
+        return "mongodb";
+    }
+
+    /**
+     * Works out which documents embed or list the changed rows and projects
+     * them again. Parents are found in PostgreSQL from their current children;
+     * for id lists a child can move out of (brand and category product ids,
+     * user addresses) the parent it used to belong to is also looked up in
+     * MongoDB.
+     */
+    @Override
+    public Map<String, Long> applyChanges(ChangeSet changes) {
+        Set<UUID> changedProducts = changes.get(PRODUCT);
+        Set<UUID> changedAddresses = changes.get(ADDRESS);
+
+        Set<UUID> brandIds = union(changes.get(BRAND),
+                changeRepository.findIds("SELECT brand_id FROM product WHERE product_id = ANY(?)", changedProducts),
+                mongoParents(BrandDocument.class, "brand_id", "product_ids", changedProducts));
+        Set<UUID> categoryIds = union(changes.get(CATEGORY),
+                changeRepository.findIds("SELECT category_id FROM product_category WHERE product_id = ANY(?)",
+                        changedProducts),
+                mongoParents(CategoryDocument.class, "category_id", "product_ids", changedProducts));
+        Set<UUID> warrantyIds = union(changes.get(WARRANTY),
+                changeRepository.findIds("SELECT warranty_id FROM product WHERE product_id = ANY(?) "
+                        + "AND warranty_id IS NOT NULL", changedProducts));
+        Set<UUID> userIds = union(changes.get(USER),
+                changeRepository.findIds("SELECT user_id FROM address WHERE address_id = ANY(?) "
+                        + "AND user_id IS NOT NULL", changedAddresses),
+                mongoParents(UserDocument.class, "user_id", "addresses.addressId", changedAddresses),
+                changeRepository.findIds("SELECT user_id FROM \"order\" WHERE order_id = ANY(?)", changes.get(ORDER)));
+        Set<UUID> productIds = union(changedProducts, changes.get(STOCK_PRODUCT),
+                changeRepository.findIds("SELECT product_id FROM product WHERE brand_id = ANY(?)", changes.get(BRAND)),
+                changeRepository.findIds("SELECT product_id FROM product_category WHERE category_id = ANY(?)",
+                        changes.get(CATEGORY)),
+                changeRepository.findIds("SELECT product_id FROM product WHERE warranty_id = ANY(?)",
+                        changes.get(WARRANTY)),
+                changeRepository.findIds("SELECT product_id FROM warehouse_product WHERE warehouse_id = ANY(?)",
+                        changes.get(WAREHOUSE)),
+                changeRepository.findIds("SELECT product_id FROM review WHERE review_id = ANY(?)",
+                        changes.get(REVIEW)),
+                // reviews embed the reviewer's name
+                changeRepository.findIds("SELECT product_id FROM review WHERE user_id = ANY(?)", changes.get(USER)));
+        Set<UUID> warehouseIds = union(changes.get(WAREHOUSE), changes.get(STOCK_WAREHOUSE),
+                changeRepository.findIds("SELECT warehouse_id FROM warehouse WHERE address_id = ANY(?)",
+                        changedAddresses),
+                changeRepository.findIds("SELECT warehouse_id FROM warehouse_product WHERE product_id = ANY(?)",
+                        changedProducts));
+        Set<UUID> orderIds = union(changes.get(ORDER),
+                changeRepository.findIds("SELECT order_id FROM \"order\" WHERE user_id = ANY(?)", changes.get(USER)),
+                changeRepository.findIds("SELECT order_id FROM \"order\" WHERE address_id = ANY(?)", changedAddresses),
+                changeRepository.findIds("SELECT order_id FROM \"order\" WHERE coupon_id = ANY(?)", changes.get(COUPON)),
+                changeRepository.findIds("SELECT order_id FROM payment WHERE payment_id = ANY(?)", changes.get(PAYMENT)),
+                changeRepository.findIds("SELECT order_id FROM order_product WHERE product_id = ANY(?)",
+                        changedProducts));
+
+        Map<String, Long> applied = new LinkedHashMap<>();
+        applied.put("brands", reproject(brands(), brandIds));
+        applied.put("categories", reproject(categories(), categoryIds));
+        applied.put("warranties", reproject(warranties(), warrantyIds));
+        applied.put("coupons", reproject(coupons(), changes.get(COUPON)));
+        applied.put("users", reproject(users(), userIds));
+        applied.put("addresses", reproject(addresses(), changedAddresses));
+        applied.put("products", reproject(products(), productIds));
+        applied.put("warehouses", reproject(warehouses(), warehouseIds));
+        applied.put("orders", reproject(orders(), orderIds));
+        applied.put("payments", reproject(payments(), changes.get(PAYMENT)));
+        applied.put("reviews", reproject(reviews(), changes.get(REVIEW)));
+        return applied;
+    }
+
+    /**
+     * Business ids of the documents whose {@code listField} contains any of the given ids.
+     */
+    private Set<UUID> mongoParents(Class<?> documentType, String keyField, String listField, Set<UUID> childIds) {
+        if (childIds.isEmpty()) {
+            return Set.of();
         }
-        log.info("Updated products with {} reviews", reviews.size());
+        return new HashSet<>(mongoTemplate.findDistinct(Query.query(Criteria.where(listField).in(childIds)),
+                keyField, documentType, UUID.class));
+    }
+
+    @SafeVarargs
+    private static Set<UUID> union(Set<UUID>... parts) {
+        Set<UUID> union = new HashSet<>();
+        for (Set<UUID> part : parts) {
+            union.addAll(part);
+        }
+        return union;
     }
 
     // ==================== Embedded conversion methods ====================
@@ -486,14 +751,12 @@ public class DataMigrationService {
 
     // ==================== Document conversion methods (for standalone collections) ====================
 
-    private BrandDocument convertToBrandDocument(Brand brand) {
+    private BrandDocument convertToBrandDocument(Brand brand, List<UUID> productIds) {
         BrandDocument doc = BrandDocument.builder()
                 .brandId(brand.getBrandId())
                 .name(brand.getName())
                 .description(brand.getDescription())
-                .productIds(brand.getProducts().stream()
-                        .map(Product::getProductId)
-                        .collect(Collectors.toList()))
+                .productIds(productIds)
                 .build();
         doc.setCreatedAt(brand.getCreatedAt());
         doc.setUpdatedAt(brand.getUpdatedAt());
@@ -501,14 +764,12 @@ public class DataMigrationService {
         return doc;
     }
 
-    private CategoryDocument convertToCategoryDocument(Category category) {
+    private CategoryDocument convertToCategoryDocument(Category category, List<UUID> productIds) {
         CategoryDocument doc = CategoryDocument.builder()
                 .categoryId(category.getCategoryId())
                 .name(category.getName())
                 .description(category.getDescription())
-                .productIds(category.getProducts().stream()
-                        .map(Product::getProductId)
-                        .collect(Collectors.toList()))
+                .productIds(productIds)
                 .build();
         doc.setCreatedAt(category.getCreatedAt());
         doc.setUpdatedAt(category.getUpdatedAt());
@@ -0,0 +1,284 @@
+package com.example.nordicelectronics.service;
+
+import com.example.nordicelectronics.repositories.sql.MigrationJobRepository;
+import com.example.nordicelectronics.repositories.sql.MigrationJobRepository.Checkpoint;
+import com.example.nordicelectronics.repositories.sql.MigrationJobRepository.Job;
+import com.example.nordicelectronics.service.migration.MigrationCheckpoints;
+import com.example.nordicelectronics.service.migration.MigrationTarget;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Runs full migrations as background jobs, so a request only submits the
+ * work and the caller polls for progress.
+ *
+ * Every chunk a phase writes is checkpointed in PostgreSQL. A job that failed,
+ * was cancelled, or was interrupted by a restart can be resumed: completed
+ * phases are skipped and the others continue after their last checkpoint.
+ * At most one job per target runs at a time. Jobs are tracked per instance,
+ * so a job whose row says it is running but that this instance does not run
+ * is reported as interrupted.
+ */
+@Service
+@Slf4j
+public class MigrationJobService {
+
+    private final Map<String, MigrationTarget> targets;
+    private final MigrationJobRepository jobRepository;
+    private final ThreadPoolExecutor executor;
+    private final Map<UUID, ActiveJob> activeJobs = new ConcurrentHashMap<>();
+
+    @Value("${migration.parallelism:4}")
+    private int defaultParallelism;
+
+    private record ActiveJob(String target, AtomicBoolean cancelled) {
+    }
+
+    public MigrationJobService(
+            List<MigrationTarget> targets,
+            MigrationJobRepository jobRepository,
+            @Value("${migration.jobs.threads:2}") int threads,
+            @Value("${migration.jobs.queue:10}") int queueCapacity
+    ) {
+        this.targets = targets.stream().collect(Collectors.toMap(MigrationTarget::targetName, Function.identity()));
+        this.jobRepository = jobRepository;
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("migration-job-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Queues a full migration of {@code target} and returns the new job.
+     *
+     * @throws IllegalArgumentException if the target is unknown
+     * @throws IllegalStateException    if a job for the target is already running
+     */
+    public Map<String, Object> submit(String target, Integer parallelism) {
+        MigrationTarget migrationTarget = targets.get(target);
+        if (migrationTarget == null) {
+            throw new IllegalArgumentException("Unknown migration target: " + target);
+        }
+        int threads = parallelism != null ? parallelism : defaultParallelism;
+        if (threads < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        synchronized (activeJobs) {
+            requireIdle(target);
+            UUID jobId = jobRepository.create(target, threads);
+            start(jobId, migrationTarget, threads);
+            return getJob(jobId);
+        }
+    }
+
+    /**
+     * Runs a stopped job again from its checkpoints.
+     *
+     * @throws IllegalStateException if the job is running or has already succeeded
+     */
+    public Map<String, Object> resume(UUID jobId) {
+        synchronized (activeJobs) {
+            Job job = findJob(jobId);
+            if (activeJobs.containsKey(jobId)) {
+                throw new IllegalStateException("Migration job " + jobId + " is still running");
+            }
+            if ("SUCCEEDED".equals(job.status())) {
+                throw new IllegalStateException("Migration job " + jobId + " has already succeeded");
+            }
+            requireIdle(job.target());
+            MigrationTarget migrationTarget = targets.get(job.target());
+            if (migrationTarget == null) {
+                throw new IllegalStateException("Migration target " + job.target() + " is not available");
+            }
+            start(jobId, migrationTarget, job.parallelism());
+            return getJob(jobId);
+        }
+    }
+
+    /**
+     * Asks a running job to stop. Phases stop after the chunk they are
+     * writing, so the job keeps its checkpoints and can be resumed.
+     *
+     * @throws IllegalStateException if the job is not running
+     */
+    public Map<String, Object> cancel(UUID jobId) {
+        findJob(jobId);
+        ActiveJob active = activeJobs.get(jobId);
+        if (active == null) {
+            throw new IllegalStateException("Migration job " + jobId + " is not running");
+        }
+        active.cancelled().set(true);
+        log.info("Cancellation of migration job {} requested", jobId);
+        return getJob(jobId);
+    }
+
+    /**
+     * The job with its rows written per phase, the rate of the current run,
+     * and the estimated time left while it runs.
+     */
+    public Map<String, Object> getJob(UUID jobId) {
+        Job job = findJob(jobId);
+        Map<String, Checkpoint> checkpoints = jobRepository.findCheckpoints(jobId);
+        boolean running = activeJobs.containsKey(jobId);
+        String status = job.status();
+        if (!running && ("QUEUED".equals(status) || "RUNNING".equals(status))) {
+            status = "INTERRUPTED";
+        }
+
+        long rowsWritten = 0;
+        long totalRows = 0;
+        Map<String, Object> phases = new LinkedHashMap<>();
+        for (Checkpoint checkpoint : checkpoints.values()) {
+            rowsWritten += checkpoint.rowsWritten();
+            totalRows += checkpoint.totalRows() != null ? checkpoint.totalRows() : checkpoint.rowsWritten();
+            Map<String, Object> phase = new LinkedHashMap<>();
+            phase.put("rows", checkpoint.rowsWritten());
+            phase.put("total_rows", checkpoint.totalRows());
+            phase.put("completed", checkpoint.completed());
+            phases.put(checkpoint.phase(), phase);
+        }
+        long rowsThisRun = rowsWritten - job.rowsAtStart();
+        double rowsPerSecond = job.elapsedMs() == null || job.elapsedMs() == 0 ? 0
+                : rowsThisRun * 1000.0 / job.elapsedMs();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("job_id", job.jobId());
+        result.put("target", job.target());
+        result.put("status", status);
+        result.put("parallelism", job.parallelism());
+        result.put("rows_processed", rowsWritten);
+        result.put("total_rows", totalRows);
+        result.put("percent", totalRows == 0 ? 0 : Math.round(rowsWritten * 1000.0 / totalRows) / 10.0);
+        result.put("rows_per_sec", Math.round(rowsPerSecond));
+        result.put("eta_seconds", running && rowsPerSecond > 0
+                ? Math.round(Math.max(0, totalRows - rowsWritten) / rowsPerSecond) : null);
+        result.put("created_at", job.createdAt());
+        result.put("started_at", job.startedAt());
+        result.put("finished_at", job.finishedAt());
+        result.put("error", job.error());
+        result.put("phases", phases);
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Running jobs stop after their current chunk and can be resumed after the restart
+        activeJobs.values().forEach(job -> job.cancelled().set(true));
+        executor.shutdown();
+    }
+
+    private Job findJob(UUID jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new EntityNotFoundException("Migration job not found: " + jobId));
+    }
+
+    private void requireIdle(String target) {
+        activeJobs.forEach((id, job) -> {
+            if (job.target().equals(target)) {
+                throw new IllegalStateException("Migration job " + id + " for " + target + " is already running");
+            }
+        });
+    }
+
+    private void start(UUID jobId, MigrationTarget target, int parallelism) {
+        ActiveJob active = new ActiveJob(target.targetName(), new AtomicBoolean());
+        activeJobs.put(jobId, active);
+        try {
+            executor.execute(() -> run(jobId, target, parallelism, active));
+        } catch (RejectedExecutionException e) {
+            activeJobs.remove(jobId);
+            jobRepository.markFinished(jobId, "FAILED", "Migration job queue is full");
+            throw new IllegalStateException("Too many migration jobs are queued; try again later");
+        }
+        log.info("Migration job {} for {} queued with parallelism {}", jobId, target.targetName(), parallelism);
+    }
+
+    private void run(UUID jobId, MigrationTarget target, int parallelism, ActiveJob active) {
+        try {
+            jobRepository.markRunning(jobId);
+            target.migrateAll(parallelism, new JobCheckpoints(jobId, active.cancelled(),
+                    jobRepository.findCheckpoints(jobId)));
+            jobRepository.markFinished(jobId, "SUCCEEDED", null);
+            log.info("Migration job {} for {} succeeded", jobId, target.targetName());
+        } catch (RuntimeException e) {
+            String status = active.cancelled().get() ? "CANCELLED" : "FAILED";
+            log.error("Migration job {} for {} {}: {}", jobId, target.targetName(), status.toLowerCase(),
+                    e.getMessage());
+            jobRepository.markFinished(jobId, status, e.getMessage());
+        } finally {
+            activeJobs.remove(jobId);
+        }
+    }
+
+    /**
+     * Checkpoints of one run of a job, loaded when the run starts.
+     */
+    private class JobCheckpoints implements MigrationCheckpoints {
+
+        private final UUID jobId;
+        private final AtomicBoolean cancelled;
+        private final Map<String, Checkpoint> checkpoints;
+
+        JobCheckpoints(UUID jobId, AtomicBoolean cancelled, Map<String, Checkpoint> checkpoints) {
+            this.jobId = jobId;
+            this.cancelled = cancelled;
+            this.checkpoints = checkpoints;
+        }
+
+        @Override
+        public boolean isResumed() {
+            // Until a chunk has been written there is nothing to keep
+            return checkpoints.values().stream()
+                    .anyMatch(checkpoint -> checkpoint.rowsWritten() > 0 || checkpoint.completed());
+        }
+
+        @Override
+        public LocalDateTime snapshotTime(LocalDateTime now) {
+            return jobRepository.snapshotTime(jobId, now);
+        }
+
+        @Override
+        public PhaseCheckpoint find(String phase) {
+            Checkpoint checkpoint = checkpoints.get(phase);
+            return checkpoint != null ? checkpoint.toPhaseCheckpoint() : PhaseCheckpoint.START;
+        }
+
+        @Override
+        public void expect(String phase, LongSupplier totalRows) {
+            jobRepository.saveTotal(jobId, phase, totalRows.getAsLong());
+        }
+
+        @Override
+        public void chunkWritten(String phase, UUID lastId, long rows) {
+            jobRepository.saveCheckpoint(jobId, phase, lastId, rows, false);
+            if (cancelled.get()) {
+                throw new CancellationException("Migration job " + jobId + " was cancelled");
+            }
+        }
+
+        @Override
+        public void phaseCompleted(String phase, long rows) {
+            jobRepository.saveCheckpoint(jobId, phase, null, rows, true);
+        }
+    }
+}
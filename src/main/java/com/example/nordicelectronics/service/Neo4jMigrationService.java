@@ -2,101 +2,133 @@ package com.example.nordicelectronics.service;
 
 import com.example.nordicelectronics.entity.*;
 import com.example.nordicelectronics.entity.neo4j.*;
-import com.example.nordicelectronics.repositories.neo4j.*;
-import com.example.nordicelectronics.repositories.sql.*;
+import com.example.nordicelectronics.repositories.sql.SyncChangeRepository;
+import com.example.nordicelectronics.repositories.sql.SyncWatermarkRepository;
+import com.example.nordicelectronics.service.migration.ChangeSet;
+import com.example.nordicelectronics.service.migration.KeysetChunkReader;
+import com.example.nordicelectronics.service.migration.MigrationCheckpoints;
+import com.example.nordicelectronics.service.migration.MigrationCheckpoints.PhaseCheckpoint;
+import com.example.nordicelectronics.service.migration.MigrationPlan;
+import com.example.nordicelectronics.service.migration.MigrationTarget;
+import com.example.nordicelectronics.service.migration.Neo4jGraphReset;
+import com.example.nordicelectronics.service.migration.Neo4jGraphWriter;
+import com.example.nordicelectronics.service.migration.Neo4jGraphWriter.Link;
+import com.example.nordicelectronics.service.migration.Neo4jGraphWriter.RelationshipType;
+import com.example.nordicelectronics.service.migration.SyncSource;
+import com.example.nordicelectronics.service.migration.SyncTarget;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static com.example.nordicelectronics.service.migration.KeysetChunkReader.convertEach;
+import static com.example.nordicelectronics.service.migration.SyncSource.*;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class Neo4jMigrationService {
-
-    // PostgreSQL Repositories
-    private final UserRepository userRepository;
-    private final AddressRepository addressRepository;
-    private final BrandRepository brandRepository;
-    private final CategoryRepository categoryRepository;
-    private final WarrantyRepository warrantyRepository;
-    private final ProductRepository productRepository;
-    private final WarehouseRepository warehouseRepository;
-    private final CouponRepository couponRepository;
-    private final OrderRepository orderRepository;
-    private final PaymentRepository paymentRepository;
-    private final ReviewRepository reviewRepository;
-
-    // Neo4j Repositories
-    private final UserNeo4jRepository userNeo4jRepository;
-    private final AddressNeo4jRepository addressNeo4jRepository;
-    private final BrandNeo4jRepository brandNeo4jRepository;
-    private final CategoryNeo4jRepository categoryNeo4jRepository;
-    private final WarrantyNeo4jRepository warrantyNeo4jRepository;
-    private final ProductNeo4jRepository productNeo4jRepository;
-    private final WarehouseNeo4jRepository warehouseNeo4jRepository;
-    private final CouponNeo4jRepository couponNeo4jRepository;
-    private final OrderNeo4jRepository orderNeo4jRepository;
-    private final PaymentNeo4jRepository paymentNeo4jRepository;
-    private final ReviewNeo4jRepository reviewNeo4jRepository;
-
-    public Map<String, Object> migrateAllDataToNeo4j() {
-        log.info("Starting full database migration from PostgreSQL to Neo4j");
-
-        Map<String, Object> results = new HashMap<>();
-        long startTime = System.currentTimeMillis();
-
-        try {
-            // Clear existing Neo4j data
-            clearNeo4jData();
-            results.put("cleared", "Successfully cleared existing Neo4j data");
-
-            // Phase 1: Migrate independent nodes (no relationships needed)
-            int brandsCount = migrateBrands();
-            results.put("brands", brandsCount);
-
-            int categoriesCount = migrateCategories();
-            results.put("categories", categoriesCount);
+public class Neo4jMigrationService implements SyncTarget, MigrationTarget {
 
-            int warrantiesCount = migrateWarranties();
-            results.put("warranties", warrantiesCount);
+    // PostgreSQL
+    private final KeysetChunkReader chunkReader;
+    private final SyncChangeRepository changeRepository;
+    private final SyncWatermarkRepository watermarkRepository;
 
-            int usersCount = migrateUsers();
-            results.put("users", usersCount);
+    // Neo4j
+    private final Neo4jGraphWriter graphWriter;
+    private final Neo4jGraphReset graphReset;
 
-            int couponsCount = migrateCoupons();
-            results.put("coupons", couponsCount);
+    @Value("${migration.neo4j.batch-size:5000}")
+    private int batchSize;
 
-            // Phase 2: Migrate addresses (depends on User)
-            int addressesCount = migrateAddressesWithRelationships();
-            results.put("addresses", addressesCount);
+    @Value("${migration.parallelism:4}")
+    private int parallelism;
 
-            // Phase 3: Migrate warehouses (depends on Address)
-            int warehousesCount = migrateWarehousesWithRelationships();
-            results.put("warehouses", warehousesCount);
+    public Map<String, Object> migrateAllDataToNeo4j() {
+        return migrateAllDataToNeo4j(parallelism);
+    }
 
-            // Phase 4: Migrate products (depends on Brand, Category, Warranty, Warehouse)
-            int productsCount = migrateProductsWithRelationships();
-            results.put("products", productsCount);
+    /**
+     * Clears Neo4j and rebuilds the graph from PostgreSQL. Each batch of rows
+     * is written as one {@code UNWIND} of nodes followed by one per
+     * relationship type, matched on the business ids of nodes written by
+     * earlier phases; unrelated phases run concurrently on {@code parallelism}
+     * threads. Pass 1 to time the sequential migration.
+     */
+    public Map<String, Object> migrateAllDataToNeo4j(int parallelism) {
+        return migrateAll(parallelism, MigrationCheckpoints.NONE);
+    }
 
-            // Phase 5: Migrate orders (depends on User, Address, Coupon, Product)
-            int ordersCount = migrateOrdersWithRelationships();
-            results.put("orders", ordersCount);
+    /**
+     * As {@link #migrateAllDataToNeo4j(int)}, recording each written batch. A
+     * resumed run keeps the graph earlier runs wrote and continues every phase
+     * after its last checkpoint; replayed batches are harmless as every write
+     * is a {@code MERGE}.
+     */
+    @Override
+    public Map<String, Object> migrateAll(int parallelism, MigrationCheckpoints checkpoints) {
+        log.info("Starting full database migration from PostgreSQL to Neo4j, batch size {}, parallelism {}",
+                batchSize, parallelism);
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        long startTime = System.currentTimeMillis();
+        LocalDateTime snapshotTime = checkpoints.snapshotTime(changeRepository.databaseTime());
 
-            // Phase 6: Migrate payments and reviews (depend on Order/Product)
-            int paymentsCount = migratePaymentsWithRelationships();
-            results.put("payments", paymentsCount);
+        try {
+            List<GraphProjection<?, ?>> projections = List.of(brandNodes(), categoryNodes(), warrantyNodes(),
+                    userNodes(), couponNodes(), addressNodes(), warehouseNodes(), productNodes(), orderNodes(),
+                    reviewNodes(), paymentNodes());
+
+            if (checkpoints.isResumed()) {
+                results.put("resumed", true);
+            } else {
+                // Clear existing Neo4j data
+                log.info("Clearing existing Neo4j data");
+                results.put("cleared", graphReset.deleteAll(
+                        projections.stream().map(GraphProjection::label).toList()));
+            }
 
-            int reviewsCount = migrateReviewsWithRelationships();
-            results.put("reviews", reviewsCount);
+            // Every MERGE and MATCH below seeks on a business id
+            projections.forEach(projection ->
+                    graphWriter.ensureKeyConstraint(projection.label(), projection.keyProperty()));
+
+            Map<String, AtomicLong> relationships = new LinkedHashMap<>();
+            MigrationPlan plan = new MigrationPlan("neo4j");
+            // Independent nodes (no relationships needed)
+            graphPhase(plan, checkpoints, relationships, "brands", brandNodes());
+            graphPhase(plan, checkpoints, relationships, "categories", categoryNodes());
+            graphPhase(plan, checkpoints, relationships, "warranties", warrantyNodes());
+            graphPhase(plan, checkpoints, relationships, "users", userNodes());
+            graphPhase(plan, checkpoints, relationships, "coupons", couponNodes());
+            // Relationships are matched to the nodes written by the phases they depend on
+            graphPhase(plan, checkpoints, relationships, "addresses", addressNodes(), "users");
+            graphPhase(plan, checkpoints, relationships, "warehouses", warehouseNodes(), "addresses");
+            graphPhase(plan, checkpoints, relationships, "products", productNodes(),
+                    "brands", "categories", "warranties", "warehouses");
+            graphPhase(plan, checkpoints, relationships, "orders", orderNodes(), "users", "addresses", "coupons", "products");
+            graphPhase(plan, checkpoints, relationships, "reviews", reviewNodes(), "users", "products");
+            graphPhase(plan, checkpoints, relationships, "payments", paymentNodes(), "orders");
+
+            MigrationPlan.Result run = plan.run(parallelism);
+            run.phases().forEach(phase -> results.put(phase.name(), phase.rows()));
+            results.putAll(run.toMap());
+            results.put("graph", graphStats(run, relationships));
+
+            // Incremental sync carries on from here instead of rebuilding the graph
+            watermarkRepository.resetAll(targetName(), SyncSource.keys(), snapshotTime);
 
             long duration = System.currentTimeMillis() - startTime;
+            results.put("batch_size", batchSize);
             results.put("duration_ms", duration);
             results.put("status", "SUCCESS");
 
-            log.info("Neo4j migration completed successfully in {} ms", duration);
+            log.info("Neo4j migration completed successfully in {} ms ({} phases in flight on average)",
+                    duration, results.get("overlap_ratio"));
             return results;
 
         } catch (Exception e) {
@@ -107,291 +139,351 @@ public class Neo4jMigrationService {
         }
     }
 
-    private void clearNeo4jData() {
-        log.info("Clearing existing Neo4j data");
-        reviewNeo4jRepository.deleteAll();
-        paymentNeo4jRepository.deleteAll();
-        orderNeo4jRepository.deleteAll();
-        couponNeo4jRepository.deleteAll();
-        warehouseNeo4jRepository.deleteAll();
-        productNeo4jRepository.deleteAll();
-        addressNeo4jRepository.deleteAll();
-        userNeo4jRepository.deleteAll();
-        warrantyNeo4jRepository.deleteAll();
-        categoryNeo4jRepository.deleteAll();
-        brandNeo4jRepository.deleteAll();
-        log.info("Neo4j data cleared");
-    }
-
-    // ==================== Phase 1: Independent nodes ====================
-
-    private int migrateBrands() {
-        log.info("Migrating brands to Neo4j...");
-        List<Brand> brands = brandRepository.findAll();
-        List<BrandNode> brandNodes = brands.stream()
-                .map(this::convertToBrandNode)
-                .collect(Collectors.toList());
-        brandNeo4jRepository.saveAll(brandNodes);
-        log.info("Migrated {} brands to Neo4j", brandNodes.size());
-        return brandNodes.size();
-    }
-
-    private int migrateCategories() {
-        log.info("Migrating categories to Neo4j...");
-        List<Category> categories = categoryRepository.findAll();
-        List<CategoryNode> categoryNodes = categories.stream()
-                .map(this::convertToCategoryNode)
-                .collect(Collectors.toList());
-        categoryNeo4jRepository.saveAll(categoryNodes);
-        log.info("Migrated {} categories to Neo4j", categoryNodes.size());
-        return categoryNodes.size();
-    }
-
-    private int migrateWarranties() {
-        log.info("Migrating warranties to Neo4j...");
-        List<Warranty> warranties = warrantyRepository.findAll();
-        List<WarrantyNode> warrantyNodes = warranties.stream()
-                .map(this::convertToWarrantyNode)
-                .collect(Collectors.toList());
-        warrantyNeo4jRepository.saveAll(warrantyNodes);
-        log.info("Migrated {} warranties to Neo4j", warrantyNodes.size());
-        return warrantyNodes.size();
-    }
-
-    private int migrateUsers() {
-        log.info("Migrating users to Neo4j...");
-        List<User> users = userRepository.findAll();
-        List<UserNode> userNodes = users.stream()
-                .map(this::convertToUserNode)
-                .collect(Collectors.toList());
-        userNeo4jRepository.saveAll(userNodes);
-        log.info("Migrated {} users to Neo4j", userNodes.size());
-        return userNodes.size();
-    }
-
-    private int migrateCoupons() {
-        log.info("Migrating coupons to Neo4j...");
-        List<Coupon> coupons = couponRepository.findAll();
-        List<CouponNode> couponNodes = coupons.stream()
-                .map(this::convertToCouponNode)
-                .collect(Collectors.toList());
-        couponNeo4jRepository.saveAll(couponNodes);
-        log.info("Migrated {} coupons to Neo4j", couponNodes.size());
-        return couponNodes.size();
-    }
-
-    // ==================== Phase 2: Addresses (depends on User) ====================
-
-    private int migrateAddressesWithRelationships() {
-        log.info("Migrating addresses with relationships to Neo4j...");
-        List<Address> addresses = addressRepository.findAll();
-        List<AddressNode> addressNodes = new ArrayList<>();
-
-        for (Address address : addresses) {
-            AddressNode node = convertToAddressNode(address);
-
-            // Set relationship to User
-            if (address.getUser() != null) {
-                userNeo4jRepository.findByUserId(address.getUser().getUserId())
-                        .ifPresent(node::setUser);
-            }
+    private void graphPhase(MigrationPlan plan, MigrationCheckpoints checkpoints,
+                            Map<String, AtomicLong> relationships, String name,
+                            GraphProjection<?, ?> projection, String... dependsOn) {
+        AtomicLong written = new AtomicLong();
+        relationships.put(name, written);
+        checkpoints.expect(name, () -> chunkReader.count(projection.label()));
+        plan.phase(name, () -> migrate(name, projection, checkpoints, written), dependsOn);
+    }
 
-            addressNodes.add(node);
+    /**
+     * Streams one table in keyset-ordered batches: each batch is loaded with
+     * its fetch plan and converted in parallel while attached, then its nodes
+     * and relationships are written once the read transaction has ended.
+     * Each written batch is checkpointed.
+     *
+     * @return number of nodes written
+     */
+    private <E, N> long migrate(String phase, GraphProjection<E, N> projection, MigrationCheckpoints checkpoints,
+                                AtomicLong relationships) {
+        PhaseCheckpoint checkpoint = checkpoints.find(phase);
+        if (checkpoint.completed()) {
+            log.info("Skipping {}: completed by an earlier run", phase);
+            return checkpoint.rows();
         }
-
-        addressNeo4jRepository.saveAll(addressNodes);
-        log.info("Migrated {} addresses with relationships to Neo4j", addressNodes.size());
-        return addressNodes.size();
+        log.info("Migrating {} to Neo4j in batches of {}...", projection.label(), batchSize);
+        AtomicLong count = new AtomicLong(checkpoint.rows());
+        chunkReader.stream(projection.label(), projection.keyProperty(), batchSize, checkpoint.lastId(),
+                projection.fetchPlan(), convertEach(projection::project),
+                (lastId, rows) -> {
+                    graphWriter.mergeNodes(projection.nodeType(), projection.keyProperty(),
+                            rows.stream().map(GraphRows::node).toList());
+                    projection.relationships().keySet().forEach(type -> relationships.addAndGet(
+                            graphWriter.mergeRelationships(type, rows.stream()
+                                    .flatMap(row -> row.links().get(type).stream())
+                                    .toList())));
+                    checkpoints.chunkWritten(phase, lastId, count.addAndGet(rows.size()));
+                });
+        checkpoints.phaseCompleted(phase, count.get());
+        log.info("Migrated {} {} nodes and {} relationships to Neo4j",
+                count.get(), projection.label(), relationships.get());
+        return count.get();
     }
 
-    // ==================== Phase 3: Warehouses (depends on Address) ====================
-
-    private int migrateWarehousesWithRelationships() {
-        log.info("Migrating warehouses with relationships to Neo4j...");
-        List<Warehouse> warehouses = warehouseRepository.findAll();
-        List<WarehouseNode> warehouseNodes = new ArrayList<>();
-
-        for (Warehouse warehouse : warehouses) {
-            WarehouseNode node = convertToWarehouseNode(warehouse);
-
-            // Set relationship to Address
-            if (warehouse.getAddress() != null) {
-                addressNeo4jRepository.findByAddressId(warehouse.getAddress().getAddressId())
-                        .ifPresent(node::setAddress);
-            }
-
-            warehouseNodes.add(node);
+    private static Map<String, Object> graphStats(MigrationPlan.Result run, Map<String, AtomicLong> relationships) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (MigrationPlan.PhaseResult phase : run.phases()) {
+            long written = relationships.get(phase.name()).get();
+            double seconds = Math.max(phase.wallMs(), 1) / 1000.0;
+            Map<String, Object> phaseStats = new LinkedHashMap<>();
+            phaseStats.put("nodes", phase.rows());
+            phaseStats.put("relationships", written);
+            phaseStats.put("nodes_per_sec", Math.round(phase.rows() / seconds));
+            phaseStats.put("rels_per_sec", Math.round(written / seconds));
+            stats.put(phase.name(), phaseStats);
         }
+        return stats;
+    }
 
-        warehouseNeo4jRepository.saveAll(warehouseNodes);
-        log.info("Migrated {} warehouses with relationships to Neo4j", warehouseNodes.size());
-        return warehouseNodes.size();
+    // ==================== Graph shape ====================
+
+    private static final RelationshipType ADDRESS_BELONGS_TO =
+            new RelationshipType("Address", "addressId", "BELONGS_TO", "User", "userId");
+    private static final RelationshipType WAREHOUSE_LOCATED_AT =
+            new RelationshipType("Warehouse", "warehouseId", "LOCATED_AT", "Address", "addressId");
+    private static final RelationshipType PRODUCT_MANUFACTURED_BY =
+            new RelationshipType("Product", "productId", "MANUFACTURED_BY", "Brand", "brandId");
+    private static final RelationshipType PRODUCT_BELONGS_TO_CATEGORY =
+            new RelationshipType("Product", "productId", "BELONGS_TO_CATEGORY", "Category", "categoryId");
+    private static final RelationshipType PRODUCT_HAS_WARRANTY =
+            new RelationshipType("Product", "productId", "HAS_WARRANTY", "Warranty", "warrantyId");
+    private static final RelationshipType PRODUCT_STORED_IN =
+            new RelationshipType("Product", "productId", "STORED_IN", "Warehouse", "warehouseId");
+    private static final RelationshipType ORDER_PLACED_BY =
+            new RelationshipType("Order", "orderId", "PLACED_BY", "User", "userId");
+    private static final RelationshipType ORDER_SHIPPED_TO =
+            new RelationshipType("Order", "orderId", "SHIPPED_TO", "Address", "addressId");
+    private static final RelationshipType ORDER_USED_COUPON =
+            new RelationshipType("Order", "orderId", "USED_COUPON", "Coupon", "couponId");
+    private static final RelationshipType ORDER_CONTAINS_PRODUCT =
+            new RelationshipType("Order", "orderId", "CONTAINS_PRODUCT", "Product", "productId");
+    private static final RelationshipType PAYMENT_FOR =
+            new RelationshipType("Payment", "paymentId", "PAYMENT_FOR", "Order", "orderId");
+    private static final RelationshipType REVIEW_WRITTEN_BY =
+            new RelationshipType("Review", "reviewId", "WRITTEN_BY", "User", "userId");
+    private static final RelationshipType REVIEW_HAS_REVIEW =
+            new RelationshipType("Review", "reviewId", "HAS_REVIEW", "Product", "productId");
+
+    /**
+     * How one entity type is written to the graph: its node, keyed by
+     * {@code keyProperty}, and the relationships going out of it. The label
+     * and key double as the JPA entity and id attribute names.
+     */
+    private record GraphProjection<E, N>(Class<N> nodeType, String label, String keyProperty,
+                                         Function<E, UUID> key,
+                                         Function<List<UUID>, List<E>> fetchPlan,
+                                         Function<E, N> converter,
+                                         Map<RelationshipType, Function<E, List<Link>>> relationships) {
+
+        GraphRows<N> project(E entity) {
+            Map<RelationshipType, List<Link>> links = new LinkedHashMap<>();
+            relationships.forEach((type, linksOf) -> links.put(type, linksOf.apply(entity)));
+            return new GraphRows<>(key.apply(entity), converter.apply(entity), links);
+        }
     }
 
-    // ==================== Phase 4: Products (depends on Brand, Category, Warranty, Warehouse) ====================
+    private record GraphRows<N>(UUID key, N node, Map<RelationshipType, List<Link>> links) {
+    }
 
-    private int migrateProductsWithRelationships() {
-        log.info("Migrating products with relationships to Neo4j...");
-        List<Product> products = productRepository.findAll();
-        List<ProductNode> productNodes = new ArrayList<>();
+    // ==================== Incremental sync ====================
 
-        for (Product product : products) {
-            ProductNode node = convertToProductNode(product);
+    @Override
+    public String targetName() {
+        return "neo4j";
+    }
 
-            // Set relationship to Brand
-            if (product.getBrand() != null) {
-                brandNeo4jRepository.findByBrandId(product.getBrand().getBrandId())
-                        .ifPresent(node::setBrand);
-            }
+    /**
+     * Nodes only carry their own row and the ids it references, so apart from
+     * the few denormalised ids (a warranty's product, an order's payment) a
+     * change re-writes just the changed node and its outgoing relationships.
+     * Types are written in dependency order so relationship targets created
+     * in the same run already exist.
+     */
+    @Override
+    public Map<String, Long> applyChanges(ChangeSet changes) {
+        Set<UUID> warrantyIds = new HashSet<>(changes.get(WARRANTY));
+        warrantyIds.addAll(changeRepository.findIds(
+                "SELECT warranty_id FROM product WHERE product_id = ANY(?) AND warranty_id IS NOT NULL",
+                changes.get(PRODUCT)));
+        Set<UUID> productIds = new HashSet<>(changes.get(PRODUCT));
+        productIds.addAll(changes.get(STOCK_PRODUCT));
+        Set<UUID> orderIds = new HashSet<>(changes.get(ORDER));
+        orderIds.addAll(changeRepository.findIds("SELECT order_id FROM payment WHERE payment_id = ANY(?)",
+                changes.get(PAYMENT)));
+
+        Map<String, Long> applied = new LinkedHashMap<>();
+        applied.put("brands", resync(brandNodes(), changes.get(BRAND)));
+        applied.put("categories", resync(categoryNodes(), changes.get(CATEGORY)));
+        applied.put("warranties", resync(warrantyNodes(), warrantyIds));
+        applied.put("users", resync(userNodes(), changes.get(USER)));
+        applied.put("coupons", resync(couponNodes(), changes.get(COUPON)));
+        applied.put("addresses", resync(addressNodes(), changes.get(ADDRESS)));
+        applied.put("warehouses", resync(warehouseNodes(), union(changes.get(WAREHOUSE), changes.get(STOCK_WAREHOUSE))));
+        applied.put("products", resync(productNodes(), productIds));
+        applied.put("orders", resync(orderNodes(), orderIds));
+        applied.put("reviews", resync(reviewNodes(), changes.get(REVIEW)));
+        applied.put("payments", resync(paymentNodes(), changes.get(PAYMENT)));
+        return applied;
+    }
 
-            // Set relationship to Warranty
-            if (product.getWarranty() != null) {
-                warrantyNeo4jRepository.findByWarrantyId(product.getWarranty().getWarrantyId())
-                        .ifPresent(node::setWarranty);
-            }
+    /**
+     * Merges the nodes of the given rows and replaces their outgoing
+     * relationships; rows that no longer load are detached and deleted.
+     */
+    private <E, N> long resync(GraphProjection<E, N> projection, Set<UUID> ids) {
+        AtomicLong written = new AtomicLong();
+        chunkReader.forIds(ids, batchSize, projection.fetchPlan(), convertEach(projection::project),
+                (chunkIds, rows) -> {
+                    List<UUID> loaded = rows.stream().map(GraphRows::key).toList();
+                    Set<UUID> missing = new HashSet<>(chunkIds);
+                    loaded.forEach(missing::remove);
+
+                    written.addAndGet(graphWriter.mergeNodes(projection.nodeType(), projection.keyProperty(),
+                            rows.stream().map(GraphRows::node).toList()));
+                    written.addAndGet(graphWriter.deleteNodes(projection.label(), projection.keyProperty(), missing));
+                    projection.relationships().keySet().forEach(type -> graphWriter.replaceRelationships(type, loaded,
+                            rows.stream().flatMap(row -> row.links().get(type).stream()).toList()));
+                });
+        if (!ids.isEmpty()) {
+            log.info("Synced {} {} nodes to Neo4j", written.get(), projection.label());
+        }
+        return written.get();
+    }
 
-            // Set relationships to Categories
-            if (product.getCategories() != null && !product.getCategories().isEmpty()) {
-                Set<CategoryNode> categoryNodes = new HashSet<>();
-                for (Category category : product.getCategories()) {
-                    categoryNeo4jRepository.findByCategoryId(category.getCategoryId())
-                            .ifPresent(categoryNodes::add);
-                }
-                node.setCategories(categoryNodes);
-            }
+    private GraphProjection<Brand, BrandNode> brandNodes() {
+        return new GraphProjection<>(BrandNode.class, "Brand", "brandId", Brand::getBrandId,
+                this::fetchBrands, this::convertToBrandNode, Map.of());
+    }
 
-            // Set relationships to Warehouses (via WarehouseProductRelationship)
-            if (product.getWarehouseProducts() != null && !product.getWarehouseProducts().isEmpty()) {
-                List<WarehouseProductRelationship> warehouseRelationships = new ArrayList<>();
-                for (WarehouseProduct wp : product.getWarehouseProducts()) {
-                    warehouseNeo4jRepository.findByWarehouseId(wp.getWarehouse().getWarehouseId())
-                            .ifPresent(warehouseNode -> {
-                                WarehouseProductRelationship rel = WarehouseProductRelationship.builder()
-                                        .warehouseId(wp.getWarehouse().getWarehouseId())
-                                        .productId(product.getProductId())
-                                        .stockQuantity(wp.getStockQuantity())
-                                        .warehouse(warehouseNode)
-                                        .build();
-                                warehouseRelationships.add(rel);
-                            });
-                }
-                node.setWarehouseProducts(warehouseRelationships);
-            }
+    private GraphProjection<Category, CategoryNode> categoryNodes() {
+        return new GraphProjection<>(CategoryNode.class, "Category", "categoryId", Category::getCategoryId,
+                this::fetchCategories, this::convertToCategoryNode, Map.of());
+    }
 
-            productNodes.add(node);
-        }
+    private GraphProjection<Warranty, WarrantyNode> warrantyNodes() {
+        return new GraphProjection<>(WarrantyNode.class, "Warranty", "warrantyId", Warranty::getWarrantyId,
+                this::fetchWarranties, this::convertToWarrantyNode, Map.of());
+    }
 
-        productNeo4jRepository.saveAll(productNodes);
-        log.info("Migrated {} products with relationships to Neo4j", productNodes.size());
-        return productNodes.size();
+    private GraphProjection<User, UserNode> userNodes() {
+        return new GraphProjection<>(UserNode.class, "User", "userId", User::getUserId,
+                this::fetchUsers, this::convertToUserNode, Map.of());
     }
 
-    // ==================== Phase 5: Orders (depends on User, Address, Coupon, Product) ====================
+    private GraphProjection<Coupon, CouponNode> couponNodes() {
+        return new GraphProjection<>(CouponNode.class, "Coupon", "couponId", Coupon::getCouponId,
+                this::fetchCoupons, this::convertToCouponNode, Map.of());
+    }
 
-    private int migrateOrdersWithRelationships() {
-        log.info("Migrating orders with relationships to Neo4j...");
-        List<Order> orders = orderRepository.findAll();
-        List<OrderNode> orderNodes = new ArrayList<>();
+    private GraphProjection<Address, AddressNode> addressNodes() {
+        return new GraphProjection<>(AddressNode.class, "Address", "addressId", Address::getAddressId,
+                this::fetchAddresses, this::convertToAddressNode, Map.of(
+                ADDRESS_BELONGS_TO, address -> link(address.getAddressId(), address.getUser(), User::getUserId)));
+    }
 
-        for (Order order : orders) {
-            OrderNode node = convertToOrderNode(order);
+    private GraphProjection<Warehouse, WarehouseNode> warehouseNodes() {
+        return new GraphProjection<>(WarehouseNode.class, "Warehouse", "warehouseId", Warehouse::getWarehouseId,
+                this::fetchWarehouses, this::convertToWarehouseNode, Map.of(
+                WAREHOUSE_LOCATED_AT, warehouse ->
+                        link(warehouse.getWarehouseId(), warehouse.getAddress(), Address::getAddressId)));
+    }
 
-            // Set relationship to User
-            if (order.getUser() != null) {
-                userNeo4jRepository.findByUserId(order.getUser().getUserId())
-                        .ifPresent(node::setUser);
-            }
+    private GraphProjection<Product, ProductNode> productNodes() {
+        return new GraphProjection<>(ProductNode.class, "Product", "productId", Product::getProductId,
+                this::fetchProducts, this::convertToProductNode, Map.of(
+                PRODUCT_MANUFACTURED_BY, product ->
+                        link(product.getProductId(), product.getBrand(), Brand::getBrandId),
+                PRODUCT_BELONGS_TO_CATEGORY, product -> product.getCategories().stream()
+                        .map(category -> Link.of(product.getProductId(), category.getCategoryId()))
+                        .toList(),
+                PRODUCT_HAS_WARRANTY, product ->
+                        link(product.getProductId(), product.getWarranty(), Warranty::getWarrantyId),
+                PRODUCT_STORED_IN, product -> product.getWarehouseProducts().stream()
+                        .map(wp -> new Link(product.getProductId(), wp.getWarehouse().getWarehouseId(), Map.of(
+                                "warehouseId", wp.getWarehouse().getWarehouseId(),
+                                "productId", product.getProductId(),
+                                "stockQuantity", wp.getStockQuantity())))
+                        .toList()));
+    }
 
-            // Set relationship to Address
-            if (order.getAddress() != null) {
-                addressNeo4jRepository.findByAddressId(order.getAddress().getAddressId())
-                        .ifPresent(node::setAddress);
-            }
+    private GraphProjection<Order, OrderNode> orderNodes() {
+        return new GraphProjection<>(OrderNode.class, "Order", "orderId", Order::getOrderId,
+                this::fetchOrders, this::convertToOrderNode, Map.of(
+                ORDER_PLACED_BY, order -> link(order.getOrderId(), order.getUser(), User::getUserId),
+                ORDER_SHIPPED_TO, order -> link(order.getOrderId(), order.getAddress(), Address::getAddressId),
+                ORDER_USED_COUPON, order -> link(order.getOrderId(), order.getCoupon(), Coupon::getCouponId),
+                ORDER_CONTAINS_PRODUCT, order -> order.getOrderProducts().stream()
+                        .map(op -> {
+                            Map<String, Object> properties = new HashMap<>();
+                            properties.put("orderId", order.getOrderId());
+                            properties.put("productId", op.getProduct().getProductId());
+                            properties.put("quantity", op.getQuantity());
+                            properties.put("unitPrice", op.getUnitPrice());
+                            properties.put("totalPrice", op.getTotalPrice());
+                            return new Link(order.getOrderId(), op.getProduct().getProductId(), properties);
+                        })
+                        .toList()));
+    }
 
-            // Set relationship to Coupon
-            if (order.getCoupon() != null) {
-                couponNeo4jRepository.findByCouponId(order.getCoupon().getCouponId())
-                        .ifPresent(node::setCoupon);
-            }
+    private GraphProjection<Payment, PaymentNode> paymentNodes() {
+        return new GraphProjection<>(PaymentNode.class, "Payment", "paymentId", Payment::getPaymentId,
+                this::fetchPayments, this::convertToPaymentNode, Map.of(
+                PAYMENT_FOR, payment -> link(payment.getPaymentId(), payment.getOrder(), Order::getOrderId)));
+    }
 
-            // Set relationships to Products (via OrderProductRelationship)
-            if (order.getOrderProducts() != null && !order.getOrderProducts().isEmpty()) {
-                List<OrderProductRelationship> productRelationships = new ArrayList<>();
-                for (OrderProduct op : order.getOrderProducts()) {
-                    productNeo4jRepository.findByProductId(op.getProduct().getProductId())
-                            .ifPresent(productNode -> {
-                                OrderProductRelationship rel = OrderProductRelationship.builder()
-                                        .orderId(order.getOrderId())
-                                        .productId(op.getProduct().getProductId())
-                                        .quantity(op.getQuantity())
-                                        .unitPrice(op.getUnitPrice())
-                                        .totalPrice(op.getTotalPrice())
-                                        .product(productNode)
-                                        .build();
-                                productRelationships.add(rel);
-                            });
-                }
-                node.setOrderProducts(productRelationships);
-            }
+    private GraphProjection<Review, ReviewNode> reviewNodes() {
+        return new GraphProjection<>(ReviewNode.class, "Review", "reviewId", Review::getReviewId,
+                this::fetchReviews, this::convertToReviewNode, Map.of(
+                REVIEW_WRITTEN_BY, review -> link(review.getReviewId(), review.getUser(), User::getUserId),
+                REVIEW_HAS_REVIEW, review -> link(review.getReviewId(), review.getProduct(), Product::getProductId)));
+    }
 
-            orderNodes.add(node);
-        }
+    private static <T> List<Link> link(UUID from, T target, Function<T, UUID> targetKey) {
+        return target == null ? List.of() : List.of(Link.of(from, targetKey.apply(target)));
+    }
 
-        orderNeo4jRepository.saveAll(orderNodes);
-        log.info("Migrated {} orders with relationships to Neo4j", orderNodes.size());
-        return orderNodes.size();
+    private static Set<UUID> union(Set<UUID> first, Set<UUID> second) {
+        Set<UUID> union = new HashSet<>(first);
+        union.addAll(second);
+        return union;
     }
 
-    // ==================== Phase 6: Payments and Reviews ====================
+    // ==================== Fetch plans ====================
 
-    private int migratePaymentsWithRelationships() {
-        log.info("Migrating payments with relationships to Neo4j...");
-        List<Payment> payments = paymentRepository.findAll();
-        List<PaymentNode> paymentNodes = new ArrayList<>();
+    private List<Brand> fetchBrands(List<UUID> ids) {
+        return chunkReader.fetch("SELECT b FROM Brand b WHERE b.brandId IN :ids", Brand.class, ids);
+    }
 
-        for (Payment payment : payments) {
-            PaymentNode node = convertToPaymentNode(payment);
+    private List<Category> fetchCategories(List<UUID> ids) {
+        return chunkReader.fetch("SELECT c FROM Category c WHERE c.categoryId IN :ids", Category.class, ids);
+    }
 
-            // Set relationship to Order
-            if (payment.getOrder() != null) {
-                orderNeo4jRepository.findByOrderId(payment.getOrder().getOrderId())
-                        .ifPresent(node::setOrder);
-            }
+    private List<Warranty> fetchWarranties(List<UUID> ids) {
+        return chunkReader.fetch("""
+                SELECT w FROM Warranty w LEFT JOIN FETCH w.product
+                WHERE w.warrantyId IN :ids
+                """, Warranty.class, ids);
+    }
 
-            paymentNodes.add(node);
-        }
+    private List<User> fetchUsers(List<UUID> ids) {
+        return chunkReader.fetch("SELECT u FROM User u WHERE u.userId IN :ids", User.class, ids);
+    }
 
-        paymentNeo4jRepository.saveAll(paymentNodes);
-        log.info("Migrated {} payments with relationships to Neo4j", paymentNodes.size());
-        return paymentNodes.size();
+    private List<Coupon> fetchCoupons(List<UUID> ids) {
+        return chunkReader.fetch("SELECT c FROM Coupon c WHERE c.couponId IN :ids", Coupon.class, ids);
     }
 
-    private int migrateReviewsWithRelationships() {
-        log.info("Migrating reviews with relationships to Neo4j...");
-        List<Review> reviews = reviewRepository.findAll();
-        List<ReviewNode> reviewNodes = new ArrayList<>();
+    private List<Address> fetchAddresses(List<UUID> ids) {
+        // user is a lazy proxy; reading its id does not hit the database
+        return chunkReader.fetch("SELECT a FROM Address a WHERE a.addressId IN :ids", Address.class, ids);
+    }
 
-        for (Review review : reviews) {
-            ReviewNode node = convertToReviewNode(review);
+    private List<Warehouse> fetchWarehouses(List<UUID> ids) {
+        return chunkReader.fetch("""
+                SELECT w FROM Warehouse w LEFT JOIN FETCH w.address
+                WHERE w.warehouseId IN :ids
+                """, Warehouse.class, ids);
+    }
 
-            // Set relationship to User
-            if (review.getUser() != null) {
-                userNeo4jRepository.findByUserId(review.getUser().getUserId())
-                        .ifPresent(node::setUser);
-            }
+    private List<Product> fetchProducts(List<UUID> ids) {
+        List<Product> products = chunkReader.fetch("""
+                SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.categories
+                WHERE p.productId IN :ids
+                """, Product.class, ids);
+        // Second collection in its own query to avoid a categories x stock cartesian product
+        chunkReader.fetch("""
+                SELECT DISTINCT p FROM Product p
+                LEFT JOIN FETCH p.warehouseProducts wp
+                LEFT JOIN FETCH wp.warehouse w
+                LEFT JOIN FETCH w.address
+                WHERE p.productId IN :ids
+                """, Product.class, ids);
+        return products;
+    }
 
-            // Set relationship to Product
-            if (review.getProduct() != null) {
-                productNeo4jRepository.findByProductId(review.getProduct().getProductId())
-                        .ifPresent(node::setProduct);
-            }
+    private List<Order> fetchOrders(List<UUID> ids) {
+        // user, address and coupon are lazy proxies; only their ids are read
+        return chunkReader.fetch("""
+                SELECT DISTINCT o FROM Order o
+                LEFT JOIN FETCH o.payment
+                LEFT JOIN FETCH o.orderProducts op
+                LEFT JOIN FETCH op.product
+                WHERE o.orderId IN :ids
+                """, Order.class, ids);
+    }
 
-            reviewNodes.add(node);
-        }
+    private List<Payment> fetchPayments(List<UUID> ids) {
+        // order is a lazy proxy; reading its id does not hit the database
+        return chunkReader.fetch("SELECT p FROM Payment p WHERE p.paymentId IN :ids", Payment.class, ids);
+    }
 
-        reviewNeo4jRepository.saveAll(reviewNodes);
-        log.info("Migrated {} reviews with relationships to Neo4j", reviewNodes.size());
-        return reviewNodes.size();
+    private List<Review> fetchReviews(List<UUID> ids) {
+        return chunkReader.fetch("""
+                SELECT r FROM Review r LEFT JOIN FETCH r.user LEFT JOIN FETCH r.product
+                WHERE r.reviewId IN :ids
+                """, Review.class, ids);
     }
 
     // ==================== Conversion methods (properties only) ====================
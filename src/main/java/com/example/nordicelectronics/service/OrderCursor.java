@@ -0,0 +1,51 @@
+package com.example.nordicelectronics.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque continuation token for a user's order history: the (order_date,
+ * order_id) key of the last order returned, bound to the user it was issued for.
+ */
+public record OrderCursor(UUID userId, String lastOrderDate, UUID lastOrderId) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static OrderCursor after(UUID userId, LocalDateTime orderDate, UUID orderId) {
+        return new OrderCursor(userId, orderDate != null ? orderDate.toString() : null, orderId);
+    }
+
+    public LocalDateTime lastOrderDateValue() {
+        return lastOrderDate != null ? LocalDateTime.parse(lastOrderDate) : null;
+    }
+
+    public String encode() {
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(MAPPER.writeValueAsBytes(this));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode cursor", e);
+        }
+    }
+
+    public static OrderCursor decode(String token) {
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(token.getBytes(StandardCharsets.US_ASCII));
+            OrderCursor cursor = MAPPER.readValue(json, OrderCursor.class);
+            if (cursor.userId() == null || cursor.lastOrderId() == null) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            cursor.lastOrderDateValue();
+            return cursor;
+        } catch (IllegalArgumentException | IOException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
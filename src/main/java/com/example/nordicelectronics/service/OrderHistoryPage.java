@@ -0,0 +1,12 @@
+package com.example.nordicelectronics.service;
+
+import com.example.nordicelectronics.entity.Order;
+
+import java.util.List;
+
+/**
+ * One page of a user's order history, newest first. {@code nextCursor} is null
+ * on the last page.
+ */
+public record OrderHistoryPage(List<Order> orders, String nextCursor) {
+}
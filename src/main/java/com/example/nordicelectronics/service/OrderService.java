@@ -3,7 +3,10 @@ package com.example.nordicelectronics.service;
 import com.example.nordicelectronics.entity.*;
 import com.example.nordicelectronics.entity.dto.order.OrderProductRequestDTO;
 import com.example.nordicelectronics.entity.dto.order.OrderRequestDTO;
+import com.example.nordicelectronics.entity.enums.OrderStatus;
 import com.example.nordicelectronics.repositories.sql.*;
+import com.example.nordicelectronics.service.migration.ChangeOutbox;
+import com.example.nordicelectronics.service.migration.SyncSource;
 import com.example.nordicelectronics.service.validation.CouponValidationService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -14,12 +17,12 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
 import java.sql.Types;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 @Service
@@ -32,6 +35,10 @@ public class OrderService {
     private final ProductRepository productRepository;
     private final CouponValidationService couponValidationService;
     private final JdbcTemplate jdbcTemplate;
+    private final ChangeOutbox changeOutbox;
+
+    static final int DEFAULT_ORDER_PAGE_SIZE = 50;
+    static final int MAX_ORDER_PAGE_SIZE = 100;
 
     @PersistenceContext
     EntityManager entityManager;
@@ -49,12 +56,54 @@ public class OrderService {
         return orderRepository.findAllById(orderIds);
     }
 
-    public List<Order> getOrdersByUserId(UUID userId) {
-        return orderRepository.findAll().stream()
-                .filter(order -> order.getUser() != null && order.getUser().getUserId().equals(userId))
-                .filter(order -> order.getDeletedAt() == null)
-                .sorted(Comparator.comparing(Order::getOrderDate, Comparator.nullsLast(Comparator.reverseOrder())))
+    /**
+     * Returns one page of a user's orders, newest first, using keyset pagination
+     * on (order_date, order_id). Ids come from an index-only walk of the user's
+     * orders; the page itself is loaded with its lines and products in one query.
+     *
+     * @param userId Owner of the orders
+     * @param limit Page size (defaults to {@value #DEFAULT_ORDER_PAGE_SIZE}, capped at {@value #MAX_ORDER_PAGE_SIZE})
+     * @param cursor nextCursor from the previous page, or null for the first page
+     */
+    public OrderHistoryPage getOrdersByUserId(UUID userId, int limit, String cursor) {
+        if (limit <= 0) limit = DEFAULT_ORDER_PAGE_SIZE;
+        if (limit > MAX_ORDER_PAGE_SIZE) limit = MAX_ORDER_PAGE_SIZE;
+
+        // Fetch one extra id to learn whether another page exists
+        List<UUID> ids;
+        if (cursor == null || cursor.isBlank()) {
+            ids = orderRepository.findOrderIdsByUser(userId, limit + 1);
+        } else {
+            OrderCursor after = OrderCursor.decode(cursor);
+            if (!after.userId().equals(userId)) {
+                throw new IllegalArgumentException("Cursor does not belong to this user");
+            }
+            ids = after.lastOrderDateValue() != null
+                    ? orderRepository.findOrderIdsByUserAfter(userId, after.lastOrderDateValue(), after.lastOrderId(), limit + 1)
+                    : orderRepository.findUndatedOrderIdsByUserAfter(userId, after.lastOrderId(), limit + 1);
+        }
+
+        boolean hasNext = ids.size() > limit;
+        List<UUID> pageIds = hasNext ? ids.subList(0, limit) : ids;
+        if (pageIds.isEmpty()) {
+            return new OrderHistoryPage(List.of(), null);
+        }
+
+        Map<UUID, Order> ordersById = new HashMap<>();
+        for (Order order : orderRepository.findAllWithLinesByOrderIdIn(pageIds)) {
+            ordersById.put(order.getOrderId(), order);
+        }
+        List<Order> orders = pageIds.stream()
+                .map(ordersById::get)
+                .filter(Objects::nonNull)
                 .toList();
+
+        String nextCursor = null;
+        if (hasNext && !orders.isEmpty()) {
+            Order last = orders.get(orders.size() - 1);
+            nextCursor = OrderCursor.after(userId, last.getOrderDate(), last.getOrderId()).encode();
+        }
+        return new OrderHistoryPage(orders, nextCursor);
     }
 
     @Transactional
@@ -105,15 +154,26 @@ public class OrderService {
         entityManager.flush();
 
         // =====================================================
-        // 3. CALCULATE SUBTOTAL
+        // 3. CALCULATE SUBTOTAL (one batched price lookup)
         // =====================================================
+        List<UUID> productIds = dto.getOrderProducts().stream()
+                .map(OrderProductRequestDTO::getProductId)
+                .distinct()
+                .toList();
+        Map<UUID, BigDecimal> prices = new HashMap<>();
+        for (ProductRepository.ProductPrice price : productRepository.findPricesByProductIdIn(productIds)) {
+            prices.put(price.getProductId(), price.getPrice());
+        }
+
         BigDecimal subtotal = BigDecimal.ZERO;
 
         for (OrderProductRequestDTO productDto : dto.getOrderProducts()) {
-            Product product = productRepository.findById(productDto.getProductId())
-                    .orElseThrow(() -> new jakarta.persistence.EntityNotFoundException("Product not found: " + productDto.getProductId()));
+            BigDecimal price = prices.get(productDto.getProductId());
+            if (price == null) {
+                throw new jakarta.persistence.EntityNotFoundException("Product not found: " + productDto.getProductId());
+            }
 
-            BigDecimal itemTotal = product.getPrice()
+            BigDecimal itemTotal = price
                     .multiply(BigDecimal.valueOf(productDto.getQuantity()));
             subtotal = subtotal.add(itemTotal);
         }
@@ -169,31 +229,58 @@ public class OrderService {
         final String finalOrderItemsJson = orderItemsJsonString;
         final BigDecimal finalDiscountAmount = discountAmount;
 
-        jdbcTemplate.update(connection -> {
-            CallableStatement stmt = connection.prepareCall("CALL sp_place_order(?, ?, ?, ?, ?)");
+        // The procedure returns the new order id through its OUT parameter
+        UUID orderId = jdbcTemplate.query(connection -> {
+            PreparedStatement stmt = connection.prepareStatement("CALL sp_place_order(?, ?, ?, ?, ?, NULL)");
             stmt.setObject(1, finalUserId);
             stmt.setObject(2, finalAddressId);
             stmt.setObject(3, finalOrderItemsJson, Types.OTHER);
             stmt.setObject(4, finalCouponId);
             stmt.setBigDecimal(5, finalDiscountAmount);
             return stmt;
-        });
+        }, rs -> rs.next() ? rs.getObject("p_order_id", UUID.class) : null);
+
+        if (orderId == null) {
+            throw new IllegalStateException("Order not found after creation");
+        }
+
+        // The procedure also took the stock and used up the coupon
+        changeOutbox.record(SyncSource.ORDER, orderId);
+        changeOutbox.record(SyncSource.ADDRESS, finalAddressId);
+        changeOutbox.recordStock(productIds);
+        if (finalCouponId != null) {
+            changeOutbox.record(SyncSource.COUPON, finalCouponId);
+        }
 
         // =====================================================
-        // 7. QUERY FOR THE MOST RECENT ORDER BY THIS USER
+        // 7. LOAD THE CREATED ORDER WITH ITS LINES
         // =====================================================
-        return orderRepository.findTopByUserOrderByCreatedAtDesc(user)
+        return orderRepository.findAllWithLinesByOrderIdIn(List.of(orderId)).stream()
+                .findFirst()
                 .orElseThrow(() -> new IllegalStateException("Order not found after creation"));
     }
 
+    @Transactional
     public void deleteOrder(UUID orderId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new EntityNotFoundException("Order not found"));
         order.softDelete();
         orderRepository.save(order);
+        changeOutbox.record(SyncSource.ORDER, orderId);
     }
 
+    @Transactional
+    public void updateOrderStatus(UUID orderId, OrderStatus status) {
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new EntityNotFoundException("Order not found"));
+        order.setOrderStatus(status);
+        changeOutbox.record(SyncSource.ORDER, orderId);
+    }
+
+    @Transactional
     public Order save(Order order) {
-        return orderRepository.save(order);
+        Order saved = orderRepository.save(order);
+        changeOutbox.record(SyncSource.ORDER, saved.getOrderId());
+        return saved;
     }
 }
\ No newline at end of file
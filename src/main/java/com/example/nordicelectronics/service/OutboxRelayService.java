@@ -0,0 +1,206 @@
+package com.example.nordicelectronics.service;
+
+import com.example.nordicelectronics.repositories.sql.OutboxRepository;
+import com.example.nordicelectronics.repositories.sql.OutboxRepository.Backlog;
+import com.example.nordicelectronics.repositories.sql.OutboxRepository.Event;
+import com.example.nordicelectronics.service.migration.ChangeSet;
+import com.example.nordicelectronics.service.migration.SyncSource;
+import com.example.nordicelectronics.service.migration.SyncTarget;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Relays the change events written by the PostgreSQL services to MongoDB and
+ * Neo4j, so both follow PostgreSQL within a poll interval instead of waiting
+ * for the next incremental sync.
+ *
+ * Each batch runs in one PostgreSQL transaction: it claims a target's oldest
+ * events, coalesces repeated events for the same row, lets the target project
+ * the rows again (bulk upserts in MongoDB, {@code UNWIND} merges in Neo4j),
+ * and commits, which deletes the events. If the target fails the transaction
+ * rolls back and the events are claimed again on the next poll; targets apply
+ * changes idempotently, so re-applying part of a batch is harmless. Targets
+ * are relayed independently, so one being down does not hold up the other.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelayService {
+
+    private static final long THROUGHPUT_WINDOW_MS = 60_000;
+
+    private final List<SyncTarget> targets;
+    private final OutboxRepository outboxRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${migration.outbox.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${migration.outbox.max-drain:PT1S}")
+    private Duration maxDrain;
+
+    private final Map<String, RelayStats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Drains every target, batch after batch, until its events run out or it
+     * has been relayed to for {@code max-drain}.
+     *
+     * @return events relayed per target
+     */
+    public Map<String, Integer> relayAll() {
+        Map<String, Integer> relayed = new LinkedHashMap<>();
+        for (SyncTarget target : targets) {
+            relayed.put(target.targetName(), drain(target));
+        }
+        return relayed;
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        for (SyncTarget target : targets) {
+            Backlog backlog = outboxRepository.backlog(target.targetName());
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("backlog_events", backlog.events());
+            // How long the oldest event still waiting has been waiting
+            entry.put("lag_ms", backlog.oldestAgeMs());
+            entry.putAll(statsOf(target.targetName()).toMap());
+            status.put(target.targetName(), entry);
+        }
+        return status;
+    }
+
+    private int drain(SyncTarget target) {
+        long deadline = System.nanoTime() + maxDrain.toNanos();
+        int total = 0;
+        int claimed;
+        do {
+            try {
+                claimed = relayBatch(target);
+            } catch (RuntimeException e) {
+                log.error("Outbox relay to {} failed: {}", target.targetName(), e.getMessage(), e);
+                statsOf(target.targetName()).failed(e);
+                return total;
+            }
+            total += claimed;
+        } while (claimed == batchSize && System.nanoTime() < deadline);
+        return total;
+    }
+
+    private int relayBatch(SyncTarget target) {
+        Integer relayed = new TransactionTemplate(transactionManager).execute(status -> {
+            if (!outboxRepository.tryLockTarget(target.targetName())) {
+                // Another instance is relaying this target
+                return 0;
+            }
+            long startTime = System.currentTimeMillis();
+            List<Event> events = outboxRepository.claim(target.targetName(), batchSize);
+            if (events.isEmpty()) {
+                return 0;
+            }
+            ChangeSet changes = coalesce(events);
+            target.applyChanges(changes);
+            long lagMs = events.stream().mapToLong(Event::ageMs).max().orElse(0);
+            statsOf(target.targetName()).relayed(events.size(), changes.size(), lagMs,
+                    System.currentTimeMillis() - startTime);
+            return events.size();
+        });
+        return relayed == null ? 0 : relayed;
+    }
+
+    /**
+     * One change per row, however many events were written for it.
+     */
+    public static ChangeSet coalesce(List<Event> events) {
+        Map<SyncSource, List<UUID>> bySource = events.stream()
+                .collect(Collectors.groupingBy(Event::source, () -> new EnumMap<>(SyncSource.class),
+                        Collectors.mapping(Event::aggregateId, Collectors.toList())));
+        ChangeSet changes = new ChangeSet();
+        bySource.forEach(changes::add);
+        return changes;
+    }
+
+    private RelayStats statsOf(String target) {
+        return stats.computeIfAbsent(target, t -> new RelayStats());
+    }
+
+    /**
+     * Counters for one target since startup, plus the events relayed in the
+     * last minute for throughput.
+     */
+    private static class RelayStats {
+
+        private long events;
+        private long changes;
+        private long batches;
+        private long failures;
+        private long lastBatchEvents;
+        private long lastBatchChanges;
+        private long lastBatchLagMs;
+        private long lastBatchDurationMs;
+        private long maxLagMs;
+        private String lastError;
+        private final Deque<long[]> recent = new ArrayDeque<>();
+
+        synchronized void relayed(int batchEvents, int batchChanges, long lagMs, long durationMs) {
+            events += batchEvents;
+            changes += batchChanges;
+            batches++;
+            lastBatchEvents = batchEvents;
+            lastBatchChanges = batchChanges;
+            lastBatchLagMs = lagMs;
+            lastBatchDurationMs = durationMs;
+            maxLagMs = Math.max(maxLagMs, lagMs);
+            lastError = null;
+            long now = System.currentTimeMillis();
+            recent.addLast(new long[]{now, batchEvents});
+            trim(now);
+        }
+
+        synchronized void failed(RuntimeException e) {
+            failures++;
+            lastError = String.valueOf(e.getMessage());
+        }
+
+        synchronized Map<String, Object> toMap() {
+            trim(System.currentTimeMillis());
+            long recentEvents = recent.stream().mapToLong(sample -> sample[1]).sum();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("events_per_sec", recentEvents * 1000 / THROUGHPUT_WINDOW_MS);
+            map.put("events_relayed", events);
+            map.put("changes_applied", changes);
+            map.put("batches", batches);
+            map.put("last_batch", Map.of(
+                    "events", lastBatchEvents,
+                    "changes", lastBatchChanges,
+                    "lag_ms", lastBatchLagMs,
+                    "duration_ms", lastBatchDurationMs));
+            map.put("max_lag_ms", maxLagMs);
+            map.put("failures", failures);
+            if (lastError != null) {
+                map.put("last_error", lastError);
+            }
+            return map;
+        }
+
+        private void trim(long now) {
+            while (!recent.isEmpty() && recent.peekFirst()[0] < now - THROUGHPUT_WINDOW_MS) {
+                recent.removeFirst();
+            }
+        }
+    }
+}
@@ -7,11 +7,14 @@ import com.example.nordicelectronics.entity.enums.PaymentMethod;
 import com.example.nordicelectronics.entity.enums.PaymentStatus;
 import com.example.nordicelectronics.repositories.sql.OrderRepository;
 import com.example.nordicelectronics.repositories.sql.PaymentRepository;
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.JpaListReader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 public class PaymentService {
@@ -22,6 +25,9 @@ public class PaymentService {
     @Autowired
     public OrderRepository orderRepository;
 
+    @Autowired
+    private JpaListReader jpaListReader;
+
     public Payment createPayment(PaymentRequestDTO paymentDTO) {
         UUID orderId = paymentDTO.getOrderId();
 
@@ -69,6 +75,14 @@ public class PaymentService {
         return paymentRepository.findAll();
     }
 
+    public CursorPage<Payment> getPage(Integer limit, String cursor) {
+        return jpaListReader.page(Payment.class, "paymentId", Payment::getPaymentId, limit, cursor);
+    }
+
+    public void streamAll(Consumer<Payment> writer) {
+        jpaListReader.stream(Payment.class, "paymentId", writer);
+    }
+
     public Payment getPaymentByOrderId(java.util.UUID orderId) {
         return paymentRepository.findByOrder_OrderId(orderId);
     }
@@ -0,0 +1,79 @@
+package com.example.nordicelectronics.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque continuation token for keyset product pagination. Carries the last
+ * row's sort key and id, the page number reached, and the total computed on
+ * the first page so later pages never re-count. The sort and a SHA-256 digest of
+ * the filters are included so a cursor cannot be replayed against a different query.
+ */
+public record ProductCursor(
+        String sortBy,
+        boolean descending,
+        String filterKey,
+        String lastValue,
+        UUID lastId,
+        int page,
+        long total
+) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Digest of the filters as a JSON array, so nulls and field boundaries stay
+     * distinct and a long search term does not grow the cursor.
+     */
+    public static String filterKey(String search, UUID categoryId, UUID brandId) {
+        try {
+            byte[] filters = MAPPER.writeValueAsBytes(Arrays.asList(search, categoryId, brandId));
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(filters);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to fingerprint cursor filters", e);
+        }
+    }
+
+    public boolean matches(String sortBy, boolean descending, String filterKey) {
+        return this.sortBy.equals(sortBy) && this.descending == descending && this.filterKey.equals(filterKey);
+    }
+
+    /**
+     * The last sort value converted back to the column's type.
+     */
+    public Object typedLastValue() {
+        return "price".equals(sortBy) ? new BigDecimal(lastValue) : lastValue;
+    }
+
+    public String encode() {
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(MAPPER.writeValueAsBytes(this));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode cursor", e);
+        }
+    }
+
+    public static ProductCursor decode(String token) {
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(token.getBytes(StandardCharsets.US_ASCII));
+            ProductCursor cursor = MAPPER.readValue(json, ProductCursor.class);
+            if (cursor.sortBy() == null || cursor.filterKey() == null || cursor.lastId() == null) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return cursor;
+        } catch (IllegalArgumentException | IOException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
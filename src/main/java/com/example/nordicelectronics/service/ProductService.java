@@ -8,8 +8,19 @@ import com.example.nordicelectronics.entity.dto.product.ProductPageResponseDTO;
 import com.example.nordicelectronics.entity.dto.product.ProductRequestDTO;
 import com.example.nordicelectronics.entity.dto.product.ProductResponseDTO;
 import com.example.nordicelectronics.entity.mapper.ProductMapper;
+import com.example.nordicelectronics.repositories.sql.ProductKeysetRepository;
 import com.example.nordicelectronics.repositories.sql.ProductRepository;
+import com.example.nordicelectronics.repositories.sql.ReviewRepository;
 import com.example.nordicelectronics.repositories.sql.ProductSpecification;
+import com.example.nordicelectronics.service.cache.ProductCatalogCache;
+import com.example.nordicelectronics.service.migration.ChangeOutbox;
+import com.example.nordicelectronics.service.migration.SyncSource;
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.JpaListReader;
+import com.example.nordicelectronics.service.search.ProductSearchDocument;
+import com.example.nordicelectronics.service.search.ProductSearchHits;
+import com.example.nordicelectronics.service.search.ProductSearchIndex;
+import com.example.nordicelectronics.service.search.ProductSearchIndexLoader;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -21,10 +32,13 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,10 +46,17 @@ import java.util.stream.Collectors;
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final ProductKeysetRepository productKeysetRepository;
+    private final ReviewRepository reviewRepository;
     private final BrandService brandService;
     private final CategoryService categoryService;
     private final WarrantyService warrantyService;
     private final JdbcTemplate jdbcTemplate;
+    private final ProductCatalogCache productCatalogCache;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductSearchIndexLoader productSearchIndexLoader;
+    private final ChangeOutbox changeOutbox;
+    private final JpaListReader jpaListReader;
 
     public List<Map<String, Object>> getBestSellingProducts() {
         String sql = "SELECT * FROM mv_best_selling_products ORDER BY total_units_sold DESC";
@@ -53,20 +74,56 @@ public class ProductService {
     }
 
     public List<ProductResponseDTO> getAll() {
-        return productRepository.findAll().stream()
-                .map(ProductMapper::toResponseDTO)
+        return toResponseDTOs(productRepository.findAll());
+    }
+
+    public CursorPage<ProductResponseDTO> getPage(Integer limit, String cursor) {
+        return jpaListReader.page(Product.class, "productId", Product::getProductId, limit, cursor)
+                .map(this::toResponseDTOs);
+    }
+
+    /**
+     * Streams every product, mapping each chunk with one query for its review ids.
+     */
+    public void streamAll(Consumer<ProductResponseDTO> writer) {
+        jpaListReader.streamChunks(Product.class, List.of("productId"), chunk -> toResponseDTOs(chunk).forEach(writer));
+    }
+
+    /**
+     * Maps products to DTOs with one extra query for all their review ids.
+     * Categories are batch-fetched and brand/warranty ids come from the lazy
+     * proxies, so a page costs a fixed number of statements.
+     */
+    private List<ProductResponseDTO> toResponseDTOs(List<Product> products) {
+        if (products.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<UUID, List<UUID>> reviewIds = reviewIdsByProduct(products.stream()
+                .map(Product::getProductId)
+                .toList());
+        return products.stream()
+                .map(product -> ProductMapper.toResponseDTO(product,
+                        reviewIds.getOrDefault(product.getProductId(), new ArrayList<>())))
                 .collect(Collectors.toList());
     }
 
+    private Map<UUID, List<UUID>> reviewIdsByProduct(List<UUID> productIds) {
+        return reviewRepository.findReviewIdsByProductIds(productIds).stream()
+                .collect(Collectors.groupingBy(
+                        ReviewRepository.ProductReviewId::getProductId,
+                        Collectors.mapping(ReviewRepository.ProductReviewId::getReviewId, Collectors.toList())
+                ));
+    }
+
     /**
      * Get products with pagination, filtering by category, brand, and search term
      * 
      * @param page Page number (0-based)
      * @param size Number of items per page
-     * @param search Search term for name/description
+     * @param search Search term for name/description (served by the in-memory index once loaded)
      * @param categoryId Filter by category UUID
      * @param brandId Filter by brand UUID
-     * @param sortBy Field to sort by (default: name)
+     * @param sortBy Field to sort by (default: name; "relevance" ranks search hits)
      * @param sortDirection Sort direction (asc/desc)
      * @return Paginated product response
      */
@@ -83,25 +140,125 @@ public class ProductService {
         if (page < 0) page = 0;
         if (size <= 0 || size > 100) size = 12;
         if (sortBy == null || sortBy.isEmpty()) sortBy = "name";
-        
+
+        ProductCatalogCache.PageKey key = ProductCatalogCache.PageKey.of(
+                page, size, search, categoryId, brandId, sortBy, sortDirection);
+        return productCatalogCache.getPage(key, () -> loadPage(key));
+    }
+
+    /**
+     * Get products with keyset (cursor) pagination. Each page seeks past the
+     * last row of the previous one via the (sort column, product_id) indexes,
+     * so deep pages cost the same as the first and the total is only counted once.
+     *
+     * @param cursor Token from the previous page's nextCursor, or null for the first page
+     * @param size Number of items per page
+     * @param search Search term for name/description
+     * @param categoryId Filter by category UUID
+     * @param brandId Filter by brand UUID
+     * @param sortBy Field to sort by (name, price or sku)
+     * @param sortDirection Sort direction (asc/desc)
+     * @return Page of products with the cursor for the next page
+     */
+    public ProductPageResponseDTO getProductsWithCursor(
+            String cursor,
+            int size,
+            String search,
+            UUID categoryId,
+            UUID brandId,
+            String sortBy,
+            String sortDirection
+    ) {
+        if (size <= 0 || size > 100) size = 12;
+        if (sortBy == null || sortBy.isEmpty()) sortBy = "name";
+        if (!ProductKeysetRepository.supportsSort(sortBy)) {
+            throw new IllegalArgumentException("Cursor pagination supports sorting by name, price or sku");
+        }
+        boolean descending = "desc".equalsIgnoreCase(sortDirection);
+        String normalizedSearch = search == null || search.isBlank() ? null : search.trim().toLowerCase();
+        String filterKey = ProductCursor.filterKey(normalizedSearch, categoryId, brandId);
+
+        ProductCursor after = null;
+        long totalElements;
+        if (cursor != null && !cursor.isBlank()) {
+            after = ProductCursor.decode(cursor);
+            if (!after.matches(sortBy, descending, filterKey)) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort or filters");
+            }
+            totalElements = after.total();
+        } else {
+            totalElements = productKeysetRepository.count(normalizedSearch, categoryId, brandId);
+        }
+
+        // Fetch one extra row to learn whether another page exists
+        List<ProductKeysetRepository.KeysetRow> rows = productKeysetRepository.findPage(
+                sortBy,
+                descending,
+                after != null ? after.typedLastValue() : null,
+                after != null ? after.lastId() : null,
+                size + 1,
+                normalizedSearch,
+                categoryId,
+                brandId
+        );
+        boolean hasNext = rows.size() > size;
+        List<ProductKeysetRepository.KeysetRow> pageRows = hasNext ? rows.subList(0, size) : rows;
+
+        List<UUID> ids = pageRows.stream().map(ProductKeysetRepository.KeysetRow::productId).toList();
+        Map<UUID, Product> productsById = productRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getProductId, product -> product));
+        List<ProductResponseDTO> content = toResponseDTOs(ids.stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .toList());
+
+        int pageNumber = after != null ? after.page() + 1 : 0;
+        String nextCursor = null;
+        if (hasNext) {
+            ProductKeysetRepository.KeysetRow last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new ProductCursor(sortBy, descending, filterKey, last.sortValue().toString(),
+                    last.productId(), pageNumber, totalElements).encode();
+        }
+
+        return ProductPageResponseDTO.builder()
+                .content(content)
+                .pageNumber(pageNumber)
+                .pageSize(size)
+                .totalElements(totalElements)
+                .totalPages((int) ((totalElements + size - 1) / size))
+                .first(pageNumber == 0)
+                .last(!hasNext)
+                .hasNext(hasNext)
+                .hasPrevious(pageNumber > 0)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private ProductPageResponseDTO loadPage(ProductCatalogCache.PageKey key) {
+        // Free-text search is answered by the in-memory index when it can serve the requested sort
+        if (key.search() != null && productSearchIndex.supports(key.sortBy())) {
+            return searchPage(key);
+        }
+
+        // Relevance only exists in the index; the database path falls back to name
+        String sortBy = "relevance".equalsIgnoreCase(key.sortBy()) ? "name" : key.sortBy();
+
         // Create sort
         Sort sort = Sort.by(
-                "desc".equalsIgnoreCase(sortDirection) ? Sort.Direction.DESC : Sort.Direction.ASC,
+                "desc".equals(key.sortDirection()) ? Sort.Direction.DESC : Sort.Direction.ASC,
                 sortBy
         );
         
-        Pageable pageable = PageRequest.of(page, size, sort);
+        Pageable pageable = PageRequest.of(key.page(), key.size(), sort);
         
         // Build specification with filters
-        Specification<Product> spec = ProductSpecification.withFilters(search, categoryId, brandId);
+        Specification<Product> spec = ProductSpecification.withFilters(key.search(), key.categoryId(), key.brandId());
         
         // Execute query
         Page<Product> productPage = productRepository.findAll(spec, pageable);
         
         // Convert to DTOs
-        List<ProductResponseDTO> content = productPage.getContent().stream()
-                .map(ProductMapper::toResponseDTO)
-                .collect(Collectors.toList());
+        List<ProductResponseDTO> content = toResponseDTOs(productPage.getContent());
         
         return ProductPageResponseDTO.builder()
                 .content(content)
@@ -116,10 +273,58 @@ public class ProductService {
                 .build();
     }
 
+    private ProductPageResponseDTO searchPage(ProductCatalogCache.PageKey key) {
+        ProductSearchHits hits = productSearchIndex.search(
+                key.search(),
+                key.categoryId(),
+                key.brandId(),
+                key.sortBy(),
+                "desc".equals(key.sortDirection()),
+                key.page() * key.size(),
+                key.size()
+        );
+
+        // Load the hit page by id and restore the index order
+        Map<UUID, Product> productsById = productRepository.findAllById(hits.productIds()).stream()
+                .collect(Collectors.toMap(Product::getProductId, product -> product));
+        List<ProductResponseDTO> content = toResponseDTOs(hits.productIds().stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .toList());
+
+        int totalPages = (int) ((hits.totalHits() + key.size() - 1) / key.size());
+        return ProductPageResponseDTO.builder()
+                .content(content)
+                .pageNumber(key.page())
+                .pageSize(key.size())
+                .totalElements(hits.totalHits())
+                .totalPages(totalPages)
+                .first(key.page() == 0)
+                .last(key.page() + 1 >= totalPages)
+                .hasNext(key.page() + 1 < totalPages)
+                .hasPrevious(key.page() > 0)
+                .build();
+    }
+
+    public Map<String, Object> getSearchIndexStats() {
+        return productSearchIndex.getStats();
+    }
+
+    public int rebuildSearchIndex() {
+        return productSearchIndexLoader.load();
+    }
+
     public ProductResponseDTO getById(UUID id) {
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Product not found"));
-        return ProductMapper.toResponseDTO(product);
+        return productCatalogCache.getProduct(id, () -> {
+            Product product = productRepository.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Product not found"));
+            return ProductMapper.toResponseDTO(product,
+                    reviewIdsByProduct(List.of(id)).getOrDefault(id, new ArrayList<>()));
+        });
+    }
+
+    public Map<String, Object> getCacheStats() {
+        return productCatalogCache.getStats();
     }
 
     /**
@@ -173,7 +378,11 @@ public class ProductService {
         product.setCategories(categories);
 
         Product saved = productRepository.save(product);
-        return ProductMapper.toResponseDTO(saved);
+        changeOutbox.record(SyncSource.PRODUCT, saved.getProductId());
+        productCatalogCache.evictPages();
+        productSearchIndex.upsert(ProductSearchDocument.from(saved));
+        // A new product has no reviews yet
+        return ProductMapper.toResponseDTO(saved, new ArrayList<>());
     }
 
     @Transactional
@@ -208,13 +417,21 @@ public class ProductService {
         }
 
         Product saved = productRepository.save(existing);
-        return ProductMapper.toResponseDTO(saved);
+        changeOutbox.record(SyncSource.PRODUCT, id);
+        productCatalogCache.evictProduct(id);
+        productSearchIndex.upsert(ProductSearchDocument.from(saved));
+        return ProductMapper.toResponseDTO(saved,
+                reviewIdsByProduct(List.of(id)).getOrDefault(id, new ArrayList<>()));
     }
 
+    @Transactional
     public void deleteById(UUID id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Product not found"));
         product.softDelete();
         productRepository.save(product);
+        changeOutbox.record(SyncSource.PRODUCT, id);
+        productCatalogCache.evictProduct(id);
+        productSearchIndex.remove(id);
     }
 }
@@ -6,7 +6,11 @@ import com.example.nordicelectronics.entity.Review;
 import com.example.nordicelectronics.entity.User;
 import com.example.nordicelectronics.entity.dto.review.ReviewDTO;
 import com.example.nordicelectronics.repositories.sql.ReviewRepository;
+import com.example.nordicelectronics.service.cache.ProductCatalogCache;
+import com.example.nordicelectronics.service.migration.ChangeOutbox;
+import com.example.nordicelectronics.service.migration.SyncSource;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
@@ -24,6 +28,8 @@ public class ReviewService {
     @Lazy
     private final ProductService productService;
     private final OrderService orderService;
+    private final ChangeOutbox changeOutbox;
+    private final ProductCatalogCache productCatalogCache;
 
     public Review getById(UUID id) {
         return reviewRepository.findById(id)
@@ -44,10 +50,15 @@ public class ReviewService {
         return reviewRepository.findByProduct_ProductId(product.getProductId());
     }
 
+    @Transactional
     public Review save(Review review) {
-        return reviewRepository.save(review);
+        Review saved = reviewRepository.save(review);
+        changeOutbox.record(SyncSource.REVIEW, saved.getReviewId());
+        evictProduct(saved);
+        return saved;
     }
 
+    @Transactional
     public Review saveForUser(String email, ReviewDTO review) {
         User user = userService.findByEmail(email);
         Product product = productService.getEntityById(review.getProductId());
@@ -65,12 +76,18 @@ public class ReviewService {
 
         userReview.setCreatedAt(LocalDateTime.now());
 
-        return reviewRepository.save(userReview);
+        Review saved = reviewRepository.save(userReview);
+        changeOutbox.record(SyncSource.REVIEW, saved.getReviewId());
+        evictProduct(saved);
+        return saved;
     }
 
+    @Transactional
     public Review update(UUID id, ReviewDTO review, UUID productId) {
         Review existing = getById(id);
         Product product = productService.getEntityById(productId);
+        // Moving a review to another product changes the review ids of both
+        evictProduct(existing);
 
         existing.setProduct(product);
         existing.setReviewValue(review.getReviewValue());
@@ -78,9 +95,13 @@ public class ReviewService {
         existing.setComment(review.getComment());
         existing.setVerifiedPurchase(review.getIsVerifiedPurchase());
 
-        return reviewRepository.save(existing);
+        Review saved = reviewRepository.save(existing);
+        changeOutbox.record(SyncSource.REVIEW, id);
+        evictProduct(saved);
+        return saved;
     }
 
+    @Transactional
     public Review updateForUser(String email, UUID reviewId, ReviewDTO review) {
         User user = userService.findByEmail(email);
         Review existing = reviewRepository.findByReviewIdAndUser_UserId(reviewId, user.getUserId())
@@ -88,19 +109,34 @@ public class ReviewService {
         return update(existing.getReviewId(), review, review.getProductId());
     }
 
+    @Transactional
     public void deleteById(UUID id) {
         Review review = reviewRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Review not found"));
         review.softDelete();
         reviewRepository.save(review);
+        changeOutbox.record(SyncSource.REVIEW, id);
+        evictProduct(review);
     }
 
+    @Transactional
     public void deleteForUser(String email, UUID reviewId) {
         User user = userService.findByEmail(email);
         Review existing = reviewRepository.findByReviewIdAndUser_UserId(reviewId, user.getUserId())
                 .orElseThrow(() -> new EntityNotFoundException("Review not found or you don't have permission to delete it"));
         existing.softDelete();
         reviewRepository.save(existing);
+        changeOutbox.record(SyncSource.REVIEW, reviewId);
+        evictProduct(existing);
+    }
+
+    /**
+     * Cached product responses carry their review ids, so a review write evicts its product.
+     */
+    private void evictProduct(Review review) {
+        if (review.getProduct() != null) {
+            productCatalogCache.evictProduct(review.getProduct().getProductId());
+        }
     }
 }
 
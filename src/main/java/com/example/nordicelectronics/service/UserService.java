@@ -6,7 +6,12 @@ import com.example.nordicelectronics.entity.validator.UserValidator.DateOfBirthV
 import com.example.nordicelectronics.entity.validator.UserValidator.EmailValidator;
 import com.example.nordicelectronics.entity.validator.UserValidator.PasswordValidator;
 import com.example.nordicelectronics.repositories.sql.UserRepository;
+import com.example.nordicelectronics.service.migration.ChangeOutbox;
+import com.example.nordicelectronics.service.migration.SyncSource;
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.JpaListReader;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -14,6 +19,7 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 public class UserService {
@@ -24,10 +30,25 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private ChangeOutbox changeOutbox;
+
+    @Autowired
+    private JpaListReader jpaListReader;
+
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
+    public CursorPage<User> getPage(Integer limit, String cursor) {
+        return jpaListReader.page(User.class, "userId", User::getUserId, limit, cursor);
+    }
+
+    public void streamAll(Consumer<User> writer) {
+        jpaListReader.stream(User.class, "userId", writer);
+    }
+
+    @Transactional
     public User registerUser(String firstName, String lastName, String email,
                            String phoneNumber, String password, LocalDate dateOfBirth, boolean isAdmin) {
 
@@ -47,7 +68,9 @@ public class UserService {
                 .isAdmin(isAdmin)
                 .build();
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        changeOutbox.record(SyncSource.USER, saved.getUserId());
+        return saved;
     }
 
     public User findByEmail(String email) {
@@ -60,8 +83,11 @@ public class UserService {
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + id));
     }
 
+    @Transactional
     public User save(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        changeOutbox.record(SyncSource.USER, saved.getUserId());
+        return saved;
     }
 
     private void validateUserSignup(String email, String password, String phone, LocalDate dateOfBirth) {
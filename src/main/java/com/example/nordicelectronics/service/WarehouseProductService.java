@@ -7,26 +7,48 @@ import com.example.nordicelectronics.entity.WarehouseProductKey;
 import com.example.nordicelectronics.repositories.sql.ProductRepository;
 import com.example.nordicelectronics.repositories.sql.WarehouseProductRepository;
 import com.example.nordicelectronics.repositories.sql.WarehouseRepository;
+import com.example.nordicelectronics.service.cache.ProductCatalogCache;
+import com.example.nordicelectronics.service.migration.ChangeOutbox;
+import com.example.nordicelectronics.service.migration.SyncSource;
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.JpaListReader;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class WarehouseProductService {
 
+    private static final List<String> KEY_ATTRIBUTES = List.of("id.warehouseId", "id.productId");
+
     private final WarehouseProductRepository warehouseProductRepository;
     private final WarehouseRepository warehouseRepository;
     private final ProductRepository productRepository;
+    private final ProductCatalogCache productCatalogCache;
+    private final ChangeOutbox changeOutbox;
+    private final JpaListReader jpaListReader;
 
 
     public List<WarehouseProduct> getAll() {
         return warehouseProductRepository.findAll();
     }
 
+    public CursorPage<WarehouseProduct> getPage(Integer limit, String cursor) {
+        return jpaListReader.page(WarehouseProduct.class, KEY_ATTRIBUTES,
+                warehouseProduct -> List.of(warehouseProduct.getId().getWarehouseId(), warehouseProduct.getId().getProductId()),
+                limit, cursor);
+    }
+
+    public void streamAll(Consumer<WarehouseProduct> writer) {
+        jpaListReader.streamChunks(WarehouseProduct.class, KEY_ATTRIBUTES, chunk -> chunk.forEach(writer));
+    }
+
     public WarehouseProduct getById(UUID warehouseId, UUID productId) {
         WarehouseProductKey key = new WarehouseProductKey();
         key.setWarehouseId(warehouseId);
@@ -36,6 +58,7 @@ public class WarehouseProductService {
                         "WarehouseProduct not found for warehouseId=" + warehouseId + ", productId=" + productId));
     }
 
+    @Transactional
     public WarehouseProduct save(UUID warehouseId, UUID productId, int stockQuantity) {
         Warehouse warehouse = warehouseRepository.findById(warehouseId)
                 .orElseThrow(() -> new EntityNotFoundException("Warehouse not found"));
@@ -53,16 +76,31 @@ public class WarehouseProductService {
                 .stockQuantity(stockQuantity)
                 .build();
 
-        return warehouseProductRepository.save(warehouseProduct);
+        WarehouseProduct saved = warehouseProductRepository.save(warehouseProduct);
+        recordStockChange(warehouseId, productId);
+        productCatalogCache.evictProduct(productId);
+        return saved;
     }
 
+    @Transactional
     public WarehouseProduct updateStock(UUID warehouseId, UUID productId, int newStock) {
         WarehouseProduct existing = getById(warehouseId, productId);
         existing.setStockQuantity(newStock);
-        return warehouseProductRepository.save(existing);
+        WarehouseProduct saved = warehouseProductRepository.save(existing);
+        recordStockChange(warehouseId, productId);
+        productCatalogCache.evictProduct(productId);
+        return saved;
     }
 
+    @Transactional
     public void deleteById(UUID warehouseId, UUID productId) {
         warehouseProductRepository.deleteById(new WarehouseProductKey(warehouseId, productId));
+        recordStockChange(warehouseId, productId);
+        productCatalogCache.evictProduct(productId);
+    }
+
+    private void recordStockChange(UUID warehouseId, UUID productId) {
+        changeOutbox.record(SyncSource.STOCK_PRODUCT, productId);
+        changeOutbox.record(SyncSource.STOCK_WAREHOUSE, warehouseId);
     }
 }
@@ -7,12 +7,15 @@ import com.example.nordicelectronics.entity.dto.warehouse.WarehouseResponseDTO;
 import com.example.nordicelectronics.entity.mapper.WarehouseMapper;
 import com.example.nordicelectronics.repositories.sql.AddressRepository;
 import com.example.nordicelectronics.repositories.sql.WarehouseRepository;
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.JpaListReader;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,6 +24,7 @@ public class WarehouseService {
 
     private final WarehouseRepository warehouseRepository;
     private final AddressRepository addressRepository;
+    private final JpaListReader jpaListReader;
 
     public List<WarehouseResponseDTO> getAll() {
         return warehouseRepository.findAll().stream()
@@ -28,6 +32,15 @@ public class WarehouseService {
                 .collect(Collectors.toList());
     }
 
+    public CursorPage<WarehouseResponseDTO> getPage(Integer limit, String cursor) {
+        return jpaListReader.page(Warehouse.class, "warehouseId", Warehouse::getWarehouseId, limit, cursor)
+                .map(warehouses -> warehouses.stream().map(WarehouseMapper::toResponseDTO).toList());
+    }
+
+    public void streamAll(Consumer<WarehouseResponseDTO> writer) {
+        jpaListReader.stream(Warehouse.class, "warehouseId", warehouse -> writer.accept(WarehouseMapper.toResponseDTO(warehouse)));
+    }
+
     public WarehouseResponseDTO getById(UUID id) {
         Warehouse warehouse = warehouseRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Warehouse not found"));
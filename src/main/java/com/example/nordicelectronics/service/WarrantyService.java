@@ -3,23 +3,35 @@ package com.example.nordicelectronics.service;
 import com.example.nordicelectronics.entity.Warranty;
 import com.example.nordicelectronics.entity.validator.WarrantyValidator.WarrantyValidator;
 import com.example.nordicelectronics.repositories.sql.WarrantyRepository;
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.JpaListReader;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class WarrantyService {
 
     private final WarrantyRepository warrantyRepository;
+    private final JpaListReader jpaListReader;
 
     public List<Warranty> getAll() {
         return warrantyRepository.findAll();
     }
 
+    public CursorPage<Warranty> getPage(Integer limit, String cursor) {
+        return jpaListReader.page(Warranty.class, "warrantyId", Warranty::getWarrantyId, limit, cursor);
+    }
+
+    public void streamAll(Consumer<Warranty> writer) {
+        jpaListReader.stream(Warranty.class, "warrantyId", writer);
+    }
+
     public Warranty getById(UUID id) {
         return warrantyRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Warranty not found"));
@@ -0,0 +1,140 @@
+package com.example.nordicelectronics.service.cache;
+
+import com.example.nordicelectronics.entity.dto.product.ProductPageResponseDTO;
+import com.example.nordicelectronics.entity.dto.product.ProductResponseDTO;
+import com.example.nordicelectronics.service.AfterCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process read-through cache for the PostgreSQL product catalog.
+ *
+ * Holds single product DTOs by id and paginated listing results by their full
+ * query key. Both caches evict by size and by time-to-live. Writers call the
+ * evict methods; when a transaction is active the eviction is deferred until
+ * after commit so a concurrent reader cannot re-populate the cache with the
+ * pre-commit state. Setting {@code catalog.cache.enabled=false} turns both
+ * caches into pass-throughs.
+ */
+@Component
+public class ProductCatalogCache {
+
+    private final boolean enabled;
+    private final Cache<UUID, ProductResponseDTO> products;
+    private final Cache<PageKey, ProductPageResponseDTO> pages;
+
+    public ProductCatalogCache(long productMaxSize, long pageMaxSize, Duration ttl) {
+        this(true, productMaxSize, pageMaxSize, ttl);
+    }
+
+    @Autowired
+    public ProductCatalogCache(
+            @Value("${catalog.cache.enabled:true}") boolean enabled,
+            @Value("${catalog.cache.products.max-size:10000}") long productMaxSize,
+            @Value("${catalog.cache.pages.max-size:2000}") long pageMaxSize,
+            @Value("${catalog.cache.ttl:PT5M}") Duration ttl
+    ) {
+        this.enabled = enabled;
+        this.products = Caffeine.newBuilder()
+                .maximumSize(productMaxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(pageMaxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public ProductResponseDTO getProduct(UUID productId, Supplier<ProductResponseDTO> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        return products.get(productId, id -> loader.get());
+    }
+
+    public ProductPageResponseDTO getPage(PageKey key, Supplier<ProductPageResponseDTO> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        return pages.get(key, k -> loader.get());
+    }
+
+    /**
+     * Evicts one product and every cached page, since any page may contain it
+     * or shift because of it.
+     */
+    public void evictProduct(UUID productId) {
+        AfterCommit.run(() -> {
+            if (productId != null) {
+                products.invalidate(productId);
+            }
+            pages.invalidateAll();
+        });
+    }
+
+    /**
+     * Evicts every cached page. Used when a product is created, since a new
+     * product can appear on any listing page but no single-product entry exists yet.
+     */
+    public void evictPages() {
+        AfterCommit.run(pages::invalidateAll);
+    }
+
+    public void evictAll() {
+        AfterCommit.run(() -> {
+            products.invalidateAll();
+            pages.invalidateAll();
+        });
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("products", toMap(products.stats(), products.estimatedSize()));
+        stats.put("pages", toMap(pages.stats(), pages.estimatedSize()));
+        return stats;
+    }
+
+    private static Map<String, Object> toMap(CacheStats stats, long size) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("size", size);
+        map.put("hits", stats.hitCount());
+        map.put("misses", stats.missCount());
+        map.put("hitRate", stats.hitRate());
+        map.put("evictions", stats.evictionCount());
+        return map;
+    }
+
+    /**
+     * Cache key for a listing page. Values are normalised by {@link #of} so that
+     * equivalent requests ("Phone" vs " phone ", "ASC" vs "asc") share one entry.
+     */
+    public record PageKey(
+            int page,
+            int size,
+            String search,
+            UUID categoryId,
+            UUID brandId,
+            String sortBy,
+            String sortDirection
+    ) {
+        public static PageKey of(int page, int size, String search, UUID categoryId, UUID brandId,
+                                 String sortBy, String sortDirection) {
+            String normalizedSearch = search == null || search.isBlank() ? null : search.trim().toLowerCase();
+            String normalizedDirection = "desc".equalsIgnoreCase(sortDirection) ? "desc" : "asc";
+            return new PageKey(page, size, normalizedSearch, categoryId, brandId, sortBy, normalizedDirection);
+        }
+    }
+}
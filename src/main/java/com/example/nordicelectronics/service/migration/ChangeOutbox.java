@@ -0,0 +1,52 @@
+package com.example.nordicelectronics.service.migration;
+
+import com.example.nordicelectronics.repositories.sql.OutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Records rows written through the PostgreSQL services, for the outbox relay
+ * to project to every sync target. Call it inside the writing transaction:
+ * the events then commit or roll back with the change itself. Does nothing
+ * unless {@code migration.outbox.enabled=true}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeOutbox {
+
+    private final OutboxRepository outboxRepository;
+    private final List<SyncTarget> targets;
+
+    @Value("${migration.outbox.enabled:false}")
+    private boolean enabled;
+
+    public void record(SyncSource source, UUID id) {
+        record(source, List.of(id));
+    }
+
+    public void record(SyncSource source, Collection<UUID> ids) {
+        if (enabled) {
+            outboxRepository.append(targetNames(), source, ids);
+        }
+    }
+
+    /**
+     * Records a stock change of the products in whichever warehouses hold them.
+     */
+    public void recordStock(Collection<UUID> productIds) {
+        if (enabled) {
+            List<String> targetNames = targetNames();
+            outboxRepository.append(targetNames, SyncSource.STOCK_PRODUCT, productIds);
+            outboxRepository.appendWarehousesStocking(targetNames, productIds);
+        }
+    }
+
+    private List<String> targetNames() {
+        return targets.stream().map(SyncTarget::targetName).toList();
+    }
+}
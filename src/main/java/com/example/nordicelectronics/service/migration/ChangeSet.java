@@ -0,0 +1,37 @@
+package com.example.nordicelectronics.service.migration;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Ids of rows changed (updated, created or soft-deleted) per source table.
+ * Each sync target works out for itself which documents or nodes embed or
+ * reference those rows and must be projected again.
+ */
+public class ChangeSet {
+
+    private final Map<SyncSource, Set<UUID>> changed = new EnumMap<>(SyncSource.class);
+
+    public ChangeSet add(SyncSource source, Collection<UUID> ids) {
+        if (!ids.isEmpty()) {
+            changed.computeIfAbsent(source, s -> new LinkedHashSet<>()).addAll(ids);
+        }
+        return this;
+    }
+
+    public Set<UUID> get(SyncSource source) {
+        return changed.getOrDefault(source, Set.of());
+    }
+
+    public boolean isEmpty() {
+        return changed.isEmpty();
+    }
+
+    public int size() {
+        return changed.values().stream().mapToInt(Set::size).sum();
+    }
+}
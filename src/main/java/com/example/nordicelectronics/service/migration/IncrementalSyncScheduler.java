@@ -0,0 +1,33 @@
+package com.example.nordicelectronics.service.migration;
+
+import com.example.nordicelectronics.service.IncrementalSyncService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the incremental sync on a fixed delay when
+ * {@code migration.sync.enabled=true}. The delay is measured from the end of
+ * the previous run, so a slow run is never overlapped by the next one.
+ */
+@Component
+@ConditionalOnProperty(name = "migration.sync.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class IncrementalSyncScheduler {
+
+    private final IncrementalSyncService incrementalSyncService;
+
+    @Scheduled(fixedDelayString = "${migration.sync.interval:PT1M}",
+            initialDelayString = "${migration.sync.interval:PT1M}")
+    public void sync() {
+        try {
+            incrementalSyncService.syncAll();
+        } catch (IllegalStateException e) {
+            // Started by hand through the API in the meantime
+            log.info("Skipping scheduled incremental sync: {}", e.getMessage());
+        }
+    }
+}
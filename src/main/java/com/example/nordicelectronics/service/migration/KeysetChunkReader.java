@@ -0,0 +1,154 @@
+package com.example.nordicelectronics.service.migration;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Reads tables, or given sets of their rows, as bounded chunks for bulk exports.
+ *
+ * Primary keys are walked in order with {@code WHERE id > :after ORDER BY id
+ * LIMIT n}, so every chunk costs the same regardless of how far the export
+ * has got. Each chunk is loaded with its fetch plan and converted inside a
+ * short read-only transaction; the persistence context is then cleared and
+ * the converted chunk is handed to the writer outside the transaction, so
+ * neither entities nor the JDBC connection are held while writing.
+ */
+@Component
+public class KeysetChunkReader {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public KeysetChunkReader(EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    private record Chunk<D>(UUID lastId, List<D> items) {
+    }
+
+    /**
+     * Streams every row of {@code entityName} in {@code idAttribute} order.
+     *
+     * @param loader    loads the entities for one chunk of ids with their associations
+     * @param converter maps loaded entities to output items while they are still attached
+     * @param writer    receives each converted chunk after the transaction has ended
+     * @return number of rows read
+     */
+    public <E, D> long stream(String entityName, String idAttribute, int chunkSize,
+                              Function<List<UUID>, List<E>> loader,
+                              Function<List<E>, List<D>> converter,
+                              Consumer<List<D>> writer) {
+        return stream(entityName, idAttribute, chunkSize, null, loader, converter,
+                (lastId, items) -> writer.accept(items));
+    }
+
+    /**
+     * Same as {@link #stream(String, String, int, Function, Function, Consumer)},
+     * starting after the id {@code from} (null for the first row). The writer
+     * also receives the last id of each chunk, so the caller can checkpoint it
+     * once the chunk is written and later resume from there.
+     *
+     * @return number of rows read
+     */
+    public <E, D> long stream(String entityName, String idAttribute, int chunkSize, UUID from,
+                              Function<List<UUID>, List<E>> loader,
+                              Function<List<E>, List<D>> converter,
+                              BiConsumer<UUID, List<D>> writer) {
+        long total = 0;
+        UUID after = from;
+        while (true) {
+            UUID cursor = after;
+            Chunk<D> chunk = readOnlyTransaction.execute(status -> {
+                List<UUID> ids = nextIds(entityName, idAttribute, cursor, chunkSize);
+                if (ids.isEmpty()) {
+                    return null;
+                }
+                List<D> items = converter.apply(loader.apply(ids));
+                entityManager.clear();
+                return new Chunk<>(ids.get(ids.size() - 1), items);
+            });
+            if (chunk == null) {
+                return total;
+            }
+            writer.accept(chunk.lastId(), chunk.items());
+            total += chunk.items().size();
+            after = chunk.lastId();
+        }
+    }
+
+    /**
+     * Same as {@link #stream} for a given set of ids instead of a whole table.
+     * The writer also receives the ids of the chunk, so it can tell which of
+     * them no longer load (deleted rows) and remove their projections.
+     *
+     * @return number of items converted
+     */
+    public <E, D> long forIds(Collection<UUID> ids, int chunkSize,
+                              Function<List<UUID>, List<E>> loader,
+                              Function<List<E>, List<D>> converter,
+                              BiConsumer<List<UUID>, List<D>> writer) {
+        List<UUID> all = List.copyOf(ids);
+        long total = 0;
+        for (int from = 0; from < all.size(); from += chunkSize) {
+            List<UUID> chunkIds = all.subList(from, Math.min(all.size(), from + chunkSize));
+            List<D> items = readOnlyTransaction.execute(status -> {
+                List<D> converted = converter.apply(loader.apply(chunkIds));
+                entityManager.clear();
+                return converted;
+            });
+            writer.accept(chunkIds, items);
+            total += items.size();
+        }
+        return total;
+    }
+
+    public long count(String entityName) {
+        return readOnlyTransaction.execute(status ->
+                entityManager.createQuery("SELECT count(e) FROM " + entityName + " e", Long.class)
+                        .getSingleResult());
+    }
+
+    /**
+     * Runs a fetch-plan query for one chunk; the query must bind {@code :ids}.
+     */
+    public <T> List<T> fetch(String jpql, Class<T> type, Collection<UUID> ids) {
+        return entityManager.createQuery(jpql, type)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    /**
+     * Converter that maps a chunk item by item, in order. Runs on the calling
+     * thread, which owns the session, so a mapping that reaches an association
+     * the fetch plan missed lazy-loads it instead of touching the session from
+     * another thread. Phases of a migration already run side by side.
+     */
+    public static <E, D> Function<List<E>, List<D>> convertEach(Function<E, D> converter) {
+        return entities -> entities.stream().map(converter).toList();
+    }
+
+    private List<UUID> nextIds(String entityName, String idAttribute, UUID after, int chunkSize) {
+        String select = "SELECT e." + idAttribute + " FROM " + entityName + " e";
+        String order = " ORDER BY e." + idAttribute;
+        if (after == null) {
+            return entityManager.createQuery(select + order, UUID.class)
+                    .setMaxResults(chunkSize)
+                    .getResultList();
+        }
+        return entityManager.createQuery(select + " WHERE e." + idAttribute + " > :after" + order, UUID.class)
+                .setParameter("after", after)
+                .setMaxResults(chunkSize)
+                .getResultList();
+    }
+}
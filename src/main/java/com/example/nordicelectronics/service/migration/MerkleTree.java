@@ -0,0 +1,181 @@
+package com.example.nordicelectronics.service.migration;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Digest of one entity type in one store, as a two-level tree over the UUID
+ * space: 256 leaves keyed by the first two hex digits of the id, 16 inner
+ * nodes keyed by the first digit, and the root. Two stores agree on a subtree
+ * exactly when their digests for it are equal, so comparing top-down only
+ * descends into the parts that drifted.
+ *
+ * A digest is the row count plus the sum, modulo 2^64, of the row hashes. The
+ * sum does not depend on row order, so partial digests from parallel range
+ * scans, or from a database {@code GROUP BY}, combine freely.
+ */
+public class MerkleTree {
+
+    public static final int LEAF_PREFIX_LENGTH = 2;
+    private static final String HEX = "0123456789abcdef";
+
+    public record Digest(long rows, long hash) {
+
+        public static final Digest EMPTY = new Digest(0, 0);
+
+        public Digest plus(Digest other) {
+            return new Digest(rows + other.rows, hash + other.hash);
+        }
+    }
+
+    private final Map<String, Digest> leaves = new TreeMap<>();
+
+    public MerkleTree addLeaf(String prefix, Digest digest) {
+        leaves.merge(prefix, digest, Digest::plus);
+        return this;
+    }
+
+    public MerkleTree addRow(UUID id, long rowHash) {
+        return addLeaf(leafOf(id), new Digest(1, rowHash));
+    }
+
+    public MerkleTree addAll(MerkleTree other) {
+        other.leaves.forEach(this::addLeaf);
+        return this;
+    }
+
+    public Digest root() {
+        return node("");
+    }
+
+    /**
+     * Digest of every leaf under the prefix.
+     */
+    public Digest node(String prefix) {
+        return leaves.entrySet().stream()
+                .filter(leaf -> leaf.getKey().startsWith(prefix))
+                .map(Map.Entry::getValue)
+                .reduce(Digest.EMPTY, Digest::plus);
+    }
+
+    /**
+     * Leaves whose digest differs from {@code other}, found top-down: inner
+     * nodes that agree are not descended into.
+     */
+    public List<String> differingLeaves(MerkleTree other) {
+        List<String> differing = new ArrayList<>();
+        if (root().equals(other.root())) {
+            return differing;
+        }
+        for (char first : HEX.toCharArray()) {
+            String inner = String.valueOf(first);
+            if (node(inner).equals(other.node(inner))) {
+                continue;
+            }
+            for (char second : HEX.toCharArray()) {
+                String leaf = inner + second;
+                if (!node(leaf).equals(other.node(leaf))) {
+                    differing.add(leaf);
+                }
+            }
+        }
+        return differing;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("rows", root().rows());
+        map.put("root", Long.toHexString(root().hash()));
+        map.put("inner", HEX.chars()
+                .mapToObj(c -> String.valueOf((char) c))
+                .collect(Collectors.toMap(prefix -> prefix, prefix -> Long.toHexString(node(prefix).hash()),
+                        (a, b) -> a, TreeMap::new)));
+        return map;
+    }
+
+    /**
+     * Hash of a row's canonical fields: the first 8 bytes of the MD5 of the
+     * fields joined by {@code |}, read as a signed big-endian long. Matches
+     * {@code ('x' || substr(md5(canonical), 1, 16))::bit(64)::bigint} in
+     * PostgreSQL.
+     */
+    public static long rowHash(Object... fields) {
+        try {
+            byte[] md5 = MessageDigest.getInstance("MD5").digest(canonical(fields).getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(md5, 0, Long.BYTES).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+    }
+
+    /**
+     * Fields as the stores agree to print them: null as empty, decimals
+     * without trailing zeros (PostgreSQL {@code trim_scale}), the rest as text.
+     */
+    public static String canonical(Object... fields) {
+        StringBuilder canonical = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                canonical.append('|');
+            }
+            Object field = fields[i];
+            if (field instanceof BigDecimal decimal) {
+                canonical.append(decimal.stripTrailingZeros().toPlainString());
+            } else {
+                canonical.append(Objects.toString(field, ""));
+            }
+        }
+        return canonical.toString();
+    }
+
+    public static String leafOf(UUID id) {
+        return id.toString().substring(0, LEAF_PREFIX_LENGTH);
+    }
+
+    /**
+     * Smallest id starting with the hex prefix.
+     */
+    public static UUID lowerBound(String prefix) {
+        return UUID.fromString(padded(prefix));
+    }
+
+    /**
+     * Smallest id after every id starting with the prefix, or null when the
+     * prefix is all {@code f}s and the range is open.
+     */
+    public static UUID upperBound(String prefix) {
+        int last = prefix.length() - 1;
+        while (last >= 0 && prefix.charAt(last) == 'f') {
+            last--;
+        }
+        if (last < 0) {
+            return null;
+        }
+        char next = HEX.charAt(HEX.indexOf(prefix.charAt(last)) + 1);
+        return lowerBound(prefix.substring(0, last) + next);
+    }
+
+    public static List<String> innerPrefixes() {
+        return HEX.chars().mapToObj(c -> String.valueOf((char) c)).toList();
+    }
+
+    private static String padded(String prefix) {
+        StringBuilder hex = new StringBuilder(prefix);
+        while (hex.length() < 32) {
+            hex.append('0');
+        }
+        return hex.substring(0, 8) + "-" + hex.substring(8, 12) + "-" + hex.substring(12, 16) + "-"
+                + hex.substring(16, 20) + "-" + hex.substring(20);
+    }
+}
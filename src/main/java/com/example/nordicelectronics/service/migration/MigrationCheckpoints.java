@@ -0,0 +1,80 @@
+package com.example.nordicelectronics.service.migration;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Where a full migration records how far each phase has got, so a run that
+ * stopped can carry on from its last written chunk instead of starting over.
+ * {@link #NONE} keeps nothing, for runs that always start from scratch.
+ */
+public interface MigrationCheckpoints {
+
+    /**
+     * How far a phase got: the last id written, rows written so far, and
+     * whether the phase finished.
+     */
+    record PhaseCheckpoint(UUID lastId, long rows, boolean completed) {
+
+        public static final PhaseCheckpoint START = new PhaseCheckpoint(null, 0, false);
+    }
+
+    /**
+     * Whether earlier runs wrote to the target; if so it must not be cleared.
+     */
+    boolean isResumed();
+
+    /**
+     * The snapshot time of the first run, which incremental sync continues
+     * from; {@code now} is recorded and returned when there is none yet.
+     */
+    LocalDateTime snapshotTime(LocalDateTime now);
+
+    PhaseCheckpoint find(String phase);
+
+    /**
+     * Records how many rows a phase will read, for progress and ETA. The count
+     * is only taken when it is recorded.
+     */
+    void expect(String phase, LongSupplier totalRows);
+
+    /**
+     * Called once a chunk has been written to the target.
+     *
+     * @throws java.util.concurrent.CancellationException if the run has been cancelled
+     */
+    void chunkWritten(String phase, UUID lastId, long rows);
+
+    void phaseCompleted(String phase, long rows);
+
+    MigrationCheckpoints NONE = new MigrationCheckpoints() {
+
+        @Override
+        public boolean isResumed() {
+            return false;
+        }
+
+        @Override
+        public LocalDateTime snapshotTime(LocalDateTime now) {
+            return now;
+        }
+
+        @Override
+        public PhaseCheckpoint find(String phase) {
+            return PhaseCheckpoint.START;
+        }
+
+        @Override
+        public void expect(String phase, LongSupplier totalRows) {
+        }
+
+        @Override
+        public void chunkWritten(String phase, UUID lastId, long rows) {
+        }
+
+        @Override
+        public void phaseCompleted(String phase, long rows) {
+        }
+    };
+}
@@ -0,0 +1,152 @@
+package com.example.nordicelectronics.service.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A set of migration phases and the phases each one depends on, executed as a
+ * DAG on a bounded pool: a phase starts as soon as all of its dependencies have
+ * finished, so independent phases run side by side.
+ *
+ * Dependencies must be declared before the phases that use them, which keeps
+ * the graph acyclic by construction. Each phase runs on its own pool thread and
+ * therefore reads PostgreSQL through its own transaction and connection.
+ * When a phase fails its dependents are skipped, the remaining phases finish,
+ * and {@link #run(int)} rethrows the first failure.
+ */
+@Slf4j
+public class MigrationPlan {
+
+    private final String name;
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+
+    private record Phase(String name, LongSupplier task, List<String> dependsOn) {
+    }
+
+    public record PhaseResult(String name, long rows, long startedAtMs, long wallMs) {
+
+        public double rowsPerSecond() {
+            return wallMs == 0 ? rows * 1000.0 : rows * 1000.0 / wallMs;
+        }
+    }
+
+    public record Result(int parallelism, long durationMs, List<PhaseResult> phases) {
+
+        /**
+         * Sum of all phase wall times. Not the duration of a sequential run:
+         * phases running side by side compete for the same databases and each
+         * takes longer than it would alone.
+         */
+        public long phaseTimeSumMs() {
+            return phases.stream().mapToLong(PhaseResult::wallMs).sum();
+        }
+
+        /**
+         * How many phases were in flight on average. A measure of overlap, not
+         * of speed-up; compare against a {@code parallelism=1} run for that.
+         */
+        public double overlapRatio() {
+            return durationMs == 0 ? 1.0 : (double) phaseTimeSumMs() / durationMs;
+        }
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> phaseStats = new LinkedHashMap<>();
+            for (PhaseResult phase : phases) {
+                Map<String, Object> stats = new LinkedHashMap<>();
+                stats.put("rows", phase.rows());
+                stats.put("started_at_ms", phase.startedAtMs());
+                stats.put("wall_ms", phase.wallMs());
+                stats.put("rows_per_sec", Math.round(phase.rowsPerSecond()));
+                phaseStats.put(phase.name(), stats);
+            }
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("parallelism", parallelism);
+            map.put("phase_time_sum_ms", phaseTimeSumMs());
+            map.put("overlap_ratio", Math.round(overlapRatio() * 100) / 100.0);
+            map.put("phases", phaseStats);
+            return map;
+        }
+    }
+
+    public MigrationPlan(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Adds a phase returning the number of rows it migrated.
+     */
+    public MigrationPlan phase(String phaseName, LongSupplier task, String... dependsOn) {
+        for (String dependency : dependsOn) {
+            if (!phases.containsKey(dependency)) {
+                throw new IllegalArgumentException(
+                        "Phase " + phaseName + " depends on undeclared phase " + dependency);
+            }
+        }
+        if (phases.putIfAbsent(phaseName, new Phase(phaseName, task, List.of(dependsOn))) != null) {
+            throw new IllegalArgumentException("Duplicate migration phase " + phaseName);
+        }
+        return this;
+    }
+
+    public Result run(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        // One task per phase, so the queue is bounded by the plan size
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory(name + "-migration-"));
+        long start = System.nanoTime();
+        try {
+            Map<String, CompletableFuture<PhaseResult>> futures = new LinkedHashMap<>();
+            for (Phase phase : phases.values()) {
+                CompletableFuture<?>[] dependencies = phase.dependsOn().stream()
+                        .map(futures::get)
+                        .toArray(CompletableFuture[]::new);
+                futures.put(phase.name(), CompletableFuture.allOf(dependencies)
+                        .thenApplyAsync(ignored -> execute(phase, start), executor));
+            }
+            try {
+                CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+
+            List<PhaseResult> results = new ArrayList<>();
+            futures.values().forEach(future -> results.add(future.join()));
+            return new Result(parallelism, elapsedMs(start), results);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private PhaseResult execute(Phase phase, long planStart) {
+        long startedAt = elapsedMs(planStart);
+        long phaseStart = System.nanoTime();
+        try {
+            long rows = phase.task().getAsLong();
+            long wallMs = elapsedMs(phaseStart);
+            log.info("{} migration phase {} finished: {} rows in {} ms", name, phase.name(), rows, wallMs);
+            return new PhaseResult(phase.name(), rows, startedAt, wallMs);
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Phase " + phase.name() + " failed: " + e.getMessage(), e);
+        }
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
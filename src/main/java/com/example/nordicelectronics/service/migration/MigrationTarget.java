@@ -0,0 +1,21 @@
+package com.example.nordicelectronics.service.migration;
+
+import java.util.Map;
+
+/**
+ * A store that can be rebuilt from PostgreSQL by a full migration job.
+ */
+public interface MigrationTarget {
+
+    /**
+     * Name a migration job is submitted for.
+     */
+    String targetName();
+
+    /**
+     * Rebuilds the store, resuming each phase from its checkpoint.
+     *
+     * @return rows per phase and timings
+     */
+    Map<String, Object> migrateAll(int parallelism, MigrationCheckpoints checkpoints);
+}
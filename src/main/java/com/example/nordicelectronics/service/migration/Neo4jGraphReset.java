@@ -0,0 +1,75 @@
+package com.example.nordicelectronics.service.migration;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Empties the graph label by label in bounded transactions. Each statement is
+ * a {@code CALL { ... } IN TRANSACTIONS}, which Neo4j commits every
+ * {@code batchSize} rows, so heap use stays flat and wipe time grows linearly
+ * with the graph instead of collapsing into one huge transaction.
+ *
+ * Outgoing relationships are removed before their nodes, so no single
+ * {@code DETACH DELETE} has to drop all relationships of a densely connected
+ * node at once. Must be called outside a Neo4j transaction: batched
+ * statements only run in auto-commit mode.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class Neo4jGraphReset {
+
+    private final Neo4jClient neo4jClient;
+
+    @Value("${migration.neo4j.delete-batch-size:10000}")
+    private int batchSize;
+
+    public Map<String, Long> deleteAll(Collection<String> labels) {
+        return deleteAll(labels, (label, deleted) -> { });
+    }
+
+    /**
+     * Deletes every node carrying one of the labels, with all of its
+     * relationships.
+     *
+     * @param progress called after each label with the label and the number
+     *                 of nodes deleted
+     * @return nodes and relationships deleted, by label
+     */
+    public Map<String, Long> deleteAll(Collection<String> labels, BiConsumer<String, Long> progress) {
+        long startTime = System.currentTimeMillis();
+        Map<String, Long> deleted = new LinkedHashMap<>();
+
+        long relationships = 0;
+        for (String label : labels) {
+            relationships += neo4jClient.query("MATCH (:`" + label + "`)-[r]->() "
+                            + "CALL { WITH r DELETE r } IN TRANSACTIONS OF $batchSize ROWS")
+                    .bind(batchSize).to("batchSize")
+                    .run().counters().relationshipsDeleted();
+        }
+        log.info("Deleted {} relationships in {} ms", relationships, System.currentTimeMillis() - startTime);
+
+        int done = 0;
+        for (String label : labels) {
+            long nodes = neo4jClient.query("MATCH (n:`" + label + "`) "
+                            + "CALL { WITH n DETACH DELETE n } IN TRANSACTIONS OF $batchSize ROWS")
+                    .bind(batchSize).to("batchSize")
+                    .run().counters().nodesDeleted();
+            deleted.put(label, nodes);
+            progress.accept(label, nodes);
+            log.info("Deleted {} {} nodes ({}/{} labels)", nodes, label, ++done, labels.size());
+        }
+        deleted.put("relationships", relationships);
+
+        log.info("Graph reset finished in {} ms", System.currentTimeMillis() - startTime);
+        return deleted;
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.nordicelectronics.service.migration;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.data.neo4j.core.mapping.Constants;
+import org.springframework.data.neo4j.core.mapping.Neo4jMappingContext;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Writes nodes and relationships in batches with {@code UNWIND}, keyed by the
+ * PostgreSQL id each node carries (e.g. {@code brandId}) rather than by the
+ * generated node id. Every write is a {@code MERGE}, so replaying a batch
+ * leaves the graph as it was. Row lists are sent {@code batchSize} rows per
+ * query, and each query commits on its own.
+ *
+ * Node properties are converted with the same binder Spring Data Neo4j uses
+ * when saving, so nodes written here are indistinguishable from nodes saved
+ * through the repositories.
+ */
+@Component
+@RequiredArgsConstructor
+public class Neo4jGraphWriter {
+
+    private final Neo4jClient neo4jClient;
+    private final Neo4jMappingContext mappingContext;
+
+    @Value("${migration.neo4j.batch-size:5000}")
+    private int batchSize;
+
+    /**
+     * A relationship type between two keyed node labels, written from the
+     * {@code from} side.
+     */
+    public record RelationshipType(String fromLabel, String fromKey, String type, String toLabel, String toKey) {
+    }
+
+    /**
+     * One relationship between the nodes with the given keys.
+     */
+    public record Link(UUID from, UUID to, Map<String, Object> properties) {
+
+        public static Link of(UUID from, UUID to) {
+            return new Link(from, to, Map.of());
+        }
+    }
+
+    /**
+     * Creates or updates nodes by key. A created node gets a fresh generated id,
+     * as if saved by its repository; relationships are left alone.
+     *
+     * @return number of nodes written
+     */
+    @SuppressWarnings("unchecked")
+    public <N> long mergeNodes(Class<N> nodeType, String keyProperty, List<N> nodes) {
+        if (nodes.isEmpty()) {
+            return 0;
+        }
+        String label = mappingContext.getRequiredPersistentEntity(nodeType).getPrimaryLabel();
+        Function<N, Map<String, Object>> binder = mappingContext.getRequiredBinderFunctionFor(nodeType);
+        List<Map<String, Object>> rows = nodes.stream().map(node -> {
+            Map<String, Object> properties = new HashMap<>(
+                    (Map<String, Object>) binder.apply(node).get(Constants.NAME_OF_PROPERTIES_PARAM));
+            // The generated id is kept from the existing node or set on create
+            properties.remove("id");
+            Map<String, Object> row = new HashMap<>();
+            row.put("key", properties.get(keyProperty));
+            row.put("props", properties);
+            return row;
+        }).toList();
+
+        String cypher = "UNWIND $rows AS row "
+                + "MERGE (n:" + label + " {" + keyProperty + ": row.key}) "
+                + "ON CREATE SET n.id = randomUUID() "
+                + "SET n += row.props";
+        for (List<Map<String, Object>> batch : batches(rows)) {
+            neo4jClient.query(cypher).bind(batch).to("rows").run();
+        }
+        return rows.size();
+    }
+
+    /**
+     * Removes nodes by key together with all of their relationships.
+     *
+     * @return number of nodes deleted
+     */
+    public long deleteNodes(String label, String keyProperty, Collection<UUID> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        String cypher = "UNWIND $keys AS key "
+                + "MATCH (n:" + label + " {" + keyProperty + ": key}) "
+                + "DETACH DELETE n";
+        long deleted = 0;
+        for (List<String> batch : batches(keys.stream().map(UUID::toString).toList())) {
+            deleted += neo4jClient.query(cypher).bind(batch).to("keys").run().counters().nodesDeleted();
+        }
+        return deleted;
+    }
+
+    /**
+     * Makes {@code links} the only relationships of this type going out of the
+     * given source nodes: existing ones are removed and the links merged.
+     *
+     * @return number of relationships written
+     */
+    public long replaceRelationships(RelationshipType type, Collection<UUID> sources, List<Link> links) {
+        String cypher = "UNWIND $sources AS source "
+                + "MATCH (s:" + type.fromLabel() + " {" + type.fromKey() + ": source})"
+                + "-[r:" + type.type() + "]->(:" + type.toLabel() + ") "
+                + "DELETE r";
+        for (List<String> batch : batches(sources.stream().map(UUID::toString).toList())) {
+            neo4jClient.query(cypher).bind(batch).to("sources").run();
+        }
+        return mergeRelationships(type, links);
+    }
+
+    /**
+     * Creates or updates relationships between nodes matched by key. Links
+     * whose source or target node does not exist are skipped.
+     *
+     * @return number of relationships written
+     */
+    public long mergeRelationships(RelationshipType type, List<Link> links) {
+        if (links.isEmpty()) {
+            return 0;
+        }
+        List<Map<String, Object>> rows = links.stream().map(link -> {
+            Map<String, Object> row = new HashMap<>();
+            row.put("from", link.from().toString());
+            row.put("to", link.to().toString());
+            row.put("props", toGraphValues(link.properties()));
+            return row;
+        }).toList();
+        String cypher = "UNWIND $rows AS row "
+                + "MATCH (s:" + type.fromLabel() + " {" + type.fromKey() + ": row.from}) "
+                + "MATCH (t:" + type.toLabel() + " {" + type.toKey() + ": row.to}) "
+                + "MERGE (s)-[r:" + type.type() + "]->(t) "
+                + "SET r += row.props";
+        long written = 0;
+        for (List<Map<String, Object>> batch : batches(rows)) {
+            // MERGE reports only new relationships; count the rows that found both ends
+            written += neo4jClient.query(cypher + " RETURN count(r) AS written")
+                    .bind(batch).to("rows")
+                    .fetchAs(Long.class).one().orElse(0L);
+        }
+        return written;
+    }
+
+    /**
+     * Makes the key property unique for the label, which also gives every
+     * {@code MERGE} and {@code MATCH} above an index seek instead of a label
+     * scan. Idempotent.
+     */
+    public void ensureKeyConstraint(String label, String keyProperty) {
+        neo4jClient.query("CREATE CONSTRAINT " + label.toLowerCase() + "_" + keyProperty + "_unique IF NOT EXISTS "
+                        + "FOR (n:" + label + ") REQUIRE n." + keyProperty + " IS UNIQUE")
+                .run();
+    }
+
+    private <T> List<List<T>> batches(List<T> rows) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            batches.add(rows.subList(from, Math.min(rows.size(), from + batchSize)));
+        }
+        return batches;
+    }
+
+    /**
+     * Stores relationship properties the way Spring Data Neo4j does by default:
+     * ids and decimals as strings.
+     */
+    private static Map<String, Object> toGraphValues(Map<String, Object> properties) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        properties.forEach((name, value) -> values.put(name,
+                value instanceof UUID || value instanceof BigDecimal ? value.toString() : value));
+        return values;
+    }
+}
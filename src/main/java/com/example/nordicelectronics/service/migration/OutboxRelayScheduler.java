@@ -0,0 +1,25 @@
+package com.example.nordicelectronics.service.migration;
+
+import com.example.nordicelectronics.service.OutboxRelayService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Polls the outbox when {@code migration.outbox.enabled=true}. Each poll
+ * drains what is waiting, so under load the relay runs back to back and the
+ * poll interval only bounds the delay of a write arriving when it is idle.
+ */
+@Component
+@ConditionalOnProperty(name = "migration.outbox.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class OutboxRelayScheduler {
+
+    private final OutboxRelayService outboxRelayService;
+
+    @Scheduled(fixedDelayString = "${migration.outbox.poll-interval:PT0.2S}")
+    public void relay() {
+        outboxRelayService.relayAll();
+    }
+}
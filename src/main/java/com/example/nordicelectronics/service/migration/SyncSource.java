@@ -0,0 +1,57 @@
+package com.example.nordicelectronics.service.migration;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * PostgreSQL tables the incremental sync watches, each with its own
+ * high-water mark on {@code updated_at}. Stock rows are watched twice so a
+ * stock change marks both the product and the warehouse as changed without
+ * being mistaken for a change to the product itself.
+ */
+public enum SyncSource {
+    BRAND("brand", "brand_id"),
+    CATEGORY("category", "category_id"),
+    WARRANTY("warranty", "warranty_id"),
+    COUPON("coupon", "coupon_id"),
+    USER("\"user\"", "user_id"),
+    ADDRESS("address", "address_id"),
+    WAREHOUSE("warehouse", "warehouse_id"),
+    PRODUCT("product", "product_id"),
+    STOCK_PRODUCT("warehouse_product", "product_id"),
+    STOCK_WAREHOUSE("warehouse_product", "warehouse_id"),
+    ORDER("\"order\"", "order_id"),
+    PAYMENT("payment", "payment_id"),
+    REVIEW("review", "review_id");
+
+    private final String table;
+    private final String idColumn;
+
+    SyncSource(String table, String idColumn) {
+        this.table = table;
+        this.idColumn = idColumn;
+    }
+
+    public String table() {
+        return table;
+    }
+
+    public String idColumn() {
+        return idColumn;
+    }
+
+    /**
+     * Name stored in {@code sync_watermark.source}.
+     */
+    public String key() {
+        return name().toLowerCase();
+    }
+
+    public static SyncSource fromKey(String key) {
+        return valueOf(key.toUpperCase());
+    }
+
+    public static List<String> keys() {
+        return Arrays.stream(values()).map(SyncSource::key).toList();
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.nordicelectronics.service.migration;
+
+import java.util.Map;
+
+/**
+ * A store kept in step with PostgreSQL by the incremental sync.
+ */
+public interface SyncTarget {
+
+    /**
+     * Name stored in {@code sync_watermark.target}.
+     */
+    String targetName();
+
+    /**
+     * Projects the changed rows again, together with every document or node
+     * that embeds them, and removes those whose rows are gone or soft-deleted.
+     * Must be idempotent: rows near the high-water mark are replayed.
+     *
+     * @return number of documents or nodes written and removed, by collection or label
+     */
+    Map<String, Long> applyChanges(ChangeSet changes);
+}
@@ -2,12 +2,15 @@ package com.example.nordicelectronics.service.mongodb;
 
 import com.example.nordicelectronics.entity.mongodb.AddressDocument;
 import com.example.nordicelectronics.repositories.mongodb.AddressMongoRepository;
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.MongoListReader;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @ConditionalOnProperty(name = "spring.data.mongodb.enabled", havingValue = "true", matchIfMissing = true)
@@ -15,9 +18,14 @@ import java.util.UUID;
 public class AddressMongoService {
 
     private final AddressMongoRepository addressMongoRepository;
+    private final MongoListReader mongoListReader;
 
-    public List<AddressDocument> getAll() {
-        return addressMongoRepository.findAll();
+    public CursorPage<AddressDocument> getPage(Integer limit, String cursor) {
+        return mongoListReader.page(AddressDocument.class, "addressId", AddressDocument::getAddressId, limit, cursor);
+    }
+
+    public void streamAll(Consumer<AddressDocument> writer) {
+        mongoListReader.stream(AddressDocument.class, writer);
     }
 
     public AddressDocument getByAddressId(UUID addressId) {
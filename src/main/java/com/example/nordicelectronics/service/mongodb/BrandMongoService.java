@@ -2,12 +2,14 @@ package com.example.nordicelectronics.service.mongodb;
 
 import com.example.nordicelectronics.entity.mongodb.BrandDocument;
 import com.example.nordicelectronics.repositories.mongodb.BrandMongoRepository;
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.MongoListReader;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @ConditionalOnProperty(name = "spring.data.mongodb.enabled", havingValue = "true", matchIfMissing = true)
@@ -15,9 +17,14 @@ import java.util.UUID;
 public class BrandMongoService {
 
     private final BrandMongoRepository brandMongoRepository;
+    private final MongoListReader mongoListReader;
 
-    public List<BrandDocument> getAll() {
-        return brandMongoRepository.findAll();
+    public CursorPage<BrandDocument> getPage(Integer limit, String cursor) {
+        return mongoListReader.page(BrandDocument.class, "brandId", BrandDocument::getBrandId, limit, cursor);
+    }
+
+    public void streamAll(Consumer<BrandDocument> writer) {
+        mongoListReader.stream(BrandDocument.class, writer);
     }
 
     public BrandDocument getByBrandId(UUID brandId) {
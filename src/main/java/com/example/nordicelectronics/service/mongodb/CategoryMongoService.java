@@ -2,12 +2,14 @@ package com.example.nordicelectronics.service.mongodb;
 
 import com.example.nordicelectronics.entity.mongodb.CategoryDocument;
 import com.example.nordicelectronics.repositories.mongodb.CategoryMongoRepository;
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.MongoListReader;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @ConditionalOnProperty(name = "spring.data.mongodb.enabled", havingValue = "true", matchIfMissing = true)
@@ -15,9 +17,14 @@ import java.util.UUID;
 public class CategoryMongoService {
 
     private final CategoryMongoRepository categoryMongoRepository;
+    private final MongoListReader mongoListReader;
 
-    public List<CategoryDocument> getAll() {
-        return categoryMongoRepository.findAll();
+    public CursorPage<CategoryDocument> getPage(Integer limit, String cursor) {
+        return mongoListReader.page(CategoryDocument.class, "categoryId", CategoryDocument::getCategoryId, limit, cursor);
+    }
+
+    public void streamAll(Consumer<CategoryDocument> writer) {
+        mongoListReader.stream(CategoryDocument.class, writer);
     }
 
     public CategoryDocument getByCategoryId(UUID categoryId) {
@@ -2,12 +2,15 @@ package com.example.nordicelectronics.service.mongodb;
 
 import com.example.nordicelectronics.entity.mongodb.CouponDocument;
 import com.example.nordicelectronics.repositories.mongodb.CouponMongoRepository;
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.MongoListReader;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @ConditionalOnProperty(name = "spring.data.mongodb.enabled", havingValue = "true", matchIfMissing = true)
@@ -15,9 +18,14 @@ import java.util.UUID;
 public class CouponMongoService {
 
     private final CouponMongoRepository couponMongoRepository;
+    private final MongoListReader mongoListReader;
 
-    public List<CouponDocument> getAll() {
-        return couponMongoRepository.findAll();
+    public CursorPage<CouponDocument> getPage(Integer limit, String cursor) {
+        return mongoListReader.page(CouponDocument.class, "couponId", CouponDocument::getCouponId, limit, cursor);
+    }
+
+    public void streamAll(Consumer<CouponDocument> writer) {
+        mongoListReader.stream(CouponDocument.class, writer);
     }
 
     public CouponDocument getByCouponId(UUID couponId) {
@@ -3,12 +3,19 @@ package com.example.nordicelectronics.service.mongodb;
 import com.example.nordicelectronics.entity.enums.OrderStatus;
 import com.example.nordicelectronics.entity.mongodb.OrderDocument;
 import com.example.nordicelectronics.repositories.mongodb.OrderMongoRepository;
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.MongoListReader;
+import com.example.nordicelectronics.service.pagination.ReactiveMongoReader;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @ConditionalOnProperty(name = "spring.data.mongodb.enabled", havingValue = "true", matchIfMissing = true)
@@ -16,9 +23,15 @@ import java.util.UUID;
 public class OrderMongoService {
 
     private final OrderMongoRepository orderMongoRepository;
+    private final MongoListReader mongoListReader;
+    private final ReactiveMongoReader reactiveMongoReader;
 
-    public List<OrderDocument> getAll() {
-        return orderMongoRepository.findAll();
+    public CursorPage<OrderDocument> getPage(Integer limit, String cursor) {
+        return mongoListReader.page(OrderDocument.class, "orderId", OrderDocument::getOrderId, limit, cursor);
+    }
+
+    public void streamAll(Consumer<OrderDocument> writer) {
+        mongoListReader.stream(OrderDocument.class, writer);
     }
 
     public OrderDocument getByOrderId(UUID orderId) {
@@ -30,6 +43,15 @@ public class OrderMongoService {
         return orderMongoRepository.findByCustomerUserId(userId);
     }
 
+    /**
+     * The order history of a user, newest first, on the same index as
+     * {@link #getByUserId(UUID)}.
+     */
+    public Flux<OrderDocument> streamByUserId(UUID userId) {
+        return reactiveMongoReader.find(Criteria.where("customer.userId").is(userId),
+                Sort.by(Sort.Direction.DESC, "orderDate"), OrderDocument.class);
+    }
+
     public List<OrderDocument> getByStatus(OrderStatus status) {
         return orderMongoRepository.findByOrderStatus(status);
     }
@@ -3,12 +3,15 @@ package com.example.nordicelectronics.service.mongodb;
 import com.example.nordicelectronics.entity.enums.PaymentStatus;
 import com.example.nordicelectronics.entity.mongodb.PaymentDocument;
 import com.example.nordicelectronics.repositories.mongodb.PaymentMongoRepository;
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.MongoListReader;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @ConditionalOnProperty(name = "spring.data.mongodb.enabled", havingValue = "true", matchIfMissing = true)
@@ -16,9 +19,14 @@ import java.util.UUID;
 public class PaymentMongoService {
 
     private final PaymentMongoRepository paymentMongoRepository;
+    private final MongoListReader mongoListReader;
 
-    public List<PaymentDocument> getAll() {
-        return paymentMongoRepository.findAll();
+    public CursorPage<PaymentDocument> getPage(Integer limit, String cursor) {
+        return mongoListReader.page(PaymentDocument.class, "paymentId", PaymentDocument::getPaymentId, limit, cursor);
+    }
+
+    public void streamAll(Consumer<PaymentDocument> writer) {
+        mongoListReader.stream(PaymentDocument.class, writer);
     }
 
     public PaymentDocument getByPaymentId(UUID paymentId) {
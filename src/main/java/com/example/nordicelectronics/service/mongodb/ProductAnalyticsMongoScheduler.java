@@ -0,0 +1,30 @@
+package com.example.nordicelectronics.service.mongodb;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the MongoDB analytics summaries on {@code analytics.mongodb.refresh-cron},
+ * daily at 3 AM by default like the pg_cron refresh of the PostgreSQL views.
+ * A cron of {@code -} turns the schedule off.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.data.mongodb.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class ProductAnalyticsMongoScheduler {
+
+    private final ProductAnalyticsMongoService productAnalyticsMongoService;
+
+    @Scheduled(cron = "${analytics.mongodb.refresh-cron:0 0 3 * * *}")
+    public void refresh() {
+        try {
+            productAnalyticsMongoService.refreshAnalytics();
+        } catch (RuntimeException e) {
+            log.error("Scheduled MongoDB analytics refresh failed: {}", e.getMessage(), e);
+        }
+    }
+}
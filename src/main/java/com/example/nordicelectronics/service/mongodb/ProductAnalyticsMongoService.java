@@ -0,0 +1,137 @@
+package com.example.nordicelectronics.service.mongodb;
+
+import com.example.nordicelectronics.entity.mongodb.BestReviewedProductDocument;
+import com.example.nordicelectronics.entity.mongodb.BestSellingProductDocument;
+import com.example.nordicelectronics.entity.mongodb.OrderDocument;
+import com.example.nordicelectronics.entity.mongodb.ProductDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.aggregation.LiteralOperators;
+import org.springframework.data.mongodb.core.aggregation.MergeOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Best-selling and best-reviewed products computed by aggregation pipelines
+ * over the embedded order lines and the review totals of each product,
+ * mirroring the PostgreSQL
+ * materialized views {@code mv_best_selling_products} and
+ * {@code mv_best_reviewed_products}.
+ *
+ * A refresh {@code $merge}s the top {@code analytics.mongodb.top-size}
+ * products into a summary collection and then removes rows left over from the
+ * previous refresh, so reads are an index-ordered scan of a few documents
+ * instead of a pass over every order.
+ */
+@Service
+@ConditionalOnProperty(name = "spring.data.mongodb.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class ProductAnalyticsMongoService {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${analytics.mongodb.top-size:10}")
+    private int topSize;
+
+    public List<BestSellingProductDocument> getBestSellingProducts() {
+        Query query = new Query().with(Sort.by(Sort.Direction.DESC, "totalUnitsSold"));
+        return mongoTemplate.find(query, BestSellingProductDocument.class);
+    }
+
+    public List<BestReviewedProductDocument> getBestReviewedProducts() {
+        Query query = new Query().with(Sort.by(Sort.Direction.DESC, "averageRating", "numberOfReviews"));
+        return mongoTemplate.find(query, BestReviewedProductDocument.class);
+    }
+
+    public void refreshAnalytics() {
+        long startTime = System.currentTimeMillis();
+        // Stored dates have millisecond precision
+        Instant computedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        refresh(OrderDocument.class, bestSellingPipeline(computedAt), BestSellingProductDocument.class, computedAt);
+        refresh(ProductDocument.class, bestReviewedPipeline(computedAt), BestReviewedProductDocument.class, computedAt);
+        log.info("MongoDB analytics summaries refreshed in {} ms", System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Units sold and revenue per product over orders placed since the start of
+     * the day a month ago. Prices are stored as strings, so they are converted
+     * to decimals before summing. Like the view, soft-deleted products are
+     * dropped before ranking, so they never take a place in the top, and the
+     * current product name and price are reported.
+     */
+    private Aggregation bestSellingPipeline(Instant computedAt) {
+        Date since = Date.from(LocalDate.now().minusMonths(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
+        return Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("order_date").gte(since).and("deletedAt").is(null)),
+                Aggregation.unwind("order_products"),
+                Aggregation.group("order_products.productId")
+                        .sum("order_products.quantity").as("total_units_sold")
+                        .sum(ConvertOperators.valueOf("order_products.totalPrice").convertToDecimal())
+                        .as("revenue_generated"),
+                Aggregation.lookup(mongoTemplate.getCollectionName(ProductDocument.class),
+                        "_id", "product_id", "product"),
+                Aggregation.unwind("product"),
+                Aggregation.match(Criteria.where("product.deletedAt").is(null)),
+                Aggregation.sort(Sort.Direction.DESC, "total_units_sold"),
+                Aggregation.limit(topSize),
+                Aggregation.project("total_units_sold", "revenue_generated")
+                        .and("product.name").as("product_name")
+                        .and(ConvertOperators.valueOf("product.price").convertToDecimal()).as("product_price")
+                        .and(LiteralOperators.Literal.asLiteral(Date.from(computedAt))).as("computed_at"),
+                merge(BestSellingProductDocument.class));
+    }
+
+    /**
+     * Average rating and number of reviews per product from the stored review
+     * totals, so only the embedded most recent reviews are bounded and no
+     * review is unwound. Rounded to two places like the view.
+     */
+    private Aggregation bestReviewedPipeline(Instant computedAt) {
+        return Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("review_count").gte(1).and("deletedAt").is(null)),
+                Aggregation.project()
+                        .and("product_id").as("_id")
+                        .and("name").as("product_name")
+                        .and("review_count").as("number_of_reviews")
+                        .and(ArithmeticOperators.Round.roundValueOf(
+                                ArithmeticOperators.Divide.valueOf("rating_sum").divideBy("review_count")).place(2))
+                        .as("average_rating")
+                        .and(ConvertOperators.valueOf("price").convertToDecimal()).as("product_price")
+                        .and(LiteralOperators.Literal.asLiteral(Date.from(computedAt))).as("computed_at"),
+                Aggregation.sort(Sort.Direction.DESC, "average_rating", "number_of_reviews"),
+                Aggregation.limit(topSize),
+                merge(BestReviewedProductDocument.class));
+    }
+
+    private MergeOperation merge(Class<?> summaryType) {
+        return Aggregation.merge()
+                .intoCollection(mongoTemplate.getCollectionName(summaryType))
+                .on("_id")
+                .whenMatched(MergeOperation.WhenDocumentsMatch.replaceDocument())
+                .whenDocumentsDontMatch(MergeOperation.WhenDocumentsDontMatch.insertNewDocument())
+                .build();
+    }
+
+    private void refresh(Class<?> sourceType, Aggregation pipeline, Class<?> summaryType, Instant computedAt) {
+        mongoTemplate.aggregate(pipeline, mongoTemplate.getCollectionName(sourceType), Document.class);
+        // Products that dropped out of the top since the last refresh
+        mongoTemplate.remove(Query.query(Criteria.where("computedAt").lt(computedAt)), summaryType);
+    }
+}
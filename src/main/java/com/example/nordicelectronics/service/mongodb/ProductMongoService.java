@@ -1,13 +1,27 @@
 package com.example.nordicelectronics.service.mongodb;
 
 import com.example.nordicelectronics.entity.mongodb.ProductDocument;
+import com.example.nordicelectronics.entity.mongodb.projection.ProductReadModel;
+import com.example.nordicelectronics.entity.mongodb.projection.ProductView;
 import com.example.nordicelectronics.repositories.mongodb.ProductMongoRepository;
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.MongoListReader;
+import com.example.nordicelectronics.service.pagination.ReactiveMongoReader;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @ConditionalOnProperty(name = "spring.data.mongodb.enabled", havingValue = "true", matchIfMissing = true)
@@ -15,9 +29,22 @@ import java.util.UUID;
 public class ProductMongoService {
 
     private final ProductMongoRepository productMongoRepository;
+    private final MongoListReader mongoListReader;
+    private final ReactiveMongoReader reactiveMongoReader;
+    private final MongoTemplate mongoTemplate;
+    private final ProductReviewSummary productReviewSummary;
 
-    public List<ProductDocument> getAll() {
-        return productMongoRepository.findAll();
+    public CursorPage<ProductDocument> getPage(Integer limit, String cursor) {
+        return mongoListReader.page(ProductDocument.class, "productId", ProductDocument::getProductId, limit, cursor);
+    }
+
+    public CursorPage<? extends ProductReadModel> getPage(Integer limit, String cursor, ProductView view) {
+        return mongoListReader.page(ProductDocument.class, "product_id", view.projection(), view.getType(),
+                ProductReadModel::productId, limit, cursor);
+    }
+
+    public void streamAll(Consumer<ProductDocument> writer) {
+        mongoListReader.stream(ProductDocument.class, writer);
     }
 
     public ProductDocument getByProductId(UUID productId) {
@@ -25,6 +52,12 @@ public class ProductMongoService {
                 .orElseThrow(() -> new RuntimeException("Product not found with ID: " + productId));
     }
 
+    public ProductReadModel getByProductId(UUID productId, ProductView view) {
+        return find(Criteria.where("product_id").is(productId), view).stream()
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Product not found with ID: " + productId));
+    }
+
     public ProductDocument getBySku(String sku) {
         return productMongoRepository.findBySku(sku)
                 .orElseThrow(() -> new RuntimeException("Product not found with SKU: " + sku));
@@ -38,31 +71,77 @@ public class ProductMongoService {
         return productMongoRepository.findByCategoryId(categoryId);
     }
 
+    public List<? extends ProductReadModel> getByBrandId(UUID brandId, ProductView view) {
+        return find(Criteria.where("brand.brandId").is(brandId), view);
+    }
+
+    public List<? extends ProductReadModel> getByCategoryId(UUID categoryId, ProductView view) {
+        return find(Criteria.where("categories.categoryId").is(categoryId), view);
+    }
+
+    /**
+     * Streams the products of a brand, in the given view or as full
+     * documents when view is null.
+     */
+    public Flux<?> streamByBrandId(UUID brandId, ProductView view) {
+        return stream(Criteria.where("brand.brandId").is(brandId), view);
+    }
+
+    public Flux<?> streamByCategoryId(UUID categoryId, ProductView view) {
+        return stream(Criteria.where("categories.categoryId").is(categoryId), view);
+    }
+
     public ProductDocument save(ProductDocument productDocument) {
         if (productDocument.getProductId() == null) {
             productDocument.setProductId(UUID.randomUUID());
         }
+        productReviewSummary.embed(productDocument, productDocument.getReviews());
         return productMongoRepository.save(productDocument);
     }
 
+    /**
+     * Sets the edited fields in place. Reviews and their totals are maintained
+     * through {@link ProductReviewSummary} with their own atomic updates, so
+     * they are left out rather than written back from a stale read.
+     */
     public ProductDocument update(UUID productId, ProductDocument productDocument) {
-        ProductDocument existing = getByProductId(productId);
-        
-        existing.setSku(productDocument.getSku());
-        existing.setName(productDocument.getName());
-        existing.setDescription(productDocument.getDescription());
-        existing.setPrice(productDocument.getPrice());
-        existing.setWeight(productDocument.getWeight());
-        existing.setBrand(productDocument.getBrand());
-        existing.setCategories(productDocument.getCategories());
-        existing.setWarranty(productDocument.getWarranty());
-        existing.setReviews(productDocument.getReviews());
-        existing.setWarehouseStock(productDocument.getWarehouseStock());
-
-        return productMongoRepository.save(existing);
+        Update update = new Update()
+                .set("sku", productDocument.getSku())
+                .set("name", productDocument.getName())
+                .set("description", productDocument.getDescription())
+                .set("price", productDocument.getPrice())
+                .set("weight", productDocument.getWeight())
+                .set("brand", productDocument.getBrand())
+                .set("categories", productDocument.getCategories())
+                .set("warranty", productDocument.getWarranty())
+                .set("warehouseStock", productDocument.getWarehouseStock());
+        ProductDocument updated = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("productId").is(productId)), update,
+                FindAndModifyOptions.options().returnNew(true), ProductDocument.class);
+        if (updated == null) {
+            throw new RuntimeException("Product not found with ID: " + productId);
+        }
+        return updated;
     }
 
     public void deleteByProductId(UUID productId) {
         productMongoRepository.deleteByProductId(productId);
     }
+
+    /**
+     * Runs the filter on the same indexes as the repository queries, returning
+     * only the view's fields.
+     */
+    private List<? extends ProductReadModel> find(Criteria criteria, ProductView view) {
+        Aggregation aggregation = Aggregation.newAggregation(Aggregation.match(criteria), view.projection());
+        return mongoTemplate.aggregate(aggregation, mongoTemplate.getCollectionName(ProductDocument.class),
+                view.getType()).getMappedResults();
+    }
+
+    private Flux<?> stream(Criteria criteria, ProductView view) {
+        if (view == null) {
+            return reactiveMongoReader.find(criteria, Sort.unsorted(), ProductDocument.class);
+        }
+        return reactiveMongoReader.find(criteria, view.projection(), ProductDocument.class, view.getType());
+    }
 }
@@ -0,0 +1,165 @@
+package com.example.nordicelectronics.service.mongodb;
+
+import com.example.nordicelectronics.entity.mongodb.ProductDocument;
+import com.example.nordicelectronics.entity.mongodb.ReviewDocument;
+import com.example.nordicelectronics.entity.mongodb.ReviewEmbedded;
+import com.example.nordicelectronics.entity.mongodb.UserDocument;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the reviews embedded in product documents bounded: only the
+ * {@code mongodb.products.embedded-reviews} most recent reviews are embedded,
+ * next to the count and rating sum over all of them. Every review is kept in
+ * the reviews collection, which is where older ones are read from.
+ *
+ * Adding or changing a review is one atomic update of the product, whose cost
+ * does not depend on how many reviews the product has. Removing an embedded
+ * review also re-reads the most recent ones from the reviews collection.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.data.mongodb.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ProductReviewSummary {
+
+    private static final Comparator<ReviewEmbedded> NEWEST_FIRST = Comparator.comparing(ReviewEmbedded::getCreatedAt,
+            Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${mongodb.products.embedded-reviews:10}")
+    private int embeddedReviews;
+
+    /**
+     * Sets the embedded reviews and totals of a product that is about to be
+     * written, from all of its reviews.
+     */
+    public void embed(ProductDocument product, List<ReviewEmbedded> reviews) {
+        List<ReviewEmbedded> all = reviews == null ? List.of() : reviews;
+        product.setReviewCount(all.size());
+        product.setRatingSum(all.stream().mapToLong(ReviewEmbedded::getReviewValue).sum());
+        product.setReviews(all.stream()
+                .sorted(NEWEST_FIRST)
+                .limit(embeddedReviews)
+                .collect(Collectors.toCollection(ArrayList::new)));
+    }
+
+    public void added(ReviewDocument review) {
+        if (review.getProductId() == null) {
+            return;
+        }
+        Update update = new Update()
+                .inc("reviewCount", 1)
+                .inc("ratingSum", review.getReviewValue())
+                .push("reviews")
+                .sort(Sort.by(Sort.Direction.DESC, "createdAt"))
+                .slice(embeddedReviews)
+                .each(toEmbedded(List.of(review)).get(0));
+        mongoTemplate.updateFirst(byProduct(review.getProductId()), update, ProductDocument.class);
+    }
+
+    /**
+     * @param previousProductId the product the review belonged to before the change
+     * @param previousValue     the rating before the change
+     */
+    public void changed(UUID previousProductId, int previousValue, ReviewDocument review) {
+        if (!Objects.equals(previousProductId, review.getProductId())) {
+            removed(previousProductId, review.getReviewId(), previousValue);
+            added(review);
+            return;
+        }
+        if (review.getProductId() == null) {
+            return;
+        }
+        // Replaces the review if it is one of the embedded ones, otherwise only the totals change
+        Update update = new Update()
+                .inc("ratingSum", review.getReviewValue() - previousValue)
+                .set("reviews.$[review]", toEmbedded(List.of(review)).get(0))
+                .filterArray(Criteria.where("review.reviewId").is(review.getReviewId()));
+        mongoTemplate.updateFirst(byProduct(review.getProductId()), update, ProductDocument.class);
+    }
+
+    public void removed(UUID productId, UUID reviewId, int reviewValue) {
+        if (productId == null) {
+            return;
+        }
+        Update update = new Update()
+                .inc("reviewCount", -1)
+                .inc("ratingSum", -reviewValue)
+                .pull("reviews", new Document("reviewId", reviewId));
+        Query query = byProduct(productId);
+        query.fields().include("reviewCount", "reviews");
+        ProductDocument product = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), ProductDocument.class);
+        int embedded = product == null || product.getReviews() == null ? 0 : product.getReviews().size();
+        if (product != null && embedded < Math.min(embeddedReviews, product.getReviewCount())) {
+            refill(productId);
+        }
+    }
+
+    /**
+     * Embeds the most recent reviews of a product again, after one of them was
+     * removed and a slot became free.
+     */
+    private void refill(UUID productId) {
+        Query newest = Query.query(Criteria.where("productId").is(productId))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt"))
+                .limit(embeddedReviews);
+        List<ReviewEmbedded> reviews = toEmbedded(mongoTemplate.find(newest, ReviewDocument.class));
+        mongoTemplate.updateFirst(byProduct(productId), new Update().set("reviews", reviews), ProductDocument.class);
+    }
+
+    private List<ReviewEmbedded> toEmbedded(List<ReviewDocument> reviews) {
+        Map<UUID, String> userNames = userNames(reviews.stream()
+                .map(ReviewDocument::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        return reviews.stream()
+                .map(review -> ReviewEmbedded.builder()
+                        .reviewId(review.getReviewId())
+                        .userId(review.getUserId())
+                        .userName(userNames.get(review.getUserId()))
+                        .reviewValue(review.getReviewValue())
+                        .title(review.getTitle())
+                        .comment(review.getComment())
+                        .isVerifiedPurchase(review.isVerifiedPurchase())
+                        .createdAt(review.getCreatedAt())
+                        .build())
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private Map<UUID, String> userNames(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            // Reviews without a user look up null, which Map.of() rejects
+            return new HashMap<>();
+        }
+        Query query = Query.query(Criteria.where("userId").in(userIds));
+        query.fields().include("userId", "firstName", "lastName");
+        return mongoTemplate.find(query, UserDocument.class).stream()
+                .collect(Collectors.toMap(UserDocument::getUserId,
+                        user -> user.getFirstName() + " " + user.getLastName(), (first, second) -> first));
+    }
+
+    private static Query byProduct(UUID productId) {
+        return Query.query(Criteria.where("productId").is(productId));
+    }
+}
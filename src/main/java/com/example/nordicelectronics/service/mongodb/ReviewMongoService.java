@@ -2,12 +2,19 @@ package com.example.nordicelectronics.service.mongodb;
 
 import com.example.nordicelectronics.entity.mongodb.ReviewDocument;
 import com.example.nordicelectronics.repositories.mongodb.ReviewMongoRepository;
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.MongoListReader;
+import com.example.nordicelectronics.service.pagination.ReactiveMongoReader;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @ConditionalOnProperty(name = "spring.data.mongodb.enabled", havingValue = "true", matchIfMissing = true)
@@ -15,9 +22,16 @@ import java.util.UUID;
 public class ReviewMongoService {
 
     private final ReviewMongoRepository reviewMongoRepository;
+    private final MongoListReader mongoListReader;
+    private final ReactiveMongoReader reactiveMongoReader;
+    private final ProductReviewSummary productReviewSummary;
 
-    public List<ReviewDocument> getAll() {
-        return reviewMongoRepository.findAll();
+    public CursorPage<ReviewDocument> getPage(Integer limit, String cursor) {
+        return mongoListReader.page(ReviewDocument.class, "reviewId", ReviewDocument::getReviewId, limit, cursor);
+    }
+
+    public void streamAll(Consumer<ReviewDocument> writer) {
+        mongoListReader.stream(ReviewDocument.class, writer);
     }
 
     public ReviewDocument getByReviewId(UUID reviewId) {
@@ -29,6 +43,15 @@ public class ReviewMongoService {
         return reviewMongoRepository.findByProductId(productId);
     }
 
+    /**
+     * Every review of a product, newest first, including those no longer
+     * embedded in the product document.
+     */
+    public Flux<ReviewDocument> streamByProductId(UUID productId) {
+        return reactiveMongoReader.find(Criteria.where("productId").is(productId),
+                Sort.by(Sort.Direction.DESC, "createdAt"), ReviewDocument.class);
+    }
+
     public List<ReviewDocument> getByUserId(UUID userId) {
         return reviewMongoRepository.findByUserId(userId);
     }
@@ -41,11 +64,15 @@ public class ReviewMongoService {
         if (reviewDocument.getReviewId() == null) {
             reviewDocument.setReviewId(UUID.randomUUID());
         }
-        return reviewMongoRepository.save(reviewDocument);
+        ReviewDocument saved = reviewMongoRepository.save(reviewDocument);
+        productReviewSummary.added(saved);
+        return saved;
     }
 
     public ReviewDocument update(UUID reviewId, ReviewDocument reviewDocument) {
         ReviewDocument existing = getByReviewId(reviewId);
+        UUID previousProductId = existing.getProductId();
+        int previousValue = existing.getReviewValue();
         
         existing.setUserId(reviewDocument.getUserId());
         existing.setOrderId(reviewDocument.getOrderId());
@@ -55,11 +82,16 @@ public class ReviewMongoService {
         existing.setVerifiedPurchase(reviewDocument.isVerifiedPurchase());
         existing.setProductId(reviewDocument.getProductId());
 
-        return reviewMongoRepository.save(existing);
+        ReviewDocument saved = reviewMongoRepository.save(existing);
+        productReviewSummary.changed(previousProductId, previousValue, saved);
+        return saved;
     }
 
     public void deleteByReviewId(UUID reviewId) {
-        reviewMongoRepository.deleteByReviewId(reviewId);
+        reviewMongoRepository.findByReviewId(reviewId).ifPresent(review -> {
+            reviewMongoRepository.deleteByReviewId(reviewId);
+            productReviewSummary.removed(review.getProductId(), reviewId, review.getReviewValue());
+        });
     }
 }
 
@@ -2,12 +2,14 @@ package com.example.nordicelectronics.service.mongodb;
 
 import com.example.nordicelectronics.entity.mongodb.UserDocument;
 import com.example.nordicelectronics.repositories.mongodb.UserMongoRepository;
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.MongoListReader;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @ConditionalOnProperty(name = "spring.data.mongodb.enabled", havingValue = "true", matchIfMissing = true)
@@ -15,9 +17,14 @@ import java.util.UUID;
 public class UserMongoService {
 
     private final UserMongoRepository userMongoRepository;
+    private final MongoListReader mongoListReader;
 
-    public List<UserDocument> getAll() {
-        return userMongoRepository.findAll();
+    public CursorPage<UserDocument> getPage(Integer limit, String cursor) {
+        return mongoListReader.page(UserDocument.class, "userId", UserDocument::getUserId, limit, cursor);
+    }
+
+    public void streamAll(Consumer<UserDocument> writer) {
+        mongoListReader.stream(UserDocument.class, writer);
     }
 
     public UserDocument getByUserId(UUID userId) {
@@ -0,0 +1,113 @@
+package com.example.nordicelectronics.service.mongodb;
+
+import com.example.nordicelectronics.entity.mongodb.WarehouseDocument;
+import com.example.nordicelectronics.entity.mongodb.WarehouseInventoryBucketDocument;
+import com.example.nordicelectronics.entity.mongodb.WarehouseProductEmbedded;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Stores the inventory of a warehouse in {@link WarehouseInventoryBucketDocument}s
+ * of at most {@code mongodb.warehouses.inventory-bucket-size} stock lines, and
+ * keeps {@code product_count} on the warehouse in step with them.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.data.mongodb.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class WarehouseInventoryBuckets {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${mongodb.warehouses.inventory-bucket-size:200}")
+    private int bucketSize;
+
+    /**
+     * Replaces the whole inventory of each warehouse with its {@code products}.
+     */
+    public void replace(List<WarehouseDocument> warehouses) {
+        if (warehouses.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, WarehouseInventoryBucketDocument.class);
+        bulk.remove(byWarehouses(warehouses.stream().map(WarehouseDocument::getWarehouseId).toList()));
+        List<WarehouseInventoryBucketDocument> buckets = new ArrayList<>();
+        for (WarehouseDocument warehouse : warehouses) {
+            List<WarehouseProductEmbedded> products = warehouse.getProducts() == null ? List.of() : warehouse.getProducts();
+            for (int from = 0; from < products.size(); from += bucketSize) {
+                List<WarehouseProductEmbedded> slice = products.subList(from, Math.min(from + bucketSize, products.size()));
+                buckets.add(WarehouseInventoryBucketDocument.builder()
+                        .warehouseId(warehouse.getWarehouseId())
+                        .count(slice.size())
+                        .products(new ArrayList<>(slice))
+                        .build());
+            }
+        }
+        if (!buckets.isEmpty()) {
+            bulk.insert(buckets);
+        }
+        bulk.execute();
+    }
+
+    public void remove(Collection<UUID> warehouseIds) {
+        if (!warehouseIds.isEmpty()) {
+            mongoTemplate.remove(byWarehouses(warehouseIds), WarehouseInventoryBucketDocument.class);
+        }
+    }
+
+    public List<WarehouseProductEmbedded> products(UUID warehouseId) {
+        return mongoTemplate.find(byWarehouses(List.of(warehouseId)), WarehouseInventoryBucketDocument.class).stream()
+                .flatMap(bucket -> bucket.getProducts().stream())
+                .toList();
+    }
+
+    /**
+     * Sets the stock line of a product, adding it to a bucket with room when
+     * the warehouse does not stock the product yet.
+     */
+    public void put(UUID warehouseId, WarehouseProductEmbedded product) {
+        Query stocked = Query.query(Criteria.where("warehouseId").is(warehouseId)
+                .and("products.productId").is(product.getProductId()));
+        if (mongoTemplate.updateFirst(stocked, new Update().set("products.$", product),
+                WarehouseInventoryBucketDocument.class).getMatchedCount() > 0) {
+            return;
+        }
+        Query withRoom = Query.query(Criteria.where("warehouseId").is(warehouseId).and("count").lt(bucketSize));
+        mongoTemplate.upsert(withRoom, new Update().push("products", product).inc("count", 1),
+                WarehouseInventoryBucketDocument.class);
+        mongoTemplate.updateFirst(Query.query(Criteria.where("warehouseId").is(warehouseId)),
+                new Update().inc("productCount", 1), WarehouseDocument.class);
+    }
+
+    public void remove(UUID warehouseId, UUID productId) {
+        Query stocked = Query.query(Criteria.where("warehouseId").is(warehouseId)
+                .and("products.productId").is(productId));
+        UpdateResult result = mongoTemplate.updateFirst(stocked,
+                new Update().pull("products", new Document("productId", productId)).inc("count", -1),
+                WarehouseInventoryBucketDocument.class);
+        if (result.getModifiedCount() == 0) {
+            return;
+        }
+        mongoTemplate.remove(Query.query(Criteria.where("warehouseId").is(warehouseId).and("count").is(0)),
+                WarehouseInventoryBucketDocument.class);
+        mongoTemplate.updateFirst(Query.query(Criteria.where("warehouseId").is(warehouseId)),
+                new Update().inc("productCount", -1), WarehouseDocument.class);
+    }
+
+    private static Query byWarehouses(Collection<UUID> warehouseIds) {
+        return Query.query(Criteria.where("warehouseId").in(warehouseIds));
+    }
+}
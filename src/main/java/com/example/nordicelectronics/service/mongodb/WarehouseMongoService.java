@@ -1,13 +1,21 @@
 package com.example.nordicelectronics.service.mongodb;
 
 import com.example.nordicelectronics.entity.mongodb.WarehouseDocument;
+import com.example.nordicelectronics.entity.mongodb.WarehouseInventoryBucketDocument;
+import com.example.nordicelectronics.entity.mongodb.WarehouseProductEmbedded;
+import com.example.nordicelectronics.repositories.mongodb.WarehouseInventoryMongoRepository;
 import com.example.nordicelectronics.repositories.mongodb.WarehouseMongoRepository;
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.MongoListReader;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Service
 @ConditionalOnProperty(name = "spring.data.mongodb.enabled", havingValue = "true", matchIfMissing = true)
@@ -15,9 +23,16 @@ import java.util.UUID;
 public class WarehouseMongoService {
 
     private final WarehouseMongoRepository warehouseMongoRepository;
+    private final WarehouseInventoryMongoRepository warehouseInventoryMongoRepository;
+    private final WarehouseInventoryBuckets warehouseInventoryBuckets;
+    private final MongoListReader mongoListReader;
 
-    public List<WarehouseDocument> getAll() {
-        return warehouseMongoRepository.findAll();
+    public CursorPage<WarehouseDocument> getPage(Integer limit, String cursor) {
+        return mongoListReader.page(WarehouseDocument.class, "warehouseId", WarehouseDocument::getWarehouseId, limit, cursor);
+    }
+
+    public void streamAll(Consumer<WarehouseDocument> writer) {
+        mongoListReader.stream(WarehouseDocument.class, writer);
     }
 
     public WarehouseDocument getByWarehouseId(UUID warehouseId) {
@@ -29,7 +44,10 @@ public class WarehouseMongoService {
         if (warehouseDocument.getWarehouseId() == null) {
             warehouseDocument.setWarehouseId(UUID.randomUUID());
         }
-        return warehouseMongoRepository.save(warehouseDocument);
+        warehouseDocument.setProductCount(warehouseDocument.getProducts().size());
+        WarehouseDocument saved = warehouseMongoRepository.save(warehouseDocument);
+        warehouseInventoryBuckets.replace(List.of(saved));
+        return saved;
     }
 
     public WarehouseDocument update(UUID warehouseId, WarehouseDocument warehouseDocument) {
@@ -39,11 +57,43 @@ public class WarehouseMongoService {
         existing.setPhoneNumber(warehouseDocument.getPhoneNumber());
         existing.setAddress(warehouseDocument.getAddress());
         existing.setProducts(warehouseDocument.getProducts());
+        existing.setProductCount(warehouseDocument.getProducts().size());
 
-        return warehouseMongoRepository.save(existing);
+        WarehouseDocument saved = warehouseMongoRepository.save(existing);
+        warehouseInventoryBuckets.replace(List.of(saved));
+        return saved;
     }
 
     public void deleteByWarehouseId(UUID warehouseId) {
         warehouseMongoRepository.deleteByWarehouseId(warehouseId);
+        warehouseInventoryMongoRepository.deleteByWarehouseId(warehouseId);
+    }
+
+    public List<WarehouseProductEmbedded> getInventory(UUID warehouseId) {
+        getByWarehouseId(warehouseId);
+        return warehouseInventoryBuckets.products(warehouseId);
+    }
+
+    public void putInventory(UUID warehouseId, UUID productId, WarehouseProductEmbedded product) {
+        getByWarehouseId(warehouseId);
+        product.setProductId(productId);
+        warehouseInventoryBuckets.put(warehouseId, product);
+    }
+
+    public void removeInventory(UUID warehouseId, UUID productId) {
+        warehouseInventoryBuckets.remove(warehouseId, productId);
+    }
+
+    /**
+     * Warehouses that stock the product, found through the inventory buckets.
+     */
+    public List<WarehouseDocument> getByProductId(UUID productId, boolean inStock) {
+        List<WarehouseInventoryBucketDocument> buckets = inStock
+                ? warehouseInventoryMongoRepository.findWithStockForProduct(productId)
+                : warehouseInventoryMongoRepository.findByProductId(productId);
+        Set<UUID> warehouseIds = buckets.stream()
+                .map(WarehouseInventoryBucketDocument::getWarehouseId)
+                .collect(Collectors.toSet());
+        return warehouseIds.isEmpty() ? List.of() : warehouseMongoRepository.findByWarehouseIdIn(warehouseIds);
     }
 }
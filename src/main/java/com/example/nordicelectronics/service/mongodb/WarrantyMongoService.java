@@ -2,12 +2,14 @@ package com.example.nordicelectronics.service.mongodb;
 
 import com.example.nordicelectronics.entity.mongodb.WarrantyDocument;
 import com.example.nordicelectronics.repositories.mongodb.WarrantyMongoRepository;
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.MongoListReader;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @ConditionalOnProperty(name = "spring.data.mongodb.enabled", havingValue = "true", matchIfMissing = true)
@@ -15,9 +17,14 @@ import java.util.UUID;
 public class WarrantyMongoService {
 
     private final WarrantyMongoRepository warrantyMongoRepository;
+    private final MongoListReader mongoListReader;
 
-    public List<WarrantyDocument> getAll() {
-        return warrantyMongoRepository.findAll();
+    public CursorPage<WarrantyDocument> getPage(Integer limit, String cursor) {
+        return mongoListReader.page(WarrantyDocument.class, "warrantyId", WarrantyDocument::getWarrantyId, limit, cursor);
+    }
+
+    public void streamAll(Consumer<WarrantyDocument> writer) {
+        mongoListReader.stream(WarrantyDocument.class, writer);
     }
 
     public WarrantyDocument getByWarrantyId(UUID warrantyId) {
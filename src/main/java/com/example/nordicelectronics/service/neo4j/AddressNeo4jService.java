@@ -2,20 +2,28 @@ package com.example.nordicelectronics.service.neo4j;
 
 import com.example.nordicelectronics.entity.neo4j.AddressNode;
 import com.example.nordicelectronics.repositories.neo4j.AddressNeo4jRepository;
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.Neo4jListReader;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class AddressNeo4jService {
 
     private final AddressNeo4jRepository addressNeo4jRepository;
+    private final Neo4jListReader neo4jListReader;
 
-    public List<AddressNode> getAll() {
-        return addressNeo4jRepository.findAll();
+    public CursorPage<AddressNode> getPage(Integer limit, String cursor) {
+        return neo4jListReader.page(AddressNode.class, "Address", "addressId", AddressNode::getAddressId, limit, cursor);
+    }
+
+    public void streamAll(Consumer<AddressNode> writer) {
+        neo4jListReader.stream(AddressNode.class, "Address", writer);
     }
 
     public AddressNode getByAddressId(UUID addressId) {
@@ -2,20 +2,27 @@ package com.example.nordicelectronics.service.neo4j;
 
 import com.example.nordicelectronics.entity.neo4j.BrandNode;
 import com.example.nordicelectronics.repositories.neo4j.BrandNeo4jRepository;
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.Neo4jListReader;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class BrandNeo4jService {
 
     private final BrandNeo4jRepository brandNeo4jRepository;
+    private final Neo4jListReader neo4jListReader;
 
-    public List<BrandNode> getAll() {
-        return brandNeo4jRepository.findAll();
+    public CursorPage<BrandNode> getPage(Integer limit, String cursor) {
+        return neo4jListReader.page(BrandNode.class, "Brand", "brandId", BrandNode::getBrandId, limit, cursor);
+    }
+
+    public void streamAll(Consumer<BrandNode> writer) {
+        neo4jListReader.stream(BrandNode.class, "Brand", writer);
     }
 
     public BrandNode getByBrandId(UUID brandId) {
@@ -2,20 +2,27 @@ package com.example.nordicelectronics.service.neo4j;
 
 import com.example.nordicelectronics.entity.neo4j.CategoryNode;
 import com.example.nordicelectronics.repositories.neo4j.CategoryNeo4jRepository;
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.Neo4jListReader;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class CategoryNeo4jService {
 
     private final CategoryNeo4jRepository categoryNeo4jRepository;
+    private final Neo4jListReader neo4jListReader;
 
-    public List<CategoryNode> getAll() {
-        return categoryNeo4jRepository.findAll();
+    public CursorPage<CategoryNode> getPage(Integer limit, String cursor) {
+        return neo4jListReader.page(CategoryNode.class, "Category", "categoryId", CategoryNode::getCategoryId, limit, cursor);
+    }
+
+    public void streamAll(Consumer<CategoryNode> writer) {
+        neo4jListReader.stream(CategoryNode.class, "Category", writer);
     }
 
     public CategoryNode getByCategoryId(UUID categoryId) {
@@ -2,20 +2,28 @@ package com.example.nordicelectronics.service.neo4j;
 
 import com.example.nordicelectronics.entity.neo4j.CouponNode;
 import com.example.nordicelectronics.repositories.neo4j.CouponNeo4jRepository;
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.Neo4jListReader;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class CouponNeo4jService {
 
     private final CouponNeo4jRepository couponNeo4jRepository;
+    private final Neo4jListReader neo4jListReader;
 
-    public List<CouponNode> getAll() {
-        return couponNeo4jRepository.findAll();
+    public CursorPage<CouponNode> getPage(Integer limit, String cursor) {
+        return neo4jListReader.page(CouponNode.class, "Coupon", "couponId", CouponNode::getCouponId, limit, cursor);
+    }
+
+    public void streamAll(Consumer<CouponNode> writer) {
+        neo4jListReader.stream(CouponNode.class, "Coupon", writer);
     }
 
     public CouponNode getByCouponId(UUID couponId) {
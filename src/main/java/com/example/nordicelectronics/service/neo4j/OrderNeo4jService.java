@@ -3,20 +3,28 @@ package com.example.nordicelectronics.service.neo4j;
 import com.example.nordicelectronics.entity.enums.OrderStatus;
 import com.example.nordicelectronics.entity.neo4j.OrderNode;
 import com.example.nordicelectronics.repositories.neo4j.OrderNeo4jRepository;
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.Neo4jListReader;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class OrderNeo4jService {
 
     private final OrderNeo4jRepository orderNeo4jRepository;
+    private final Neo4jListReader neo4jListReader;
 
-    public List<OrderNode> getAll() {
-        return orderNeo4jRepository.findAll();
+    public CursorPage<OrderNode> getPage(Integer limit, String cursor) {
+        return neo4jListReader.page(OrderNode.class, "Order", "orderId", OrderNode::getOrderId, limit, cursor);
+    }
+
+    public void streamAll(Consumer<OrderNode> writer) {
+        neo4jListReader.stream(OrderNode.class, "Order", writer);
     }
 
     public OrderNode getByOrderId(UUID orderId) {
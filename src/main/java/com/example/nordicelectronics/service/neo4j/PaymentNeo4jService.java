@@ -3,20 +3,28 @@ package com.example.nordicelectronics.service.neo4j;
 import com.example.nordicelectronics.entity.enums.PaymentStatus;
 import com.example.nordicelectronics.entity.neo4j.PaymentNode;
 import com.example.nordicelectronics.repositories.neo4j.PaymentNeo4jRepository;
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.Neo4jListReader;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class PaymentNeo4jService {
 
     private final PaymentNeo4jRepository paymentNeo4jRepository;
+    private final Neo4jListReader neo4jListReader;
 
-    public List<PaymentNode> getAll() {
-        return paymentNeo4jRepository.findAll();
+    public CursorPage<PaymentNode> getPage(Integer limit, String cursor) {
+        return neo4jListReader.page(PaymentNode.class, "Payment", "paymentId", PaymentNode::getPaymentId, limit, cursor);
+    }
+
+    public void streamAll(Consumer<PaymentNode> writer) {
+        neo4jListReader.stream(PaymentNode.class, "Payment", writer);
     }
 
     public PaymentNode getByPaymentId(UUID paymentId) {
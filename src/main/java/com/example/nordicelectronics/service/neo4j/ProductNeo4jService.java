@@ -2,20 +2,28 @@ package com.example.nordicelectronics.service.neo4j;
 
 import com.example.nordicelectronics.entity.neo4j.ProductNode;
 import com.example.nordicelectronics.repositories.neo4j.ProductNeo4jRepository;
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.Neo4jListReader;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class ProductNeo4jService {
 
     private final ProductNeo4jRepository productNeo4jRepository;
+    private final Neo4jListReader neo4jListReader;
 
-    public List<ProductNode> getAll() {
-        return productNeo4jRepository.findAll();
+    public CursorPage<ProductNode> getPage(Integer limit, String cursor) {
+        return neo4jListReader.page(ProductNode.class, "Product", "productId", ProductNode::getProductId, limit, cursor);
+    }
+
+    public void streamAll(Consumer<ProductNode> writer) {
+        neo4jListReader.stream(ProductNode.class, "Product", writer);
     }
 
     public ProductNode getByProductId(UUID productId) {
@@ -2,20 +2,28 @@ package com.example.nordicelectronics.service.neo4j;
 
 import com.example.nordicelectronics.entity.neo4j.ReviewNode;
 import com.example.nordicelectronics.repositories.neo4j.ReviewNeo4jRepository;
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.Neo4jListReader;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class ReviewNeo4jService {
 
     private final ReviewNeo4jRepository reviewNeo4jRepository;
+    private final Neo4jListReader neo4jListReader;
 
-    public List<ReviewNode> getAll() {
-        return reviewNeo4jRepository.findAll();
+    public CursorPage<ReviewNode> getPage(Integer limit, String cursor) {
+        return neo4jListReader.page(ReviewNode.class, "Review", "reviewId", ReviewNode::getReviewId, limit, cursor);
+    }
+
+    public void streamAll(Consumer<ReviewNode> writer) {
+        neo4jListReader.stream(ReviewNode.class, "Review", writer);
     }
 
     public ReviewNode getByReviewId(UUID reviewId) {
@@ -2,20 +2,27 @@ package com.example.nordicelectronics.service.neo4j;
 
 import com.example.nordicelectronics.entity.neo4j.UserNode;
 import com.example.nordicelectronics.repositories.neo4j.UserNeo4jRepository;
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.Neo4jListReader;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class UserNeo4jService {
 
     private final UserNeo4jRepository userNeo4jRepository;
+    private final Neo4jListReader neo4jListReader;
 
-    public List<UserNode> getAll() {
-        return userNeo4jRepository.findAll();
+    public CursorPage<UserNode> getPage(Integer limit, String cursor) {
+        return neo4jListReader.page(UserNode.class, "User", "userId", UserNode::getUserId, limit, cursor);
+    }
+
+    public void streamAll(Consumer<UserNode> writer) {
+        neo4jListReader.stream(UserNode.class, "User", writer);
     }
 
     public UserNode getByUserId(UUID userId) {
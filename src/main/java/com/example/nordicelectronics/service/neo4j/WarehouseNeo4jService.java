@@ -2,20 +2,27 @@ package com.example.nordicelectronics.service.neo4j;
 
 import com.example.nordicelectronics.entity.neo4j.WarehouseNode;
 import com.example.nordicelectronics.repositories.neo4j.WarehouseNeo4jRepository;
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.Neo4jListReader;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class WarehouseNeo4jService {
 
     private final WarehouseNeo4jRepository warehouseNeo4jRepository;
+    private final Neo4jListReader neo4jListReader;
 
-    public List<WarehouseNode> getAll() {
-        return warehouseNeo4jRepository.findAll();
+    public CursorPage<WarehouseNode> getPage(Integer limit, String cursor) {
+        return neo4jListReader.page(WarehouseNode.class, "Warehouse", "warehouseId", WarehouseNode::getWarehouseId, limit, cursor);
+    }
+
+    public void streamAll(Consumer<WarehouseNode> writer) {
+        neo4jListReader.stream(WarehouseNode.class, "Warehouse", writer);
     }
 
     public WarehouseNode getByWarehouseId(UUID warehouseId) {
@@ -2,20 +2,27 @@ package com.example.nordicelectronics.service.neo4j;
 
 import com.example.nordicelectronics.entity.neo4j.WarrantyNode;
 import com.example.nordicelectronics.repositories.neo4j.WarrantyNeo4jRepository;
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.Neo4jListReader;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class WarrantyNeo4jService {
 
     private final WarrantyNeo4jRepository warrantyNeo4jRepository;
+    private final Neo4jListReader neo4jListReader;
 
-    public List<WarrantyNode> getAll() {
-        return warrantyNeo4jRepository.findAll();
+    public CursorPage<WarrantyNode> getPage(Integer limit, String cursor) {
+        return neo4jListReader.page(WarrantyNode.class, "Warranty", "warrantyId", WarrantyNode::getWarrantyId, limit, cursor);
+    }
+
+    public void streamAll(Consumer<WarrantyNode> writer) {
+        neo4jListReader.stream(WarrantyNode.class, "Warranty", writer);
     }
 
     public WarrantyNode getByWarrantyId(UUID warrantyId) {
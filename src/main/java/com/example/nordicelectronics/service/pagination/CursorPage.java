@@ -0,0 +1,33 @@
+package com.example.nordicelectronics.service.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a list endpoint and the cursor for the next one, null on the
+ * last page.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    /**
+     * Builds a page from rows read with a limit of {@code limit + 1}: the
+     * extra row only tells that another page follows.
+     *
+     * @param cursorOf the cursor continuing after a row
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, PageCursor> cursorOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(items, cursorOf.apply(items.get(limit - 1)).encode());
+    }
+
+    /**
+     * The same page with its items converted together, e.g. to DTOs with one
+     * batch query for the whole page.
+     */
+    public <R> CursorPage<R> map(Function<List<T>, List<R>> converter) {
+        return new CursorPage<>(converter.apply(items), nextCursor);
+    }
+}
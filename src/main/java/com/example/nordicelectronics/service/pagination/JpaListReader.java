@@ -0,0 +1,128 @@
+package com.example.nordicelectronics.service.pagination;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Pages and streams PostgreSQL tables in primary key order.
+ *
+ * Pages seek past the cursor's key with {@code WHERE key > :after ORDER BY
+ * key}, so a deep page costs the same as the first. Streams run one query in
+ * a read-only transaction and read it through a JDBC cursor of
+ * {@code pagination.stream-fetch-size} rows, clearing the persistence context
+ * after every chunk, so an export of any size holds one chunk at a time.
+ */
+@Component
+public class JpaListReader {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final PageLimits pageLimits;
+
+    public JpaListReader(EntityManager entityManager, PlatformTransactionManager transactionManager,
+                         PageLimits pageLimits) {
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.pageLimits = pageLimits;
+    }
+
+    public <T> CursorPage<T> page(Class<T> entityType, String keyAttribute, Function<T, UUID> keyOf,
+                                  Integer limit, String cursor) {
+        return page(entityType, List.of(keyAttribute), entity -> List.of(keyOf.apply(entity)), limit, cursor);
+    }
+
+    /**
+     * A page of {@code entityType} after the cursor's key.
+     *
+     * @param keyAttributes the primary key paths, most significant first,
+     *                      e.g. {@code id.warehouseId, id.productId}
+     * @param keyOf         the key values of an entity, in the same order
+     */
+    public <T> CursorPage<T> page(Class<T> entityType, List<String> keyAttributes, Function<T, List<UUID>> keyOf,
+                                  Integer limit, String cursor) {
+        int size = pageLimits.resolve(limit);
+        String list = "postgresql:" + entityType.getSimpleName();
+        PageCursor after = PageCursor.decode(cursor, list, keyAttributes.size());
+        List<T> rows = readOnlyTransaction.execute(status -> {
+            String jpql = "SELECT e FROM " + entityType.getSimpleName() + " e"
+                    + (after == null ? "" : " WHERE " + seekPredicate(keyAttributes))
+                    + orderBy(keyAttributes);
+            TypedQuery<T> query = entityManager.createQuery(jpql, entityType).setMaxResults(size + 1);
+            if (after != null) {
+                for (int i = 0; i < keyAttributes.size(); i++) {
+                    query.setParameter("k" + i, after.lastId(i));
+                }
+            }
+            return query.getResultList();
+        });
+        return CursorPage.of(rows, size, entity -> PageCursor.after(list, keyOf.apply(entity).toArray(UUID[]::new)));
+    }
+
+    public <T> void stream(Class<T> entityType, String keyAttribute, Consumer<T> writer) {
+        streamChunks(entityType, List.of(keyAttribute), chunk -> chunk.forEach(writer));
+    }
+
+    /**
+     * Streams every row of {@code entityType} in key order. Each chunk is
+     * handed to the writer while still attached, so it can read lazy
+     * associations or convert the chunk with batch queries.
+     */
+    public <T> void streamChunks(Class<T> entityType, List<String> keyAttributes, Consumer<List<T>> writer) {
+        int fetchSize = pageLimits.getStreamFetchSize();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            TypedQuery<T> query = entityManager.createQuery(
+                            "SELECT e FROM " + entityType.getSimpleName() + " e" + orderBy(keyAttributes), entityType)
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                    .setHint(HibernateHints.HINT_READ_ONLY, true);
+            try (Stream<T> rows = query.getResultStream()) {
+                List<T> chunk = new ArrayList<>(fetchSize);
+                Iterator<T> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    chunk.add(iterator.next());
+                    if (chunk.size() == fetchSize) {
+                        writer.accept(chunk);
+                        entityManager.clear();
+                        chunk = new ArrayList<>(fetchSize);
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    writer.accept(chunk);
+                }
+            }
+        });
+    }
+
+    /**
+     * {@code (k0 > :k0) OR (k0 = :k0 AND k1 > :k1) OR ...}, the row-value
+     * comparison JPQL lacks.
+     */
+    private static String seekPredicate(List<String> keyAttributes) {
+        return IntStream.range(0, keyAttributes.size())
+                .mapToObj(i -> "(" + IntStream.range(0, i)
+                        .mapToObj(j -> "e." + keyAttributes.get(j) + " = :k" + j + " AND ")
+                        .collect(Collectors.joining())
+                        + "e." + keyAttributes.get(i) + " > :k" + i + ")")
+                .collect(Collectors.joining(" OR "));
+    }
+
+    private static String orderBy(List<String> keyAttributes) {
+        return keyAttributes.stream()
+                .map(attribute -> "e." + attribute)
+                .collect(Collectors.joining(", ", " ORDER BY ", ""));
+    }
+}
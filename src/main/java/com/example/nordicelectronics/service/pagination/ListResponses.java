@@ -0,0 +1,72 @@
+package com.example.nordicelectronics.service.pagination;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Responses of the list endpoints. A page is a plain JSON array, as before
+ * pagination, with the next page's cursor in the {@code X-Next-Cursor} header
+ * and a {@code Link: rel="next"} header; both are absent on the last page.
+ * A stream is {@code application/x-ndjson}, one JSON document per line,
+ * written as the rows are read.
+ */
+@Component
+@RequiredArgsConstructor
+public class ListResponses {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final ObjectMapper objectMapper;
+
+    public <T> ResponseEntity<List<T>> page(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", page.nextCursor())
+                    .build()
+                    .toUriString();
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor())
+                    .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(page.items());
+    }
+
+    /**
+     * Streams every item the source emits as NDJSON. Items are written on the
+     * request thread as the source reads them, rather than from a
+     * {@code StreamingResponseBody}, so a long export is not cut off by
+     * {@code spring.mvc.async.request-timeout}.
+     */
+    public <T> void ndjson(HttpServletResponse response, Consumer<Consumer<T>> source) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        OutputStream out = response.getOutputStream();
+        try {
+            source.accept(item -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(item));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Usually the client hanging up
+            throw e.getCause();
+        }
+        out.flush();
+    }
+}
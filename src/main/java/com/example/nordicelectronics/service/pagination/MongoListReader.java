@@ -0,0 +1,82 @@
+package com.example.nordicelectronics.service.pagination;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ProjectionOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Pages and streams MongoDB collections in business id order, e.g.
+ * {@code product_id}, which every collection has a unique index on.
+ *
+ * Pages seek past the cursor's id with a range query on that index. Streams
+ * read one server-side cursor in batches of {@code pagination.stream-fetch-size}
+ * documents, so only the current batch is held in memory.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.data.mongodb.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class MongoListReader {
+
+    private final MongoTemplate mongoTemplate;
+    private final PageLimits pageLimits;
+
+    /**
+     * @param idProperty the business id property, e.g. {@code productId}
+     */
+    public <T> CursorPage<T> page(Class<T> documentType, String idProperty, Function<T, UUID> idOf,
+                                  Integer limit, String cursor) {
+        int size = pageLimits.resolve(limit);
+        String list = "mongodb:" + documentType.getSimpleName();
+        PageCursor after = PageCursor.decode(cursor, list, 1);
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.ASC, idProperty))
+                .limit(size + 1);
+        if (after != null) {
+            query.addCriteria(Criteria.where(idProperty).gt(after.lastId(0)));
+        }
+        List<T> rows = mongoTemplate.find(query, documentType);
+        return CursorPage.of(rows, size, document -> PageCursor.after(list, idOf.apply(document)));
+    }
+
+    /**
+     * Pages like {@link #page(Class, String, Function, Integer, String)}, in
+     * the same order and with the same cursors, but returns each document
+     * through the given {@code $project} stage so only its fields are read.
+     *
+     * @param idField the business id field as stored, e.g. {@code product_id}
+     */
+    public <T> CursorPage<T> page(Class<?> documentType, String idField, ProjectionOperation projection,
+                                  Class<T> viewType, Function<T, UUID> idOf, Integer limit, String cursor) {
+        int size = pageLimits.resolve(limit);
+        String list = "mongodb:" + documentType.getSimpleName();
+        PageCursor after = PageCursor.decode(cursor, list, 1);
+        Criteria criteria = after == null ? new Criteria() : Criteria.where(idField).gt(after.lastId(0));
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.sort(Sort.Direction.ASC, idField),
+                Aggregation.limit(size + 1),
+                projection);
+        List<T> rows = mongoTemplate.aggregate(aggregation, mongoTemplate.getCollectionName(documentType), viewType)
+                .getMappedResults();
+        return CursorPage.of(rows, size, view -> PageCursor.after(list, idOf.apply(view)));
+    }
+
+    public <T> void stream(Class<T> documentType, Consumer<T> writer) {
+        Query query = new Query().cursorBatchSize(pageLimits.getStreamFetchSize());
+        try (Stream<T> documents = mongoTemplate.stream(query, documentType)) {
+            documents.forEach(writer);
+        }
+    }
+}
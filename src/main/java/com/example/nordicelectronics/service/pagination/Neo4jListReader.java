@@ -0,0 +1,94 @@
+package com.example.nordicelectronics.service.pagination;
+
+import lombok.RequiredArgsConstructor;
+import org.neo4j.driver.AccessMode;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.SessionConfig;
+import org.springframework.data.neo4j.core.DatabaseSelection;
+import org.springframework.data.neo4j.core.DatabaseSelectionProvider;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.data.neo4j.core.Neo4jTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Pages and streams Neo4j labels in business id order, e.g.
+ * {@code productId}, which every label has a uniqueness constraint on.
+ *
+ * Both walk the label's ids with Cypher and then load the nodes for a page or
+ * chunk of ids through Spring Data, so the nodes come with their
+ * relationships as from the repositories. Pages seek past the cursor's id on
+ * the constraint's index. Streams read the ids from one driver result pulled
+ * {@code pagination.stream-fetch-size} records at a time and load the nodes
+ * chunk by chunk, so only the current chunk is held in memory.
+ */
+@Component
+@RequiredArgsConstructor
+public class Neo4jListReader {
+
+    private final Neo4jClient neo4jClient;
+    private final Neo4jTemplate neo4jTemplate;
+    private final Driver driver;
+    private final DatabaseSelectionProvider databaseSelectionProvider;
+    private final PageLimits pageLimits;
+
+    /**
+     * @param label      the node label, e.g. {@code Product}
+     * @param idProperty the business id property, e.g. {@code productId}
+     */
+    public <T> CursorPage<T> page(Class<T> nodeType, String label, String idProperty, Function<T, UUID> idOf,
+                                  Integer limit, String cursor) {
+        int size = pageLimits.resolve(limit);
+        String list = "neo4j:" + label;
+        PageCursor after = PageCursor.decode(cursor, list, 1);
+        String cypher = "MATCH (n:" + label + ")"
+                + (after == null ? " WHERE n." + idProperty + " IS NOT NULL" : " WHERE n." + idProperty + " > $after")
+                + " RETURN n.id AS id ORDER BY n." + idProperty + " LIMIT $limit";
+        Neo4jClient.RunnableSpec query = neo4jClient.query(cypher).bind(size + 1).to("limit");
+        if (after != null) {
+            query = query.bind(after.lastId(0).toString()).to("after");
+        }
+        List<String> ids = new ArrayList<>(query.fetchAs(String.class).all());
+        List<T> rows = new ArrayList<>(neo4jTemplate.findAllById(ids, nodeType));
+        // Ordered as Cypher compares the ids, as strings
+        rows.sort(Comparator.comparing(node -> idOf.apply(node).toString()));
+        return CursorPage.of(rows, size, node -> PageCursor.after(list, idOf.apply(node)));
+    }
+
+    public <T> void stream(Class<T> nodeType, String label, Consumer<T> writer) {
+        int fetchSize = pageLimits.getStreamFetchSize();
+        try (Session session = driver.session(sessionConfig(fetchSize))) {
+            Result result = session.run("MATCH (n:" + label + ") RETURN n.id AS id");
+            List<String> chunk = new ArrayList<>(fetchSize);
+            while (result.hasNext()) {
+                chunk.add(result.next().get("id").asString());
+                if (chunk.size() == fetchSize) {
+                    neo4jTemplate.findAllById(chunk, nodeType).forEach(writer);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                neo4jTemplate.findAllById(chunk, nodeType).forEach(writer);
+            }
+        }
+    }
+
+    private SessionConfig sessionConfig(int fetchSize) {
+        SessionConfig.Builder config = SessionConfig.builder()
+                .withDefaultAccessMode(AccessMode.READ)
+                .withFetchSize(fetchSize);
+        DatabaseSelection selection = databaseSelectionProvider.getDatabaseSelection();
+        if (!DatabaseSelection.undecided().equals(selection)) {
+            config.withDatabase(selection.getValue());
+        }
+        return config.build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.nordicelectronics.service.pagination;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Opaque continuation token for list endpoints: the key of the last row
+ * returned, one value per key column, bound to the list it was issued for.
+ */
+public record PageCursor(String list, List<String> lastKey) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static PageCursor after(String list, UUID... lastKey) {
+        return new PageCursor(list, Arrays.stream(lastKey).map(UUID::toString).toList());
+    }
+
+    /**
+     * Decodes a token issued for {@code list}, or returns null for no token.
+     *
+     * @throws IllegalArgumentException if the token is malformed, was issued
+     *                                  for another list or has the wrong number of key values
+     */
+    public static PageCursor decode(String token, String list, int keyColumns) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        PageCursor cursor = decode(token);
+        if (!list.equals(cursor.list()) || cursor.lastKey().size() != keyColumns) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return cursor;
+    }
+
+    public UUID lastId(int column) {
+        try {
+            return UUID.fromString(lastKey.get(column));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public String encode() {
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(MAPPER.writeValueAsBytes(this));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode cursor", e);
+        }
+    }
+
+    private static PageCursor decode(String token) {
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(token.getBytes(StandardCharsets.US_ASCII));
+            PageCursor cursor = MAPPER.readValue(json, PageCursor.class);
+            if (cursor.list() == null || cursor.lastKey() == null || cursor.lastKey().contains(null)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return cursor;
+        } catch (IllegalArgumentException | IOException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
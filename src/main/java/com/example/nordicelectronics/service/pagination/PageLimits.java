@@ -0,0 +1,37 @@
+package com.example.nordicelectronics.service.pagination;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Page sizes of the list endpoints. A requested limit above
+ * {@code pagination.max-limit} is cut to it, so no request can read a whole
+ * table into memory; bulk consumers use the NDJSON streams instead.
+ */
+@Component
+public class PageLimits {
+
+    @Value("${pagination.default-limit:100}")
+    private int defaultLimit;
+
+    @Value("${pagination.max-limit:1000}")
+    private int maxLimit;
+
+    /**
+     * Rows fetched per round trip, and held in memory at once, by the streams.
+     */
+    @Getter
+    @Value("${pagination.stream-fetch-size:500}")
+    private int streamFetchSize;
+
+    public int resolve(Integer limit) {
+        if (limit == null) {
+            return defaultLimit;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        return Math.min(limit, maxLimit);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.nordicelectronics.service.pagination;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.ProjectionOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * Filtered MongoDB reads on the reactive driver, for the NDJSON streams of
+ * category listings, order histories and review lists. Documents are emitted
+ * as the driver decodes them and only as fast as the client reads: a
+ * controller returning the {@link Flux} requests the next document once the
+ * previous one is written, and the driver fetches at most
+ * {@code pagination.stream-fetch-size} documents per round trip. No thread
+ * waits on MongoDB while the response is being produced.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.data.mongodb.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ReactiveMongoReader {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final PageLimits pageLimits;
+
+    public <T> Flux<T> find(Criteria criteria, Sort sort, Class<T> documentType) {
+        Query query = Query.query(criteria)
+                .with(sort)
+                .cursorBatchSize(pageLimits.getStreamFetchSize());
+        return reactiveMongoTemplate.find(query, documentType);
+    }
+
+    /**
+     * Returns the matching documents through the given {@code $project}
+     * stage, so only its fields are read.
+     */
+    public <T> Flux<T> find(Criteria criteria, ProjectionOperation projection, Class<?> documentType,
+                            Class<T> viewType) {
+        Aggregation aggregation = Aggregation.newAggregation(Aggregation.match(criteria), projection)
+                .withOptions(AggregationOptions.builder().cursorBatchSize(pageLimits.getStreamFetchSize()).build());
+        return reactiveMongoTemplate.aggregate(aggregation, reactiveMongoTemplate.getCollectionName(documentType),
+                viewType);
+    }
+}
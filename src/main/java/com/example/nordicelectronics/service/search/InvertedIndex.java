@@ -0,0 +1,536 @@
+package com.example.nordicelectronics.service.search;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Single-writer inverted index over product documents. Not thread-safe; see
+ * {@link ProductSearchIndex} for the locking wrapper.
+ *
+ * Documents get dense int ids in insertion order, so every postings list is
+ * sorted by doc id and can be merged or intersected linearly. Updates append a
+ * new doc and tombstone the old one; {@link #compact()} drops tombstones once
+ * they make up a large share of the index.
+ */
+final class InvertedIndex {
+
+    static final int NAME_WEIGHT = 3;
+    static final int SKU_WEIGHT = 2;
+    static final int BRAND_WEIGHT = 2;
+    static final int CATEGORY_WEIGHT = 2;
+    static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final float PREFIX_BOOST = 0.5f;
+    private static final int MIN_PREFIX_LENGTH = 3;
+    private static final int MIN_TOMBSTONES_FOR_COMPACTION = 1024;
+
+    enum SortField { RELEVANCE, NAME, PRICE, SKU }
+
+    // Per-document columns, indexed by doc id
+    private UUID[] productIds = new UUID[1024];
+    private UUID[] brandIds = new UUID[1024];
+    private UUID[][] categoryIds = new UUID[1024][];
+    private String[] nameKeys = new String[1024];
+    private String[] skuKeys = new String[1024];
+    private BigDecimal[] prices = new BigDecimal[1024];
+    private int[] docLengths = new int[1024];
+    private final BitSet live = new BitSet();
+
+    private int docCount;
+    private int liveCount;
+    private long liveLength;
+
+    private final Map<UUID, Integer> docIdsByProduct = new HashMap<>();
+    private final TreeMap<String, Postings> postings = new TreeMap<>();
+
+    int size() {
+        return liveCount;
+    }
+
+    void add(ProductSearchDocument document) {
+        remove(document.productId());
+
+        Map<String, Integer> frequencies = new HashMap<>();
+        addField(frequencies, document.name(), NAME_WEIGHT);
+        addField(frequencies, document.sku(), SKU_WEIGHT);
+        if (document.sku() != null && !document.sku().isBlank()) {
+            frequencies.merge(document.sku().trim().toLowerCase(Locale.ROOT), SKU_WEIGHT, Integer::sum);
+        }
+        addField(frequencies, document.brandName(), BRAND_WEIGHT);
+        for (String categoryName : document.categoryNames()) {
+            addField(frequencies, categoryName, CATEGORY_WEIGHT);
+        }
+        addField(frequencies, document.description(), DESCRIPTION_WEIGHT);
+
+        int doc = docCount++;
+        ensureCapacity(docCount);
+
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new Postings()).add(doc, entry.getValue());
+            length += entry.getValue();
+        }
+
+        productIds[doc] = document.productId();
+        brandIds[doc] = document.brandId();
+        categoryIds[doc] = document.categoryIds().toArray(new UUID[0]);
+        nameKeys[doc] = document.name() != null ? document.name().toLowerCase(Locale.ROOT) : "";
+        skuKeys[doc] = document.sku() != null ? document.sku().toLowerCase(Locale.ROOT) : "";
+        prices[doc] = document.price() != null ? document.price() : BigDecimal.ZERO;
+        docLengths[doc] = length;
+
+        live.set(doc);
+        liveCount++;
+        liveLength += length;
+        docIdsByProduct.put(document.productId(), doc);
+    }
+
+    boolean remove(UUID productId) {
+        Integer doc = docIdsByProduct.remove(productId);
+        if (doc == null) {
+            return false;
+        }
+        live.clear(doc);
+        liveCount--;
+        liveLength -= docLengths[doc];
+        productIds[doc] = null;
+        categoryIds[doc] = null;
+        nameKeys[doc] = null;
+        skuKeys[doc] = null;
+        prices[doc] = null;
+        return true;
+    }
+
+    boolean needsCompaction() {
+        int tombstones = docCount - liveCount;
+        return tombstones >= MIN_TOMBSTONES_FOR_COMPACTION && tombstones * 4 > docCount;
+    }
+
+    /**
+     * Renumbers live documents densely and rewrites every postings list without
+     * tombstones. The mapping is monotonic, so postings stay sorted.
+     */
+    void compact() {
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (live.get(doc)) {
+                remap[doc] = next;
+                productIds[next] = productIds[doc];
+                brandIds[next] = brandIds[doc];
+                categoryIds[next] = categoryIds[doc];
+                nameKeys[next] = nameKeys[doc];
+                skuKeys[next] = skuKeys[doc];
+                prices[next] = prices[doc];
+                docLengths[next] = docLengths[doc];
+                next++;
+            } else {
+                remap[doc] = -1;
+            }
+        }
+        for (int doc = next; doc < docCount; doc++) {
+            productIds[doc] = null;
+            brandIds[doc] = null;
+            categoryIds[doc] = null;
+            nameKeys[doc] = null;
+            skuKeys[doc] = null;
+            prices[doc] = null;
+        }
+
+        Iterator<Postings> iterator = postings.values().iterator();
+        while (iterator.hasNext()) {
+            Postings list = iterator.next();
+            list.remap(remap);
+            if (list.size == 0) {
+                iterator.remove();
+            }
+        }
+
+        docIdsByProduct.clear();
+        for (int doc = 0; doc < next; doc++) {
+            docIdsByProduct.put(productIds[doc], doc);
+        }
+        live.clear();
+        live.set(0, next);
+        docCount = next;
+    }
+
+    ProductSearchHits search(String query, UUID categoryId, UUID brandId,
+                             SortField sortField, boolean descending, int offset, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty() || liveCount == 0) {
+            return ProductSearchHits.empty();
+        }
+
+        // Resolve each query term to its scored docs, then AND them smallest-first
+        List<ScoredDocs> perTerm = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            ScoredDocs matches = matchTerm(term);
+            if (matches.size == 0) {
+                return ProductSearchHits.empty();
+            }
+            perTerm.add(matches);
+        }
+        perTerm.sort((a, b) -> Integer.compare(a.size, b.size));
+
+        ScoredDocs candidates = perTerm.get(0);
+        for (int i = 1; i < perTerm.size() && candidates.size > 0; i++) {
+            candidates = ScoredDocs.intersectSum(candidates, perTerm.get(i));
+        }
+
+        candidates = filter(candidates, categoryId, brandId);
+        if (candidates.size == 0 || offset >= candidates.size) {
+            return new ProductSearchHits(List.of(), candidates.size);
+        }
+
+        int[] ordered = topK(candidates, comparator(candidates, sortField, descending), offset + limit);
+        int end = Math.min(ordered.length, offset + limit);
+        List<UUID> page = new ArrayList<>(end - offset);
+        for (int i = offset; i < end; i++) {
+            page.add(productIds[ordered[i]]);
+        }
+        return new ProductSearchHits(page, candidates.size);
+    }
+
+    /**
+     * Scores one query term against the exact term and, once it is at least
+     * {@value #MIN_PREFIX_LENGTH} characters long, every indexed term it is a
+     * prefix of. Shorter terms only match whole words, since their expansions
+     * would cover most of the vocabulary. A doc matching several expansions
+     * keeps its best score.
+     */
+    private ScoredDocs matchTerm(String term) {
+        NavigableMap<String, Postings> expansions = term.length() < MIN_PREFIX_LENGTH
+                ? postings.subMap(term, true, term, true)
+                : postings.subMap(term, true, term + Character.MAX_VALUE, true);
+        float averageLength = (float) liveLength / Math.max(1, liveCount);
+
+        List<ScoredDocs> lists = new ArrayList<>(expansions.size());
+        for (Map.Entry<String, Postings> entry : expansions.entrySet()) {
+            float boost = entry.getKey().equals(term) ? 1f : PREFIX_BOOST;
+            lists.add(score(entry.getValue(), boost, averageLength));
+        }
+        return ScoredDocs.unionMax(lists);
+    }
+
+    private ScoredDocs score(Postings list, float boost, float averageLength) {
+        // Postings still count tombstoned docs until compaction, so cap df at the live count
+        int df = Math.min(list.size, liveCount);
+        float idf = (float) Math.log(1 + (liveCount - df + 0.5) / (df + 0.5));
+        ScoredDocs scored = new ScoredDocs(list.size);
+        for (int i = 0; i < list.size; i++) {
+            int doc = list.docs[i];
+            if (!live.get(doc)) {
+                continue;
+            }
+            int tf = list.freqs[i];
+            float norm = K1 * (1 - B + B * docLengths[doc] / averageLength);
+            scored.append(doc, boost * idf * (tf * (K1 + 1)) / (tf + norm));
+        }
+        return scored;
+    }
+
+    private ScoredDocs filter(ScoredDocs candidates, UUID categoryId, UUID brandId) {
+        if (categoryId == null && brandId == null) {
+            return candidates;
+        }
+        ScoredDocs filtered = new ScoredDocs(candidates.size);
+        for (int i = 0; i < candidates.size; i++) {
+            int doc = candidates.docs[i];
+            if (brandId != null && !brandId.equals(brandIds[doc])) {
+                continue;
+            }
+            if (categoryId != null && !contains(categoryIds[doc], categoryId)) {
+                continue;
+            }
+            filtered.append(doc, candidates.scores[i]);
+        }
+        return filtered;
+    }
+
+    private static boolean contains(UUID[] values, UUID value) {
+        for (UUID candidate : values) {
+            if (value.equals(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Comparator over positions in {@code candidates}. Ties break on doc id so
+     * paging is stable.
+     */
+    private IntComparator comparator(ScoredDocs candidates, SortField sortField, boolean descending) {
+        IntComparator primary = switch (sortField) {
+            case RELEVANCE -> (a, b) -> Float.compare(candidates.scores[b], candidates.scores[a]);
+            case NAME -> (a, b) -> nameKeys[candidates.docs[a]].compareTo(nameKeys[candidates.docs[b]]);
+            case PRICE -> (a, b) -> prices[candidates.docs[a]].compareTo(prices[candidates.docs[b]]);
+            case SKU -> (a, b) -> skuKeys[candidates.docs[a]].compareTo(skuKeys[candidates.docs[b]]);
+        };
+        IntComparator directed = descending && sortField != SortField.RELEVANCE
+                ? (a, b) -> primary.compare(b, a)
+                : primary;
+        return (a, b) -> {
+            int result = directed.compare(a, b);
+            return result != 0 ? result : Integer.compare(candidates.docs[a], candidates.docs[b]);
+        };
+    }
+
+    /**
+     * Returns the doc ids of the first {@code k} candidates in comparator order,
+     * using a bounded max-heap so cost is O(n log k) rather than a full sort.
+     */
+    private static int[] topK(ScoredDocs candidates, IntComparator comparator, int k) {
+        int n = candidates.size;
+        k = Math.min(k, n);
+        int[] heap = new int[k];
+        int heapSize = 0;
+        for (int position = 0; position < n; position++) {
+            if (heapSize < k) {
+                heap[heapSize] = position;
+                siftUp(heap, heapSize++, comparator);
+            } else if (comparator.compare(position, heap[0]) < 0) {
+                heap[0] = position;
+                siftDown(heap, heapSize, comparator);
+            }
+        }
+
+        // Drain the max-heap from the back to get ascending order
+        int[] ordered = new int[heapSize];
+        for (int i = heapSize - 1; i >= 0; i--) {
+            ordered[i] = candidates.docs[heap[0]];
+            heap[0] = heap[--heapSize];
+            siftDown(heap, heapSize, comparator);
+        }
+        return ordered;
+    }
+
+    private static void siftUp(int[] heap, int index, IntComparator comparator) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (comparator.compare(heap[index], heap[parent]) <= 0) {
+                return;
+            }
+            swap(heap, index, parent);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, IntComparator comparator) {
+        int index = 0;
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            int largest = left;
+            int right = left + 1;
+            if (right < size && comparator.compare(heap[right], heap[left]) > 0) {
+                largest = right;
+            }
+            if (comparator.compare(heap[largest], heap[index]) <= 0) {
+                return;
+            }
+            swap(heap, index, largest);
+            index = largest;
+        }
+    }
+
+    private static void swap(int[] values, int i, int j) {
+        int tmp = values[i];
+        values[i] = values[j];
+        values[j] = tmp;
+    }
+
+    private static void addField(Map<String, Integer> frequencies, String text, int weight) {
+        for (String token : tokenize(text)) {
+            frequencies.merge(token, weight, Integer::sum);
+        }
+    }
+
+    /**
+     * Lower-cases and splits on anything that is not a letter or digit, so
+     * "USB-C Charger" becomes [usb, c, charger].
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i < lower.length(); i++) {
+            if (Character.isLetterOrDigit(lower.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(lower.substring(start));
+        }
+        return tokens;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= productIds.length) {
+            return;
+        }
+        int capacity = Math.max(required, productIds.length + (productIds.length >> 1));
+        productIds = Arrays.copyOf(productIds, capacity);
+        brandIds = Arrays.copyOf(brandIds, capacity);
+        categoryIds = Arrays.copyOf(categoryIds, capacity);
+        nameKeys = Arrays.copyOf(nameKeys, capacity);
+        skuKeys = Arrays.copyOf(skuKeys, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        docLengths = Arrays.copyOf(docLengths, capacity);
+    }
+
+    Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("documents", liveCount);
+        stats.put("tombstones", docCount - liveCount);
+        stats.put("terms", postings.size());
+        return stats;
+    }
+
+    @FunctionalInterface
+    private interface IntComparator {
+        int compare(int a, int b);
+    }
+
+    /**
+     * Doc ids with their term frequencies, sorted by doc id.
+     */
+    private static final class Postings {
+        int[] docs = new int[4];
+        int[] freqs = new int[4];
+        int size;
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+
+        void remap(int[] remap) {
+            int next = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[next] = doc;
+                    freqs[next] = freqs[i];
+                    next++;
+                }
+            }
+            size = next;
+            if (docs.length > 16 && size < docs.length / 4) {
+                docs = Arrays.copyOf(docs, Math.max(4, size));
+                freqs = Arrays.copyOf(freqs, Math.max(4, size));
+            }
+        }
+    }
+
+    /**
+     * Doc ids with accumulated scores, sorted by doc id.
+     */
+    private static final class ScoredDocs {
+        int[] docs;
+        float[] scores;
+        int size;
+
+        ScoredDocs(int capacity) {
+            docs = new int[Math.max(1, capacity)];
+            scores = new float[Math.max(1, capacity)];
+        }
+
+        void append(int doc, float score) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            docs[size] = doc;
+            scores[size] = score;
+            size++;
+        }
+
+        static ScoredDocs intersectSum(ScoredDocs a, ScoredDocs b) {
+            ScoredDocs result = new ScoredDocs(Math.min(a.size, b.size));
+            int i = 0;
+            int j = 0;
+            while (i < a.size && j < b.size) {
+                if (a.docs[i] < b.docs[j]) {
+                    i++;
+                } else if (a.docs[i] > b.docs[j]) {
+                    j++;
+                } else {
+                    result.append(a.docs[i], a.scores[i] + b.scores[j]);
+                    i++;
+                    j++;
+                }
+            }
+            return result;
+        }
+
+        static ScoredDocs unionMax(List<ScoredDocs> lists) {
+            if (lists.isEmpty()) {
+                return new ScoredDocs(0);
+            }
+            // Pairwise tree merge keeps the total cost at O(n log k)
+            List<ScoredDocs> round = lists;
+            while (round.size() > 1) {
+                List<ScoredDocs> next = new ArrayList<>((round.size() + 1) / 2);
+                for (int i = 0; i + 1 < round.size(); i += 2) {
+                    next.add(unionMax(round.get(i), round.get(i + 1)));
+                }
+                if (round.size() % 2 == 1) {
+                    next.add(round.get(round.size() - 1));
+                }
+                round = next;
+            }
+            return round.get(0);
+        }
+
+        private static ScoredDocs unionMax(ScoredDocs a, ScoredDocs b) {
+            ScoredDocs result = new ScoredDocs(a.size + b.size);
+            int i = 0;
+            int j = 0;
+            while (i < a.size || j < b.size) {
+                if (j >= b.size || (i < a.size && a.docs[i] < b.docs[j])) {
+                    result.append(a.docs[i], a.scores[i]);
+                    i++;
+                } else if (i >= a.size || b.docs[j] < a.docs[i]) {
+                    result.append(b.docs[j], b.scores[j]);
+                    j++;
+                } else {
+                    result.append(a.docs[i], Math.max(a.scores[i], b.scores[j]));
+                    i++;
+                    j++;
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.nordicelectronics.service.search;
+
+import com.example.nordicelectronics.entity.Category;
+import com.example.nordicelectronics.entity.Product;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Flattened, index-ready view of a product: the searchable text plus the
+ * fields needed to filter and sort hits without going back to the database.
+ */
+public record ProductSearchDocument(
+        UUID productId,
+        String sku,
+        String name,
+        String description,
+        BigDecimal price,
+        UUID brandId,
+        String brandName,
+        List<UUID> categoryIds,
+        List<String> categoryNames
+) {
+
+    public ProductSearchDocument {
+        categoryIds = categoryIds != null ? List.copyOf(categoryIds) : List.of();
+        categoryNames = categoryNames != null ? List.copyOf(categoryNames) : List.of();
+    }
+
+    public static ProductSearchDocument from(Product product) {
+        List<Category> categories = product.getCategories() != null
+                ? List.copyOf(product.getCategories())
+                : List.of();
+        return new ProductSearchDocument(
+                product.getProductId(),
+                product.getSku(),
+                product.getName(),
+                product.getDescription(),
+                product.getPrice(),
+                product.getBrand() != null ? product.getBrand().getBrandId() : null,
+                product.getBrand() != null ? product.getBrand().getName() : null,
+                categories.stream().map(Category::getCategoryId).filter(Objects::nonNull).toList(),
+                categories.stream().map(Category::getName).filter(Objects::nonNull).toList()
+        );
+    }
+}
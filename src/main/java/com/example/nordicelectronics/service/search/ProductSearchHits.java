@@ -0,0 +1,14 @@
+package com.example.nordicelectronics.service.search;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One page of search hits in result order, plus the total number of matches.
+ */
+public record ProductSearchHits(List<UUID> productIds, long totalHits) {
+
+    public static ProductSearchHits empty() {
+        return new ProductSearchHits(List.of(), 0);
+    }
+}
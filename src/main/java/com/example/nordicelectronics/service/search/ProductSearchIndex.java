@@ -0,0 +1,183 @@
+package com.example.nordicelectronics.service.search;
+
+import com.example.nordicelectronics.service.AfterCommit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory full-text index over product name, description, SKU, brand and
+ * category names. Supports multi-term AND queries with BM25 ranking and
+ * prefix matching on terms of three or more characters. Matches are per word,
+ * so results differ from the database fallback, which looks for the whole
+ * search string anywhere in the name or description.
+ *
+ * The index is populated by {@link ProductSearchIndexLoader} and kept current
+ * by {@link #upsert} / {@link #remove} from the product write path and from
+ * brand and category renames, whose names the documents embed. Until the
+ * first load completes {@link #isReady()} is false and callers fall back to
+ * the database query.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private final boolean enabled;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private InvertedIndex index = new InvertedIndex();
+    private volatile boolean ready;
+    // Writes applied while a rebuild is streaming, replayed onto the new index before it is swapped in
+    private List<Consumer<InvertedIndex>> pendingWrites;
+
+    public ProductSearchIndex() {
+        this(true);
+    }
+
+    @Autowired
+    public ProductSearchIndex(@Value("${catalog.search.index.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Whether a search sorted by {@code sortBy} can be answered from the index.
+     */
+    public boolean supports(String sortBy) {
+        return isReady() && toSortField(sortBy) != null;
+    }
+
+    public ProductSearchHits search(String query, UUID categoryId, UUID brandId,
+                                    String sortBy, boolean descending, int offset, int limit) {
+        InvertedIndex.SortField sortField = toSortField(sortBy);
+        if (sortField == null) {
+            throw new IllegalArgumentException("Unsupported sort field for search: " + sortBy);
+        }
+        lock.readLock().lock();
+        try {
+            return index.search(query, categoryId, brandId, sortField, descending, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces a product. Applied after commit when called inside a transaction.
+     */
+    public void upsert(ProductSearchDocument document) {
+        AfterCommit.run(() -> write(target -> target.add(document)));
+    }
+
+    /**
+     * Removes a product. Applied after commit when called inside a transaction.
+     */
+    public void remove(UUID productId) {
+        AfterCommit.run(() -> write(target -> target.remove(productId)));
+    }
+
+    /**
+     * Builds a fresh index from {@code source} and swaps it in. The current
+     * index keeps serving queries meanwhile, and writes that arrive during the
+     * rebuild are replayed onto the new index so none are lost.
+     *
+     * @param source receives a sink and pushes every product document into it
+     * @return number of indexed products
+     */
+    public synchronized int rebuild(Consumer<Consumer<ProductSearchDocument>> source) {
+        if (!enabled) {
+            return 0;
+        }
+        lock.writeLock().lock();
+        try {
+            pendingWrites = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        InvertedIndex fresh = new InvertedIndex();
+        try {
+            source.accept(fresh::add);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingWrites = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingWrites.forEach(write -> write.accept(fresh));
+            pendingWrites = null;
+            if (fresh.needsCompaction()) {
+                fresh.compact();
+            }
+            index = fresh;
+            ready = true;
+            return fresh.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("enabled", enabled);
+            stats.put("ready", ready);
+            stats.putAll(index.getStats());
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Consumer<InvertedIndex> write) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            write.accept(index);
+            if (pendingWrites != null) {
+                pendingWrites.add(write);
+            }
+            if (index.needsCompaction()) {
+                index.compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static InvertedIndex.SortField toSortField(String sortBy) {
+        if (sortBy == null || sortBy.isBlank()) {
+            return InvertedIndex.SortField.RELEVANCE;
+        }
+        return switch (sortBy.toLowerCase(Locale.ROOT)) {
+            case "relevance" -> InvertedIndex.SortField.RELEVANCE;
+            case "name" -> InvertedIndex.SortField.NAME;
+            case "price" -> InvertedIndex.SortField.PRICE;
+            case "sku" -> InvertedIndex.SortField.SKU;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.nordicelectronics.service.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Populates {@link ProductSearchIndex} from PostgreSQL once the application is
+ * ready, and on demand. Products are streamed with a server-side cursor in a
+ * single query (brand and category names aggregated in SQL), so the load
+ * neither materialises the catalog in the persistence context nor issues
+ * per-product lookups.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchIndexLoader {
+
+    private static final int FETCH_SIZE = 5000;
+
+    private static final String PRODUCTS_SQL = """
+            SELECT p.product_id, p.sku, p.name, p.description, p.price,
+                   p.brand_id, b.name AS brand_name,
+                   array_agg(c.category_id) FILTER (WHERE c.category_id IS NOT NULL) AS category_ids,
+                   array_agg(c.name) FILTER (WHERE c.category_id IS NOT NULL) AS category_names
+            FROM product p
+            JOIN brand b ON b.brand_id = p.brand_id
+            LEFT JOIN product_category pc ON pc.product_id = p.product_id
+            LEFT JOIN category c ON c.category_id = pc.category_id AND c.deleted_at IS NULL
+            WHERE p.deleted_at IS NULL
+            GROUP BY p.product_id, b.name
+            """;
+
+    private final ProductSearchIndex productSearchIndex;
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadOnStartup() {
+        if (!productSearchIndex.isEnabled()) {
+            log.info("Product search index disabled, searches use the database");
+            return;
+        }
+        load();
+    }
+
+    /**
+     * Rebuilds the index from the database. Needs a transaction so the
+     * PostgreSQL driver honours the fetch size instead of buffering every row.
+     */
+    @Transactional(readOnly = true)
+    public int load() {
+        long start = System.currentTimeMillis();
+        int indexed = productSearchIndex.rebuild(sink -> jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(PRODUCTS_SQL);
+                    statement.setFetchSize(FETCH_SIZE);
+                    return statement;
+                },
+                rs -> {
+                    sink.accept(toDocument(rs));
+                }
+        ));
+        log.info("Product search index built: {} products in {} ms", indexed, System.currentTimeMillis() - start);
+        return indexed;
+    }
+
+    private static ProductSearchDocument toDocument(ResultSet rs) throws SQLException {
+        return new ProductSearchDocument(
+                rs.getObject("product_id", UUID.class),
+                rs.getString("sku"),
+                rs.getString("name"),
+                rs.getString("description"),
+                rs.getBigDecimal("price"),
+                rs.getObject("brand_id", UUID.class),
+                rs.getString("brand_name"),
+                toList(rs.getArray("category_ids")).stream().map(UUID::fromString).toList(),
+                toList(rs.getArray("category_names"))
+        );
+    }
+
+    private static List<String> toList(Array array) throws SQLException {
+        List<String> values = new ArrayList<>();
+        if (array == null) {
+            return values;
+        }
+        for (Object value : (Object[]) array.getArray()) {
+            if (value != null) {
+                values.add(value.toString());
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.nordicelectronics.service.stripe;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded thread pools for the asynchronous checkout. Database work and Stripe
+ * I/O run on separate pools so a slow Stripe cannot starve order creation, and
+ * the database pool is sized near the JDBC pool so it never queues on Hikari.
+ * Both queues are bounded; a full queue rejects the task, which the checkout
+ * turns into a 503 instead of letting latency grow without limit.
+ */
+@Component
+public class CheckoutExecutors {
+
+    private final ThreadPoolExecutor database;
+    private final ThreadPoolExecutor stripe;
+
+    public CheckoutExecutors(
+            @Value("${stripe.checkout.database-threads:8}") int databaseThreads,
+            @Value("${stripe.checkout.database-queue:200}") int databaseQueue,
+            @Value("${stripe.checkout.stripe-threads:64}") int stripeThreads,
+            @Value("${stripe.checkout.stripe-queue:500}") int stripeQueue
+    ) {
+        this.database = boundedPool("checkout-db-", databaseThreads, databaseQueue);
+        this.stripe = boundedPool("checkout-stripe-", stripeThreads, stripeQueue);
+    }
+
+    public Executor database() {
+        return database;
+    }
+
+    public Executor stripe() {
+        return stripe;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("database", poolStats(database));
+        stats.put("stripe", poolStats(stripe));
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        database.shutdown();
+        stripe.shutdown();
+    }
+
+    private static ThreadPoolExecutor boundedPool(String prefix, int threads, int queueCapacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory(prefix),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static Map<String, Object> poolStats(ThreadPoolExecutor executor) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("threads", executor.getMaximumPoolSize());
+        stats.put("active", executor.getActiveCount());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("completed", executor.getCompletedTaskCount());
+        return stats;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.nordicelectronics.service.stripe;
+
+import com.example.nordicelectronics.exception.StripeApiException;
+import com.example.nordicelectronics.repositories.sql.StripeCouponMappingRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the Stripe coupon to apply for a discount, creating it at most once
+ * per (coupon code, amount off, currency).
+ *
+ * Lookups go through a bounded in-process cache, then the shared
+ * {@code stripe_coupon_mapping} table, and only then Stripe. Concurrent misses
+ * for the same key on one node wait for a single creation. Across nodes the
+ * Stripe coupon id is derived from the key and sent with a matching
+ * idempotency key, so racing nodes converge on the same coupon instead of
+ * creating duplicates.
+ */
+@Slf4j
+@Component
+public class StripeCouponRegistry {
+
+    private final StripeGateway stripeGateway;
+    private final StripeCouponMappingRepository mappingRepository;
+    private final Cache<CouponKey, String> cache;
+    private final Map<CouponKey, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    public record CouponKey(String couponCode, long amountOffCents, String currency) {
+
+        /**
+         * Deterministic Stripe coupon id, e.g. {@code SUMMER20-2550-usd}.
+         */
+        String stripeCouponId() {
+            return couponCode.replaceAll("[^A-Za-z0-9_]", "_") + "-" + amountOffCents + "-" + currency;
+        }
+    }
+
+    @Autowired
+    public StripeCouponRegistry(
+            StripeGateway stripeGateway,
+            StripeCouponMappingRepository mappingRepository,
+            @Value("${stripe.coupons.cache.max-size:10000}") long maxSize
+    ) {
+        this.stripeGateway = stripeGateway;
+        this.mappingRepository = mappingRepository;
+        this.cache = Caffeine.newBuilder().maximumSize(maxSize).build();
+    }
+
+    /**
+     * Returns the Stripe coupon id for a fixed amount off, creating the coupon
+     * in Stripe only if no node has done so before.
+     */
+    public String resolve(String couponCode, long amountOffCents, String currency) throws StripeApiException {
+        if (amountOffCents <= 0) {
+            throw new IllegalArgumentException("Coupon amount must be positive");
+        }
+        CouponKey key = new CouponKey(couponCode, amountOffCents, currency.toLowerCase(Locale.ROOT));
+
+        String cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<String> mine = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            String stripeCouponId = mappingRepository
+                    .findStripeCouponId(key.couponCode(), key.amountOffCents(), key.currency())
+                    .orElse(null);
+            if (stripeCouponId == null) {
+                stripeCouponId = mappingRepository.saveIfAbsent(
+                        key.couponCode(), key.amountOffCents(), key.currency(), createInStripe(key));
+            }
+            cache.put(key, stripeCouponId);
+            mine.complete(stripeCouponId);
+            return stripeCouponId;
+        } catch (StripeApiException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private String createInStripe(CouponKey key) throws StripeApiException {
+        String couponId = key.stripeCouponId();
+        String params = "id=" + encode(couponId)
+                + "&name=" + encode(key.couponCode())
+                + "&amount_off=" + key.amountOffCents()
+                + "&currency=" + key.currency()
+                + "&duration=once";
+        try {
+            Map<String, Object> coupon = stripeGateway.post("/v1/coupons", params, "coupon-" + couponId);
+            log.info("Created Stripe coupon {}", couponId);
+            return (String) coupon.get("id");
+        } catch (StripeApiException e) {
+            // Another node created it first, or the mapping row was lost; the id is the same either way
+            if (e.getStatusCode() == 400 && e.getResponseBody() != null
+                    && e.getResponseBody().contains("resource_already_exists")) {
+                return couponId;
+            }
+            throw e;
+        }
+    }
+
+    private static String await(CompletableFuture<String> future) throws StripeApiException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof StripeApiException stripeError) {
+                throw stripeError;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeError) {
+                throw runtimeError;
+            }
+            throw e;
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.nordicelectronics.service.stripe;
+
+import com.example.nordicelectronics.exception.StripeApiException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Single entry point for outbound Stripe API calls.
+ *
+ * One HTTP/2 client is shared by all calls so connections (and their TLS
+ * sessions) are reused. Every logical call has a deadline that bounds the sum
+ * of its attempts. Calls that carry an idempotency key are retried on network
+ * errors, 429 and 5xx with capped exponential backoff and full jitter; calls
+ * without one are attempted once, since Stripe could otherwise apply them twice.
+ *
+ * When {@link StripeStubServer} is enabled the gateway talks to it instead of
+ * {@code stripe.api.base-url}.
+ */
+@Slf4j
+@Component
+public class StripeGateway {
+
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(2);
+    private static final TypeReference<Map<String, Object>> JSON_MAP = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper;
+    private final String secretKey;
+    private final String baseUrl;
+    private final Duration requestTimeout;
+    private final Duration deadline;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+    private final HttpClient httpClient;
+    private final StripeGatewayMetrics metrics = new StripeGatewayMetrics();
+
+    public StripeGateway(ObjectMapper objectMapper, String secretKey, String baseUrl, Duration connectTimeout,
+                         Duration requestTimeout, Duration deadline, int maxRetries, Duration retryBackoff) {
+        this.objectMapper = objectMapper;
+        this.secretKey = secretKey;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.requestTimeout = requestTimeout;
+        this.deadline = deadline;
+        this.maxRetries = maxRetries;
+        this.retryBackoff = retryBackoff;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .build();
+    }
+
+    @Autowired
+    public StripeGateway(
+            ObjectMapper objectMapper,
+            ObjectProvider<StripeStubServer> stubServer,
+            @Value("${stripe.secret.key:}") String secretKey,
+            @Value("${stripe.api.base-url:https://api.stripe.com}") String baseUrl,
+            @Value("${stripe.client.connect-timeout:PT3S}") Duration connectTimeout,
+            @Value("${stripe.client.request-timeout:PT10S}") Duration requestTimeout,
+            @Value("${stripe.client.deadline:PT20S}") Duration deadline,
+            @Value("${stripe.client.max-retries:2}") int maxRetries,
+            @Value("${stripe.client.retry-backoff:PT0.2S}") Duration retryBackoff
+    ) {
+        this(objectMapper, secretKey, resolveBaseUrl(stubServer.getIfAvailable(), baseUrl),
+                connectTimeout, requestTimeout, deadline, maxRetries, retryBackoff);
+        log.info("Stripe gateway using {}", this.baseUrl);
+    }
+
+    private static String resolveBaseUrl(StripeStubServer stubServer, String configured) {
+        return stubServer != null ? stubServer.getBaseUrl() : configured;
+    }
+
+    /**
+     * POSTs form-encoded parameters to a Stripe endpoint and returns the parsed
+     * JSON body. Pass a stable {@code idempotencyKey} to make the call safe to
+     * retry, or null for a single attempt.
+     */
+    public Map<String, Object> post(String endpoint, String formData, String idempotencyKey) throws StripeApiException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + endpoint))
+                .header("Authorization", "Bearer " + secretKey)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(formData));
+        if (idempotencyKey != null) {
+            builder.header("Idempotency-Key", idempotencyKey);
+        }
+        int attemptsAllowed = idempotencyKey != null ? maxRetries + 1 : 1;
+
+        long start = System.nanoTime();
+        long deadlineNanos = start + deadline.toNanos();
+        boolean success = false;
+        try {
+            Map<String, Object> result = execute(endpoint, builder, attemptsAllowed, deadlineNanos);
+            success = true;
+            return result;
+        } finally {
+            metrics.recordCall(endpoint, System.nanoTime() - start, success);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("baseUrl", baseUrl);
+        stats.put("endpoints", metrics.getStats());
+        return stats;
+    }
+
+    private Map<String, Object> execute(String endpoint, HttpRequest.Builder builder, int attemptsAllowed,
+                                        long deadlineNanos) throws StripeApiException {
+        for (int attempt = 1; ; attempt++) {
+            long remaining = deadlineNanos - System.nanoTime();
+            if (remaining <= 0) {
+                throw new StripeApiException("Stripe API call to " + endpoint + " exceeded its deadline of " + deadline);
+            }
+            HttpRequest request = builder.copy()
+                    .timeout(Duration.ofNanos(Math.min(remaining, requestTimeout.toNanos())))
+                    .build();
+
+            metrics.recordAttempt(endpoint);
+            StripeApiException failure;
+            boolean retryable;
+            try {
+                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                int status = response.statusCode();
+                if (status >= 200 && status < 300) {
+                    return objectMapper.readValue(response.body(), JSON_MAP);
+                }
+                failure = new StripeApiException("Stripe API error: " + response.body(), status, response.body());
+                retryable = isRetryable(status, response.headers().firstValue("Stripe-Should-Retry").orElse(null));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new StripeApiException("Request interrupted", e);
+            } catch (JsonProcessingException e) {
+                throw new StripeApiException("Unreadable Stripe response: " + e.getOriginalMessage(), e);
+            } catch (IOException e) {
+                failure = new StripeApiException("Stripe API call failed: " + e.getMessage(), e);
+                retryable = true;
+            }
+
+            if (!retryable || attempt >= attemptsAllowed) {
+                throw failure;
+            }
+            long backoff = backoffNanos(attempt);
+            if (System.nanoTime() + backoff >= deadlineNanos) {
+                throw failure;
+            }
+            log.warn("Stripe call to {} failed (attempt {}/{}), retrying: {}",
+                    endpoint, attempt, attemptsAllowed, failure.getMessage());
+            metrics.recordRetry(endpoint);
+            sleep(backoff);
+        }
+    }
+
+    /**
+     * Stripe's explicit retry hint wins; otherwise only throttling and server
+     * errors are worth another attempt.
+     */
+    private static boolean isRetryable(int status, String shouldRetry) {
+        if (shouldRetry != null) {
+            return Boolean.parseBoolean(shouldRetry);
+        }
+        return status == 409 || status == 429 || status >= 500;
+    }
+
+    private long backoffNanos(int attempt) {
+        long cap = Math.min(MAX_BACKOFF.toNanos(), retryBackoff.toNanos() << Math.min(attempt - 1, 20));
+        return cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    private static void sleep(long nanos) throws StripeApiException {
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StripeApiException("Request interrupted", e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.nordicelectronics.service.stripe;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint call counters and latency percentiles for {@link StripeGateway}.
+ * Latencies are kept in a fixed ring of the most recent samples, so memory is
+ * bounded and percentiles reflect current behaviour rather than all-time history.
+ */
+public class StripeGatewayMetrics {
+
+    private static final int SAMPLE_WINDOW = 1024;
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    void recordAttempt(String endpoint) {
+        stats(endpoint).attempts.increment();
+    }
+
+    void recordRetry(String endpoint) {
+        stats(endpoint).retries.increment();
+    }
+
+    /**
+     * Records a finished logical call, including all of its retries.
+     */
+    void recordCall(String endpoint, long elapsedNanos, boolean success) {
+        EndpointStats stats = stats(endpoint);
+        stats.calls.increment();
+        if (!success) {
+            stats.failures.increment();
+        }
+        long slot = stats.sampleCount.getAndIncrement();
+        stats.latencies.set((int) (slot % SAMPLE_WINDOW), elapsedNanos);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        endpoints.forEach((endpoint, stats) -> result.put(endpoint, stats.snapshot()));
+        return result;
+    }
+
+    private EndpointStats stats(String endpoint) {
+        return endpoints.computeIfAbsent(endpoint, e -> new EndpointStats());
+    }
+
+    private static final class EndpointStats {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder attempts = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final AtomicLong sampleCount = new AtomicLong();
+        private final AtomicLongArray latencies = new AtomicLongArray(SAMPLE_WINDOW);
+
+        Map<String, Object> snapshot() {
+            int size = (int) Math.min(sampleCount.get(), SAMPLE_WINDOW);
+            long[] samples = new long[size];
+            for (int i = 0; i < size; i++) {
+                samples[i] = latencies.get(i);
+            }
+            Arrays.sort(samples);
+
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("calls", calls.sum());
+            snapshot.put("failures", failures.sum());
+            snapshot.put("attempts", attempts.sum());
+            snapshot.put("retries", retries.sum());
+            snapshot.put("p50Millis", percentileMillis(samples, 0.50));
+            snapshot.put("p95Millis", percentileMillis(samples, 0.95));
+            snapshot.put("p99Millis", percentileMillis(samples, 0.99));
+            snapshot.put("maxMillis", size == 0 ? 0.0 : samples[size - 1] / 1e6);
+            return snapshot;
+        }
+
+        private static double percentileMillis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(sorted.length * percentile) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.nordicelectronics.service.stripe;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embedded fake of the two Stripe endpoints the checkout uses, for load tests
+ * and local runs without a Stripe account. Enabled with
+ * {@code stripe.stub.enabled=true}; {@link StripeGateway} then points at it.
+ *
+ * Latency and failures can be injected with {@code stripe.stub.latency},
+ * {@code stripe.stub.latency-jitter} and {@code stripe.stub.error-rate}, or
+ * changed at runtime through the setters. Delayed responses are completed from
+ * a scheduler rather than by sleeping, so a slow stub does not run out of
+ * threads before the application under test does. Like Stripe, successful
+ * responses are replayed for a repeated {@code Idempotency-Key} and a coupon id
+ * can only be created once.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "stripe.stub.enabled", havingValue = "true")
+public class StripeStubServer {
+
+    private static final int MAX_IDEMPOTENT_RESPONSES = 10_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, byte[]> idempotentResponses = new ConcurrentHashMap<>();
+    private final Set<String> couponIds = ConcurrentHashMap.newKeySet();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final int port;
+
+    private volatile Duration latency;
+    private volatile Duration latencyJitter;
+    private volatile double errorRate;
+
+    private HttpServer server;
+    private ExecutorService handlers;
+    private ScheduledExecutorService responder;
+
+    @Autowired
+    public StripeStubServer(
+            @Value("${stripe.stub.port:0}") int port,
+            @Value("${stripe.stub.latency:PT0S}") Duration latency,
+            @Value("${stripe.stub.latency-jitter:PT0S}") Duration latencyJitter,
+            @Value("${stripe.stub.error-rate:0.0}") double errorRate
+    ) {
+        this.port = port;
+        this.latency = latency;
+        this.latencyJitter = latencyJitter;
+        this.errorRate = errorRate;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        handlers = Executors.newFixedThreadPool(4);
+        responder = Executors.newScheduledThreadPool(2);
+        server.setExecutor(handlers);
+        server.createContext("/", this::handle);
+        server.start();
+        log.info("Stripe stub listening on {} (latency {}, jitter {}, error rate {})",
+                getBaseUrl(), latency, latencyJitter, errorRate);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            handlers.shutdownNow();
+            responder.shutdownNow();
+        }
+    }
+
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public void setLatency(Duration latency, Duration latencyJitter) {
+        this.latency = latency;
+        this.latencyJitter = latencyJitter;
+    }
+
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        Map<String, String> params;
+        try (InputStream body = exchange.getRequestBody()) {
+            params = parseForm(new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        String idempotencyKey = exchange.getRequestHeaders().getFirst("Idempotency-Key");
+
+        long delayNanos = latency.toNanos();
+        long jitterNanos = latencyJitter.toNanos();
+        if (jitterNanos > 0) {
+            delayNanos += ThreadLocalRandom.current().nextLong(jitterNanos + 1);
+        }
+        responder.schedule(() -> respond(exchange, params, idempotencyKey), delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void respond(HttpExchange exchange, Map<String, String> params, String idempotencyKey) {
+        try {
+            if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+                send(exchange, 500, error("api_error", "Injected stub failure"));
+                return;
+            }
+            byte[] replay = idempotencyKey != null ? idempotentResponses.get(idempotencyKey) : null;
+            if (replay != null) {
+                exchange.getResponseHeaders().add("Idempotent-Replayed", "true");
+                send(exchange, 200, replay);
+                return;
+            }
+
+            String couponId = params.get("id");
+            if ("/v1/coupons".equals(exchange.getRequestURI().getPath()) && couponId != null && !couponIds.add(couponId)) {
+                send(exchange, 400, objectMapper.writeValueAsBytes(Map.of("error", Map.of(
+                        "type", "invalid_request_error",
+                        "code", "resource_already_exists",
+                        "message", "Coupon already exists."))));
+                return;
+            }
+
+            Map<String, Object> body = switch (exchange.getRequestURI().getPath()) {
+                case "/v1/coupons" -> coupon(params);
+                case "/v1/checkout/sessions" -> checkoutSession(params);
+                default -> null;
+            };
+            if (body == null) {
+                send(exchange, 404, error("invalid_request_error", "Unrecognized request URL"));
+                return;
+            }
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            if (idempotencyKey != null) {
+                if (idempotentResponses.size() >= MAX_IDEMPOTENT_RESPONSES) {
+                    idempotentResponses.clear();
+                }
+                idempotentResponses.put(idempotencyKey, json);
+            }
+            send(exchange, 200, json);
+        } catch (IOException e) {
+            log.debug("Stripe stub failed to respond: {}", e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Map<String, Object> coupon(Map<String, String> params) {
+        Map<String, Object> coupon = new LinkedHashMap<>();
+        coupon.put("id", params.getOrDefault("id", "stub_coupon_" + UUID.randomUUID()));
+        coupon.put("object", "coupon");
+        coupon.put("name", params.get("name"));
+        coupon.put("amount_off", params.containsKey("amount_off") ? Long.parseLong(params.get("amount_off")) : null);
+        coupon.put("currency", params.get("currency"));
+        coupon.put("duration", params.getOrDefault("duration", "once"));
+        return coupon;
+    }
+
+    private Map<String, Object> checkoutSession(Map<String, String> params) {
+        String id = "cs_test_stub_" + UUID.randomUUID().toString().replace("-", "");
+        Map<String, Object> session = new LinkedHashMap<>();
+        session.put("id", id);
+        session.put("object", "checkout.session");
+        session.put("url", getBaseUrl() + "/pay/" + id);
+        session.put("success_url", params.get("success_url"));
+        session.put("cancel_url", params.get("cancel_url"));
+        session.put("metadata", Map.of("orderId", params.getOrDefault("metadata[orderId]", "")));
+        return session;
+    }
+
+    private byte[] error(String type, String message) throws IOException {
+        return objectMapper.writeValueAsBytes(Map.of("error", Map.of("type", type, "message", message)));
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Map<String, String> parseForm(String form) {
+        Map<String, String> params = new HashMap<>();
+        for (String pair : form.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            params.put(key, value);
+        }
+        return params;
+    }
+}
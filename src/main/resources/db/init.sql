@@ -81,6 +81,62 @@ CREATE TABLE coupon (
                         deleted_at TIMESTAMP NULL
 );
 
+-- Stripe coupons already created for a (code, amount, currency), so checkouts reuse them
+CREATE TABLE stripe_coupon_mapping (
+                        coupon_code VARCHAR(50) NOT NULL,
+                        amount_off_cents BIGINT NOT NULL CHECK (amount_off_cents > 0),
+                        currency CHAR(3) NOT NULL,
+                        stripe_coupon_id VARCHAR(255) NOT NULL,
+                        created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                        PRIMARY KEY (coupon_code, amount_off_cents, currency)
+);
+
+-- Per-source high-water marks of the incremental PostgreSQL -> MongoDB/Neo4j sync
+CREATE TABLE sync_watermark (
+                        target VARCHAR(20) NOT NULL,
+                        source VARCHAR(50) NOT NULL,
+                        high_water TIMESTAMP NOT NULL,
+                        last_synced_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                        PRIMARY KEY (target, source)
+);
+
+-- Changed rows waiting to be relayed to MongoDB/Neo4j, one row per target store.
+-- Appended in the writing transaction, deleted by the relay once applied.
+CREATE TABLE outbox_event (
+                        event_id BIGSERIAL PRIMARY KEY,
+                        target VARCHAR(20) NOT NULL,
+                        source VARCHAR(50) NOT NULL,
+                        aggregate_id UUID NOT NULL,
+                        created_at TIMESTAMP NOT NULL DEFAULT clock_timestamp()
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_event_target ON outbox_event (target, event_id);
+
+-- Full migration jobs to MongoDB/Neo4j, and the last chunk each of their phases has written
+CREATE TABLE migration_job (
+                        job_id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+                        target VARCHAR(20) NOT NULL,
+                        status VARCHAR(20) NOT NULL,
+                        parallelism INT NOT NULL,
+                        snapshot_time TIMESTAMP NULL,
+                        rows_at_start BIGINT NOT NULL DEFAULT 0,
+                        error TEXT NULL,
+                        created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                        started_at TIMESTAMP NULL,
+                        finished_at TIMESTAMP NULL
+);
+
+CREATE TABLE migration_checkpoint (
+                        job_id UUID NOT NULL REFERENCES migration_job(job_id) ON DELETE CASCADE,
+                        phase VARCHAR(50) NOT NULL,
+                        total_rows BIGINT NULL,
+                        rows_written BIGINT NOT NULL DEFAULT 0,
+                        last_id UUID NULL,
+                        completed BOOLEAN NOT NULL DEFAULT false,
+                        updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                        PRIMARY KEY (job_id, phase)
+);
+
 -- ======================
 -- Warranty
 -- ======================
@@ -200,6 +256,7 @@ CREATE TABLE warehouse_product (
                                    warehouse_id UUID NOT NULL REFERENCES warehouse(warehouse_id) ON DELETE CASCADE,
                                    product_id UUID NOT NULL REFERENCES product(product_id) ON DELETE CASCADE,
                                    stock_quantity INTEGER NOT NULL DEFAULT 0 CHECK (stock_quantity >= 0 AND stock_quantity <= 50),  -- BVA: 0 to max stock, no negative
+                                   updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,  -- bumped by trigger; drives incremental sync
                                    PRIMARY KEY (warehouse_id, product_id)
 );
 
@@ -292,6 +349,34 @@ CREATE INDEX IF NOT EXISTS idx_product_brand_id ON product(brand_id);
 -- Index product_category on category_id (improves performance of product searches by category)
 CREATE INDEX IF NOT EXISTS idx_product_category_category_id ON product_category(category_id);
 
+-- Composite (sort column, product_id) indexes for keyset pagination of live products
+-- (lets the paginated listing seek past the last row instead of scanning OFFSET rows)
+CREATE INDEX IF NOT EXISTS idx_product_name_id ON product(name, product_id) WHERE deleted_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_product_price_id ON product(price, product_id) WHERE deleted_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_product_sku_id ON product(sku, product_id) WHERE deleted_at IS NULL;
+
+-- Brand-scoped variants for keyset pages filtered by brand
+CREATE INDEX IF NOT EXISTS idx_product_brand_name_id ON product(brand_id, name, product_id) WHERE deleted_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_product_brand_price_id ON product(brand_id, price, product_id) WHERE deleted_at IS NULL;
+
+-- Index live orders per user, newest first (serves keyset-paginated order history)
+CREATE INDEX IF NOT EXISTS idx_order_user_date ON "order"(user_id, order_date DESC NULLS LAST, order_id DESC) WHERE deleted_at IS NULL;
+
+-- Index warehouse_product on product_id (stock checks and decrements during checkout look up by product)
+CREATE INDEX IF NOT EXISTS idx_warehouse_product_product_id ON warehouse_product(product_id);
+
+-- Index review on product_id (the MongoDB migration embeds each chunk of products' reviews with one lookup)
+CREATE INDEX IF NOT EXISTS idx_review_product_id ON review(product_id);
+
+-- Index updated_at on the large tables (incremental sync reads rows changed since its high-water mark)
+CREATE INDEX IF NOT EXISTS idx_user_updated_at ON "user"(updated_at);
+CREATE INDEX IF NOT EXISTS idx_address_updated_at ON address(updated_at);
+CREATE INDEX IF NOT EXISTS idx_product_updated_at ON product(updated_at);
+CREATE INDEX IF NOT EXISTS idx_order_updated_at ON "order"(updated_at);
+CREATE INDEX IF NOT EXISTS idx_payment_updated_at ON payment(updated_at);
+CREATE INDEX IF NOT EXISTS idx_review_updated_at ON review(updated_at);
+CREATE INDEX IF NOT EXISTS idx_warehouse_product_updated_at ON warehouse_product(updated_at);
+
 -- ==============================================
 -- MATERIALIZED VIEWS
 -- ==============================================
@@ -491,127 +576,131 @@ $$ LANGUAGE plpgsql;
 -- STORED PROCEDURES
 -- ==============================================
 
+-- Place Order Procedure: set-based checkout in a single call.
+-- p_order_items is a JSON array of {product_id, quantity, warehouse_id?}; the
+-- created order id is returned through the OUT parameter.
+DROP PROCEDURE IF EXISTS sp_place_order(UUID, UUID, JSONB, UUID, NUMERIC);
+
 CREATE OR REPLACE PROCEDURE sp_place_order(
     p_user_id UUID,
     p_address_id UUID,
     p_order_items JSONB,
     p_coupon_id UUID,
-    p_discount_amount NUMERIC(12, 2)
+    p_discount_amount NUMERIC(12, 2),
+    OUT p_order_id UUID
 )
 LANGUAGE plpgsql
 AS $$
 DECLARE
-v_order_id UUID;
-    v_subtotal NUMERIC(12, 2) := 0;
+    v_subtotal NUMERIC(12, 2);
     v_shipping_cost NUMERIC(12, 2) := 50.00;
     v_total NUMERIC(12, 2);
-    v_item JSONB;
-    v_product_price NUMERIC(12, 2);
-    v_item_total NUMERIC(12, 2);
+    v_missing_product TEXT;
+    v_short_product TEXT;
+    v_lines JSONB;
 BEGIN
 
-    -- Calculate subtotal and validate stock availability
-FOR v_item IN SELECT * FROM jsonb_array_elements(p_order_items)
-                                LOOP
-SELECT price INTO v_product_price
-FROM product
-WHERE product_id = (v_item->>'product_id')::UUID
-          AND deleted_at IS NULL;
-
-IF NOT FOUND THEN
-            RAISE EXCEPTION 'Product not found: %', v_item->>'product_id';
-END IF;
+    -- One line per product and warehouse, so repeated cart lines are checked and taken together
+    SELECT jsonb_agg(jsonb_build_object('product_id', l.product_id, 'warehouse_id', l.warehouse_id,
+                                        'quantity', l.quantity))
+    INTO v_lines
+    FROM (
+        SELECT i.product_id, i.warehouse_id, SUM(i.quantity) AS quantity
+        FROM jsonb_to_recordset(p_order_items) AS i(product_id UUID, quantity INTEGER, warehouse_id UUID)
+        GROUP BY i.product_id, i.warehouse_id
+    ) l;
+
+    -- Price every line and find unknown products in one pass
+    SELECT COALESCE(SUM(p.price * i.quantity), 0),
+           MIN(i.product_id::TEXT) FILTER (WHERE p.product_id IS NULL)
+    INTO v_subtotal, v_missing_product
+    FROM jsonb_to_recordset(v_lines) AS i(product_id UUID, quantity INTEGER, warehouse_id UUID)
+    LEFT JOIN product p ON p.product_id = i.product_id AND p.deleted_at IS NULL;
+
+    IF v_missing_product IS NOT NULL THEN
+        RAISE EXCEPTION 'Product not found: %', v_missing_product;
+    END IF;
 
-        IF NOT fn_check_product_availability(
-            (v_item->>'product_id')::UUID,
-            (v_item->>'quantity')::INTEGER,
-            CASE WHEN v_item->>'warehouse_id' IS NOT NULL
-                 THEN (v_item->>'warehouse_id')::UUID
-                 ELSE NULL END
-        ) THEN
-            RAISE EXCEPTION 'Insufficient stock for product: %', v_item->>'product_id';
-END IF;
+    -- Validate stock: the given warehouse, or the total across warehouses
+    SELECT i.product_id::TEXT
+    INTO v_short_product
+    FROM jsonb_to_recordset(v_lines) AS i(product_id UUID, quantity INTEGER, warehouse_id UUID)
+    WHERE COALESCE((
+        SELECT SUM(wp.stock_quantity)
+        FROM warehouse_product wp
+        WHERE wp.product_id = i.product_id
+          AND (i.warehouse_id IS NULL OR wp.warehouse_id = i.warehouse_id)
+    ), 0) < i.quantity
+    LIMIT 1;
+
+    IF v_short_product IS NOT NULL THEN
+        RAISE EXCEPTION 'Insufficient stock for product: %', v_short_product;
+    END IF;
 
-        v_item_total := v_product_price * (v_item->>'quantity')::INTEGER;
-        v_subtotal := v_subtotal + v_item_total;
-END LOOP;
     -- Calculate total
-        v_total := v_subtotal + v_shipping_cost - COALESCE(p_discount_amount, 0);
+    v_total := v_subtotal + v_shipping_cost - COALESCE(p_discount_amount, 0);
 
     -- Create order
-INSERT INTO "order" (
-    user_id,
-    address_id,
-    coupon_id,
-    subtotal,
-    tax_amount,
-    shipping_cost,
-    discount_amount,
-    total_amount,
-    status
-) VALUES (
-             p_user_id,
-             p_address_id,
-             p_coupon_id,
-             v_subtotal,
-             0,
-             v_shipping_cost,
-             COALESCE(p_discount_amount, 0),
-             v_total,
-             'pending'
-         ) RETURNING order_id INTO v_order_id;
-
--- Create order items and update inventory
-FOR v_item IN SELECT * FROM jsonb_array_elements(p_order_items)
-                                LOOP
-SELECT price INTO v_product_price
-FROM product
-WHERE product_id = (v_item->>'product_id')::UUID;
-
-v_item_total := v_product_price * (v_item->>'quantity')::INTEGER;
-
-INSERT INTO order_product (
-    order_id,
-    product_id,
-    quantity,
-    unit_price,
-    total_price
-) VALUES (
-             v_order_id,
-             (v_item->>'product_id')::UUID,
-             (v_item->>'quantity')::INTEGER,
-             v_product_price,
-             v_item_total
-         );
-
--- Update warehouse inventory
-IF v_item->>'warehouse_id' IS NOT NULL THEN
-UPDATE warehouse_product
-SET stock_quantity = stock_quantity - (v_item->>'quantity')::INTEGER
-WHERE product_id = (v_item->>'product_id')::UUID
-  AND warehouse_id = (v_item->>'warehouse_id')::UUID;
-ELSE
-            -- Update first warehouse that has enough stock
-            -- Fixed: Use product_id and warehouse_id as the composite key
-UPDATE warehouse_product
-SET stock_quantity = stock_quantity - (v_item->>'quantity')::INTEGER
-WHERE (product_id, warehouse_id) = (
-    SELECT product_id, warehouse_id
-    FROM warehouse_product
-    WHERE product_id = (v_item->>'product_id')::UUID
-  AND stock_quantity >= (v_item->>'quantity')::INTEGER
-    ORDER BY warehouse_id
-    LIMIT 1
-    );
-END IF;
-END LOOP;
+    INSERT INTO "order" (
+        user_id,
+        address_id,
+        coupon_id,
+        subtotal,
+        tax_amount,
+        shipping_cost,
+        discount_amount,
+        total_amount,
+        status
+    ) VALUES (
+        p_user_id,
+        p_address_id,
+        p_coupon_id,
+        v_subtotal,
+        0,
+        v_shipping_cost,
+        COALESCE(p_discount_amount, 0),
+        v_total,
+        'pending'
+    ) RETURNING order_id INTO p_order_id;
+
+    -- Create all order items at once, one per product whichever warehouses it ships from
+    INSERT INTO order_product (order_id, product_id, quantity, unit_price, total_price)
+    SELECT p_order_id, i.product_id, SUM(i.quantity), p.price, p.price * SUM(i.quantity)
+    FROM jsonb_to_recordset(v_lines) AS i(product_id UUID, quantity INTEGER, warehouse_id UUID)
+    JOIN product p ON p.product_id = i.product_id
+    GROUP BY i.product_id, p.price;
+
+    -- Decrement inventory: the given warehouse, otherwise the first warehouse with enough stock.
+    -- UPDATE ... FROM applies only one joined row per target row, so lines that resolve to the
+    -- same warehouse are summed first.
+    UPDATE warehouse_product wp
+    SET stock_quantity = wp.stock_quantity - t.quantity
+    FROM (
+        SELECT r.product_id, r.warehouse_id, SUM(r.quantity) AS quantity
+        FROM (
+            SELECT i.product_id,
+                   i.quantity,
+                   COALESCE(i.warehouse_id, (
+                       SELECT w.warehouse_id
+                       FROM warehouse_product w
+                       WHERE w.product_id = i.product_id
+                         AND w.stock_quantity >= i.quantity
+                       ORDER BY w.warehouse_id
+                       LIMIT 1
+                   )) AS warehouse_id
+            FROM jsonb_to_recordset(v_lines) AS i(product_id UUID, quantity INTEGER, warehouse_id UUID)
+        ) r
+        GROUP BY r.product_id, r.warehouse_id
+    ) t
+    WHERE wp.product_id = t.product_id
+      AND wp.warehouse_id = t.warehouse_id;
 
     IF p_coupon_id IS NOT NULL THEN
-UPDATE coupon
-SET times_used = times_used + 1,
-    updated_at = CURRENT_TIMESTAMP
-WHERE coupon_id = p_coupon_id;
-END IF;
+        UPDATE coupon
+        SET times_used = times_used + 1,
+            updated_at = CURRENT_TIMESTAMP
+        WHERE coupon_id = p_coupon_id;
+    END IF;
 END;
 $$;
 
@@ -664,6 +753,22 @@ CREATE TRIGGER order_cancelled_trigger
     WHEN (NEW.status = 'cancelled' AND (OLD.status IS NULL OR OLD.status != 'cancelled'))
     EXECUTE FUNCTION fn_order_cancelled_trigger();
 
+-- Stock Touch Trigger: stock is changed by plain SQL (checkout, cancellations), so stamp the row
+-- here for the incremental sync instead of relying on every writer to set updated_at
+CREATE OR REPLACE FUNCTION fn_touch_updated_at()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.updated_at = CURRENT_TIMESTAMP;
+RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER warehouse_product_touch_trigger
+    BEFORE UPDATE ON warehouse_product
+    FOR EACH ROW
+    WHEN (NEW.stock_quantity IS DISTINCT FROM OLD.stock_quantity)
+    EXECUTE FUNCTION fn_touch_updated_at();
+
 -- ==============================================
 -- EVENTS (pg_cron)
 -- ==============================================
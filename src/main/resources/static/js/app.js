@@ -534,17 +534,12 @@ async function loadUserOrders() {
             return;
         }
 
-        const response = await fetch(`${API_ENDPOINTS.ORDERS}/by-user?userId=${userId}`, {
-            method: 'GET',
-            credentials: 'same-origin' // Include session cookies
-        });
+        const response = await fetchAllPages(`${API_ENDPOINTS.ORDERS}/by-user?userId=${encodeURIComponent(userId)}`);
 
         if (response.ok) {
-            const orders = await response.json();
-            displayOrders(orders);
+            displayOrders(response.items);
         } else {
-            const errorData = await response.json().catch(() => ({ message: 'Failed to load orders' }));
-            throw new Error(errorData.message || 'Failed to load orders');
+            throw new Error('Failed to load orders');
         }
     } catch (error) {
         console.error('Error loading orders:', error);
@@ -670,13 +665,30 @@ function showOrdersSection() {
 }
 
 // Data Loading Functions
+
+// List endpoints return one page at a time; follow X-Next-Cursor to the end
+async function fetchAllPages(url) {
+    const items = [];
+    let cursor = null;
+    do {
+        const pageUrl = `${url}${url.includes('?') ? '&' : '?'}limit=1000` + (cursor ? `&cursor=${encodeURIComponent(cursor)}` : '');
+        const response = await fetch(pageUrl, { credentials: 'same-origin' });
+        if (!response.ok) {
+            return { ok: false, items };
+        }
+        items.push(...await response.json());
+        cursor = response.headers.get('X-Next-Cursor');
+    } while (cursor);
+    return { ok: true, items };
+}
+
 async function loadProducts() {
     try {
         showLoading('products-grid');
-        const response = await fetch(API_ENDPOINTS.PRODUCTS);
+        const response = await fetchAllPages(API_ENDPOINTS.PRODUCTS);
 
         if (response.ok) {
-            products = await response.json();
+            products = response.items;
             displayProducts(products);
         } else {
             throw new Error('Failed to load products');
@@ -689,10 +701,10 @@ async function loadProducts() {
 
 async function loadCategories() {
     try {
-        const response = await fetch(API_ENDPOINTS.CATEGORIES);
+        const response = await fetchAllPages(API_ENDPOINTS.CATEGORIES);
 
         if (response.ok) {
-            categories = await response.json();
+            categories = response.items;
             displayCategories(categories);
             populateCategoryFilter(categories);
         } else {
@@ -706,10 +718,10 @@ async function loadCategories() {
 
 async function loadBrands() {
     try {
-        const response = await fetch(API_ENDPOINTS.BRANDS);
+        const response = await fetchAllPages(API_ENDPOINTS.BRANDS);
 
         if (response.ok) {
-            brands = await response.json();
+            brands = response.items;
             displayBrands(brands);
             populateBrandFilter(brands);
         } else {
@@ -0,0 +1,177 @@
+package com.example.nordicelectronics.integration.benchmark;
+
+import com.example.nordicelectronics.entity.Order;
+import com.example.nordicelectronics.entity.dto.address.AddressRequestDTO;
+import com.example.nordicelectronics.entity.dto.order.OrderProductRequestDTO;
+import com.example.nordicelectronics.entity.dto.order.OrderRequestDTO;
+import com.example.nordicelectronics.integration.BaseIntegrationTest;
+import com.example.nordicelectronics.service.OrderService;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Concurrent checkout throughput and latency through OrderService.createOrder
+ * and sp_place_order. Opt-in because it commits data:
+ *
+ *   mvn verify -Dbenchmark=true -Dit.test=CheckoutBenchmarkIT
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CheckoutBenchmarkIT extends BaseIntegrationTest {
+
+    private static final String TAG = "Checkout Bench";
+    private static final int PRODUCTS = 200;
+    private static final int WAREHOUSES = 20;
+    private static final int USERS = 64;
+    private static final int LINES_PER_ORDER = 3;
+    private static final int CHECKOUTS_PER_LEVEL = 400;
+    private static final int[] THREAD_LEVELS = {1, 8, 32};
+
+    @Autowired
+    private OrderService orderService;
+
+    @Test
+    @Transactional(Transactional.TxType.NOT_SUPPORTED) // worker threads must see committed data
+    @DisplayName("Benchmark: concurrent checkouts at 1, 8 and 32 threads")
+    void benchmarkCheckout() throws Exception {
+        try {
+            createCatalog();
+            List<UUID> users = jdbcTemplate.queryForList(
+                    "SELECT user_id FROM \"user\" WHERE first_name = ?", UUID.class, TAG);
+            List<UUID> products = jdbcTemplate.queryForList(
+                    "SELECT product_id FROM product WHERE name LIKE ?", UUID.class, TAG + " %");
+
+            // Warm up the connection pool, plan cache and JIT
+            for (int i = 0; i < 20; i++) {
+                orderService.createOrder(randomOrder(users, products));
+            }
+
+            System.out.printf("%n=== Checkout benchmark (%d lines per order) ===%n", LINES_PER_ORDER);
+            System.out.printf("%-8s %12s %12s %12s%n", "threads", "orders/s", "p50 ms", "p95 ms");
+            for (int threads : THREAD_LEVELS) {
+                long[] latencies = new long[CHECKOUTS_PER_LEVEL];
+                ExecutorService executor = Executors.newFixedThreadPool(threads);
+                long start = System.nanoTime();
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < CHECKOUTS_PER_LEVEL; i++) {
+                    int slot = i;
+                    futures.add(executor.submit(() -> {
+                        OrderRequestDTO dto = randomOrder(users, products);
+                        long begin = System.nanoTime();
+                        Order order = orderService.createOrder(dto);
+                        latencies[slot] = System.nanoTime() - begin;
+                        assertThat(order.getOrderProducts()).hasSize(LINES_PER_ORDER);
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+                long elapsed = System.nanoTime() - start;
+                executor.shutdown();
+
+                Arrays.sort(latencies);
+                System.out.printf("%-8d %12.1f %12.2f %12.2f%n",
+                        threads,
+                        CHECKOUTS_PER_LEVEL / (elapsed / 1e9),
+                        latencies[CHECKOUTS_PER_LEVEL / 2] / 1e6,
+                        latencies[(int) Math.ceil(CHECKOUTS_PER_LEVEL * 0.95) - 1] / 1e6);
+            }
+        } finally {
+            dropCatalog();
+        }
+    }
+
+    private OrderRequestDTO randomOrder(List<UUID> users, List<UUID> products) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<OrderProductRequestDTO> lines = random.ints(0, products.size())
+                .distinct()
+                .limit(LINES_PER_ORDER)
+                .mapToObj(i -> OrderProductRequestDTO.builder()
+                        .productId(products.get(i))
+                        .quantity(1)
+                        .build())
+                .toList();
+        return OrderRequestDTO.builder()
+                .userId(users.get(random.nextInt(users.size())))
+                .address(AddressRequestDTO.builder()
+                        .street("Bench Street")
+                        .streetNumber("1")
+                        .zip("2100")
+                        .city("Copenhagen")
+                        .build())
+                .orderProducts(lines)
+                .build();
+    }
+
+    private void createCatalog() {
+        jdbcTemplate.update("""
+                INSERT INTO "user" (first_name, last_name, email, phone_number, date_of_birth, password)
+                SELECT ?, 'User ' || g, 'checkout-bench-' || g || '@example.com', '12345678', DATE '1990-01-01', 'benchmark-password'
+                FROM generate_series(1, ?) g
+                """, TAG, USERS);
+        jdbcTemplate.update("INSERT INTO brand (name, description) VALUES (?, 'Benchmark brand')", TAG);
+        jdbcTemplate.update("""
+                INSERT INTO warranty (start_date, end_date, description)
+                SELECT CURRENT_DATE, CURRENT_DATE + 730, ? FROM generate_series(1, ?)
+                """, TAG, PRODUCTS);
+        jdbcTemplate.update("""
+                WITH brand AS (SELECT brand_id FROM brand WHERE name = ?),
+                     warranties AS (SELECT warranty_id, row_number() OVER () AS n FROM warranty WHERE description = ?)
+                INSERT INTO product (sku, name, description, price, weight, brand_id, warranty_id)
+                SELECT 'CHECKOUT-BENCH-' || w.n, ? || ' ' || w.n, 'Benchmark product', 99.95 + w.n, 1.0, brand.brand_id, w.warranty_id
+                FROM warranties w, brand
+                """, TAG, TAG, TAG);
+        jdbcTemplate.update("""
+                INSERT INTO address (street, street_number, zip, city)
+                VALUES (?, '1', '2100', 'Copenhagen')
+                """, TAG);
+        jdbcTemplate.update("""
+                INSERT INTO warehouse (name, phone_number, address_id)
+                SELECT ? || ' ' || g, '12345678', (SELECT address_id FROM address WHERE street = ? LIMIT 1)
+                FROM generate_series(1, ?) g
+                """, TAG, TAG, WAREHOUSES);
+        // 50 is the per-row stock ceiling, so capacity comes from spreading products over warehouses
+        jdbcTemplate.update("""
+                INSERT INTO warehouse_product (warehouse_id, product_id, stock_quantity)
+                SELECT w.warehouse_id, p.product_id, 50
+                FROM warehouse w, product p
+                WHERE w.name LIKE ? AND p.name LIKE ?
+                """, TAG + " %", TAG + " %");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private void dropCatalog() {
+        jdbcTemplate.update("""
+                DELETE FROM order_product WHERE order_id IN (
+                    SELECT o.order_id FROM "order" o JOIN "user" u ON u.user_id = o.user_id WHERE u.first_name = ?)
+                """, TAG);
+        jdbcTemplate.update("""
+                DELETE FROM "order" WHERE user_id IN (SELECT user_id FROM "user" WHERE first_name = ?)
+                """, TAG);
+        jdbcTemplate.update("""
+                DELETE FROM address WHERE user_id IN (SELECT user_id FROM "user" WHERE first_name = ?)
+                """, TAG);
+        jdbcTemplate.update("DELETE FROM warehouse_product WHERE product_id IN (SELECT product_id FROM product WHERE name LIKE ?)",
+                TAG + " %");
+        jdbcTemplate.update("DELETE FROM warehouse WHERE name LIKE ?", TAG + " %");
+        jdbcTemplate.update("DELETE FROM address WHERE street = ?", TAG);
+        jdbcTemplate.update("DELETE FROM product WHERE name LIKE ?", TAG + " %");
+        jdbcTemplate.update("DELETE FROM warranty WHERE description = ?", TAG);
+        jdbcTemplate.update("DELETE FROM brand WHERE name = ?", TAG);
+        jdbcTemplate.update("DELETE FROM \"user\" WHERE first_name = ?", TAG);
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.nordicelectronics.integration.benchmark;
+
+import com.example.nordicelectronics.entity.mongodb.ProductDocument;
+import com.example.nordicelectronics.entity.mongodb.ReviewEmbedded;
+import com.example.nordicelectronics.integration.BaseIntegrationTest;
+import com.example.nordicelectronics.repositories.mongodb.ProductMongoRepository;
+import com.example.nordicelectronics.service.DataMigrationService;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Time of the MongoDB products phase with reviews embedded per chunk, at 100k
+ * products and 1M reviews, next to the per-product read-modify-write pass it
+ * replaced. Opt-in because it commits data and needs a MongoDB to write to:
+ *
+ *   mvn verify -Dbenchmark=true -Dit.test=MongoProductReviewsBenchmarkIT \
+ *       -Dbenchmark.mongodb.uri=mongodb://localhost:27017/nordic_benchmark
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestPropertySource(properties = {
+        "spring.data.mongodb.enabled=true",
+        "spring.autoconfigure.exclude="
+})
+class MongoProductReviewsBenchmarkIT extends BaseIntegrationTest {
+
+    private static final String TAG = "Review Bench";
+    private static final int PRODUCTS = 100_000;
+    private static final int REVIEWS = 1_000_000;
+    private static final int USERS = 1_000;
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri",
+                () -> System.getProperty("benchmark.mongodb.uri", "mongodb://localhost:27017/nordic_benchmark"));
+    }
+
+    @Autowired
+    private DataMigrationService dataMigrationService;
+
+    @Autowired
+    private ProductMongoRepository productMongoRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    @Transactional(Transactional.TxType.NOT_SUPPORTED) // migration phases read on their own threads
+    @DisplayName("Benchmark: products phase with embedded reviews at 100k products and 1M reviews")
+    void benchmarkProductsWithReviews() {
+        try {
+            createCatalog();
+
+            Map<String, Object> results = dataMigrationService.migrateAllData(1);
+            Map<?, ?> products = (Map<?, ?>) ((Map<?, ?>) results.get("phases")).get("products");
+            long reviewed = mongoTemplate.count(Query.query(Criteria.where("reviews.0").exists(true)),
+                    ProductDocument.class);
+            assertThat((Long) results.get("products")).isGreaterThanOrEqualTo(PRODUCTS);
+            assertThat(reviewed).isGreaterThanOrEqualTo(PRODUCTS);
+
+            long legacyMillis = legacyReviewPass();
+
+            System.out.printf("%n=== %,d products, %,d reviews ===%n", PRODUCTS, REVIEWS);
+            System.out.printf("%-44s %12s%n", "phase", "ms");
+            System.out.printf("%-44s %,12d%n", "products, reviews embedded per chunk", products.get("wall_ms"));
+            System.out.printf("%-44s %,12d%n", "legacy products_with_reviews pass alone", legacyMillis);
+        } finally {
+            dropCatalog();
+        }
+    }
+
+    /**
+     * The pass the products phase replaced: read every review, then load and
+     * save each reviewed product document one at a time.
+     */
+    private long legacyReviewPass() {
+        long start = System.nanoTime();
+        Map<UUID, List<ReviewEmbedded>> reviewsByProduct = new LinkedHashMap<>();
+        jdbcTemplate.query("""
+                SELECT r.product_id, r.review_id, r.user_id, u.first_name || ' ' || u.last_name AS user_name,
+                       r.review_value, r.title, r.comment, r.is_verified_purchase, r.created_at
+                FROM review r JOIN "user" u ON u.user_id = r.user_id
+                WHERE r.deleted_at IS NULL
+                """, rs -> {
+            reviewsByProduct.computeIfAbsent(rs.getObject("product_id", UUID.class), id -> new ArrayList<>())
+                    .add(ReviewEmbedded.builder()
+                            .reviewId(rs.getObject("review_id", UUID.class))
+                            .userId(rs.getObject("user_id", UUID.class))
+                            .userName(rs.getString("user_name"))
+                            .reviewValue(rs.getInt("review_value"))
+                            .title(rs.getString("title"))
+                            .comment(rs.getString("comment"))
+                            .isVerifiedPurchase(rs.getBoolean("is_verified_purchase"))
+                            .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                            .build());
+        });
+        reviewsByProduct.forEach((productId, reviews) ->
+                productMongoRepository.findByProductId(productId).ifPresent(document -> {
+                    document.setReviews(reviews);
+                    productMongoRepository.save(document);
+                }));
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private void createCatalog() {
+        jdbcTemplate.execute("ALTER TABLE product DISABLE TRIGGER product_audit_trigger");
+        jdbcTemplate.execute("ALTER TABLE review DISABLE TRIGGER review_audit_trigger");
+        jdbcTemplate.update("INSERT INTO brand (name, description) VALUES (?, 'Benchmark brand')", TAG);
+        jdbcTemplate.update("""
+                INSERT INTO product (sku, name, description, price, weight, brand_id)
+                SELECT 'REVIEW-BENCH-' || g, ? || ' ' || g, 'Benchmark product', 10 + g % 500, 1.0,
+                       (SELECT brand_id FROM brand WHERE name = ?)
+                FROM generate_series(1, ?) g
+                """, TAG, TAG, PRODUCTS);
+        jdbcTemplate.update("""
+                INSERT INTO "user" (first_name, last_name, email, phone_number, date_of_birth, password)
+                SELECT ?, 'User ' || g, 'review-bench-' || g || '@example.com', '12345678', DATE '1990-01-01', 'benchmark-password'
+                FROM generate_series(1, ?) g
+                """, TAG, USERS);
+        jdbcTemplate.update("""
+                INSERT INTO "order" (user_id, total_amount, subtotal, tax_amount, shipping_cost)
+                SELECT user_id, 100, 80, 20, 0 FROM "user" WHERE first_name = ?
+                """, TAG);
+        jdbcTemplate.update("""
+                WITH products AS (SELECT array_agg(product_id) AS ids FROM product WHERE name LIKE ?),
+                     buyers AS (SELECT array_agg(o.user_id) AS users, array_agg(o.order_id) AS orders
+                                FROM "order" o JOIN "user" u ON u.user_id = o.user_id WHERE u.first_name = ?)
+                INSERT INTO review (product_id, user_id, order_id, review_value, title, comment, is_verified_purchase)
+                SELECT products.ids[1 + g % ?], buyers.users[1 + g % ?], buyers.orders[1 + g % ?],
+                       1 + g % 5, 'Benchmark review ' || g, 'Generated review text for the migration benchmark', true
+                FROM generate_series(0, ? - 1) g, products, buyers
+                """, TAG + " %", TAG, PRODUCTS, USERS, USERS, REVIEWS);
+        jdbcTemplate.execute("ALTER TABLE review ENABLE TRIGGER review_audit_trigger");
+        jdbcTemplate.execute("ALTER TABLE product ENABLE TRIGGER product_audit_trigger");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private void dropCatalog() {
+        jdbcTemplate.update("""
+                DELETE FROM review WHERE user_id IN (SELECT user_id FROM "user" WHERE first_name = ?)
+                """, TAG);
+        jdbcTemplate.update("""
+                DELETE FROM "order" WHERE user_id IN (SELECT user_id FROM "user" WHERE first_name = ?)
+                """, TAG);
+        jdbcTemplate.update("DELETE FROM product WHERE name LIKE ?", TAG + " %");
+        jdbcTemplate.update("DELETE FROM brand WHERE name = ?", TAG);
+        jdbcTemplate.update("DELETE FROM \"user\" WHERE first_name = ?", TAG);
+        jdbcTemplate.update("DELETE FROM sync_watermark WHERE target = 'mongodb'");
+        mongoTemplate.getDb().drop();
+    }
+}
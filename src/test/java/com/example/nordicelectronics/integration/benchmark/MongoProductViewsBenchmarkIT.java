@@ -0,0 +1,209 @@
+package com.example.nordicelectronics.integration.benchmark;
+
+import com.example.nordicelectronics.entity.mongodb.BrandEmbedded;
+import com.example.nordicelectronics.entity.mongodb.CategoryEmbedded;
+import com.example.nordicelectronics.entity.mongodb.ProductDocument;
+import com.example.nordicelectronics.entity.mongodb.ReviewEmbedded;
+import com.example.nordicelectronics.entity.mongodb.WarehouseStockEmbedded;
+import com.example.nordicelectronics.entity.mongodb.WarrantyEmbedded;
+import com.example.nordicelectronics.entity.mongodb.projection.ProductView;
+import com.example.nordicelectronics.integration.BaseIntegrationTest;
+import com.example.nordicelectronics.service.mongodb.ProductReviewSummary;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bytes read from MongoDB, bytes written to the client and request latency of
+ * a category listing per product view, for products with hundreds of reviews
+ * of which the most recent are embedded. Opt-in because it needs a MongoDB to write to:
+ *
+ *   mvn verify -Dbenchmark=true -Dit.test=MongoProductViewsBenchmarkIT \
+ *       -Dbenchmark.mongodb.uri=mongodb://localhost:27017/nordic_benchmark
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.data.mongodb.enabled=true",
+        "spring.autoconfigure.exclude="
+})
+class MongoProductViewsBenchmarkIT extends BaseIntegrationTest {
+
+    private static final int PRODUCTS = 200;
+    private static final int REVIEWS_PER_PRODUCT = 300;
+    private static final int WAREHOUSES = 10;
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 15;
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri",
+                () -> System.getProperty("benchmark.mongodb.uri", "mongodb://localhost:27017/nordic_benchmark"));
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductReviewSummary productReviewSummary;
+
+    @Test
+    @DisplayName("Benchmark: category listing per product view with 300 reviews per product")
+    void benchmarkViews() throws Exception {
+        UUID categoryId = UUID.randomUUID();
+        try {
+            createProducts(categoryId);
+
+            System.out.printf("%n=== %,d products, %,d reviews each ===%n", PRODUCTS, REVIEWS_PER_PRODUCT);
+            System.out.printf("%-10s %16s %16s %10s %10s%n", "view", "MongoDB bytes", "response bytes", "p50 ms", "p95 ms");
+            long fullBytes = 0;
+            for (String view : new String[]{"", "listing", "card", "detail"}) {
+                long mongoBytes = mongoBytes(categoryId, ProductView.fromParam(view));
+                String url = "/api/mongodb/products/category/" + categoryId + (view.isEmpty() ? "" : "?view=" + view);
+                int[] responseBytes = new int[1];
+                long[] latency = measure(() -> responseBytes[0] = request(url));
+                System.out.printf("%-10s %,16d %,16d %10.2f %10.2f%n", view.isEmpty() ? "full" : view,
+                        mongoBytes, responseBytes[0], latency[0] / 1e6, latency[1] / 1e6);
+                if (view.isEmpty()) {
+                    fullBytes = mongoBytes;
+                } else {
+                    // Full documents carry the embedded reviews, bounded but still the bulk of each document
+                    assertThat(mongoBytes).isLessThan(fullBytes);
+                }
+            }
+        } finally {
+            mongoTemplate.remove(Query.query(Criteria.where("categories.categoryId").is(categoryId)),
+                    ProductDocument.class);
+        }
+    }
+
+    /**
+     * BSON bytes MongoDB returns for the category query in the given view, or
+     * for the full documents when view is null.
+     */
+    private long mongoBytes(UUID categoryId, ProductView view) {
+        MongoCollection<Document> collection = mongoTemplate.getCollection(
+                mongoTemplate.getCollectionName(ProductDocument.class));
+        Criteria criteria = Criteria.where("categories.categoryId").is(categoryId);
+        long bytes = 0;
+        if (view == null) {
+            for (RawBsonDocument document : collection.find(criteria.getCriteriaObject(), RawBsonDocument.class)) {
+                bytes += document.getByteBuffer().remaining();
+            }
+        } else {
+            List<Document> pipeline = Aggregation.newAggregation(Aggregation.match(criteria), view.projection())
+                    .toPipeline(Aggregation.DEFAULT_CONTEXT);
+            for (RawBsonDocument document : collection.aggregate(pipeline, RawBsonDocument.class)) {
+                bytes += document.getByteBuffer().remaining();
+            }
+        }
+        return bytes;
+    }
+
+    private int request(String url) {
+        try {
+            MvcResult result = mockMvc.perform(get(url)).andExpect(status().isOk()).andReturn();
+            return result.getResponse().getContentAsByteArray().length;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns {p50, p95} in nanoseconds over {@link #MEASURED_RUNS} runs.
+     */
+    private long[] measure(Runnable request) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            request.run();
+        }
+        long[] samples = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            request.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return new long[]{samples[MEASURED_RUNS / 2], samples[(int) Math.ceil(MEASURED_RUNS * 0.95) - 1]};
+    }
+
+    private void createProducts(UUID categoryId) {
+        CategoryEmbedded category = CategoryEmbedded.builder()
+                .categoryId(categoryId).name("View Bench").description("Benchmark category").build();
+        BrandEmbedded brand = BrandEmbedded.builder()
+                .brandId(UUID.randomUUID()).name("View Bench").description("Benchmark brand").build();
+        List<ProductDocument> products = IntStream.range(0, PRODUCTS)
+                .mapToObj(p -> ProductDocument.builder()
+                        .productId(UUID.randomUUID())
+                        .sku("VIEW-BENCH-" + categoryId + "-" + p)
+                        .name("View Bench " + p)
+                        .description("Benchmark product " + p)
+                        .price(BigDecimal.valueOf(10 + p % 500))
+                        .weight(BigDecimal.ONE)
+                        .brand(brand)
+                        .categories(List.of(category))
+                        .warranty(WarrantyEmbedded.builder()
+                                .warrantyId(UUID.randomUUID())
+                                .startDate(LocalDate.now())
+                                .endDate(LocalDate.now().plusYears(2))
+                                .description("Benchmark warranty")
+                                .build())
+                        .warehouseStock(IntStream.range(0, WAREHOUSES)
+                                .mapToObj(w -> WarehouseStockEmbedded.builder()
+                                        .warehouseId(UUID.randomUUID())
+                                        .warehouseName("Warehouse " + w)
+                                        .stockQuantity(w * 10)
+                                        .build())
+                                .toList())
+                        .build())
+                .toList();
+        products.forEach(product -> productReviewSummary.embed(product, reviews()));
+        mongoTemplate.insertAll(products);
+    }
+
+    private List<ReviewEmbedded> reviews() {
+        List<ReviewEmbedded> reviews = new ArrayList<>(REVIEWS_PER_PRODUCT);
+        for (int r = 0; r < REVIEWS_PER_PRODUCT; r++) {
+            reviews.add(ReviewEmbedded.builder()
+                    .reviewId(UUID.randomUUID())
+                    .userId(UUID.randomUUID())
+                    .userName("Benchmark User " + r)
+                    .reviewValue(1 + r % 5)
+                    .title("Benchmark review " + r)
+                    .comment("Generated review text for the product view benchmark, long enough to resemble a real review body.")
+                    .isVerifiedPurchase(true)
+                    .createdAt(LocalDateTime.now().minusDays(r))
+                    .build());
+        }
+        return reviews;
+    }
+}
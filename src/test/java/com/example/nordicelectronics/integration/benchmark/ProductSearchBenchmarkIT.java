@@ -0,0 +1,159 @@
+package com.example.nordicelectronics.integration.benchmark;
+
+import com.example.nordicelectronics.entity.Product;
+import com.example.nordicelectronics.integration.BaseIntegrationTest;
+import com.example.nordicelectronics.repositories.sql.ProductRepository;
+import com.example.nordicelectronics.repositories.sql.ProductSpecification;
+import com.example.nordicelectronics.service.search.ProductSearchHits;
+import com.example.nordicelectronics.service.search.ProductSearchIndex;
+import com.example.nordicelectronics.service.search.ProductSearchIndexLoader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Compares the LIKE-based Specification search with the in-memory index at
+ * 100k and 1M products. Opt-in because generating the catalog takes minutes:
+ *
+ *   mvn verify -Dbenchmark=true -Dit.test=ProductSearchBenchmarkIT
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestPropertySource(properties = "catalog.search.index.enabled=true")
+class ProductSearchBenchmarkIT extends BaseIntegrationTest {
+
+    private static final List<String> QUERIES = List.of(
+            "phone", "pro laptop", "wireless headphones", "cam", "ultra monitor", "noise cancelling"
+    );
+    private static final int PAGE_SIZE = 24;
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 10;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductSearchIndexLoader productSearchIndexLoader;
+
+    @Test
+    @DisplayName("Benchmark: Specification LIKE search vs in-memory index at 100k and 1M products")
+    void benchmarkSearch() {
+        createReferenceData();
+
+        int generated = 0;
+        for (int target : new int[]{100_000, 1_000_000}) {
+            generateProducts(generated + 1, target);
+            generated = target;
+
+            long loadStart = System.nanoTime();
+            int indexed = productSearchIndexLoader.load();
+            long loadMillis = (System.nanoTime() - loadStart) / 1_000_000;
+            assertThat(indexed).isEqualTo(target);
+
+            System.out.printf("%n=== %,d products (index build %,d ms, %s) ===%n",
+                    target, loadMillis, productSearchIndex.getStats());
+            System.out.printf("%-22s %14s %14s %14s %14s%n",
+                    "query", "spec p50 ms", "spec p95 ms", "index p50 ms", "index p95 ms");
+
+            for (String query : QUERIES) {
+                long[] spec = measure(() -> specificationSearch(query));
+                long[] index = measure(() -> indexSearch(query));
+                System.out.printf("%-22s %14.2f %14.2f %14.2f %14.2f%n",
+                        query, spec[0] / 1e6, spec[1] / 1e6, index[0] / 1e6, index[1] / 1e6);
+            }
+        }
+    }
+
+    private long specificationSearch(String query) {
+        Page<Product> page = productRepository.findAll(
+                ProductSpecification.withFilters(query, null, null),
+                PageRequest.of(0, PAGE_SIZE, Sort.by("name")));
+        page.getContent().forEach(product -> product.getBrand().getName());
+        return page.getTotalElements();
+    }
+
+    private long indexSearch(String query) {
+        ProductSearchHits hits = productSearchIndex.search(query, null, null, "name", false, 0, PAGE_SIZE);
+        productRepository.findAllById(hits.productIds()).forEach(product -> product.getBrand().getName());
+        return hits.totalHits();
+    }
+
+    /**
+     * Returns {p50, p95} in nanoseconds over {@link #MEASURED_RUNS} runs.
+     */
+    private long[] measure(LongSupplier search) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            search.getAsLong();
+            entityManager.clear();
+        }
+        long[] samples = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            search.getAsLong();
+            samples[i] = System.nanoTime() - start;
+            entityManager.clear();
+        }
+        Arrays.sort(samples);
+        return new long[]{samples[MEASURED_RUNS / 2], samples[(int) Math.ceil(MEASURED_RUNS * 0.95) - 1]};
+    }
+
+    private void createReferenceData() {
+        jdbcTemplate.update("""
+                INSERT INTO brand (name, description)
+                SELECT 'Bench Brand ' || g, 'Benchmark brand' FROM generate_series(1, 50) g
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO category (name, description)
+                SELECT 'Bench Category ' || g, 'Benchmark category' FROM generate_series(1, 20) g
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO warranty (start_date, end_date, description)
+                VALUES (CURRENT_DATE, CURRENT_DATE + 730, 'Benchmark warranty')
+                """);
+    }
+
+    private void generateProducts(int from, int to) {
+        jdbcTemplate.execute("ALTER TABLE product DISABLE TRIGGER product_audit_trigger");
+        jdbcTemplate.update("""
+                WITH brands AS (SELECT array_agg(brand_id) AS ids FROM brand WHERE name LIKE 'Bench Brand %'),
+                     warranty AS (SELECT warranty_id FROM warranty WHERE description = 'Benchmark warranty' LIMIT 1)
+                INSERT INTO product (sku, name, description, price, weight, brand_id, warranty_id)
+                SELECT 'BENCH-' || g,
+                       (ARRAY['Ultra','Pro','Mini','Max','Lite','Air','Plus','Neo'])[1 + g % 8] || ' ' ||
+                       (ARRAY['Phone','Laptop','Tablet','Headphones','Monitor','Camera','Speaker','Watch','Router','Keyboard'])[1 + (g / 8) % 10] ||
+                       ' ' || g,
+                       'A ' || (ARRAY['wireless','compact','rugged','premium','budget','gaming'])[1 + (g / 80) % 6] ||
+                       ' device with ' || (ARRAY['noise cancelling','fast charging','4K display','long battery life','bluetooth 5.3','USB-C'])[1 + (g / 3) % 6] ||
+                       ' and a ' || (ARRAY['two','three','five'])[1 + g % 3] || ' year warranty. Model number ' || md5(g::text),
+                       (g % 5000) + 9.99,
+                       1.5,
+                       brands.ids[1 + g % 50],
+                       warranty.warranty_id
+                FROM generate_series(?, ?) g, brands, warranty
+                """, from, to);
+        jdbcTemplate.update("""
+                WITH categories AS (SELECT array_agg(category_id) AS ids FROM category WHERE name LIKE 'Bench Category %')
+                INSERT INTO product_category (product_id, category_id)
+                SELECT p.product_id, categories.ids[1 + abs(hashtext(p.sku)) % 20]
+                FROM product p, categories
+                WHERE p.sku LIKE 'BENCH-%'
+                  AND NOT EXISTS (SELECT 1 FROM product_category pc WHERE pc.product_id = p.product_id)
+                """);
+        jdbcTemplate.execute("ALTER TABLE product ENABLE TRIGGER product_audit_trigger");
+        jdbcTemplate.execute("ANALYZE product");
+        jdbcTemplate.execute("ANALYZE product_category");
+    }
+}
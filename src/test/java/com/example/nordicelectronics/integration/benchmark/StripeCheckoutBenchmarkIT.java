@@ -0,0 +1,219 @@
+package com.example.nordicelectronics.integration.benchmark;
+
+import com.example.nordicelectronics.integration.BaseIntegrationTest;
+import com.example.nordicelectronics.service.stripe.StripeStubServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.securityContext;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Sync vs async checkout against the embedded Stripe stub with injected
+ * latency. Reports throughput, p50/p95 and the peak number of JDBC connections
+ * held and threads waiting for one. Opt-in because it commits data:
+ *
+ *   mvn verify -Dbenchmark=true -Dit.test=StripeCheckoutBenchmarkIT
+ */
+@AutoConfigureMockMvc
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class StripeCheckoutBenchmarkIT extends BaseIntegrationTest {
+
+    private static final String URL = "/api/postgresql/stripe";
+    private static final String TAG = "Stripe Bench";
+    private static final int PRODUCTS = 50;
+    private static final int WAREHOUSES = 10;
+    private static final int CLIENTS = 32;
+    private static final int CHECKOUTS = 320;
+    private static final Duration STRIPE_LATENCY = Duration.ofMillis(300);
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private StripeStubServer stripeStub;
+    @Autowired private DataSource dataSource;
+
+    @Test
+    @Transactional(Transactional.TxType.NOT_SUPPORTED) // checkout threads must see committed data
+    @DisplayName("Benchmark: sync vs async checkout with a slow Stripe")
+    void benchmarkCheckoutModes() throws Exception {
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        try {
+            createCatalog();
+            String email = jdbcTemplate.queryForObject(
+                    "SELECT email FROM \"user\" WHERE first_name = ? LIMIT 1", String.class, TAG);
+            List<UUID> products = jdbcTemplate.queryForList(
+                    "SELECT product_id FROM product WHERE name LIKE ?", UUID.class, TAG + " %");
+            stripeStub.setLatency(STRIPE_LATENCY, Duration.ofMillis(50));
+
+            System.out.printf("%n=== Checkout with %d ms Stripe latency, %d clients, pool of %d ===%n",
+                    STRIPE_LATENCY.toMillis(), CLIENTS, dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize());
+            System.out.printf("%-8s %10s %10s %10s %14s %14s%n",
+                    "mode", "orders/s", "p50 ms", "p95 ms", "peak conns", "peak waiting");
+            run("sync", false, email, products, pool);
+            run("async", true, email, products, pool);
+        } finally {
+            stripeStub.setLatency(Duration.ZERO, Duration.ZERO);
+            dropCatalog();
+        }
+    }
+
+    private void run(String mode, boolean async, String email, List<UUID> products, HikariPoolMXBean pool)
+            throws Exception {
+        AtomicInteger peakActive = new AtomicInteger();
+        AtomicInteger peakWaiting = new AtomicInteger();
+        AtomicBoolean sampling = new AtomicBoolean(true);
+        Thread sampler = new Thread(() -> {
+            while (sampling.get()) {
+                peakActive.accumulateAndGet(pool.getActiveConnections(), Math::max);
+                peakWaiting.accumulateAndGet(pool.getThreadsAwaitingConnection(), Math::max);
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        long[] latencies = new long[CHECKOUTS];
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        sampler.start();
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < CHECKOUTS; i++) {
+            int slot = i;
+            futures.add(clients.submit(() -> {
+                long begin = System.nanoTime();
+                int status = checkout(async, email, products.get(ThreadLocalRandom.current().nextInt(products.size())));
+                latencies[slot] = System.nanoTime() - begin;
+                assertThat(status).isEqualTo(200);
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        sampling.set(false);
+        sampler.join();
+        clients.shutdown();
+        clients.awaitTermination(10, TimeUnit.SECONDS);
+
+        Arrays.sort(latencies);
+        System.out.printf("%-8s %10.1f %10.1f %10.1f %14d %14d%n",
+                mode,
+                CHECKOUTS / (elapsed / 1e9),
+                latencies[CHECKOUTS / 2] / 1e6,
+                latencies[(int) Math.ceil(CHECKOUTS * 0.95) - 1] / 1e6,
+                peakActive.get(),
+                peakWaiting.get());
+    }
+
+    private int checkout(boolean async, String email, UUID productId) throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "cart", List.of(Map.of("id", productId.toString(), "name", TAG, "price", 99.95, "quantity", 1)),
+                "address", Map.of("street", "Bench St", "streetNumber", "1", "zip", "2100", "city", "Copenhagen")
+        ));
+        MvcResult result = mockMvc.perform(post(URL + (async ? "/checkout/async" : "/checkout"))
+                        .with(securityContext(securityFor(email)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andReturn();
+        if (async) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        return result.getResponse().getStatus();
+    }
+
+    private SecurityContext securityFor(String email) {
+        SecurityContext ctx = SecurityContextHolder.createEmptyContext();
+        ctx.setAuthentication(new UsernamePasswordAuthenticationToken(
+                email, "password", List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+        return ctx;
+    }
+
+    private void createCatalog() {
+        jdbcTemplate.update("""
+                INSERT INTO "user" (first_name, last_name, email, phone_number, date_of_birth, password)
+                VALUES (?, 'User', 'stripe-bench@example.com', '12345678', DATE '1990-01-01', 'benchmark-password')
+                """, TAG);
+        jdbcTemplate.update("INSERT INTO brand (name, description) VALUES (?, 'Benchmark brand')", TAG);
+        jdbcTemplate.update("""
+                INSERT INTO warranty (start_date, end_date, description)
+                SELECT CURRENT_DATE, CURRENT_DATE + 730, ? FROM generate_series(1, ?)
+                """, TAG, PRODUCTS);
+        jdbcTemplate.update("""
+                WITH brand AS (SELECT brand_id FROM brand WHERE name = ?),
+                     warranties AS (SELECT warranty_id, row_number() OVER () AS n FROM warranty WHERE description = ?)
+                INSERT INTO product (sku, name, description, price, weight, brand_id, warranty_id)
+                SELECT 'STRIPE-BENCH-' || w.n, ? || ' ' || w.n, 'Benchmark product', 99.95, 1.0, brand.brand_id, w.warranty_id
+                FROM warranties w, brand
+                """, TAG, TAG, TAG);
+        jdbcTemplate.update("""
+                INSERT INTO address (street, street_number, zip, city)
+                VALUES (?, '1', '2100', 'Copenhagen')
+                """, TAG);
+        jdbcTemplate.update("""
+                INSERT INTO warehouse (name, phone_number, address_id)
+                SELECT ? || ' ' || g, '12345678', (SELECT address_id FROM address WHERE street = ? LIMIT 1)
+                FROM generate_series(1, ?) g
+                """, TAG, TAG, WAREHOUSES);
+        jdbcTemplate.update("""
+                INSERT INTO warehouse_product (warehouse_id, product_id, stock_quantity)
+                SELECT w.warehouse_id, p.product_id, 50
+                FROM warehouse w, product p
+                WHERE w.name LIKE ? AND p.name LIKE ?
+                """, TAG + " %", TAG + " %");
+    }
+
+    private void dropCatalog() {
+        jdbcTemplate.update("""
+                DELETE FROM order_product WHERE order_id IN (
+                    SELECT o.order_id FROM "order" o JOIN "user" u ON u.user_id = o.user_id WHERE u.first_name = ?)
+                """, TAG);
+        jdbcTemplate.update("""
+                DELETE FROM "order" WHERE user_id IN (SELECT user_id FROM "user" WHERE first_name = ?)
+                """, TAG);
+        jdbcTemplate.update("""
+                DELETE FROM address WHERE user_id IN (SELECT user_id FROM "user" WHERE first_name = ?)
+                """, TAG);
+        jdbcTemplate.update("DELETE FROM address WHERE street = 'Bench St'");
+        jdbcTemplate.update("DELETE FROM warehouse_product WHERE product_id IN (SELECT product_id FROM product WHERE name LIKE ?)",
+                TAG + " %");
+        jdbcTemplate.update("DELETE FROM warehouse WHERE name LIKE ?", TAG + " %");
+        jdbcTemplate.update("DELETE FROM address WHERE street = ?", TAG);
+        jdbcTemplate.update("DELETE FROM product WHERE name LIKE ?", TAG + " %");
+        jdbcTemplate.update("DELETE FROM warranty WHERE description = ?", TAG);
+        jdbcTemplate.update("DELETE FROM brand WHERE name = ?", TAG);
+        jdbcTemplate.update("DELETE FROM \"user\" WHERE first_name = ?", TAG);
+    }
+}
@@ -181,6 +181,48 @@ class ProductControllerIT extends BaseIntegrationTest {
                     .andExpect(jsonPath("$[0].price").isNumber())
                     .andExpect(jsonPath("$[0].brandId").isNotEmpty());
         }
+
+        @Test
+        @DisplayName("Should page products with limit and the X-Next-Cursor header")
+        void shouldPageProductsWithCursor() throws Exception {
+            MvcResult first = mockMvc.perform(get(BASE_URL).param("limit", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(header().exists("X-Next-Cursor"))
+                    .andReturn();
+            String cursor = first.getResponse().getHeader("X-Next-Cursor");
+
+            MvcResult second = mockMvc.perform(get(BASE_URL).param("limit", "2").param("cursor", cursor))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(greaterThanOrEqualTo(1))))
+                    .andReturn();
+
+            Set<String> firstIds = new HashSet<>();
+            objectMapper.readTree(first.getResponse().getContentAsString())
+                    .forEach(product -> firstIds.add(product.get("productId").asText()));
+            objectMapper.readTree(second.getResponse().getContentAsString())
+                    .forEach(product -> assertFalse(firstIds.contains(product.get("productId").asText())));
+        }
+
+        @Test
+        @DisplayName("Should return 400 for a malformed cursor")
+        void shouldRejectMalformedCursor() throws Exception {
+            mockMvc.perform(get(BASE_URL).param("cursor", "not-a-cursor"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Should stream all products as NDJSON")
+        void shouldStreamProductsAsNdjson() throws Exception {
+            MvcResult result = mockMvc.perform(get(BASE_URL + "/stream"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                    .andReturn();
+
+            String[] lines = result.getResponse().getContentAsString().split("\n");
+            assertTrue(lines.length >= 3);
+            assertTrue(objectMapper.readTree(lines[0]).has("productId"));
+        }
     }
 
     // ============================================
@@ -375,6 +417,84 @@ class ProductControllerIT extends BaseIntegrationTest {
         }
     }
 
+    // ============================================
+    // GET /paginated?pagination=cursor TESTS - Keyset Pagination
+    // ============================================
+
+    @Nested
+    @DisplayName("GET /paginated?pagination=cursor - Keyset Pagination")
+    class GetCursorPaginatedProductsTests {
+
+        @Test
+        @DisplayName("Should walk every page of a brand without repeating products")
+        void shouldWalkAllPagesWithCursor() throws Exception {
+            List<String> seen = new java.util.ArrayList<>();
+            String cursor = null;
+            int pages = 0;
+            do {
+                var request = get(BASE_URL + "/paginated")
+                        .param("pagination", "cursor")
+                        .param("size", "1")
+                        .param("brandId", testBrand.getBrandId().toString())
+                        .param("sortBy", "price");
+                if (cursor != null) {
+                    request.param("cursor", cursor);
+                }
+                MvcResult result = mockMvc.perform(request)
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.content", hasSize(1)))
+                        .andExpect(jsonPath("$.pageNumber").value(pages))
+                        .andExpect(jsonPath("$.totalElements").value(2))
+                        .andReturn();
+
+                var body = objectMapper.readTree(result.getResponse().getContentAsString());
+                seen.add(body.get("content").get(0).get("productId").asText());
+                cursor = body.get("nextCursor").isNull() ? null : body.get("nextCursor").asText();
+                pages++;
+            } while (cursor != null && pages < 10);
+
+            assertEquals(List.of(testProduct2.getProductId().toString(), testProduct.getProductId().toString()), seen);
+        }
+
+        @Test
+        @DisplayName("Should return no next cursor on the last page")
+        void shouldReturnNullCursorOnLastPage() throws Exception {
+            mockMvc.perform(get(BASE_URL + "/paginated")
+                            .param("pagination", "cursor")
+                            .param("size", "100")
+                            .param("search", "headphones"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.last").value(true))
+                    .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+        }
+
+        @Test
+        @DisplayName("Should return 400 for a cursor issued for different filters")
+        void shouldRejectCursorForDifferentFilters() throws Exception {
+            MvcResult first = mockMvc.perform(get(BASE_URL + "/paginated")
+                            .param("pagination", "cursor")
+                            .param("size", "1")
+                            .param("brandId", testBrand.getBrandId().toString()))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            String cursor = objectMapper.readTree(first.getResponse().getContentAsString()).get("nextCursor").asText();
+
+            mockMvc.perform(get(BASE_URL + "/paginated")
+                            .param("cursor", cursor)
+                            .param("size", "1")
+                            .param("brandId", testBrand2.getBrandId().toString()))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Should return 400 for a malformed cursor")
+        void shouldRejectMalformedCursor() throws Exception {
+            mockMvc.perform(get(BASE_URL + "/paginated")
+                            .param("cursor", "not-a-cursor"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
     // ============================================
     // GET /{id} TESTS - Get Product By ID
     // ============================================
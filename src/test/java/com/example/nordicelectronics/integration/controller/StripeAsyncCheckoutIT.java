@@ -0,0 +1,165 @@
+package com.example.nordicelectronics.integration.controller;
+
+import com.example.nordicelectronics.integration.BaseIntegrationTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.securityContext;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The async checkout creates the order on another thread, so the fixture is
+ * committed instead of living in the test transaction, and removed afterwards.
+ */
+@AutoConfigureMockMvc
+@Transactional(Transactional.TxType.NOT_SUPPORTED)
+class StripeAsyncCheckoutIT extends BaseIntegrationTest {
+
+    private static final String URL = "/api/postgresql/stripe/checkout/async";
+    private static final String TAG = "Async Checkout";
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+
+    private String email;
+    private UUID productId;
+
+    @BeforeEach
+    void setUp() {
+        email = "async-checkout-" + UUID.randomUUID().toString().substring(0, 8) + "@example.com";
+        jdbcTemplate.update("""
+                INSERT INTO "user" (first_name, last_name, email, phone_number, date_of_birth, password)
+                VALUES (?, 'User', ?, '12345678', DATE '1990-01-01', 'password123')
+                """, TAG, email);
+        jdbcTemplate.update("INSERT INTO brand (name, description) VALUES (?, 'Async brand')", TAG);
+        jdbcTemplate.update("""
+                INSERT INTO warranty (start_date, end_date, description)
+                VALUES (CURRENT_DATE, CURRENT_DATE + 365, ?)
+                """, TAG);
+        productId = jdbcTemplate.queryForObject("""
+                INSERT INTO product (sku, name, description, price, weight, brand_id, warranty_id)
+                SELECT 'ASYNC-' || substr(md5(random()::text), 1, 8), ?, 'Async product', 499.00, 1.0, b.brand_id, w.warranty_id
+                FROM brand b, warranty w
+                WHERE b.name = ? AND w.description = ?
+                RETURNING product_id
+                """, UUID.class, TAG, TAG, TAG);
+        jdbcTemplate.update("""
+                INSERT INTO address (street, street_number, zip, city) VALUES (?, '1', '2100', 'Copenhagen')
+                """, TAG);
+        jdbcTemplate.update("""
+                INSERT INTO warehouse (name, phone_number, address_id)
+                SELECT ?, '12345678', address_id FROM address WHERE street = ?
+                """, TAG, TAG);
+        jdbcTemplate.update("""
+                INSERT INTO warehouse_product (warehouse_id, product_id, stock_quantity)
+                SELECT warehouse_id, ?, 50 FROM warehouse WHERE name = ?
+                """, productId, TAG);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("""
+                DELETE FROM order_product WHERE order_id IN (
+                    SELECT o.order_id FROM "order" o JOIN "user" u ON u.user_id = o.user_id WHERE u.email = ?)
+                """, email);
+        jdbcTemplate.update("DELETE FROM \"order\" WHERE user_id IN (SELECT user_id FROM \"user\" WHERE email = ?)", email);
+        jdbcTemplate.update("DELETE FROM address WHERE user_id IN (SELECT user_id FROM \"user\" WHERE email = ?)", email);
+        jdbcTemplate.update("DELETE FROM address WHERE street = 'Async St'");
+        jdbcTemplate.update("DELETE FROM warehouse_product WHERE product_id = ?", productId);
+        jdbcTemplate.update("DELETE FROM warehouse WHERE name = ?", TAG);
+        jdbcTemplate.update("DELETE FROM address WHERE street = ?", TAG);
+        jdbcTemplate.update("DELETE FROM product WHERE product_id = ?", productId);
+        jdbcTemplate.update("DELETE FROM warranty WHERE description = ?", TAG);
+        jdbcTemplate.update("DELETE FROM brand WHERE name = ?", TAG);
+        jdbcTemplate.update("DELETE FROM \"user\" WHERE email = ?", email);
+    }
+
+    @Test
+    @DisplayName("Async checkout: returns the Stripe session and confirms the order")
+    void shouldCreateSessionAndConfirmOrder() throws Exception {
+        // Act
+        MvcResult started = mockMvc.perform(post(URL)
+                        .with(securityContext(securityFor(email)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(cartJson(productId.toString())))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sessionId", startsWith("cs_test_stub_")))
+                .andExpect(jsonPath("$.url", notNullValue()))
+                .andReturn();
+
+        String orderId = objectMapper.readTree(result.getResponse().getContentAsString()).get("orderId").asText();
+        String status = jdbcTemplate.queryForObject(
+                "SELECT status::text FROM \"order\" WHERE order_id = ?", String.class, UUID.fromString(orderId));
+        assertThat(status).isEqualTo("confirmed");
+    }
+
+    @Test
+    @DisplayName("Async checkout: 400 when a cart product does not exist")
+    void shouldRejectUnknownProduct() throws Exception {
+        // Act
+        MvcResult started = mockMvc.perform(post(URL)
+                        .with(securityContext(securityFor(email)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(cartJson(UUID.randomUUID().toString())))
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid product in cart"));
+    }
+
+    @Test
+    @DisplayName("Async checkout: 401 when the user does not exist")
+    void shouldRejectUnknownUser() throws Exception {
+        // Act
+        MvcResult started = mockMvc.perform(post(URL)
+                        .with(securityContext(securityFor("nobody-" + UUID.randomUUID() + "@example.com")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(cartJson(productId.toString())))
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private String cartJson(String id) throws Exception {
+        return objectMapper.writeValueAsString(Map.of(
+                "cart", List.of(Map.of("id", id, "name", TAG, "price", 499.00, "quantity", 1)),
+                "address", Map.of("street", "Async St", "streetNumber", "1", "zip", "1000", "city", "Copenhagen")
+        ));
+    }
+
+    private SecurityContext securityFor(String email) {
+        SecurityContext ctx = SecurityContextHolder.createEmptyContext();
+        ctx.setAuthentication(new UsernamePasswordAuthenticationToken(
+                email, "password", List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+        return ctx;
+    }
+}
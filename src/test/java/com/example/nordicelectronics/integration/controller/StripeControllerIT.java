@@ -232,17 +232,16 @@ class StripeControllerIT extends BaseIntegrationTest {
     @Test
     @DisplayName("createStripeCoupon: creates coupon with valid params")
     void createStripeCouponWithValidParams() throws Exception {
-        String result = invokeCreateStripeCoupon(new BigDecimal("25.50"), "SUMMER20", UUID.randomUUID().toString());
+        String result = invokeCreateStripeCoupon(new BigDecimal("25.50"), "SUMMER20");
         // Should return a coupon ID (or null if Stripe API fails in test env)
-        // In real Stripe environment, this would return an ID like "SUMMER20-abc12345-1234567890"
+        // The id is derived from code, amount and currency: "SUMMER20-2550-usd"
         org.junit.jupiter.api.Assertions.assertTrue(result == null || result.contains("SUMMER20"));
     }
 
     @Test
     @DisplayName("createStripeCoupon: handles null coupon code")
     void createStripeCouponWithNullCode() throws Exception {
-        String orderId = UUID.randomUUID().toString();
-        String result = invokeCreateStripeCoupon(new BigDecimal("10.00"), null, orderId);
+        String result = invokeCreateStripeCoupon(new BigDecimal("10.00"), null);
         // Should use "DISCOUNT" as fallback name
         org.junit.jupiter.api.Assertions.assertTrue(result == null || result.contains("DISCOUNT"));
     }
@@ -250,16 +249,29 @@ class StripeControllerIT extends BaseIntegrationTest {
     @Test
     @DisplayName("createStripeCoupon: handles zero amount gracefully")
     void createStripeCouponWithZeroAmount() throws Exception {
-        String result = invokeCreateStripeCoupon(BigDecimal.ZERO, "ZERO", UUID.randomUUID().toString());
+        String result = invokeCreateStripeCoupon(BigDecimal.ZERO, "ZERO");
         // Stripe may reject 0 amount coupons, so null is acceptable
         org.junit.jupiter.api.Assertions.assertTrue(result == null || result.contains("ZERO"));
     }
 
-    private String invokeCreateStripeCoupon(BigDecimal amount, String code, String orderId) throws Exception {
+    @Test
+    @DisplayName("createStripeCoupon: reuses the Stripe coupon for the same code and amount")
+    void createStripeCouponReusesMapping() throws Exception {
+        String first = invokeCreateStripeCoupon(new BigDecimal("12.34"), "REUSE10");
+        String second = invokeCreateStripeCoupon(new BigDecimal("12.34"), "REUSE10");
+
+        org.junit.jupiter.api.Assertions.assertEquals("REUSE10-1234-usd", first);
+        org.junit.jupiter.api.Assertions.assertEquals(first, second);
+        org.junit.jupiter.api.Assertions.assertEquals(first, jdbcTemplate.queryForObject(
+                "SELECT stripe_coupon_id FROM stripe_coupon_mapping WHERE coupon_code = 'REUSE10' AND amount_off_cents = 1234",
+                String.class));
+    }
+
+    private String invokeCreateStripeCoupon(BigDecimal amount, String code) throws Exception {
         java.lang.reflect.Method method = StripeController.class.getDeclaredMethod(
-                "createStripeCoupon", BigDecimal.class, String.class, String.class);
+                "createStripeCoupon", BigDecimal.class, String.class);
         method.setAccessible(true);
-        return (String) method.invoke(stripeController, amount, code, orderId);
+        return (String) method.invoke(stripeController, amount, code);
     }
 
     // ========== POST /checkout - Multiple items ==========
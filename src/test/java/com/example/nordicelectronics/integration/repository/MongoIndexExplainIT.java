@@ -0,0 +1,65 @@
+package com.example.nordicelectronics.integration.repository;
+
+import com.example.nordicelectronics.config.MongoIndexManager;
+import com.example.nordicelectronics.config.MongoIndexManager.IndexedQuery;
+import com.example.nordicelectronics.integration.BaseIntegrationTest;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Explains every MongoDB repository query against the declared indexes and
+ * fails on any query that would scan a whole collection. Opt-in because it
+ * needs a MongoDB to create the indexes in:
+ *
+ *   mvn verify -Dit.test=MongoIndexExplainIT -Dmongodb.uri=mongodb://localhost:27017/nordic_indexes
+ */
+@EnabledIfSystemProperty(named = "mongodb.uri", matches = ".+")
+@TestPropertySource(properties = {
+        "spring.data.mongodb.enabled=true",
+        "spring.autoconfigure.exclude=",
+        "mongodb.indexes.create-on-startup=false"
+})
+class MongoIndexExplainIT extends BaseIntegrationTest {
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", () -> System.getProperty("mongodb.uri"));
+    }
+
+    @Autowired
+    private MongoIndexManager mongoIndexManager;
+
+    static List<IndexedQuery> queries() {
+        return MongoIndexManager.queries();
+    }
+
+    @BeforeEach
+    void createIndexes() {
+        mongoIndexManager.createIndexes();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queries")
+    @DisplayName("Repository query is answered by an index scan")
+    void shouldUseIndexScan(IndexedQuery query) {
+        // Act
+        Document plan = mongoIndexManager.winningPlan(query);
+
+        // Assert
+        assertThat(MongoIndexManager.isIndexScan(plan))
+                .as("%s on %s: %s", query.method(), query.filter().toJson(), plan.toJson())
+                .isTrue();
+    }
+}
@@ -6,12 +6,15 @@ import com.example.nordicelectronics.entity.enums.OrderStatus;
 import com.example.nordicelectronics.integration.BaseIntegrationTest;
 import com.example.nordicelectronics.repositories.sql.OrderRepository;
 import jakarta.transaction.Transactional;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -125,6 +128,55 @@ class OrderRepositoryIT extends BaseIntegrationTest {
         assertEquals(OrderStatus.shipped, retrieved.getOrderStatus());
     }
 
+    @Test
+    void shouldPageOrderIdsByUserNewestFirst() {
+        // Arrange
+        User user = createTestUser("Keyset", "User", "keyset.user@example.com");
+        User otherUser = createTestUser("Other", "User", "other.keyset@example.com");
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Order order = createTestOrder(user, OrderStatus.delivered);
+            order.setOrderDate(LocalDateTime.now().minusDays(i));
+            entityManager.persist(order);
+            orders.add(order);
+        }
+        entityManager.persist(createTestOrder(otherUser, OrderStatus.pending));
+        Order deleted = createTestOrder(user, OrderStatus.cancelled);
+        deleted.softDelete();
+        entityManager.persist(deleted);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        List<UUID> firstPage = orderRepository.findOrderIdsByUser(user.getUserId(), 2);
+        Order lastOfFirst = orders.get(1);
+        List<UUID> secondPage = orderRepository.findOrderIdsByUserAfter(
+                user.getUserId(), lastOfFirst.getOrderDate(), lastOfFirst.getOrderId(), 10);
+
+        // Assert
+        assertEquals(List.of(orders.get(0).getOrderId(), orders.get(1).getOrderId()), firstPage);
+        assertEquals(List.of(orders.get(2).getOrderId(), orders.get(3).getOrderId(), orders.get(4).getOrderId()),
+                secondPage);
+    }
+
+    @Test
+    void shouldFetchOrdersWithLinesInOneQuery() {
+        // Arrange
+        User user = createTestUser("Fetch", "Join", "fetch.join@example.com");
+        Order order = createTestOrder(user, OrderStatus.pending);
+        entityManager.persist(order);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        List<Order> result = orderRepository.findAllWithLinesByOrderIdIn(List.of(order.getOrderId()));
+
+        // Assert
+        assertEquals(1, result.size());
+        assertTrue(Hibernate.isInitialized(result.get(0).getUser()));
+        assertTrue(Hibernate.isInitialized(result.get(0).getOrderProducts()));
+    }
+
     private User createTestUser(String firstName, String lastName, String email) {
         User user = User.builder()
                 .firstName(firstName)
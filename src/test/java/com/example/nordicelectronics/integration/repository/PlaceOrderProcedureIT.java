@@ -0,0 +1,95 @@
+package com.example.nordicelectronics.integration.repository;
+
+import com.example.nordicelectronics.integration.BaseIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PlaceOrderProcedureIT extends BaseIntegrationTest {
+
+    private UUID userId;
+    private UUID addressId;
+    private UUID productId;
+    private UUID warehouseId;
+
+    @BeforeEach
+    void createCatalog() {
+        userId = jdbcTemplate.queryForObject("""
+                INSERT INTO "user" (first_name, last_name, email, phone_number, date_of_birth, password)
+                VALUES ('Place', 'Order', ?, '12345678', DATE '1990-01-01', 'place-order-password')
+                RETURNING user_id
+                """, UUID.class, "place-order-" + UUID.randomUUID() + "@example.com");
+        addressId = jdbcTemplate.queryForObject("""
+                INSERT INTO address (user_id, street, street_number, zip, city)
+                VALUES (?, 'Order Street', '1', '2100', 'Copenhagen')
+                RETURNING address_id
+                """, UUID.class, userId);
+        UUID brandId = jdbcTemplate.queryForObject(
+                "INSERT INTO brand (name, description) VALUES ('Place Order', 'Test brand') RETURNING brand_id",
+                UUID.class);
+        UUID warrantyId = jdbcTemplate.queryForObject("""
+                INSERT INTO warranty (start_date, end_date, description)
+                VALUES (CURRENT_DATE, CURRENT_DATE + 730, 'Test warranty')
+                RETURNING warranty_id
+                """, UUID.class);
+        productId = jdbcTemplate.queryForObject("""
+                INSERT INTO product (sku, name, description, price, weight, brand_id, warranty_id)
+                VALUES (?, 'Place Order Product', 'Test product', 10.00, 1.0, ?, ?)
+                RETURNING product_id
+                """, UUID.class, "PLACE-ORDER-" + UUID.randomUUID(), brandId, warrantyId);
+        warehouseId = jdbcTemplate.queryForObject("""
+                INSERT INTO warehouse (name, phone_number, address_id)
+                VALUES ('Place Order Warehouse', '12345678', ?)
+                RETURNING warehouse_id
+                """, UUID.class, addressId);
+        jdbcTemplate.update("INSERT INTO warehouse_product (warehouse_id, product_id, stock_quantity) VALUES (?, ?, 5)",
+                warehouseId, productId);
+    }
+
+    @Test
+    @DisplayName("Should take stock for every cart line of the same product and warehouse")
+    void shouldDecrementRepeatedLinesTogether() {
+        // Act
+        UUID orderId = placeOrder(line(3) + "," + line(2));
+
+        // Assert
+        assertThat(stock()).isZero();
+        Integer quantity = jdbcTemplate.queryForObject(
+                "SELECT quantity FROM order_product WHERE order_id = ? AND product_id = ?",
+                Integer.class, orderId, productId);
+        assertThat(quantity).isEqualTo(5);
+        BigDecimal subtotal = jdbcTemplate.queryForObject(
+                "SELECT subtotal FROM \"order\" WHERE order_id = ?", BigDecimal.class, orderId);
+        assertThat(subtotal).isEqualByComparingTo("50.00");
+    }
+
+    @Test
+    @DisplayName("Should reject repeated lines that fit the stock one by one but not together")
+    void shouldRejectRepeatedLinesOverStock() {
+        // Act & Assert
+        assertThatThrownBy(() -> placeOrder(line(3) + "," + line(3)))
+                .hasMessageContaining("Insufficient stock for product: " + productId);
+    }
+
+    private UUID placeOrder(String lines) {
+        return jdbcTemplate.queryForObject("CALL sp_place_order(?, ?, ?::jsonb, NULL, 0, NULL)",
+                (rs, rowNum) -> rs.getObject("p_order_id", UUID.class),
+                userId, addressId, "[" + lines + "]");
+    }
+
+    private String line(int quantity) {
+        return "{\"product_id\": \"" + productId + "\", \"warehouse_id\": \"" + warehouseId
+                + "\", \"quantity\": " + quantity + "}";
+    }
+
+    private int stock() {
+        return jdbcTemplate.queryForObject(
+                "SELECT stock_quantity FROM warehouse_product WHERE warehouse_id = ? AND product_id = ?",
+                Integer.class, warehouseId, productId);
+    }
+}
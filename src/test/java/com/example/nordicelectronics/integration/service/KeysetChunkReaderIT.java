@@ -0,0 +1,86 @@
+package com.example.nordicelectronics.integration.service;
+
+import com.example.nordicelectronics.entity.Brand;
+import com.example.nordicelectronics.integration.BaseIntegrationTest;
+import com.example.nordicelectronics.service.migration.KeysetChunkReader;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * The migration reads every table through {@link KeysetChunkReader}; each
+ * chunk must be bounded, ordered, and leave nothing behind in the
+ * persistence context.
+ */
+class KeysetChunkReaderIT extends BaseIntegrationTest {
+
+    private static final int CHUNK_SIZE = 7;
+    private static final int BRAND_COUNT = 40;
+
+    @Autowired
+    private KeysetChunkReader chunkReader;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < BRAND_COUNT; i++) {
+            jdbcTemplate.update("INSERT INTO brand (name, description) VALUES (?, 'Chunk reader brand')",
+                    "Chunk Reader Brand " + i);
+        }
+        jdbcTemplate.update("UPDATE brand SET deleted_at = now() WHERE name = 'Chunk Reader Brand 0'");
+    }
+
+    @Test
+    @DisplayName("stream visits every live row exactly once in bounded chunks")
+    void shouldStreamAllRowsInBoundedChunks() {
+        // Arrange
+        List<UUID> liveBrands = jdbcTemplate.queryForList(
+                "SELECT brand_id FROM brand WHERE deleted_at IS NULL", UUID.class);
+        List<List<UUID>> chunks = new ArrayList<>();
+
+        // Act
+        long total = chunkReader.stream("Brand", "brandId", CHUNK_SIZE,
+                ids -> chunkReader.fetch("SELECT b FROM Brand b WHERE b.brandId IN :ids", Brand.class, ids),
+                brands -> {
+                    assertThat(entityManager.contains(brands.get(0))).isTrue();
+                    return brands.stream().map(Brand::getBrandId).toList();
+                },
+                chunk -> {
+                    assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount())
+                            .isZero();
+                    chunks.add(chunk);
+                });
+
+        // Assert
+        List<UUID> streamed = chunks.stream().flatMap(List::stream).toList();
+        assertThat(total).isEqualTo(liveBrands.size());
+        assertThat(streamed).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(liveBrands);
+        assertThat(chunks).allSatisfy(chunk -> assertThat(chunk).hasSizeLessThanOrEqualTo(CHUNK_SIZE));
+        assertThat(chunks).hasSize((liveBrands.size() + CHUNK_SIZE - 1) / CHUNK_SIZE);
+    }
+
+    @Test
+    @DisplayName("stream skips soft-deleted rows")
+    void shouldSkipSoftDeletedRows() {
+        // Arrange
+        UUID deleted = jdbcTemplate.queryForObject(
+                "SELECT brand_id FROM brand WHERE name = 'Chunk Reader Brand 0'", UUID.class);
+        List<UUID> streamed = new ArrayList<>();
+
+        // Act
+        chunkReader.stream("Brand", "brandId", CHUNK_SIZE,
+                ids -> chunkReader.fetch("SELECT b FROM Brand b WHERE b.brandId IN :ids", Brand.class, ids),
+                brands -> brands.stream().map(Brand::getBrandId).toList(),
+                streamed::addAll);
+
+        // Assert
+        assertThat(streamed).doesNotContain(deleted);
+    }
+}
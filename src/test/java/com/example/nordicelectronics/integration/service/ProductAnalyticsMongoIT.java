@@ -0,0 +1,200 @@
+package com.example.nordicelectronics.integration.service;
+
+import com.example.nordicelectronics.entity.enums.OrderStatus;
+import com.example.nordicelectronics.entity.mongodb.BestReviewedProductDocument;
+import com.example.nordicelectronics.entity.mongodb.BestSellingProductDocument;
+import com.example.nordicelectronics.entity.mongodb.OrderDocument;
+import com.example.nordicelectronics.entity.mongodb.OrderProductEmbedded;
+import com.example.nordicelectronics.entity.mongodb.ProductDocument;
+import com.example.nordicelectronics.entity.mongodb.ReviewEmbedded;
+import com.example.nordicelectronics.integration.BaseIntegrationTest;
+import com.example.nordicelectronics.service.mongodb.ProductAnalyticsMongoService;
+import com.example.nordicelectronics.service.mongodb.ProductReviewSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks the MongoDB analytics pipelines against the rules of the PostgreSQL
+ * views in {@link ProductAnalyticsIT}. Opt-in because it needs a MongoDB to
+ * aggregate in; the collections it uses are dropped before each test:
+ *
+ *   mvn verify -Dit.test=ProductAnalyticsMongoIT -Dmongodb.uri=mongodb://localhost:27017/nordic_analytics
+ */
+@EnabledIfSystemProperty(named = "mongodb.uri", matches = ".+")
+@TestPropertySource(properties = {
+        "spring.data.mongodb.enabled=true",
+        "spring.autoconfigure.exclude=",
+        "mongodb.indexes.create-on-startup=false",
+        "analytics.mongodb.top-size=2"
+})
+class ProductAnalyticsMongoIT extends BaseIntegrationTest {
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", () -> System.getProperty("mongodb.uri"));
+    }
+
+    @Autowired
+    private ProductAnalyticsMongoService productAnalyticsMongoService;
+
+    @Autowired
+    private ProductReviewSummary productReviewSummary;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void dropCollections() {
+        mongoTemplate.dropCollection(ProductDocument.class);
+        mongoTemplate.dropCollection(OrderDocument.class);
+        mongoTemplate.dropCollection(BestSellingProductDocument.class);
+        mongoTemplate.dropCollection(BestReviewedProductDocument.class);
+    }
+
+    @Test
+    @DisplayName("Should rank the top products by units sold in the last month, skipping deleted orders")
+    void shouldRankBestSellingProducts() {
+        // Arrange
+        ProductDocument laptop = saveProduct("Laptop", "999.99", List.of());
+        ProductDocument mouse = saveProduct("Mouse", "29.99", List.of());
+        ProductDocument keyboard = saveProduct("Keyboard", "79.99", List.of());
+        saveOrder(LocalDateTime.now().minusDays(5), false, line(laptop, 10), line(keyboard, 8));
+        saveOrder(LocalDateTime.now().minusDays(15), false, line(laptop, 5), line(mouse, 20));
+        saveOrder(LocalDateTime.now().minusDays(10), true, line(keyboard, 50));
+        saveOrder(LocalDateTime.now().minusMonths(3), false, line(keyboard, 100));
+
+        // Act
+        productAnalyticsMongoService.refreshAnalytics();
+        List<BestSellingProductDocument> results = productAnalyticsMongoService.getBestSellingProducts();
+
+        // Assert - Keyboard (8 units) is below the top 2
+        assertThat(results).extracting(BestSellingProductDocument::getProductName).containsExactly("Mouse", "Laptop");
+        assertThat(results.get(0).getTotalUnitsSold()).isEqualTo(20L);
+        assertThat(results.get(1).getTotalUnitsSold()).isEqualTo(15L);
+        assertThat(results.get(1).getRevenueGenerated()).isEqualByComparingTo("14999.85");
+        assertThat(results.get(1).getProductPrice()).isEqualByComparingTo("999.99");
+    }
+
+    @Test
+    @DisplayName("Should rank only live products, so a deleted best seller does not take a place in the top")
+    void shouldSkipDeletedProductsBeforeRanking() {
+        // Arrange
+        ProductDocument laptop = saveProduct("Laptop", "999.99", List.of());
+        ProductDocument mouse = saveProduct("Mouse", "29.99", List.of());
+        ProductDocument cable = saveProduct("Cable", "9.99", List.of());
+        cable.softDelete();
+        mongoTemplate.save(cable);
+        saveOrder(LocalDateTime.now().minusDays(2), false, line(cable, 40), line(laptop, 3), line(mouse, 2));
+
+        // Act
+        productAnalyticsMongoService.refreshAnalytics();
+
+        // Assert
+        assertThat(productAnalyticsMongoService.getBestSellingProducts())
+                .extracting(BestSellingProductDocument::getProductName)
+                .containsExactly("Laptop", "Mouse");
+    }
+
+    @Test
+    @DisplayName("Should drop products that fell out of the top on the next refresh")
+    void shouldRemoveStaleRows() {
+        // Arrange
+        ProductDocument laptop = saveProduct("Laptop", "999.99", List.of());
+        ProductDocument mouse = saveProduct("Mouse", "29.99", List.of());
+        ProductDocument keyboard = saveProduct("Keyboard", "79.99", List.of());
+        saveOrder(LocalDateTime.now().minusDays(1), false, line(laptop, 3), line(mouse, 2));
+        productAnalyticsMongoService.refreshAnalytics();
+        saveOrder(LocalDateTime.now().minusDays(1), false, line(keyboard, 10), line(mouse, 5));
+
+        // Act
+        productAnalyticsMongoService.refreshAnalytics();
+
+        // Assert
+        assertThat(productAnalyticsMongoService.getBestSellingProducts())
+                .extracting(BestSellingProductDocument::getProductName)
+                .containsExactly("Keyboard", "Mouse");
+    }
+
+    @Test
+    @DisplayName("Should rank products by average rating, then number of reviews")
+    void shouldRankBestReviewedProducts() {
+        // Arrange
+        saveProduct("Laptop", "999.99", reviews(5, 4, 4));
+        saveProduct("Mouse", "29.99", reviews(5, 4, 4, 5, 3, 5));
+        saveProduct("Keyboard", "79.99", reviews(2));
+        saveProduct("Cable", "9.99", List.of());
+
+        // Act
+        productAnalyticsMongoService.refreshAnalytics();
+        List<BestReviewedProductDocument> results = productAnalyticsMongoService.getBestReviewedProducts();
+
+        // Assert
+        assertThat(results).extracting(BestReviewedProductDocument::getProductName).containsExactly("Mouse", "Laptop");
+        assertThat(results.get(0).getAverageRating()).isEqualTo(4.33);
+        assertThat(results.get(0).getNumberOfReviews()).isEqualTo(6L);
+        assertThat(results.get(1).getAverageRating()).isEqualTo(4.33);
+        assertThat(results.get(1).getNumberOfReviews()).isEqualTo(3L);
+    }
+
+    private ProductDocument saveProduct(String name, String price, List<ReviewEmbedded> reviews) {
+        ProductDocument product = ProductDocument.builder()
+                .productId(UUID.randomUUID())
+                .sku(name.toUpperCase() + "-" + UUID.randomUUID())
+                .name(name)
+                .price(new BigDecimal(price))
+                .build();
+        productReviewSummary.embed(product, reviews);
+        return mongoTemplate.insert(product);
+    }
+
+    private void saveOrder(LocalDateTime orderDate, boolean deleted, OrderProductEmbedded... lines) {
+        OrderDocument order = OrderDocument.builder()
+                .orderId(UUID.randomUUID())
+                .orderDate(orderDate)
+                .orderStatus(OrderStatus.confirmed)
+                .orderProducts(List.of(lines))
+                .build();
+        if (deleted) {
+            order.softDelete();
+        }
+        mongoTemplate.insert(order);
+    }
+
+    private OrderProductEmbedded line(ProductDocument product, int quantity) {
+        return OrderProductEmbedded.builder()
+                .productId(product.getProductId())
+                .productName(product.getName())
+                .productSku(product.getSku())
+                .quantity(quantity)
+                .unitPrice(product.getPrice())
+                .totalPrice(product.getPrice().multiply(BigDecimal.valueOf(quantity)))
+                .build();
+    }
+
+    private List<ReviewEmbedded> reviews(int... values) {
+        List<ReviewEmbedded> reviews = new ArrayList<>();
+        for (int value : values) {
+            reviews.add(ReviewEmbedded.builder()
+                    .reviewId(UUID.randomUUID())
+                    .reviewValue(value)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+        return reviews;
+    }
+}
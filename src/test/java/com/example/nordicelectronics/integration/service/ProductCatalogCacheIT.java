@@ -0,0 +1,117 @@
+package com.example.nordicelectronics.integration.service;
+
+import com.example.nordicelectronics.entity.dto.product.ProductRequestDTO;
+import com.example.nordicelectronics.entity.dto.product.ProductResponseDTO;
+import com.example.nordicelectronics.integration.BaseIntegrationTest;
+import com.example.nordicelectronics.service.ProductService;
+import com.example.nordicelectronics.service.ReviewService;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs with the catalog cache on, which the test profile otherwise disables.
+ * Evictions happen after commit, so the fixture and the writes are committed
+ * instead of living in the test transaction, and removed afterwards.
+ */
+@TestPropertySource(properties = "catalog.cache.enabled=true")
+@Transactional(Transactional.TxType.NOT_SUPPORTED)
+class ProductCatalogCacheIT extends BaseIntegrationTest {
+
+    private static final String TAG = "Catalog Cache";
+
+    @Autowired private ProductService productService;
+    @Autowired private ReviewService reviewService;
+
+    private UUID userId;
+    private UUID brandId;
+    private UUID warrantyId;
+    private UUID productId;
+    private UUID orderId;
+    private UUID reviewId;
+
+    @BeforeEach
+    void setUp() {
+        userId = jdbcTemplate.queryForObject("""
+                INSERT INTO "user" (first_name, last_name, email, phone_number, date_of_birth, password)
+                VALUES (?, 'User', ?, '12345678', DATE '1990-01-01', 'password123')
+                RETURNING user_id
+                """, UUID.class, TAG, "catalog-cache-" + UUID.randomUUID() + "@example.com");
+        brandId = jdbcTemplate.queryForObject(
+                "INSERT INTO brand (name, description) VALUES (?, 'Cache brand') RETURNING brand_id", UUID.class, TAG);
+        warrantyId = jdbcTemplate.queryForObject("""
+                INSERT INTO warranty (start_date, end_date, description)
+                VALUES (CURRENT_DATE, CURRENT_DATE + 365, ?)
+                RETURNING warranty_id
+                """, UUID.class, TAG);
+        productId = jdbcTemplate.queryForObject("""
+                INSERT INTO product (sku, name, description, price, weight, brand_id, warranty_id)
+                VALUES (?, 'Cached Product', 'Cache product', 100.00, 1.0, ?, ?)
+                RETURNING product_id
+                """, UUID.class, "CACHE-" + UUID.randomUUID(), brandId, warrantyId);
+        orderId = jdbcTemplate.queryForObject("""
+                INSERT INTO "order" (user_id, total_amount, subtotal, tax_amount, shipping_cost)
+                VALUES (?, 100.00, 100.00, 0, 0)
+                RETURNING order_id
+                """, UUID.class, userId);
+        reviewId = jdbcTemplate.queryForObject("""
+                INSERT INTO review (product_id, user_id, order_id, review_value, title, comment)
+                VALUES (?, ?, ?, 5, 'Great', 'Works well')
+                RETURNING review_id
+                """, UUID.class, productId, userId, orderId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM review WHERE product_id = ?", productId);
+        jdbcTemplate.update("DELETE FROM \"order\" WHERE order_id = ?", orderId);
+        jdbcTemplate.update("DELETE FROM product_category WHERE product_id = ?", productId);
+        jdbcTemplate.update("DELETE FROM product WHERE product_id = ?", productId);
+        jdbcTemplate.update("DELETE FROM warranty WHERE warranty_id = ?", warrantyId);
+        jdbcTemplate.update("DELETE FROM brand WHERE brand_id = ?", brandId);
+        jdbcTemplate.update("DELETE FROM \"user\" WHERE user_id = ?", userId);
+    }
+
+    @Test
+    @DisplayName("Deleting a review evicts the cached product that lists it")
+    void shouldEvictProductOnReviewDelete() {
+        // Arrange
+        assertThat(productService.getById(productId).getReviewIds()).containsExactly(reviewId);
+
+        // Act
+        reviewService.deleteById(reviewId);
+
+        // Assert
+        assertThat(productService.getById(productId).getReviewIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Updating a product evicts its cached response")
+    void shouldEvictProductOnUpdate() {
+        // Arrange
+        ProductResponseDTO cached = productService.getById(productId);
+
+        // Act
+        productService.update(productId, ProductRequestDTO.builder()
+                .sku(cached.getSku())
+                .name("Renamed Product")
+                .description(cached.getDescription())
+                .price(new BigDecimal("120.00"))
+                .weight(cached.getWeight())
+                .build());
+
+        // Assert
+        ProductResponseDTO reloaded = productService.getById(productId);
+        assertThat(reloaded.getName()).isEqualTo("Renamed Product");
+        assertThat(reloaded.getPrice()).isEqualByComparingTo("120.00");
+    }
+}
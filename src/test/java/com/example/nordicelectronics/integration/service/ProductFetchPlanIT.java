@@ -0,0 +1,209 @@
+package com.example.nordicelectronics.integration.service;
+
+import com.example.nordicelectronics.entity.*;
+import com.example.nordicelectronics.entity.dto.product.ProductPageResponseDTO;
+import com.example.nordicelectronics.entity.dto.product.ProductResponseDTO;
+import com.example.nordicelectronics.entity.enums.OrderStatus;
+import com.example.nordicelectronics.integration.BaseIntegrationTest;
+import com.example.nordicelectronics.service.ProductService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Guards the product fetch plans: a listing page must cost a fixed number of
+ * SQL statements no matter how many products, categories or reviews it holds.
+ */
+class ProductFetchPlanIT extends BaseIntegrationTest {
+
+    private static final int PRODUCT_COUNT = 30;
+    private static final int REVIEWS_PER_PRODUCT = 3;
+
+    @Autowired
+    private ProductService productService;
+
+    private Statistics statistics;
+    private Brand brand;
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        brand = Brand.builder()
+                .name("Fetch Plan Brand")
+                .description("Fetch plan brand description")
+                .build();
+        entityManager.persist(brand);
+
+        Category laptops = Category.builder().name("Fetch Plan Laptops").description("Laptops").build();
+        Category office = Category.builder().name("Fetch Plan Office").description("Office").build();
+        entityManager.persist(laptops);
+        entityManager.persist(office);
+
+        User user = createAndPersistUser();
+        Order order = createAndPersistOrder(user);
+
+        products = new ArrayList<>();
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            Product product = createAndPersistProduct("Fetch Plan Product " + i, Set.of(laptops, office));
+            for (int r = 0; r < REVIEWS_PER_PRODUCT; r++) {
+                createAndPersistReview(product, user, order);
+            }
+            products.add(product);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    @DisplayName("A listing page issues the same small number of statements regardless of page size")
+    void shouldListPageWithFixedStatementCount() {
+        // Act
+        long smallPage = countStatements(() -> productService.getProductsWithPagination(
+                0, 6, null, null, brand.getBrandId(), "name", "asc"));
+        long largePage = countStatements(() -> productService.getProductsWithPagination(
+                0, 24, null, null, brand.getBrandId(), "name", "asc"));
+
+        // Assert - page select, count, batched categories, review ids
+        assertThat(largePage).isLessThanOrEqualTo(4);
+        assertThat(largePage).isEqualTo(smallPage);
+    }
+
+    @Test
+    @DisplayName("A listing page still exposes category and review ids for every product")
+    void shouldMapCategoryAndReviewIds() {
+        // Act
+        ProductPageResponseDTO page = productService.getProductsWithPagination(
+                0, 24, null, null, brand.getBrandId(), "name", "asc");
+
+        // Assert
+        assertThat(page.getContent()).hasSize(24);
+        assertThat(page.getContent()).allSatisfy(product -> {
+            assertThat(product.getCategoryIds()).hasSize(2);
+            assertThat(product.getReviewIds()).hasSize(REVIEWS_PER_PRODUCT);
+            assertThat(product.getBrandId()).isEqualTo(brand.getBrandId());
+            assertThat(product.getWarrantyId()).isNotNull();
+        });
+    }
+
+    @Test
+    @DisplayName("The detail path loads a product in two statements")
+    void shouldLoadDetailWithFixedStatementCount() {
+        // Arrange
+        UUID productId = products.get(0).getProductId();
+
+        // Act
+        List<ProductResponseDTO> result = new ArrayList<>();
+        long statements = countStatements(() -> result.add(productService.getById(productId)));
+
+        // Assert - product with categories, review ids
+        assertThat(statements).isEqualTo(2);
+        assertThat(result.get(0).getReviewIds()).hasSize(REVIEWS_PER_PRODUCT);
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    // HELPER METHODS (Create and Persist Entities)
+
+    private Product createAndPersistProduct(String name, Set<Category> categories) {
+        Warranty warranty = Warranty.builder()
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusYears(2))
+                .description("Fetch plan warranty")
+                .build();
+        entityManager.persist(warranty);
+
+        Product product = Product.builder()
+                .name(name)
+                .sku("SKU-FP-" + UUID.randomUUID().toString().substring(0, 8))
+                .description("Fetch plan description")
+                .price(new BigDecimal("199.99"))
+                .weight(new BigDecimal("1.0"))
+                .brand(brand)
+                .warranty(warranty)
+                .categories(new HashSet<>(categories))
+                .build();
+        entityManager.persist(product);
+        return product;
+    }
+
+    private User createAndPersistUser() {
+        User user = User.builder()
+                .email("fetchplan-" + UUID.randomUUID().toString().substring(0, 8) + "@example.com")
+                .firstName("Fetch")
+                .lastName("Plan")
+                .phoneNumber("12345678")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .password("hashedPassword")
+                .isAdmin(false)
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+
+    private Order createAndPersistOrder(User user) {
+        Address address = Address.builder()
+                .user(user)
+                .street("Test Street")
+                .streetNumber("123")
+                .city("Test City")
+                .zip("1000")
+                .build();
+        entityManager.persist(address);
+
+        Order order = Order.builder()
+                .user(user)
+                .address(address)
+                .orderDate(LocalDateTime.now())
+                .subtotal(new BigDecimal("100.00"))
+                .taxAmount(new BigDecimal("25.00"))
+                .shippingCost(new BigDecimal("10.00"))
+                .discountAmount(BigDecimal.ZERO)
+                .totalAmount(new BigDecimal("135.00"))
+                .orderStatus(OrderStatus.confirmed)
+                .build();
+        entityManager.persist(order);
+        return order;
+    }
+
+    private void createAndPersistReview(Product product, User user, Order order) {
+        Review review = Review.builder()
+                .product(product)
+                .user(user)
+                .orderId(order.getOrderId())
+                .reviewValue(5)
+                .title("Great")
+                .comment("Works as expected")
+                .build();
+        entityManager.persist(review);
+    }
+}
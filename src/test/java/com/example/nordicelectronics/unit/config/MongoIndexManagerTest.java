@@ -0,0 +1,55 @@
+package com.example.nordicelectronics.unit.config;
+
+import com.example.nordicelectronics.config.MongoIndexManager;
+import com.example.nordicelectronics.config.MongoIndexManager.IndexedQuery;
+import com.example.nordicelectronics.repositories.mongodb.ProductMongoRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MongoIndexManagerTest {
+
+    @Test
+    @DisplayName("every query method of every MongoDB repository has a declared query")
+    void shouldCoverEveryRepositoryMethod() throws Exception {
+        List<String> declared = MongoIndexManager.queries().stream().map(IndexedQuery::method).toList();
+
+        List<String> methods = new ArrayList<>();
+        for (Resource resource : new PathMatchingResourcePatternResolver()
+                .getResources("classpath*:com/example/nordicelectronics/repositories/mongodb/*.class")) {
+            Class<?> type = Class.forName(ProductMongoRepository.class.getPackageName() + "."
+                    + resource.getFilename().replace(".class", ""));
+            if (type.isInterface() && MongoRepository.class.isAssignableFrom(type)) {
+                for (Method method : type.getDeclaredMethods()) {
+                    // A derived delete sends the same filter as the finder on the same property
+                    methods.add(type.getSimpleName() + "." + method.getName().replaceFirst("^deleteBy", "findBy"));
+                }
+            }
+        }
+
+        assertThat(methods).isNotEmpty();
+        assertThat(declared).containsAll(methods);
+    }
+
+    @Test
+    @DisplayName("isIndexScan accepts index scans and rejects plans with a collection scan")
+    void shouldClassifyPlans() {
+        Document indexScan = new Document("stage", "FETCH")
+                .append("inputStage", new Document("stage", "IXSCAN").append("indexName", "sku"));
+        Document collectionScan = new Document("stage", "COLLSCAN");
+
+        assertThat(MongoIndexManager.isIndexScan(indexScan)).isTrue();
+        assertThat(MongoIndexManager.isIndexScan(collectionScan)).isFalse();
+        assertThat(MongoIndexManager.isIndexScan(new Document("stage", "OR")
+                .append("inputStages", List.of(indexScan, collectionScan)))).isFalse();
+    }
+}
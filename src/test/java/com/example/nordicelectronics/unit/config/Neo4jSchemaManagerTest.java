@@ -0,0 +1,75 @@
+package com.example.nordicelectronics.unit.config;
+
+import com.example.nordicelectronics.config.Neo4jSchemaManager;
+import com.example.nordicelectronics.config.Neo4jSchemaManager.IndexedQuery;
+import com.example.nordicelectronics.config.Neo4jSchemaManager.SchemaIndex;
+import com.example.nordicelectronics.repositories.neo4j.ProductNeo4jRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.neo4j.repository.Neo4jRepository;
+import org.springframework.data.neo4j.repository.query.Query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+class Neo4jSchemaManagerTest {
+
+    @Test
+    @DisplayName("uniqueness constraints are named like the ones the graph migration creates")
+    void shouldNameConstraintsLikeGraphWriter() {
+        assertThat(new SchemaIndex("Product", "productId", true).name()).isEqualTo("product_productId_unique");
+        assertThat(new SchemaIndex("Review", "productId", false).name()).isEqualTo("review_productId_range");
+    }
+
+    @Test
+    @DisplayName("isIndexSeek accepts plans that seek an index and rejects label and graph scans")
+    void shouldClassifyPlans() {
+        assertThat(Neo4jSchemaManager.isIndexSeek(List.of("ProduceResults", "NodeUniqueIndexSeek"))).isTrue();
+        assertThat(Neo4jSchemaManager.isIndexSeek(List.of("ProduceResults", "Filter", "NodeIndexSeek"))).isTrue();
+        assertThat(Neo4jSchemaManager.isIndexSeek(List.of("ProduceResults", "Filter", "NodeByLabelScan"))).isFalse();
+        assertThat(Neo4jSchemaManager.isIndexSeek(List.of("ProduceResults", "NodeIndexSeek", "AllNodesScan"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("every method of every Neo4j repository has its query checked")
+    void shouldCoverEveryRepositoryMethod() throws Exception {
+        Map<String, String> queries = Neo4jSchemaManager.queries().stream()
+                .collect(Collectors.toMap(IndexedQuery::method, IndexedQuery::cypher));
+
+        List<String> methods = new ArrayList<>();
+        for (Resource resource : new PathMatchingResourcePatternResolver()
+                .getResources("classpath*:com/example/nordicelectronics/repositories/neo4j/*.class")) {
+            Class<?> type = Class.forName(ProductNeo4jRepository.class.getPackageName() + "."
+                    + resource.getFilename().replace(".class", ""));
+            if (type.isInterface() && Neo4jRepository.class.isAssignableFrom(type)) {
+                Arrays.stream(type.getDeclaredMethods())
+                        .forEach(method -> methods.add(type.getSimpleName() + "." + method.getName()));
+            }
+        }
+
+        assertThat(methods).isNotEmpty();
+        assertThat(queries).containsKeys(methods.toArray(String[]::new));
+    }
+
+    @Test
+    @DisplayName("annotated methods are checked with their own @Query and derived finders with the Cypher of their name")
+    void shouldReadQueriesFromRepositories() throws Exception {
+        Map<String, String> queries = Neo4jSchemaManager.queries().stream()
+                .collect(Collectors.toMap(IndexedQuery::method, IndexedQuery::cypher));
+        Query query = ProductNeo4jRepository.class.getMethod("findByCategoryId", UUID.class).getAnnotation(Query.class);
+
+        assertThat(queries.get("ProductNeo4jRepository.findByCategoryId")).isEqualTo(query.value());
+        assertThat(queries.get("ProductNeo4jRepository.findBySku"))
+                .isEqualTo("MATCH (n:Product) WHERE n.sku = $sku RETURN n");
+        assertThat(queries.get("WarehouseNeo4jRepository.deleteByWarehouseId"))
+                .isEqualTo("MATCH (n:Warehouse) WHERE n.warehouseId = $warehouseId RETURN n");
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.nordicelectronics.unit.entity;
+
+import com.example.nordicelectronics.entity.mongodb.projection.ProductView;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ProductViewTest {
+
+    @Test
+    @DisplayName("views are named case-insensitively and absent when not requested")
+    void shouldParseViewParameter() {
+        assertThat(ProductView.fromParam("listing")).isEqualTo(ProductView.LISTING);
+        assertThat(ProductView.fromParam(" Card ")).isEqualTo(ProductView.CARD);
+        assertThat(ProductView.fromParam("DETAIL")).isEqualTo(ProductView.DETAIL);
+        assertThat(ProductView.fromParam(null)).isNull();
+        assertThat(ProductView.fromParam("")).isNull();
+        assertThatThrownBy(() -> ProductView.fromParam("full"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("full");
+    }
+
+    @ParameterizedTest
+    @EnumSource(ProductView.class)
+    @DisplayName("no view passes the embedded reviews or warehouse stock through")
+    void shouldNotProjectEmbeddedArrays(ProductView view) {
+        // Act
+        Document project = view.projection().toDocument(Aggregation.DEFAULT_CONTEXT).get("$project", Document.class);
+
+        // Assert
+        assertThat(project).containsKey("productId")
+                .doesNotContainKeys("reviews", "warehouse_stock", "warehouseStock")
+                .containsEntry("_id", 0);
+    }
+}
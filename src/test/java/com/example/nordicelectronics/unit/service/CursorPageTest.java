@@ -0,0 +1,79 @@
+package com.example.nordicelectronics.unit.service;
+
+import com.example.nordicelectronics.service.pagination.CursorPage;
+import com.example.nordicelectronics.service.pagination.PageCursor;
+import com.example.nordicelectronics.service.pagination.PageLimits;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CursorPageTest {
+
+    private static final UUID FIRST = UUID.fromString("0a000000-0000-0000-0000-000000000001");
+    private static final UUID SECOND = UUID.fromString("0a000000-0000-0000-0000-000000000002");
+    private static final UUID THIRD = UUID.fromString("0a000000-0000-0000-0000-000000000003");
+
+    private PageLimits pageLimits;
+
+    @BeforeEach
+    void setUp() {
+        pageLimits = new PageLimits();
+        ReflectionTestUtils.setField(pageLimits, "defaultLimit", 100);
+        ReflectionTestUtils.setField(pageLimits, "maxLimit", 1000);
+    }
+
+    @Test
+    @DisplayName("limits default when absent and are capped at the maximum")
+    void shouldResolveLimits() {
+        assertThat(pageLimits.resolve(null)).isEqualTo(100);
+        assertThat(pageLimits.resolve(25)).isEqualTo(25);
+        assertThat(pageLimits.resolve(1_000_000)).isEqualTo(1000);
+        assertThatThrownBy(() -> pageLimits.resolve(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("a page read with limit + 1 rows drops the extra row and continues after the last kept one")
+    void shouldContinueAfterLastRow() {
+        // Act
+        CursorPage<UUID> page = CursorPage.of(List.of(FIRST, SECOND, THIRD), 2, id -> PageCursor.after("test", id));
+
+        // Assert
+        assertThat(page.items()).containsExactly(FIRST, SECOND);
+        PageCursor next = PageCursor.decode(page.nextCursor(), "test", 1);
+        assertThat(next.lastId(0)).isEqualTo(SECOND);
+    }
+
+    @Test
+    @DisplayName("the last page has no cursor")
+    void shouldEndWithoutCursor() {
+        // Act
+        CursorPage<UUID> page = CursorPage.of(List.of(FIRST, SECOND), 2, id -> PageCursor.after("test", id));
+
+        // Assert
+        assertThat(page.items()).containsExactly(FIRST, SECOND);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("cursors round-trip composite keys and are rejected for another list or when malformed")
+    void shouldValidateCursors() {
+        // Arrange
+        String token = PageCursor.after("postgresql:WarehouseProduct", FIRST, SECOND).encode();
+
+        // Act & Assert
+        PageCursor cursor = PageCursor.decode(token, "postgresql:WarehouseProduct", 2);
+        assertThat(cursor.lastId(0)).isEqualTo(FIRST);
+        assertThat(cursor.lastId(1)).isEqualTo(SECOND);
+        assertThat(PageCursor.decode(null, "postgresql:Brand", 1)).isNull();
+        assertThatThrownBy(() -> PageCursor.decode(token, "postgresql:Brand", 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PageCursor.decode("not-a-cursor", "postgresql:Brand", 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
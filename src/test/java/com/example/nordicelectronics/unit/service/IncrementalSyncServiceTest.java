@@ -0,0 +1,134 @@
+package com.example.nordicelectronics.unit.service;
+
+import com.example.nordicelectronics.repositories.sql.SyncChangeRepository;
+import com.example.nordicelectronics.repositories.sql.SyncChangeRepository.Change;
+import com.example.nordicelectronics.repositories.sql.SyncWatermarkRepository;
+import com.example.nordicelectronics.service.IncrementalSyncService;
+import com.example.nordicelectronics.service.migration.ChangeSet;
+import com.example.nordicelectronics.service.migration.SyncSource;
+import com.example.nordicelectronics.service.migration.SyncTarget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IncrementalSyncServiceTest {
+
+    private static final LocalDateTime HIGH_WATER = LocalDateTime.of(2025, 1, 1, 12, 0);
+    private static final LocalDateTime NOW = HIGH_WATER.plusMinutes(5);
+
+    @Mock
+    private SyncTarget target;
+
+    @Mock
+    private SyncChangeRepository changeRepository;
+
+    @Mock
+    private SyncWatermarkRepository watermarkRepository;
+
+    private IncrementalSyncService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new IncrementalSyncService(List.of(target), changeRepository, watermarkRepository);
+        ReflectionTestUtils.setField(service, "overlap", Duration.ofMinutes(1));
+        lenient().when(target.targetName()).thenReturn("mongodb");
+        lenient().when(changeRepository.databaseTime()).thenReturn(NOW);
+    }
+
+    @Test
+    @DisplayName("syncAll re-reads from the overlap window, applies the changes and advances the watermark")
+    void shouldApplyChangesSinceWatermark() {
+        // Arrange
+        UUID replayed = UUID.randomUUID();
+        UUID brand = UUID.randomUUID();
+        when(watermarkRepository.findAll("mongodb")).thenReturn(Map.of("brand", HIGH_WATER));
+        when(changeRepository.findChangedSince(any(), any())).thenReturn(List.of());
+        when(changeRepository.findChangedSince(SyncSource.BRAND, HIGH_WATER.minusMinutes(1))).thenReturn(List.of(
+                new Change(replayed, HIGH_WATER.minusSeconds(30)),
+                new Change(brand, HIGH_WATER.plusMinutes(2))));
+        when(target.applyChanges(any())).thenReturn(Map.of("brands", 2L, "products", 7L));
+
+        // Act
+        Map<String, Object> results = service.syncAll();
+
+        // Assert
+        ArgumentCaptor<ChangeSet> changes = ArgumentCaptor.forClass(ChangeSet.class);
+        verify(target).applyChanges(changes.capture());
+        assertThat(changes.getValue().get(SyncSource.BRAND)).containsExactlyInAnyOrder(replayed, brand);
+        verify(watermarkRepository).save("mongodb", "brand", HIGH_WATER.plusMinutes(2));
+
+        Map<?, ?> mongodb = (Map<?, ?>) results.get("mongodb");
+        assertThat(mongodb.get("status")).isEqualTo("SUCCESS");
+        assertThat(mongodb.get("changed_rows")).isEqualTo(2);
+        // Lag is measured from the oldest change newer than the watermark, not from replayed rows
+        assertThat(mongodb.get("lag_ms")).isEqualTo(Duration.ofMinutes(3).toMillis());
+        assertThat(results.get("status")).isEqualTo("SUCCESS");
+    }
+
+    @Test
+    @DisplayName("syncAll reads every row of a source that has no watermark yet")
+    void shouldReadAllRowsOfNewSource() {
+        // Arrange
+        when(watermarkRepository.findAll("mongodb")).thenReturn(Map.of("brand", HIGH_WATER));
+        when(changeRepository.findChangedSince(any(), any())).thenReturn(List.of());
+
+        // Act
+        service.syncAll();
+
+        // Assert
+        verify(changeRepository).findChangedSince(SyncSource.BRAND, HIGH_WATER.minusMinutes(1));
+        verify(changeRepository).findChangedSince(SyncSource.PRODUCT, null);
+        verify(target, never()).applyChanges(any());
+        verify(watermarkRepository, never()).save(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("syncAll skips a target that has never been fully migrated")
+    void shouldSkipTargetWithoutFullMigration() {
+        // Arrange
+        when(watermarkRepository.findAll("mongodb")).thenReturn(Map.of());
+
+        // Act
+        Map<String, Object> results = service.syncAll();
+
+        // Assert
+        assertThat(((Map<?, ?>) results.get("mongodb")).get("status")).isEqualTo("SKIPPED");
+        verify(changeRepository, never()).findChangedSince(any(), any());
+        verify(target, never()).applyChanges(any());
+    }
+
+    @Test
+    @DisplayName("syncAll keeps the watermark when applying the changes fails")
+    void shouldKeepWatermarkOnFailure() {
+        // Arrange
+        when(watermarkRepository.findAll("mongodb")).thenReturn(Map.of("brand", HIGH_WATER));
+        when(changeRepository.findChangedSince(any(), any())).thenReturn(List.of());
+        when(changeRepository.findChangedSince(eq(SyncSource.BRAND), any())).thenReturn(List.of(
+                new Change(UUID.randomUUID(), HIGH_WATER.plusMinutes(1))));
+        when(target.applyChanges(any())).thenThrow(new IllegalStateException("MongoDB unavailable"));
+
+        // Act
+        Map<String, Object> results = service.syncAll();
+
+        // Assert
+        assertThat(results.get("status")).isEqualTo("FAILED");
+        verify(watermarkRepository, never()).save(any(), any(), any());
+        assertThat(service.status().get("running")).isEqualTo(false);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.nordicelectronics.unit.service;
+
+import com.example.nordicelectronics.service.migration.MerkleTree;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MerkleTreeTest {
+
+    private static final UUID FIRST = UUID.fromString("0a000000-0000-0000-0000-000000000001");
+    private static final UUID SECOND = UUID.fromString("0a000000-0000-0000-0000-000000000002");
+    private static final UUID THIRD = UUID.fromString("f3000000-0000-0000-0000-000000000003");
+
+    @Test
+    @DisplayName("rowHash matches ('x' || substr(md5(text), 1, 16))::bit(64)::bigint in PostgreSQL")
+    void shouldHashLikePostgres() {
+        // md5('a') = 0cc175b9c0f1b6a831c399e269772661
+        assertThat(MerkleTree.rowHash("a")).isEqualTo(0x0cc175b9c0f1b6a8L);
+    }
+
+    @Test
+    @DisplayName("canonical prints null as empty and decimals without trailing zeros")
+    void shouldPrintCanonicalFields() {
+        assertThat(MerkleTree.canonical(FIRST, null, new BigDecimal("19.90"), new BigDecimal("0.00"), "x"))
+                .isEqualTo(FIRST + "||19.9|0|x");
+        assertThat(MerkleTree.rowHash("p", new BigDecimal("10.00"))).isEqualTo(MerkleTree.rowHash("p", new BigDecimal("10")));
+    }
+
+    @Test
+    @DisplayName("digests do not depend on the order rows were added in")
+    void shouldIgnoreRowOrder() {
+        // Arrange
+        MerkleTree forward = new MerkleTree().addRow(FIRST, 1).addRow(SECOND, Long.MAX_VALUE).addRow(THIRD, 3);
+        MerkleTree backward = new MerkleTree().addRow(THIRD, 3).addRow(SECOND, Long.MAX_VALUE).addRow(FIRST, 1);
+
+        // Act & Assert
+        assertThat(forward.root()).isEqualTo(backward.root());
+        assertThat(forward.differingLeaves(backward)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("differingLeaves descends only into the subtrees that differ")
+    void shouldFindDifferingLeaves() {
+        // Arrange
+        MerkleTree postgres = new MerkleTree().addRow(FIRST, 1).addRow(SECOND, 2).addRow(THIRD, 3);
+        MerkleTree changed = new MerkleTree().addRow(FIRST, 1).addRow(SECOND, 20).addRow(THIRD, 3);
+        MerkleTree missing = new MerkleTree().addRow(FIRST, 1).addRow(SECOND, 2);
+
+        // Act & Assert
+        assertThat(postgres.differingLeaves(changed)).containsExactly("0a");
+        assertThat(postgres.differingLeaves(missing)).containsExactly("f3");
+    }
+
+    @Test
+    @DisplayName("bounds cover exactly the ids starting with a prefix")
+    void shouldBoundPrefixRanges() {
+        assertThat(MerkleTree.lowerBound("0a")).isEqualTo(UUID.fromString("0a000000-0000-0000-0000-000000000000"));
+        assertThat(MerkleTree.upperBound("0a")).isEqualTo(UUID.fromString("0b000000-0000-0000-0000-000000000000"));
+        assertThat(MerkleTree.upperBound("0f")).isEqualTo(UUID.fromString("10000000-0000-0000-0000-000000000000"));
+        assertThat(MerkleTree.upperBound("ff")).isNull();
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.nordicelectronics.unit.service;
+
+import com.example.nordicelectronics.repositories.sql.MigrationJobRepository;
+import com.example.nordicelectronics.repositories.sql.MigrationJobRepository.Checkpoint;
+import com.example.nordicelectronics.repositories.sql.MigrationJobRepository.Job;
+import com.example.nordicelectronics.service.MigrationJobService;
+import com.example.nordicelectronics.service.migration.MigrationCheckpoints;
+import com.example.nordicelectronics.service.migration.MigrationCheckpoints.PhaseCheckpoint;
+import com.example.nordicelectronics.service.migration.MigrationTarget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MigrationJobServiceTest {
+
+    private static final UUID JOB_ID = UUID.randomUUID();
+
+    @Mock
+    private MigrationTarget target;
+
+    @Mock
+    private MigrationJobRepository jobRepository;
+
+    private MigrationJobService service;
+
+    @BeforeEach
+    void setUp() {
+        when(target.targetName()).thenReturn("neo4j");
+        service = new MigrationJobService(List.of(target), jobRepository, 1, 10);
+        lenient().when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(job("FAILED")));
+        lenient().when(jobRepository.findCheckpoints(JOB_ID)).thenReturn(Map.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("submit returns the queued job and runs the migration in the background")
+    void shouldRunSubmittedJob() {
+        // Arrange
+        when(jobRepository.create("neo4j", 2)).thenReturn(JOB_ID);
+
+        // Act
+        Map<String, Object> job = service.submit("neo4j", 2);
+
+        // Assert
+        assertThat(job.get("job_id")).isEqualTo(JOB_ID);
+        verify(target, timeout(5000)).migrateAll(eq(2), any());
+        verify(jobRepository, timeout(5000)).markFinished(JOB_ID, "SUCCEEDED", null);
+    }
+
+    @Test
+    @DisplayName("resume continues each phase from its checkpoint and keeps the migrated data")
+    void shouldResumeFromCheckpoints() {
+        // Arrange
+        UUID lastId = UUID.randomUUID();
+        when(jobRepository.findCheckpoints(JOB_ID)).thenReturn(Map.of(
+                "brands", new Checkpoint("brands", 10L, 10, lastId, true),
+                "products", new Checkpoint("products", 500L, 200, lastId, false)));
+
+        // Act
+        service.resume(JOB_ID);
+
+        // Assert
+        ArgumentCaptor<MigrationCheckpoints> checkpoints = ArgumentCaptor.forClass(MigrationCheckpoints.class);
+        verify(target, timeout(5000)).migrateAll(eq(2), checkpoints.capture());
+        assertThat(checkpoints.getValue().isResumed()).isTrue();
+        assertThat(checkpoints.getValue().find("products")).isEqualTo(new PhaseCheckpoint(lastId, 200, false));
+        assertThat(checkpoints.getValue().find("orders")).isEqualTo(PhaseCheckpoint.START);
+    }
+
+    @Test
+    @DisplayName("cancel stops the job after the chunk being written and marks it cancelled")
+    void shouldCancelAfterCurrentChunk() throws InterruptedException {
+        // Arrange
+        when(jobRepository.create("neo4j", 2)).thenReturn(JOB_ID);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        when(target.migrateAll(anyInt(), any())).thenAnswer(invocation -> {
+            MigrationCheckpoints checkpoints = invocation.getArgument(1);
+            running.countDown();
+            cancelled.await(5, TimeUnit.SECONDS);
+            checkpoints.chunkWritten("products", UUID.randomUUID(), 100);
+            return Map.of();
+        });
+
+        // Act
+        service.submit("neo4j", 2);
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        service.cancel(JOB_ID);
+        cancelled.countDown();
+
+        // Assert
+        verify(jobRepository, timeout(5000)).saveCheckpoint(eq(JOB_ID), eq("products"), any(), eq(100L), eq(false));
+        verify(jobRepository, timeout(5000)).markFinished(eq(JOB_ID), eq("CANCELLED"), contains("cancelled"));
+    }
+
+    @Test
+    @DisplayName("submit rejects an unknown target")
+    void shouldRejectUnknownTarget() {
+        // Act & Assert
+        assertThatThrownBy(() -> service.submit("elasticsearch", null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("elasticsearch");
+        verify(jobRepository, never()).create(any(), anyInt());
+    }
+
+    private static Job job(String status) {
+        LocalDateTime created = LocalDateTime.of(2025, 1, 1, 12, 0);
+        return new Job(JOB_ID, "neo4j", status, 2, 0, null, created, created, null, 1000L);
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.nordicelectronics.unit.service;
+
+import com.example.nordicelectronics.service.migration.MigrationPlan;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MigrationPlanTest {
+
+    @Test
+    @DisplayName("run starts a phase only after all of its dependencies have finished")
+    void shouldRespectDependencies() {
+        // Arrange
+        List<String> finished = new CopyOnWriteArrayList<>();
+        MigrationPlan plan = new MigrationPlan("test")
+                .phase("brands", () -> record(finished, "brands", 30))
+                .phase("categories", () -> record(finished, "categories", 10))
+                .phase("products", () -> {
+                    assertThat(finished).contains("brands", "categories");
+                    return record(finished, "products", 0);
+                }, "brands", "categories")
+                .phase("orders", () -> {
+                    assertThat(finished).contains("products");
+                    return record(finished, "orders", 0);
+                }, "products");
+
+        // Act
+        MigrationPlan.Result result = plan.run(4);
+
+        // Assert
+        assertThat(finished).containsSubsequence("brands", "products", "orders");
+        assertThat(result.phases()).extracting(MigrationPlan.PhaseResult::name)
+                .containsExactly("brands", "categories", "products", "orders");
+        assertThat(result.phases()).allSatisfy(phase -> assertThat(phase.rows()).isEqualTo(1));
+    }
+
+    @Test
+    @DisplayName("run executes independent phases concurrently")
+    void shouldRunIndependentPhasesConcurrently() {
+        // Arrange - each phase waits until the other one has started
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        MigrationPlan plan = new MigrationPlan("test")
+                .phase("users", () -> awaitPeer(bothStarted))
+                .phase("coupons", () -> awaitPeer(bothStarted));
+
+        // Act
+        MigrationPlan.Result result = plan.run(2);
+
+        // Assert
+        assertThat(result.phases()).extracting(MigrationPlan.PhaseResult::rows).containsExactly(1L, 1L);
+    }
+
+    @Test
+    @DisplayName("run reports per-phase timings and how far independent phases overlapped")
+    void shouldReportOverlap() {
+        // Arrange
+        MigrationPlan plan = new MigrationPlan("test")
+                .phase("a", () -> sleep(100))
+                .phase("b", () -> sleep(100))
+                .phase("c", () -> sleep(100));
+
+        // Act
+        MigrationPlan.Result result = plan.run(3);
+        Map<String, Object> map = result.toMap();
+
+        // Assert
+        assertThat(result.phaseTimeSumMs()).isGreaterThanOrEqualTo(300);
+        assertThat(result.overlapRatio()).isGreaterThan(1.5);
+        assertThat(map).containsKeys("parallelism", "phase_time_sum_ms", "overlap_ratio", "phases");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> phases = (Map<String, Object>) map.get("phases");
+        assertThat(phases).containsOnlyKeys("a", "b", "c");
+    }
+
+    @Test
+    @DisplayName("run skips dependents of a failed phase and rethrows the failure")
+    void shouldSkipDependentsOfFailedPhase() {
+        // Arrange
+        AtomicBoolean dependentRan = new AtomicBoolean();
+        AtomicBoolean independentRan = new AtomicBoolean();
+        MigrationPlan plan = new MigrationPlan("test")
+                .phase("brands", () -> {
+                    throw new IllegalStateException("boom");
+                })
+                .phase("products", () -> {
+                    dependentRan.set(true);
+                    return 0;
+                }, "brands")
+                .phase("users", () -> {
+                    independentRan.set(true);
+                    return 0;
+                });
+
+        // Act & Assert
+        assertThatThrownBy(() -> plan.run(2))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("brands");
+        assertThat(dependentRan).isFalse();
+        assertThat(independentRan).isTrue();
+    }
+
+    @Test
+    @DisplayName("phase rejects undeclared dependencies and duplicate names")
+    void shouldRejectInvalidGraph() {
+        MigrationPlan plan = new MigrationPlan("test").phase("brands", () -> 0);
+
+        assertThatThrownBy(() -> plan.phase("products", () -> 0, "warehouses"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> plan.phase("brands", () -> 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static long record(List<String> finished, String phase, long millis) {
+        sleep(millis);
+        finished.add(phase);
+        return 1;
+    }
+
+    private static long awaitPeer(CountDownLatch bothStarted) {
+        bothStarted.countDown();
+        try {
+            assertThat(bothStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return 1;
+    }
+
+    private static long sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return 1;
+    }
+}
@@ -4,11 +4,16 @@ import com.example.nordicelectronics.entity.*;
 import com.example.nordicelectronics.entity.dto.address.AddressRequestDTO;
 import com.example.nordicelectronics.entity.dto.order.OrderProductRequestDTO;
 import com.example.nordicelectronics.entity.dto.order.OrderRequestDTO;
+import com.example.nordicelectronics.entity.enums.OrderStatus;
 import com.example.nordicelectronics.repositories.sql.AddressRepository;
 import com.example.nordicelectronics.repositories.sql.OrderRepository;
 import com.example.nordicelectronics.repositories.sql.ProductRepository;
 import com.example.nordicelectronics.repositories.sql.UserRepository;
+import com.example.nordicelectronics.service.OrderCursor;
+import com.example.nordicelectronics.service.OrderHistoryPage;
 import com.example.nordicelectronics.service.OrderService;
+import com.example.nordicelectronics.service.migration.ChangeOutbox;
+import com.example.nordicelectronics.service.migration.SyncSource;
 import com.example.nordicelectronics.service.validation.CouponValidationService;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
@@ -20,6 +25,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
@@ -60,6 +66,9 @@ class OrderServiceTest {
     @Mock
     private EntityManager entityManager;
 
+    @Mock
+    private ChangeOutbox changeOutbox;
+
     private UUID userId;
     private UUID productId;
     private User user;
@@ -139,45 +148,69 @@ class OrderServiceTest {
     }
 
     @Test
-    void getOrdersByUserId_shouldReturnOrdersForUser() {
+    void getOrdersByUserId_shouldReturnFirstPageWithCursor() {
         UUID id1 = UUID.randomUUID();
         UUID id2 = UUID.randomUUID();
+        UUID id3 = UUID.randomUUID();
         UUID userId = UUID.randomUUID();
 
         User user = User.builder().userId(userId).build();
-        User otherUser = User.builder().userId(UUID.randomUUID()).build();
+        Order order1 = Order.builder().orderId(id1).user(user).orderDate(LocalDateTime.now()).build();
+        Order order2 = Order.builder().orderId(id2).user(user).orderDate(LocalDateTime.now().minusDays(1)).build();
 
-        Order order1 = Order.builder().orderId(id1).user(user).build();
-        Order order2 = Order.builder().orderId(id2).user(user).build();
-        Order order3 = Order.builder().orderId(UUID.randomUUID()).user(otherUser).build();
-        Order order4 = Order.builder().orderId(UUID.randomUUID()).user(user).build();
-        order4.setDeletedAt(LocalDateTime.now());
+        when(orderRepository.findOrderIdsByUser(userId, 3)).thenReturn(List.of(id1, id2, id3));
+        when(orderRepository.findAllWithLinesByOrderIdIn(List.of(id1, id2))).thenReturn(List.of(order2, order1));
 
-        when(orderRepository.findAll()).thenReturn(List.of(order1, order2, order3, order4));
+        OrderHistoryPage result = orderService.getOrdersByUserId(userId, 2, null);
 
-        List<Order> result = orderService.getOrdersByUserId(userId);
+        // Orders keep the index order, and the third id signals another page
+        assertEquals(List.of(order1, order2), result.orders());
+        assertNotNull(result.nextCursor());
+        OrderCursor cursor = OrderCursor.decode(result.nextCursor());
+        assertEquals(id2, cursor.lastOrderId());
+        assertEquals(order2.getOrderDate(), cursor.lastOrderDateValue());
 
-        // Only orders 1 and 2 should be returned (order4 is deleted, order3 belongs to another user)
-        assertEquals(2, result.size());
-        assertTrue(result.contains(order1));
-        assertTrue(result.contains(order2));
-        assertFalse(result.contains(order3));
-        assertFalse(result.contains(order4));
+        verify(orderRepository, never()).findAll();
+    }
 
-        verify(orderRepository).findAll();
+    @Test
+    void getOrdersByUserId_withCursor_shouldSeekPastLastOrder() {
+        UUID userId = UUID.randomUUID();
+        UUID lastId = UUID.randomUUID();
+        LocalDateTime lastDate = LocalDateTime.now().minusDays(3);
+        UUID id = UUID.randomUUID();
+        Order order = Order.builder().orderId(id).orderDate(lastDate.minusDays(1)).build();
+        String cursor = OrderCursor.after(userId, lastDate, lastId).encode();
+
+        when(orderRepository.findOrderIdsByUserAfter(userId, lastDate, lastId, 3)).thenReturn(List.of(id));
+        when(orderRepository.findAllWithLinesByOrderIdIn(List.of(id))).thenReturn(List.of(order));
+
+        OrderHistoryPage result = orderService.getOrdersByUserId(userId, 2, cursor);
+
+        assertEquals(List.of(order), result.orders());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    void getOrdersByUserId_cursorForOtherUser_shouldThrow() {
+        String cursor = OrderCursor.after(UUID.randomUUID(), LocalDateTime.now(), UUID.randomUUID()).encode();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.getOrdersByUserId(UUID.randomUUID(), 10, cursor));
     }
 
     @Test
     void getOrdersByUserId_noOrders_shouldReturnEmptyList() {
         UUID userId = UUID.randomUUID();
 
-        when(orderRepository.findAll()).thenReturn(List.of());
+        when(orderRepository.findOrderIdsByUser(userId, 51)).thenReturn(List.of());
 
-        List<Order> result = orderService.getOrdersByUserId(userId);
+        OrderHistoryPage result = orderService.getOrdersByUserId(userId, 0, null);
 
-        assertTrue(result.isEmpty());
+        assertTrue(result.orders().isEmpty());
+        assertNull(result.nextCursor());
 
-        verify(orderRepository).findAll();
+        verify(orderRepository, never()).findAllWithLinesByOrderIdIn(any());
     }
 
     // ----------------------------------
@@ -195,17 +228,19 @@ class OrderServiceTest {
             a.setAddressId(addressId);
             return a;
         });
-        when(productRepository.findById(productId)).thenReturn(Optional.of(product));
+        ProductRepository.ProductPrice price = priceOf(product);
+        when(productRepository.findPricesByProductIdIn(List.of(productId))).thenReturn(List.of(price));
 
         Coupon coupon = Coupon.builder().couponId(couponId).build();
         when(couponValidationService.validateCoupon(any(), any())).thenReturn(coupon);
         when(couponValidationService.calculateDiscount(coupon, BigDecimal.valueOf(100)))
                 .thenReturn(BigDecimal.valueOf(10));
 
-        when(jdbcTemplate.update(any(PreparedStatementCreator.class))).thenReturn(1);
-
         Order expectedOrder = Order.builder().orderId(UUID.randomUUID()).build();
-        when(orderRepository.findTopByUserOrderByCreatedAtDesc(user)).thenReturn(Optional.of(expectedOrder));
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(ResultSetExtractor.class)))
+                .thenReturn(expectedOrder.getOrderId());
+        when(orderRepository.findAllWithLinesByOrderIdIn(List.of(expectedOrder.getOrderId())))
+                .thenReturn(List.of(expectedOrder));
 
         doNothing().when(entityManager).flush(); // prevent NPE
 
@@ -232,12 +267,16 @@ class OrderServiceTest {
 
         verify(userRepository).findById(userId);
         verify(addressRepository).save(any());
-        verify(productRepository).findById(productId);
+        verify(productRepository).findPricesByProductIdIn(List.of(productId));
+        verify(productRepository, never()).findById(any());
         verify(couponValidationService).validateCoupon(any(), any());
         verify(couponValidationService).calculateDiscount(coupon, BigDecimal.valueOf(100));
-        verify(jdbcTemplate).update(any(PreparedStatementCreator.class));
-        verify(orderRepository).findTopByUserOrderByCreatedAtDesc(user);
+        verify(jdbcTemplate).query(any(PreparedStatementCreator.class), any(ResultSetExtractor.class));
+        // The order id comes back from the procedure, so there is no "latest order" lookup
+        verify(orderRepository, never()).findTopByUserOrderByCreatedAtDesc(any());
         verify(entityManager).flush();
+        verify(changeOutbox).record(SyncSource.ORDER, expectedOrder.getOrderId());
+        verify(changeOutbox).recordStock(List.of(productId));
     }
 
     // ----------------------------------
@@ -283,7 +322,7 @@ class OrderServiceTest {
     void createOrder_productNotFound_shouldThrow() {
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(addressRepository.save(any())).thenReturn(Address.builder().addressId(UUID.randomUUID()).build());
-        when(productRepository.findById(productId)).thenReturn(Optional.empty());
+        when(productRepository.findPricesByProductIdIn(List.of(productId))).thenReturn(List.of());
 
         OrderRequestDTO dto = OrderRequestDTO.builder()
                 .userId(userId)
@@ -306,10 +345,10 @@ class OrderServiceTest {
     void createOrder_orderNotFoundAfterProcedure_shouldThrow() {
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(addressRepository.save(any())).thenReturn(Address.builder().addressId(UUID.randomUUID()).build());
-        when(productRepository.findById(productId)).thenReturn(Optional.of(product));
-        when(jdbcTemplate.update(any(PreparedStatementCreator.class))).thenReturn(1);
-
-        when(orderRepository.findTopByUserOrderByCreatedAtDesc(user)).thenReturn(Optional.empty());
+        ProductRepository.ProductPrice price = priceOf(product);
+        when(productRepository.findPricesByProductIdIn(List.of(productId))).thenReturn(List.of(price));
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(ResultSetExtractor.class)))
+                .thenReturn(null);
         doNothing().when(entityManager).flush(); // prevent NPE
 
         OrderRequestDTO dto = OrderRequestDTO.builder()
@@ -365,4 +404,34 @@ class OrderServiceTest {
         assertEquals("Order not found", exception.getMessage());
     }
 
+    @Test
+    void updateOrderStatus_shouldSetStatusOnLoadedOrder() {
+        UUID orderId = UUID.randomUUID();
+        Order order = new Order();
+        order.setOrderId(orderId);
+        order.setOrderStatus(OrderStatus.pending);
+
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+
+        orderService.updateOrderStatus(orderId, OrderStatus.confirmed);
+
+        // Managed entity, flushed by the transaction
+        assertEquals(OrderStatus.confirmed, order.getOrderStatus());
+    }
+
+    @Test
+    void updateOrderStatus_orderNotFound_shouldThrow() {
+        UUID orderId = UUID.randomUUID();
+        when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class,
+                () -> orderService.updateOrderStatus(orderId, OrderStatus.confirmed));
+    }
+
+    private ProductRepository.ProductPrice priceOf(Product product) {
+        ProductRepository.ProductPrice price = mock(ProductRepository.ProductPrice.class);
+        when(price.getProductId()).thenReturn(product.getProductId());
+        when(price.getPrice()).thenReturn(product.getPrice());
+        return price;
+    }
 }
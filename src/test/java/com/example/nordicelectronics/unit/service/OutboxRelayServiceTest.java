@@ -0,0 +1,120 @@
+package com.example.nordicelectronics.unit.service;
+
+import com.example.nordicelectronics.repositories.sql.OutboxRepository;
+import com.example.nordicelectronics.repositories.sql.OutboxRepository.Backlog;
+import com.example.nordicelectronics.repositories.sql.OutboxRepository.Event;
+import com.example.nordicelectronics.service.OutboxRelayService;
+import com.example.nordicelectronics.service.migration.ChangeSet;
+import com.example.nordicelectronics.service.migration.SyncSource;
+import com.example.nordicelectronics.service.migration.SyncTarget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayServiceTest {
+
+    @Mock
+    private SyncTarget mongodb;
+
+    @Mock
+    private SyncTarget neo4j;
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxRelayService service;
+
+    @BeforeEach
+    void setUp() {
+        when(mongodb.targetName()).thenReturn("mongodb");
+        lenient().when(neo4j.targetName()).thenReturn("neo4j");
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        lenient().when(outboxRepository.tryLockTarget(anyString())).thenReturn(true);
+        service = new OutboxRelayService(List.of(mongodb, neo4j), outboxRepository, transactionManager);
+        ReflectionTestUtils.setField(service, "batchSize", 100);
+        ReflectionTestUtils.setField(service, "maxDrain", Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("relayAll applies repeated events for the same row as one change")
+    void shouldCoalesceEventsPerRow() {
+        // Arrange
+        UUID productId = UUID.randomUUID();
+        UUID reviewId = UUID.randomUUID();
+        when(outboxRepository.claim("mongodb", 100)).thenReturn(List.of(
+                new Event(SyncSource.PRODUCT, productId, 40),
+                new Event(SyncSource.PRODUCT, productId, 30),
+                new Event(SyncSource.REVIEW, reviewId, 20)));
+
+        // Act
+        Map<String, Integer> relayed = service.relayAll();
+
+        // Assert
+        ArgumentCaptor<ChangeSet> changes = ArgumentCaptor.forClass(ChangeSet.class);
+        verify(mongodb).applyChanges(changes.capture());
+        assertThat(changes.getValue().get(SyncSource.PRODUCT)).containsExactly(productId);
+        assertThat(changes.getValue().get(SyncSource.REVIEW)).containsExactly(reviewId);
+        assertThat(changes.getValue().size()).isEqualTo(2);
+        assertThat(relayed).containsEntry("mongodb", 3).containsEntry("neo4j", 0);
+        verify(neo4j, never()).applyChanges(any());
+        verify(transactionManager, never()).rollback(any());
+    }
+
+    @Test
+    @DisplayName("a failing target rolls its batch back without holding up the other target")
+    void shouldIsolateFailingTarget() {
+        // Arrange
+        UUID orderId = UUID.randomUUID();
+        when(outboxRepository.claim("mongodb", 100)).thenReturn(List.of(new Event(SyncSource.ORDER, orderId, 10)));
+        when(outboxRepository.claim("neo4j", 100)).thenReturn(List.of(new Event(SyncSource.ORDER, orderId, 10)));
+        when(mongodb.applyChanges(any())).thenThrow(new IllegalStateException("MongoDB is down"));
+        when(outboxRepository.backlog(anyString())).thenReturn(new Backlog(1, 250));
+
+        // Act
+        Map<String, Integer> relayed = service.relayAll();
+
+        // Assert
+        assertThat(relayed).containsEntry("mongodb", 0).containsEntry("neo4j", 1);
+        verify(transactionManager).rollback(any());
+        verify(neo4j).applyChanges(any());
+        @SuppressWarnings("unchecked")
+        Map<String, Object> mongoStatus = (Map<String, Object>) service.status().get("mongodb");
+        assertThat(mongoStatus).containsEntry("failures", 1L)
+                .containsEntry("last_error", "MongoDB is down")
+                .containsEntry("lag_ms", 250L);
+    }
+
+    @Test
+    @DisplayName("relayAll leaves a target alone while another relay holds its lock")
+    void shouldSkipTargetLockedByAnotherRelay() {
+        // Arrange
+        when(outboxRepository.tryLockTarget("mongodb")).thenReturn(false);
+
+        // Act
+        service.relayAll();
+
+        // Assert
+        verify(outboxRepository, never()).claim(eq("mongodb"), anyInt());
+        verify(mongodb, never()).applyChanges(any());
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.nordicelectronics.unit.service;
+
+import com.example.nordicelectronics.entity.mongodb.ProductDocument;
+import com.example.nordicelectronics.repositories.mongodb.ProductMongoRepository;
+import com.example.nordicelectronics.service.mongodb.ProductMongoService;
+import com.example.nordicelectronics.service.mongodb.ProductReviewSummary;
+import com.example.nordicelectronics.service.pagination.MongoListReader;
+import com.example.nordicelectronics.service.pagination.ReactiveMongoReader;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductMongoServiceTest {
+
+    @Mock private ProductMongoRepository productMongoRepository;
+    @Mock private MongoListReader mongoListReader;
+    @Mock private ReactiveMongoReader reactiveMongoReader;
+    @Mock private MongoTemplate mongoTemplate;
+    @Mock private ProductReviewSummary productReviewSummary;
+
+    @InjectMocks
+    private ProductMongoService productMongoService;
+
+    @Test
+    @DisplayName("update sets only the edited fields and leaves reviews and their totals alone")
+    void shouldSetEditedFieldsOnly() {
+        // Arrange
+        UUID productId = UUID.randomUUID();
+        ProductDocument edited = new ProductDocument();
+        edited.setName("Laptop Pro");
+        edited.setPrice(new BigDecimal("9999.00"));
+        ProductDocument updated = new ProductDocument();
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(ProductDocument.class))).thenReturn(updated);
+
+        // Act
+        ProductDocument result = productMongoService.update(productId, edited);
+
+        // Assert
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class),
+                eq(ProductDocument.class));
+        Document set = update.getValue().getUpdateObject().get("$set", Document.class);
+        assertThat(set).containsEntry("name", "Laptop Pro")
+                .doesNotContainKeys("reviews", "reviewCount", "ratingSum");
+        assertThat(update.getValue().getUpdateObject()).containsOnlyKeys("$set");
+        verify(productMongoRepository, never()).save(any());
+        assertThat(result).isSameAs(updated);
+    }
+
+    @Test
+    @DisplayName("update fails for an unknown product")
+    void shouldRejectUnknownProduct() {
+        // Arrange
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(ProductDocument.class))).thenReturn(null);
+
+        // Act & Assert
+        assertThatThrownBy(() -> productMongoService.update(UUID.randomUUID(), new ProductDocument()))
+                .hasMessageContaining("Product not found");
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.nordicelectronics.unit.service;
+
+import com.example.nordicelectronics.entity.mongodb.ProductDocument;
+import com.example.nordicelectronics.entity.mongodb.ReviewDocument;
+import com.example.nordicelectronics.entity.mongodb.ReviewEmbedded;
+import com.example.nordicelectronics.service.mongodb.ProductReviewSummary;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductReviewSummaryTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private ProductReviewSummary summary;
+
+    @BeforeEach
+    void setUp() {
+        summary = new ProductReviewSummary(mongoTemplate);
+        ReflectionTestUtils.setField(summary, "embeddedReviews", 3);
+    }
+
+    @Test
+    @DisplayName("embed keeps the most recent reviews and totals over all of them")
+    void shouldEmbedNewestReviewsWithTotals() {
+        // Arrange
+        ProductDocument product = new ProductDocument();
+        List<ReviewEmbedded> reviews = List.of(review(5, 4), review(3, 1), review(1, 2), review(4, 3), review(2, 5));
+
+        // Act
+        summary.embed(product, reviews);
+
+        // Assert
+        assertThat(product.getReviews()).extracting(ReviewEmbedded::getReviewValue).containsExactly(3, 1, 4);
+        assertThat(product.getReviewCount()).isEqualTo(5);
+        assertThat(product.getRatingSum()).isEqualTo(15);
+        assertThat(product.getAverageRating()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("embed leaves an unreviewed product without an average rating")
+    void shouldEmbedNoReviews() {
+        // Arrange
+        ProductDocument product = new ProductDocument();
+
+        // Act
+        summary.embed(product, null);
+
+        // Assert
+        assertThat(product.getReviews()).isEmpty();
+        assertThat(product.getReviewCount()).isZero();
+        assertThat(product.getAverageRating()).isNull();
+    }
+
+    @Test
+    @DisplayName("added increments the totals and pushes the review in one update")
+    void shouldPushBoundedReview() {
+        // Arrange
+        ReviewDocument review = new ReviewDocument();
+        review.setReviewId(UUID.randomUUID());
+        review.setProductId(UUID.randomUUID());
+        review.setReviewValue(4);
+
+        // Act
+        summary.added(review);
+
+        // Assert
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(ProductDocument.class));
+        Document object = update.getValue().getUpdateObject();
+        assertThat(object.get("$inc", Document.class)).containsEntry("reviewCount", 1).containsEntry("ratingSum", 4);
+        assertThat(object.get("$push", Document.class)).containsKey("reviews");
+    }
+
+    @Test
+    @DisplayName("removed refills the embedded reviews only when fewer are left than there are reviews")
+    void shouldRefillWhenSlotFreed() {
+        // Arrange
+        UUID productId = UUID.randomUUID();
+        ProductDocument afterRemoval = new ProductDocument();
+        afterRemoval.setReviewCount(7);
+        afterRemoval.setReviews(new ArrayList<>(List.of(review(5, 1), review(4, 2))));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(ProductDocument.class))).thenReturn(afterRemoval);
+
+        // Act
+        summary.removed(productId, UUID.randomUUID(), 5);
+
+        // Assert
+        verify(mongoTemplate).find(any(Query.class), eq(ReviewDocument.class));
+        verify(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(ProductDocument.class));
+    }
+
+    @Test
+    @DisplayName("removed leaves the embedded reviews alone when they still hold every review")
+    void shouldNotRefillWhenAllReviewsEmbedded() {
+        // Arrange
+        ProductDocument afterRemoval = new ProductDocument();
+        afterRemoval.setReviewCount(2);
+        afterRemoval.setReviews(new ArrayList<>(List.of(review(5, 1), review(4, 2))));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(ProductDocument.class))).thenReturn(afterRemoval);
+
+        // Act
+        summary.removed(UUID.randomUUID(), UUID.randomUUID(), 3);
+
+        // Assert
+        verify(mongoTemplate, never()).find(any(Query.class), eq(ReviewDocument.class));
+    }
+
+    private static ReviewEmbedded review(int value, int daysAgo) {
+        return ReviewEmbedded.builder()
+                .reviewId(UUID.randomUUID())
+                .reviewValue(value)
+                .createdAt(LocalDateTime.now().minusDays(daysAgo))
+                .build();
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.nordicelectronics.unit.service;
+
+import com.example.nordicelectronics.service.search.ProductSearchDocument;
+import com.example.nordicelectronics.service.search.ProductSearchHits;
+import com.example.nordicelectronics.service.search.ProductSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    private final UUID appleId = UUID.randomUUID();
+    private final UUID samsungId = UUID.randomUUID();
+    private final UUID phonesId = UUID.randomUUID();
+    private final UUID laptopsId = UUID.randomUUID();
+
+    private ProductSearchDocument iphone;
+    private ProductSearchDocument macbook;
+    private ProductSearchDocument galaxy;
+    private ProductSearchDocument charger;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+
+        iphone = document("APL-IP15", "iPhone 15", "Apple smartphone with USB-C", "7999.00",
+                appleId, "Apple", phonesId, "Phones");
+        macbook = document("APL-MBA13", "MacBook Air 13", "Thin and light laptop", "9999.00",
+                appleId, "Apple", laptopsId, "Laptops");
+        galaxy = document("SAM-S24", "Galaxy S24", "Samsung smartphone with a bright display", "6999.00",
+                samsungId, "Samsung", phonesId, "Phones");
+        charger = document("SAM-CHG25", "25W USB-C Charger", "Fast charger for Galaxy phones", "199.00",
+                samsungId, "Samsung", phonesId, "Phones");
+
+        index.rebuild(sink -> List.of(iphone, macbook, galaxy, charger).forEach(sink));
+    }
+
+    @Test
+    @DisplayName("Multi-term queries only match products containing every term")
+    void shouldRequireAllTerms() {
+        ProductSearchHits hits = index.search("samsung smartphone", null, null, "relevance", false, 0, 10);
+
+        assertThat(hits.totalHits()).isEqualTo(1);
+        assertThat(hits.productIds()).containsExactly(galaxy.productId());
+    }
+
+    @Test
+    @DisplayName("Terms match as prefixes of indexed words")
+    void shouldMatchPrefixes() {
+        ProductSearchHits hits = index.search("charg", null, null, "relevance", false, 0, 10);
+
+        assertThat(hits.productIds()).containsExactly(charger.productId());
+    }
+
+    @Test
+    @DisplayName("Terms shorter than three characters only match whole words")
+    void shouldNotExpandShortTerms() {
+        assertThat(index.search("ga", null, null, "relevance", false, 0, 10).totalHits()).isZero();
+        assertThat(index.search("c", null, null, "relevance", false, 0, 10).productIds())
+                .containsExactlyInAnyOrder(iphone.productId(), charger.productId());
+    }
+
+    @Test
+    @DisplayName("A prefix counts every product whose words it starts, however many words that is")
+    void shouldExpandEveryPrefixMatch() {
+        for (int i = 0; i < 200; i++) {
+            index.upsert(document("CBL-" + i, "Cable model" + i, "Braided cable", "99.00",
+                    samsungId, "Samsung", phonesId, "Phones"));
+        }
+
+        ProductSearchHits hits = index.search("model", null, null, "relevance", false, 0, 10);
+
+        assertThat(hits.totalHits()).isEqualTo(200);
+        assertThat(hits.productIds()).hasSize(10);
+    }
+
+    @Test
+    @DisplayName("Name matches rank above description-only matches")
+    void shouldRankNameMatchesFirst() {
+        ProductSearchHits hits = index.search("galaxy", null, null, "relevance", false, 0, 10);
+
+        assertThat(hits.productIds()).containsExactly(galaxy.productId(), charger.productId());
+    }
+
+    @Test
+    @DisplayName("Brand and category filters are applied to hits")
+    void shouldApplyFilters() {
+        ProductSearchHits byBrand = index.search("usb", null, appleId, "relevance", false, 0, 10);
+        ProductSearchHits byCategory = index.search("apple", laptopsId, null, "relevance", false, 0, 10);
+
+        assertThat(byBrand.productIds()).containsExactly(iphone.productId());
+        assertThat(byCategory.productIds()).containsExactly(macbook.productId());
+    }
+
+    @Test
+    @DisplayName("Hits can be sorted by price and paged")
+    void shouldSortAndPage() {
+        ProductSearchHits firstPage = index.search("phones", null, null, "price", true, 0, 2);
+        ProductSearchHits secondPage = index.search("phones", null, null, "price", true, 2, 2);
+
+        assertThat(firstPage.totalHits()).isEqualTo(3);
+        assertThat(firstPage.productIds()).containsExactly(iphone.productId(), galaxy.productId());
+        assertThat(secondPage.productIds()).containsExactly(charger.productId());
+    }
+
+    @Test
+    @DisplayName("SKU, brand and category names are searchable")
+    void shouldSearchSkuBrandAndCategory() {
+        assertThat(index.search("apl-mba13", null, null, "relevance", false, 0, 10).productIds())
+                .containsExactly(macbook.productId());
+        assertThat(index.search("laptops", null, null, "relevance", false, 0, 10).productIds())
+                .containsExactly(macbook.productId());
+    }
+
+    @Test
+    @DisplayName("Upserts replace the old document and removals drop it")
+    void shouldApplyIncrementalWrites() {
+        ProductSearchDocument renamed = document(galaxy.sku(), "Galaxy Ultra", galaxy.description(), "8999.00",
+                samsungId, "Samsung", phonesId, "Phones", galaxy.productId());
+
+        index.upsert(renamed);
+        index.remove(iphone.productId());
+
+        assertThat(index.search("ultra", null, null, "relevance", false, 0, 10).productIds())
+                .containsExactly(galaxy.productId());
+        assertThat(index.search("s24", null, null, "relevance", false, 0, 10).productIds())
+                .containsExactly(galaxy.productId());
+        assertThat(index.search("iphone", null, null, "relevance", false, 0, 10).totalHits()).isZero();
+    }
+
+    @Test
+    @DisplayName("Index stays correct after tombstones are compacted")
+    void shouldCompactTombstones() {
+        for (int i = 0; i < 3000; i++) {
+            index.upsert(document(charger.sku(), "25W USB-C Charger v" + i, charger.description(), "199.00",
+                    samsungId, "Samsung", phonesId, "Phones", charger.productId()));
+        }
+
+        assertThat(index.getStats().get("documents")).isEqualTo(4);
+        assertThat((int) index.getStats().get("tombstones")).isLessThan(3000);
+        assertThat(index.search("charger v2999", null, null, "relevance", false, 0, 10).productIds())
+                .containsExactly(charger.productId());
+        assertThat(index.search("smartphone", null, null, "name", false, 0, 10).productIds())
+                .containsExactly(galaxy.productId(), iphone.productId());
+    }
+
+    @Test
+    @DisplayName("Unsupported sort fields are rejected")
+    void shouldRejectUnsupportedSort() {
+        assertThat(index.supports("weight")).isFalse();
+        assertThatThrownBy(() -> index.search("phone", null, null, "weight", false, 0, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private ProductSearchDocument document(String sku, String name, String description, String price,
+                                           UUID brandId, String brandName, UUID categoryId, String categoryName) {
+        return document(sku, name, description, price, brandId, brandName, categoryId, categoryName, UUID.randomUUID());
+    }
+
+    private ProductSearchDocument document(String sku, String name, String description, String price,
+                                           UUID brandId, String brandName, UUID categoryId, String categoryName,
+                                           UUID productId) {
+        return new ProductSearchDocument(productId, sku, name, description, new BigDecimal(price),
+                brandId, brandName, List.of(categoryId), List.of(categoryName));
+    }
+}
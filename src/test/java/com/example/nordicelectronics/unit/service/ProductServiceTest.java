@@ -4,13 +4,23 @@ import com.example.nordicelectronics.entity.Brand;
 import com.example.nordicelectronics.entity.Category;
 import com.example.nordicelectronics.entity.Product;
 import com.example.nordicelectronics.entity.Warranty;
+import com.example.nordicelectronics.entity.dto.product.ProductPageResponseDTO;
 import com.example.nordicelectronics.entity.dto.product.ProductRequestDTO;
 import com.example.nordicelectronics.entity.dto.product.ProductResponseDTO;
+import com.example.nordicelectronics.repositories.sql.ProductKeysetRepository;
 import com.example.nordicelectronics.repositories.sql.ProductRepository;
+import com.example.nordicelectronics.repositories.sql.ReviewRepository;
 import com.example.nordicelectronics.service.BrandService;
 import com.example.nordicelectronics.service.CategoryService;
+import com.example.nordicelectronics.service.ProductCursor;
 import com.example.nordicelectronics.service.ProductService;
 import com.example.nordicelectronics.service.WarrantyService;
+import com.example.nordicelectronics.service.cache.ProductCatalogCache;
+import com.example.nordicelectronics.service.migration.ChangeOutbox;
+import com.example.nordicelectronics.service.migration.SyncSource;
+import com.example.nordicelectronics.service.search.ProductSearchDocument;
+import com.example.nordicelectronics.service.search.ProductSearchIndex;
+import com.example.nordicelectronics.service.search.ProductSearchIndexLoader;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,9 +28,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -37,6 +51,12 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductKeysetRepository productKeysetRepository;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
     @Mock
     private BrandService brandService;
 
@@ -46,6 +66,18 @@ class ProductServiceTest {
     @Mock
     private WarrantyService warrantyService;
 
+    @Spy
+    private ProductCatalogCache productCatalogCache = new ProductCatalogCache(100, 100, Duration.ofMinutes(5));
+
+    @Spy
+    private ProductSearchIndex productSearchIndex = new ProductSearchIndex();
+
+    @Mock
+    private ProductSearchIndexLoader productSearchIndexLoader;
+
+    @Mock
+    private ChangeOutbox changeOutbox;
+
     @InjectMocks
     private ProductService productService;
 
@@ -200,6 +232,7 @@ class ProductServiceTest {
         // Assert - soft delete should find entity, set deletedAt, and save
         verify(productRepository, times(1)).findById(productId);
         verify(productRepository, times(1)).save(existingProduct);
+        verify(changeOutbox).record(SyncSource.PRODUCT, productId);
         assertThat(existingProduct.getDeletedAt()).isNotNull();
     }
 
@@ -247,4 +280,154 @@ class ProductServiceTest {
         assertThat(results).extracting("sku").containsExactlyInAnyOrder("SKU-001", "SKU-002");
         verify(productRepository, times(1)).findAll();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("getById serves repeated reads from the cache")
+    void shouldServeRepeatedGetByIdFromCache() {
+        // Arrange
+        when(productRepository.findById(productId))
+                .thenReturn(Optional.of(existingProduct));
+
+        // Act
+        ProductResponseDTO first = productService.getById(productId);
+        ProductResponseDTO second = productService.getById(productId);
+
+        // Assert
+        assertThat(second).isSameAs(first);
+        verify(productRepository, times(1)).findById(productId);
+    }
+
+    @Test
+    @DisplayName("update evicts the cached product")
+    void shouldEvictCachedProductOnUpdate() {
+        // Arrange
+        when(productRepository.findById(productId))
+                .thenReturn(Optional.of(existingProduct));
+        when(productRepository.save(any(Product.class))).thenReturn(existingProduct);
+        productService.getById(productId);
+
+        // Act
+        productService.update(productId, ProductRequestDTO.builder()
+                .sku("NEW-SKU-001")
+                .name("New Product Name")
+                .description("New description")
+                .price(new BigDecimal("149.99"))
+                .build());
+        ProductResponseDTO result = productService.getById(productId);
+
+        // Assert
+        assertThat(result.getSku()).isEqualTo("NEW-SKU-001");
+        verify(productCatalogCache, times(1)).evictProduct(productId);
+        verify(productRepository, times(3)).findById(productId);
+    }
+
+    @Test
+    @DisplayName("Paginated search is served from the search index once it is loaded")
+    void shouldSearchThroughIndexWhenReady() {
+        // Arrange
+        productSearchIndex.rebuild(sink -> sink.accept(ProductSearchDocument.from(existingProduct)));
+        when(productRepository.findAllById(List.of(productId))).thenReturn(List.of(existingProduct));
+
+        // Act
+        ProductPageResponseDTO result = productService.getProductsWithPagination(
+                0, 12, "old prod", null, null, "relevance", "asc");
+
+        // Assert
+        assertThat(result.getTotalElements()).isEqualTo(1);
+        assertThat(result.getContent()).extracting("productId").containsExactly(productId);
+        assertThat(result.isLast()).isTrue();
+        verify(productRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Cursor pagination counts once and hands out a cursor for the next page")
+    void shouldReturnNextCursorOnFirstKeysetPage() {
+        // Arrange
+        UUID nextId = UUID.randomUUID();
+        when(productKeysetRepository.count(null, null, null)).thenReturn(2L);
+        when(productKeysetRepository.findPage("price", false, null, null, 2, null, null, null))
+                .thenReturn(List.of(
+                        new ProductKeysetRepository.KeysetRow(productId, new BigDecimal("99.99")),
+                        new ProductKeysetRepository.KeysetRow(nextId, new BigDecimal("149.99"))));
+        when(productRepository.findAllById(List.of(productId))).thenReturn(List.of(existingProduct));
+
+        // Act
+        ProductPageResponseDTO result = productService.getProductsWithCursor(
+                null, 1, null, null, null, "price", "asc");
+
+        // Assert
+        assertThat(result.getContent()).extracting("productId").containsExactly(productId);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.isHasNext()).isTrue();
+        ProductCursor cursor = ProductCursor.decode(result.getNextCursor());
+        assertThat(cursor.lastId()).isEqualTo(productId);
+        assertThat(cursor.typedLastValue()).isEqualTo(new BigDecimal("99.99"));
+    }
+
+    @Test
+    @DisplayName("Following a cursor seeks past the last row without re-counting")
+    void shouldSeekPastCursorWithoutCounting() {
+        // Arrange
+        UUID lastId = UUID.randomUUID();
+        String cursor = new ProductCursor("price", false, ProductCursor.filterKey(null, null, null),
+                "99.99", lastId, 0, 2).encode();
+        when(productKeysetRepository.findPage("price", false, new BigDecimal("99.99"), lastId, 2, null, null, null))
+                .thenReturn(List.of(new ProductKeysetRepository.KeysetRow(productId, new BigDecimal("149.99"))));
+        when(productRepository.findAllById(List.of(productId))).thenReturn(List.of(existingProduct));
+
+        // Act
+        ProductPageResponseDTO result = productService.getProductsWithCursor(
+                cursor, 1, null, null, null, "price", "asc");
+
+        // Assert
+        assertThat(result.getPageNumber()).isEqualTo(1);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.isLast()).isTrue();
+        assertThat(result.getNextCursor()).isNull();
+        verify(productKeysetRepository, never()).count(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Cursor pagination rejects cursors issued for another sort")
+    void shouldRejectCursorForDifferentSort() {
+        // Arrange
+        String cursor = new ProductCursor("name", false, ProductCursor.filterKey(null, null, null),
+                "Laptop", UUID.randomUUID(), 0, 2).encode();
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.getProductsWithCursor(cursor, 1, null, null, null, "price", "asc"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Cursor pagination rejects cursors issued for another search, even one with the same hash code")
+    void shouldRejectCursorForDifferentSearch() {
+        // Arrange - "a~" and "b_" differ, but their String hash codes are equal
+        String cursor = new ProductCursor("price", false, ProductCursor.filterKey("a~", null, null),
+                "99.99", UUID.randomUUID(), 0, 2).encode();
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.getProductsWithCursor(cursor, 1, "b_", null, null, "price", "asc"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Product lists read review ids with one bulk query instead of the reviews collection")
+    void shouldMapReviewIdsFromBulkQuery() {
+        // Arrange
+        UUID reviewId = UUID.randomUUID();
+        ReviewRepository.ProductReviewId row = mock(ReviewRepository.ProductReviewId.class);
+        when(row.getProductId()).thenReturn(productId);
+        when(row.getReviewId()).thenReturn(reviewId);
+        when(productRepository.findAll()).thenReturn(List.of(existingProduct));
+        when(reviewRepository.findReviewIdsByProductIds(List.of(productId))).thenReturn(List.of(row));
+
+        // Act
+        List<ProductResponseDTO> result = productService.getAll();
+
+        // Assert
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getReviewIds()).containsExactly(reviewId);
+        verify(reviewRepository, times(1)).findReviewIdsByProductIds(any());
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.nordicelectronics.unit.service;
+
+import com.example.nordicelectronics.entity.mongodb.OrderDocument;
+import com.example.nordicelectronics.entity.mongodb.ProductDocument;
+import com.example.nordicelectronics.entity.mongodb.projection.ProductListing;
+import com.example.nordicelectronics.entity.mongodb.projection.ProductView;
+import com.example.nordicelectronics.service.pagination.PageLimits;
+import com.example.nordicelectronics.service.pagination.ReactiveMongoReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveMongoReaderTest {
+
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Mock
+    private PageLimits pageLimits;
+
+    private ReactiveMongoReader reader;
+
+    @BeforeEach
+    void setUp() {
+        when(pageLimits.getStreamFetchSize()).thenReturn(250);
+        reader = new ReactiveMongoReader(reactiveMongoTemplate, pageLimits);
+    }
+
+    @Test
+    @DisplayName("find reads the filter in order, in batches of the stream fetch size")
+    void shouldFindInBatches() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        OrderDocument order = new OrderDocument();
+        when(reactiveMongoTemplate.find(any(Query.class), eq(OrderDocument.class))).thenReturn(Flux.just(order));
+
+        // Act
+        List<OrderDocument> orders = reader.find(Criteria.where("customer.userId").is(userId),
+                Sort.by(Sort.Direction.DESC, "orderDate"), OrderDocument.class).collectList().block();
+
+        // Assert
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(reactiveMongoTemplate).find(query.capture(), eq(OrderDocument.class));
+        assertThat(query.getValue().getQueryObject()).containsEntry("customer.userId", userId);
+        assertThat(query.getValue().getSortObject()).containsEntry("orderDate", -1);
+        assertThat(query.getValue().getMeta().getCursorBatchSize()).isEqualTo(250);
+        assertThat(orders).containsExactly(order);
+    }
+
+    @Test
+    @DisplayName("find with a projection aggregates the filter into the view type")
+    void shouldProjectView() {
+        // Arrange
+        ProductListing listing = new ProductListing(UUID.randomUUID(), "SKU-1", "Laptop", null, "Brand");
+        when(reactiveMongoTemplate.getCollectionName(ProductDocument.class)).thenReturn("products");
+        when(reactiveMongoTemplate.aggregate(any(Aggregation.class), eq("products"), eq(ProductListing.class)))
+                .thenReturn(Flux.just(listing));
+
+        // Act
+        List<ProductListing> listings = reader.find(Criteria.where("categories.categoryId").is(UUID.randomUUID()),
+                ProductView.LISTING.projection(), ProductDocument.class, ProductListing.class).collectList().block();
+
+        // Assert
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        verify(reactiveMongoTemplate).aggregate(aggregation.capture(), eq("products"), eq(ProductListing.class));
+        assertThat(aggregation.getValue().getOptions().getCursorBatchSize()).isEqualTo(250);
+        assertThat(aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT)).hasSize(2);
+        assertThat(listings).containsExactly(listing);
+    }
+}
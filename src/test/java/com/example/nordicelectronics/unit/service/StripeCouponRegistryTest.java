@@ -0,0 +1,149 @@
+package com.example.nordicelectronics.unit.service;
+
+import com.example.nordicelectronics.exception.StripeApiException;
+import com.example.nordicelectronics.repositories.sql.StripeCouponMappingRepository;
+import com.example.nordicelectronics.service.stripe.StripeCouponRegistry;
+import com.example.nordicelectronics.service.stripe.StripeGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StripeCouponRegistryTest {
+
+    @Mock
+    private StripeGateway stripeGateway;
+
+    @Mock
+    private StripeCouponMappingRepository mappingRepository;
+
+    private StripeCouponRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new StripeCouponRegistry(stripeGateway, mappingRepository, 100);
+    }
+
+    @Test
+    @DisplayName("resolve reuses a persisted mapping without calling Stripe")
+    void shouldReusePersistedMapping() throws Exception {
+        // Arrange
+        when(mappingRepository.findStripeCouponId("SUMMER20", 2550, "usd")).thenReturn(Optional.of("SUMMER20-2550-usd"));
+
+        // Act
+        String first = registry.resolve("SUMMER20", 2550, "USD");
+        String second = registry.resolve("SUMMER20", 2550, "usd");
+
+        // Assert - the second call is served from memory
+        assertThat(first).isEqualTo("SUMMER20-2550-usd");
+        assertThat(second).isEqualTo(first);
+        verify(mappingRepository, times(1)).findStripeCouponId(any(), anyLong(), any());
+        verifyNoInteractions(stripeGateway);
+    }
+
+    @Test
+    @DisplayName("resolve creates the coupon in Stripe once and records the mapping")
+    void shouldCreateAndRecordMissingCoupon() throws Exception {
+        // Arrange
+        when(mappingRepository.findStripeCouponId("SAVE 5", 500, "usd")).thenReturn(Optional.empty());
+        when(stripeGateway.post(eq("/v1/coupons"), anyString(), eq("coupon-SAVE_5-500-usd")))
+                .thenReturn(Map.of("id", "SAVE_5-500-usd"));
+        when(mappingRepository.saveIfAbsent("SAVE 5", 500, "usd", "SAVE_5-500-usd")).thenReturn("SAVE_5-500-usd");
+
+        // Act
+        String couponId = registry.resolve("SAVE 5", 500, "usd");
+
+        // Assert
+        assertThat(couponId).isEqualTo("SAVE_5-500-usd");
+        verify(stripeGateway).post(eq("/v1/coupons"),
+                argThat(params -> params.contains("amount_off=500") && params.contains("currency=usd")),
+                eq("coupon-SAVE_5-500-usd"));
+    }
+
+    @Test
+    @DisplayName("resolve treats an already existing Stripe coupon as created")
+    void shouldAcceptExistingStripeCoupon() throws Exception {
+        // Arrange
+        when(mappingRepository.findStripeCouponId("SUMMER20", 1000, "usd")).thenReturn(Optional.empty());
+        when(stripeGateway.post(any(), any(), any())).thenThrow(new StripeApiException(
+                "Stripe API error", 400, "{\"error\":{\"code\":\"resource_already_exists\"}}"));
+        when(mappingRepository.saveIfAbsent("SUMMER20", 1000, "usd", "SUMMER20-1000-usd")).thenReturn("SUMMER20-1000-usd");
+
+        // Act
+        String couponId = registry.resolve("SUMMER20", 1000, "usd");
+
+        // Assert
+        assertThat(couponId).isEqualTo("SUMMER20-1000-usd");
+    }
+
+    @Test
+    @DisplayName("resolve propagates other Stripe errors and does not cache them")
+    void shouldPropagateStripeErrors() throws Exception {
+        // Arrange
+        when(mappingRepository.findStripeCouponId("SUMMER20", 1000, "usd")).thenReturn(Optional.empty());
+        when(stripeGateway.post(any(), any(), any()))
+                .thenThrow(new StripeApiException("Stripe API error", 500, "{}"))
+                .thenReturn(Map.of("id", "SUMMER20-1000-usd"));
+        when(mappingRepository.saveIfAbsent(any(), anyLong(), any(), any())).thenReturn("SUMMER20-1000-usd");
+
+        // Act & Assert
+        assertThatThrownBy(() -> registry.resolve("SUMMER20", 1000, "usd")).isInstanceOf(StripeApiException.class);
+        assertThat(registry.resolve("SUMMER20", 1000, "usd")).isEqualTo("SUMMER20-1000-usd");
+    }
+
+    @Test
+    @DisplayName("resolve creates a single Stripe coupon for a burst of concurrent checkouts")
+    void shouldSingleFlightConcurrentMisses() throws Exception {
+        // Arrange
+        CountDownLatch stripeCalled = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(mappingRepository.findStripeCouponId("BURST", 700, "usd")).thenReturn(Optional.empty());
+        when(stripeGateway.post(any(), any(), any())).thenAnswer(invocation -> {
+            stripeCalled.countDown();
+            release.await();
+            return Map.of("id", "BURST-700-usd");
+        });
+        when(mappingRepository.saveIfAbsent("BURST", 700, "usd", "BURST-700-usd")).thenReturn("BURST-700-usd");
+
+        // Act
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> registry.resolve("BURST", 700, "usd")));
+        stripeCalled.await();
+        for (int i = 0; i < 15; i++) {
+            results.add(executor.submit(() -> registry.resolve("BURST", 700, "usd")));
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        // Assert
+        for (Future<String> result : results) {
+            assertThat(result.get()).isEqualTo("BURST-700-usd");
+        }
+        executor.shutdown();
+        verify(stripeGateway, times(1)).post(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("resolve rejects non-positive amounts")
+    void shouldRejectNonPositiveAmount() {
+        assertThatThrownBy(() -> registry.resolve("ZERO", 0, "usd"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
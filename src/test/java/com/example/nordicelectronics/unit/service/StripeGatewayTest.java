@@ -0,0 +1,110 @@
+package com.example.nordicelectronics.unit.service;
+
+import com.example.nordicelectronics.exception.StripeApiException;
+import com.example.nordicelectronics.service.stripe.StripeGateway;
+import com.example.nordicelectronics.service.stripe.StripeStubServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class StripeGatewayTest {
+
+    private StripeStubServer stub;
+    private StripeGateway gateway;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new StripeStubServer(0, Duration.ZERO, Duration.ZERO, 0.0);
+        stub.start();
+        gateway = new StripeGateway(new ObjectMapper(), "sk_test_dummy", stub.getBaseUrl(),
+                Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofSeconds(5), 2, Duration.ofMillis(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.stop();
+    }
+
+    @Test
+    @DisplayName("post returns the parsed Stripe response")
+    void shouldReturnParsedResponse() throws Exception {
+        // Act
+        Map<String, Object> coupon = gateway.post("/v1/coupons", "id=SUMMER20&amount_off=500&currency=usd", "coupon-1");
+
+        // Assert
+        assertThat(coupon).containsEntry("id", "SUMMER20").containsEntry("object", "coupon");
+        assertThat(stub.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("post retries an idempotent call on server errors until retries are exhausted")
+    void shouldRetryIdempotentCall() {
+        // Arrange
+        stub.setErrorRate(1.0);
+
+        // Act & Assert
+        assertThatThrownBy(() -> gateway.post("/v1/checkout/sessions", "mode=payment", "checkout-1"))
+                .isInstanceOf(StripeApiException.class)
+                .extracting(e -> ((StripeApiException) e).getStatusCode())
+                .isEqualTo(500);
+        assertThat(stub.getRequestCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("post attempts a call without an idempotency key only once")
+    void shouldNotRetryNonIdempotentCall() {
+        // Arrange
+        stub.setErrorRate(1.0);
+
+        // Act & Assert
+        assertThatThrownBy(() -> gateway.post("/v1/checkout/sessions", "mode=payment", null))
+                .isInstanceOf(StripeApiException.class);
+        assertThat(stub.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("post gives up when the call deadline passes")
+    void shouldEnforceDeadline() {
+        // Arrange
+        stub.setLatency(Duration.ofSeconds(2), Duration.ZERO);
+        StripeGateway impatient = new StripeGateway(new ObjectMapper(), "sk_test_dummy", stub.getBaseUrl(),
+                Duration.ofSeconds(1), Duration.ofMillis(200), Duration.ofMillis(500), 5, Duration.ofMillis(10));
+
+        // Act
+        long start = System.nanoTime();
+        Throwable thrown = catchThrowable(() -> impatient.post("/v1/coupons", "id=SLOW", "coupon-slow"));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertThat(thrown).isInstanceOf(StripeApiException.class);
+        assertThat(elapsedMillis).isLessThan(1500);
+    }
+
+    @Test
+    @DisplayName("getStats reports calls, retries and failures per endpoint")
+    @SuppressWarnings("unchecked")
+    void shouldRecordMetrics() throws Exception {
+        // Arrange
+        gateway.post("/v1/coupons", "id=A", "coupon-a");
+        stub.setErrorRate(1.0);
+        catchThrowable(() -> gateway.post("/v1/coupons", "id=B", "coupon-b"));
+
+        // Act
+        Map<String, Object> endpoints = (Map<String, Object>) gateway.getStats().get("endpoints");
+        Map<String, Object> coupons = (Map<String, Object>) endpoints.get("/v1/coupons");
+
+        // Assert
+        assertThat(coupons)
+                .containsEntry("calls", 2L)
+                .containsEntry("failures", 1L)
+                .containsEntry("attempts", 4L)
+                .containsEntry("retries", 2L);
+    }
+}
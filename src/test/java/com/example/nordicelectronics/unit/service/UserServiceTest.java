@@ -3,6 +3,7 @@ package com.example.nordicelectronics.unit.service;
 import com.example.nordicelectronics.entity.User;
 import com.example.nordicelectronics.repositories.sql.UserRepository;
 import com.example.nordicelectronics.service.UserService;
+import com.example.nordicelectronics.service.migration.ChangeOutbox;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -29,6 +30,9 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ChangeOutbox changeOutbox;
+
     @InjectMocks
     private UserService userService;
 